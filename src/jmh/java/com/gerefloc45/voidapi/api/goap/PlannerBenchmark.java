@@ -0,0 +1,199 @@
+package com.gerefloc45.voidapi.api.goap;
+
+import com.gerefloc45.voidapi.api.BehaviorContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times forward search, backward search and plan repair on synthetic domains
+ * of 20 to 500 actions.
+ *
+ * <p>Each domain has layered boolean facts: every action sets one fact and
+ * requires up to two facts of lower layers, so goals on the top layer are
+ * reachable through chains of several actions while most actions are
+ * irrelevant to any one goal. Each size is timed on 50 problems that have a
+ * plan, found by backward search. Repair is timed after half of a plan ran
+ * and one fact the rest of it relies on was flipped, against planning from
+ * scratch in the same state.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlannerBenchmark {
+    private static final int LAYERS = 6;
+    private static final int PROBLEMS = 50;
+
+    @Param({"20", "50", "100", "200", "500"})
+    public int actionCount;
+
+    private List<Action> actions;
+    private Planner forward;
+    private Planner backward;
+    private final List<WorldState> starts = new ArrayList<>();
+    private final List<Goal> goals = new ArrayList<>();
+    private final List<Repair> repairs = new ArrayList<>();
+    private int nextProblem;
+    private int nextRepair;
+
+    @Setup
+    public void setup() {
+        actions = generateDomain(actionCount, new Random(42L + actionCount));
+        Random random = new Random(42L);
+        forward = new Planner();
+        backward = new Planner().setSearchMode(Planner.SearchMode.BACKWARD);
+
+        int facts = factCount(actionCount);
+        for (int attempt = 0; starts.size() < PROBLEMS; attempt++) {
+            if (attempt == PROBLEMS * 100) {
+                throw new IllegalStateException("Too few solvable problems with " + actionCount + " actions");
+            }
+            WorldState start = new WorldState();
+            for (int f = 0; f < facts / LAYERS; f++) {
+                start.set(fact(f), random.nextBoolean());
+            }
+            WorldState goalState = new WorldState();
+            goalState.set(fact(facts - 1 - random.nextInt(facts / LAYERS)), true);
+            Goal goal = new Goal("benchmark", goalState);
+            // Forward search runs out of nodes on most large problems, so pick
+            // problems backward search can solve
+            Plan plan = backward.plan(null, start, goal, actions);
+            if (plan == null) {
+                continue;
+            }
+            starts.add(start);
+            goals.add(goal);
+
+            Repair repair = breakPlan(plan, start, goal);
+            if (repair != null) {
+                repairs.add(repair);
+            }
+        }
+        if (repairs.isEmpty()) {
+            throw new IllegalStateException("No plan with " + actionCount + " actions could be broken");
+        }
+    }
+
+    @Benchmark
+    public Plan forward() {
+        int i = nextProblem++ % PROBLEMS;
+        return forward.plan(null, starts.get(i), goals.get(i), actions);
+    }
+
+    @Benchmark
+    public Plan backward() {
+        int i = nextProblem++ % PROBLEMS;
+        return backward.plan(null, starts.get(i), goals.get(i), actions);
+    }
+
+    @Benchmark
+    public Plan replan() {
+        Repair repair = repairs.get(nextRepair++ % repairs.size());
+        return forward.plan(null, repair.state, repair.goal, actions);
+    }
+
+    @Benchmark
+    public Plan repair() {
+        Repair repair = repairs.get(nextRepair++ % repairs.size());
+        return forward.repair(null, repair.state, repair.goal, repair.plan, actions);
+    }
+
+    /**
+     * Runs half of a plan, then breaks a fact the rest of it relies on.
+     *
+     * @return The broken plan and state, or null if the plan is too short or nothing can be broken
+     */
+    private static Repair breakPlan(Plan plan, WorldState start, Goal goal) {
+        if (plan.size() < 2) {
+            return null;
+        }
+        WorldState state = start.copy();
+        int executed = plan.size() / 2;
+        for (int step = 0; step < executed; step++) {
+            plan.getActions().get(step).applyEffects(state);
+            plan.advance();
+        }
+        String broken = null;
+        for (Action action : plan.getActions().subList(executed, plan.size())) {
+            for (String key : action.getPreconditions().keys()) {
+                if (Boolean.TRUE.equals(state.get(key)) && !goal.getDesiredState().has(key)) {
+                    broken = key;
+                }
+            }
+        }
+        if (broken == null) {
+            return null;
+        }
+        state.set(broken, false);
+        return new Repair(state, goal, plan);
+    }
+
+    private static List<Action> generateDomain(int size, Random random) {
+        int facts = factCount(size);
+        int perLayer = facts / LAYERS;
+        List<Action> actions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            // Cover every fact above the first layer once before repeating
+            int effect = perLayer + i % (facts - perLayer);
+            int layer = effect / perLayer;
+            SyntheticAction action = new SyntheticAction("a" + i, 1.0f + random.nextInt(4));
+            action.effects.set(fact(effect), true);
+            int preconditions = 1 + random.nextInt(2);
+            for (int p = 0; p < preconditions; p++) {
+                int below = (layer - 1) * perLayer + random.nextInt(perLayer);
+                action.preconditions.set(fact(below), true);
+            }
+            actions.add(action);
+        }
+        return actions;
+    }
+
+    private static int factCount(int size) {
+        return Math.max(LAYERS * 2, size / 2 / LAYERS * LAYERS);
+    }
+
+    private static String fact(int index) {
+        return "f" + index;
+    }
+
+    /**
+     * A half-executed plan whose remaining steps no longer apply.
+     */
+    private record Repair(WorldState state, Goal goal, Plan plan) {
+    }
+
+    /**
+     * Action with fixed preconditions and effects that does nothing.
+     */
+    private static class SyntheticAction extends Action {
+        SyntheticAction(String name, float cost) {
+            super(name, cost);
+        }
+
+        @Override
+        public boolean canRun(BehaviorContext context) {
+            return true;
+        }
+
+        @Override
+        public boolean execute(BehaviorContext context) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.gerefloc45.voidapi.api.nodes;
+
+import com.gerefloc45.voidapi.api.Behavior;
+import com.gerefloc45.voidapi.api.BehaviorContext;
+import com.gerefloc45.voidapi.api.BehaviorNode;
+import com.gerefloc45.voidapi.api.BehaviorTree;
+import com.gerefloc45.voidapi.api.Blackboard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares ticking a tree through {@link CompiledNode} against the node
+ * graph it was compiled from, for trees of 10, 100 and 1000 nodes.
+ *
+ * <p>Trees are random mixes of sequences, selectors, inverters and repeats
+ * over leaves that succeed, fail or keep running depending on the tick, so
+ * every tick takes a different path. Both trees share the same leaves and
+ * see the same tick numbers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompiledNodeBenchmark {
+    @Param({"10", "100", "1000"})
+    public int nodes;
+
+    private BehaviorTree interpreted;
+    private BehaviorTree compiled;
+    private BehaviorContext interpretedContext;
+    private BehaviorContext compiledContext;
+    private long interpretedTick;
+    private long compiledTick;
+
+    @Setup
+    public void setup() {
+        Behavior root = generate(nodes, new Random(nodes));
+        interpreted = new BehaviorTree(root);
+        compiled = new BehaviorTree(CompiledNode.compile(root));
+        interpretedContext = new BehaviorContext(null, null, new Blackboard(false), 0.05f);
+        compiledContext = new BehaviorContext(null, null, new Blackboard(false), 0.05f);
+    }
+
+    @Benchmark
+    public Behavior.Status interpreted() {
+        interpretedContext.update(null, 0.05f, ++interpretedTick);
+        return interpreted.tick(interpretedContext);
+    }
+
+    @Benchmark
+    public Behavior.Status compiled() {
+        compiledContext.update(null, 0.05f, ++compiledTick);
+        return compiled.tick(compiledContext);
+    }
+
+    /**
+     * Generates a random tree with exactly the given number of nodes.
+     */
+    static Behavior generate(int nodes, Random random) {
+        if (nodes == 1) {
+            return leaf(random.nextInt(1000));
+        }
+        if (nodes == 2 || random.nextInt(8) == 0) {
+            Behavior child = generate(nodes - 1, random);
+            return random.nextBoolean() ? new InverterNode(child) : new RepeatNode(child, 2);
+        }
+
+        BehaviorNode composite = random.nextBoolean() ? new SequenceNode() : new SelectorNode();
+        int remaining = nodes - 1;
+        int childCount = Math.min(remaining, 2 + random.nextInt(3));
+        for (int i = childCount; i > 0; i--) {
+            // Leave at least one node for each child still to come
+            int size = i == 1 ? remaining : 1 + random.nextInt(remaining - i + 1);
+            composite.addChild(generate(size, random));
+            remaining -= size;
+        }
+        return composite;
+    }
+
+    private static Behavior leaf(int salt) {
+        return context -> {
+            long tick = context.getTickNumber() + salt;
+            if (tick % 7 == 0) {
+                return Behavior.Status.RUNNING;
+            }
+            return tick % 3 == 0 ? Behavior.Status.FAILURE : Behavior.Status.SUCCESS;
+        };
+    }
+}
@@ -0,0 +1,72 @@
+package com.gerefloc45.voidapi.api.perception;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.hit.HitResult;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.RaycastContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a line-of-sight check through {@link OcclusionGrid}'s bitsets
+ * against a vanilla collider raycast, on the generated terrain of the
+ * correctness test. Each invocation checks the next of a fixed set of rays
+ * between open blocks, so both see the same mix of clear and blocked rays.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OcclusionGridBenchmark {
+    private static final int RAYS = 1024;
+
+    private TestTerrain terrain;
+    private final Vec3d[] from = new Vec3d[RAYS];
+    private final Vec3d[] to = new Vec3d[RAYS];
+    private int next;
+
+    @Setup
+    public void setup() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+
+        Random random = new Random(13);
+        terrain = new TestTerrain(random);
+        for (int i = 0; i < RAYS; i++) {
+            from[i] = terrain.openPoint(random);
+            to[i] = terrain.openPoint(random);
+        }
+    }
+
+    @Benchmark
+    public boolean grid() {
+        int i = next++ & (RAYS - 1);
+        return OcclusionGrid.isClear(from[i], to[i], 0, TestTerrain.SIZE, terrain);
+    }
+
+    @Benchmark
+    public boolean vanilla() {
+        int i = next++ & (RAYS - 1);
+        return terrain.raycast(new RaycastContext(
+                from[i],
+                to[i],
+                RaycastContext.ShapeType.COLLIDER,
+                RaycastContext.FluidHandling.NONE,
+                (Entity) null)).getType() == HitResult.Type.MISS;
+    }
+}
@@ -0,0 +1,190 @@
+package com.gerefloc45.voidapi.api;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Record of a behavior tree's active running path, used by event-driven execution.
+ * <p>
+ * During a full traversal, nodes report to the path through
+ * {@link BehaviorContext#getActivePath()}: the running leaf registers itself,
+ * guards register the blackboard keys they read, and nodes that must run every
+ * tick (timeouts, parallels, periodic re-evaluation) pin the path. On later
+ * ticks the tree resumes the running leaf directly, without walking its
+ * ancestors, until the leaf completes, a guard's keys change, the path is
+ * pinned, or an evaluation is requested.
+ * <p>
+ * {@link com.gerefloc45.voidapi.api.nodes.ActionNode} reports itself
+ * automatically; wrap other long-running leaves in an ActionNode to make them
+ * resumable. Custom composites that tick several children per tick, or whose
+ * result depends on time, must call {@link #pin()}.
+ *
+ * @author VoidAPI Framework
+ * @version 0.8.0
+ */
+public final class ActivePath {
+    private final List<BlackboardWatch> watches;
+    private Behavior runningLeaf;
+    private boolean pinned;
+    private volatile boolean evaluationRequested;
+
+    // Result of a resumed leaf that completed, replayed during the following traversal
+    private Behavior replayLeaf;
+    private Behavior.Status replayStatus;
+
+    private long resumedTicks;
+    private long traversals;
+
+    /**
+     * Creates an empty path.
+     */
+    ActivePath() {
+        this.watches = new ArrayList<>();
+    }
+
+    /**
+     * Registers a guard's watched keys. A change to any of them forces a full traversal.
+     * Must be called every time the guard is evaluated during a traversal.
+     *
+     * @param watch The guard's watch
+     */
+    public void observe(BlackboardWatch watch) {
+        for (int i = 0; i < watches.size(); i++) {
+            if (watches.get(i) == watch) {
+                return;
+            }
+        }
+        watches.add(watch);
+    }
+
+    /**
+     * Marks the path as requiring a full traversal every tick until the next traversal
+     * that does not pin it.
+     */
+    public void pin() {
+        pinned = true;
+    }
+
+    /**
+     * Reports a leaf that returned RUNNING. The first report of a traversal wins,
+     * so a leaf nested in another reporting leaf is the one resumed.
+     *
+     * @param leaf The running leaf
+     */
+    public void leafRunning(Behavior leaf) {
+        if (runningLeaf == null) {
+            runningLeaf = leaf;
+        }
+    }
+
+    /**
+     * Takes the completed status of a leaf that was resumed directly this tick.
+     * Leaves call this before executing, and return the status instead if present.
+     *
+     * @param leaf The leaf about to execute
+     * @return The replayed status, or null if the leaf should execute normally
+     */
+    public Behavior.Status takeResult(Behavior leaf) {
+        if (replayLeaf != leaf) {
+            return null;
+        }
+        Behavior.Status status = replayStatus;
+        replayLeaf = null;
+        replayStatus = null;
+        return status;
+    }
+
+    /**
+     * Requests a full traversal on the next tick, e.g. from an external event.
+     * Safe to call from any thread.
+     */
+    public void requestEvaluation() {
+        evaluationRequested = true;
+    }
+
+    /**
+     * Gets the number of ticks that resumed the running leaf directly.
+     *
+     * @return Resumed tick count
+     */
+    public long getResumedTicks() {
+        return resumedTicks;
+    }
+
+    /**
+     * Gets the number of full traversals from the root.
+     *
+     * @return Traversal count
+     */
+    public long getTraversals() {
+        return traversals;
+    }
+
+    /**
+     * Checks whether the running leaf can be resumed without a traversal.
+     */
+    boolean canResume(Blackboard blackboard) {
+        if (runningLeaf == null || pinned || evaluationRequested) {
+            return false;
+        }
+        for (int i = 0; i < watches.size(); i++) {
+            if (watches.get(i).isChanged(blackboard)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Executes the running leaf directly. If it completes, its status is kept
+     * for replay during the traversal that must follow.
+     *
+     * @return The leaf's status
+     */
+    Behavior.Status resume(BehaviorContext context) {
+        resumedTicks++;
+        Behavior leaf = runningLeaf;
+        Behavior.Status status = leaf.execute(context);
+        if (status != Behavior.Status.RUNNING) {
+            replayLeaf = leaf;
+            replayStatus = status;
+        }
+        return status;
+    }
+
+    /**
+     * Clears the recorded path before a full traversal.
+     */
+    void beginTraversal() {
+        traversals++;
+        watches.clear();
+        runningLeaf = null;
+        pinned = false;
+        evaluationRequested = false;
+    }
+
+    /**
+     * Finishes a traversal. A replayed result that was not consumed belongs to a
+     * leaf the traversal no longer reached, so it is ended here.
+     */
+    void endTraversal(BehaviorContext context) {
+        if (replayLeaf != null) {
+            Behavior leaf = replayLeaf;
+            Behavior.Status status = replayStatus;
+            replayLeaf = null;
+            replayStatus = null;
+            leaf.onEnd(context, status);
+        }
+    }
+
+    /**
+     * Forgets the recorded path.
+     */
+    void clear() {
+        watches.clear();
+        runningLeaf = null;
+        pinned = false;
+        replayLeaf = null;
+        replayStatus = null;
+    }
+}
@@ -50,4 +50,15 @@ public interface Behavior {
     default void onEnd(BehaviorContext context, Status status) {
         // Default: no-op
     }
+
+    /**
+     * Lays out this behavior's runtime state and its children when a tree
+     * template is built. Nodes that keep state in a {@link NodeMemory} allocate
+     * it here, and nodes with children pass each child to the layout.
+     *
+     * @param layout The layout being built
+     */
+    default void layoutState(NodeStateLayout layout) {
+        // Default: stateless leaf
+    }
 }
@@ -6,15 +6,21 @@ import net.minecraft.server.world.ServerWorld;
 /**
  * Context object passed to behaviors during execution.
  * Contains the entity, world, blackboard, and delta time information.
+ * Brains reuse one context per entity and update it in place every tick,
+ * so behaviors should read values when they need them rather than keep the
+ * context's values around across ticks.
  * 
  * @author VoidAPI Framework
  * @version 1.0.0
  */
 public class BehaviorContext {
     private final LivingEntity entity;
-    private final ServerWorld world;
     private final Blackboard blackboard;
-    private final float deltaTime;
+    private ServerWorld world;
+    private float deltaTime;
+    private long tickNumber;
+    private ActivePath activePath;
+    private NodeState nodeState;
 
     /**
      * Creates a new behavior context.
@@ -29,6 +35,20 @@ public class BehaviorContext {
         this.world = world;
         this.blackboard = blackboard;
         this.deltaTime = deltaTime;
+        this.tickNumber = 0;
+    }
+
+    /**
+     * Updates this context in place for the next tick.
+     *
+     * @param world The server world the entity is currently in
+     * @param deltaTime Time since last tick in seconds
+     * @param tickNumber The brain's tick number
+     */
+    public void update(ServerWorld world, float deltaTime, long tickNumber) {
+        this.world = world;
+        this.deltaTime = deltaTime;
+        this.tickNumber = tickNumber;
     }
 
     /**
@@ -66,4 +86,51 @@ public class BehaviorContext {
     public float getDeltaTime() {
         return deltaTime;
     }
+
+    /**
+     * Gets the number of times the owning brain has been ticked, starting at 1.
+     * Contexts created directly rather than by a brain report 0.
+     *
+     * @return The tick number
+     */
+    public long getTickNumber() {
+        return tickNumber;
+    }
+
+    /**
+     * Gets the active path of the event-driven tree currently traversing.
+     * Nodes report running leaves, guards and pins to it.
+     *
+     * @return The active path, or null outside an event-driven traversal
+     */
+    public ActivePath getActivePath() {
+        return activePath;
+    }
+
+    /**
+     * Sets the active path for the current traversal.
+     *
+     * @param activePath The path, or null
+     */
+    void setActivePath(ActivePath activePath) {
+        this.activePath = activePath;
+    }
+
+    /**
+     * Gets the node state of the tree currently ticking.
+     *
+     * @return The node state, or null outside a tree tick
+     */
+    public NodeState getNodeState() {
+        return nodeState;
+    }
+
+    /**
+     * Sets the node state for the current tree tick.
+     *
+     * @param nodeState The state, or null
+     */
+    void setNodeState(NodeState nodeState) {
+        this.nodeState = nodeState;
+    }
 }
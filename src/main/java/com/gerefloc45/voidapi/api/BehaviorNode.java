@@ -6,13 +6,17 @@ import java.util.List;
 /**
  * Abstract base class for composite behavior tree nodes.
  * Nodes can have children and implement different execution strategies.
+ * Runtime state is kept in {@link NodeMemory} rather than instance fields, so a
+ * node graph can be shared by many trees.
  * 
  * @author VoidAPI Framework
  * @version 1.0.0
  */
 public abstract class BehaviorNode implements Behavior {
+    private static final int STARTED = 0;
+
     protected final List<Behavior> children;
-    private boolean started = false;
+    private final NodeMemory baseMemory = new NodeMemory(1, 0);
 
     /**
      * Creates a new behavior node with no children.
@@ -44,33 +48,50 @@ public abstract class BehaviorNode implements Behavior {
     /**
      * Checks if this node has been started.
      *
+     * @param context The behavior context
      * @return True if started
      */
-    protected boolean isStarted() {
-        return started;
+    protected boolean isStarted(BehaviorContext context) {
+        return baseMemory.getBoolean(context, STARTED);
     }
 
     /**
      * Marks this node as started.
+     *
+     * @param context The behavior context
      */
-    protected void markStarted() {
-        this.started = true;
+    protected void markStarted(BehaviorContext context) {
+        baseMemory.setBoolean(context, STARTED, true);
     }
 
     /**
      * Resets the started flag.
+     *
+     * @param context The behavior context
      */
-    protected void reset() {
-        this.started = false;
+    protected void reset(BehaviorContext context) {
+        baseMemory.setBoolean(context, STARTED, false);
     }
 
     @Override
     public void onStart(BehaviorContext context) {
-        reset();
+        reset(context);
     }
 
     @Override
     public void onEnd(BehaviorContext context, Status status) {
-        reset();
+        reset(context);
+    }
+
+    /**
+     * Allocates this node's state and lays out its children.
+     * Subclasses with their own {@link NodeMemory} allocate it and call super.
+     */
+    @Override
+    public void layoutState(NodeStateLayout layout) {
+        layout.allocate(baseMemory);
+        for (Behavior child : children) {
+            layout.add(child);
+        }
     }
 }
@@ -4,13 +4,23 @@ package com.gerefloc45.voidapi.api;
  * Main behavior tree class that wraps a root behavior.
  * Manages the execution lifecycle of the entire tree.
  * 
+ * <p>By default every tick walks from the root. In event-driven mode the tree
+ * records its {@link ActivePath} and, while nothing relevant changed, resumes
+ * the running leaf directly instead; see {@link #setEventDriven(boolean)}.
+ * 
+ * <p>Node runtime state lives in the tree's own {@link NodeState}, so trees
+ * created from one {@link BehaviorTreeTemplate} share a single node graph.
+ * 
  * @author VoidAPI Framework
  * @version 1.0.0
  */
 public class BehaviorTree {
     private final Behavior rootBehavior;
+    private final BehaviorTreeTemplate template;
+    private final NodeState nodeState;
     private Behavior.Status lastStatus;
     private boolean isRunning;
+    private ActivePath activePath;
 
     /**
      * Creates a new behavior tree with the given root behavior.
@@ -18,7 +28,18 @@ public class BehaviorTree {
      * @param rootBehavior The root behavior of the tree
      */
     public BehaviorTree(Behavior rootBehavior) {
-        this.rootBehavior = rootBehavior;
+        this(new BehaviorTreeTemplate(rootBehavior));
+    }
+
+    /**
+     * Creates a new behavior tree instance from a shared template.
+     *
+     * @param template The tree template
+     */
+    public BehaviorTree(BehaviorTreeTemplate template) {
+        this.template = template;
+        this.rootBehavior = template.getRoot();
+        this.nodeState = template.newState();
         this.lastStatus = Behavior.Status.SUCCESS;
         this.isRunning = false;
     }
@@ -30,21 +51,102 @@ public class BehaviorTree {
      * @return The status of the root behavior execution
      */
     public Behavior.Status tick(BehaviorContext context) {
-        if (!isRunning) {
-            rootBehavior.onStart(context);
-            isRunning = true;
-        }
+        NodeState previousState = context.getNodeState();
+        context.setNodeState(nodeState);
+        try {
+            if (!isRunning) {
+                rootBehavior.onStart(context);
+                isRunning = true;
+            }
 
-        lastStatus = rootBehavior.execute(context);
+            if (activePath == null) {
+                lastStatus = rootBehavior.execute(context);
+            } else {
+                lastStatus = tickEventDriven(context);
+            }
 
-        if (lastStatus != Behavior.Status.RUNNING) {
-            rootBehavior.onEnd(context, lastStatus);
-            isRunning = false;
+            if (lastStatus != Behavior.Status.RUNNING) {
+                rootBehavior.onEnd(context, lastStatus);
+                isRunning = false;
+            }
+        } finally {
+            context.setNodeState(previousState);
         }
 
         return lastStatus;
     }
 
+    /**
+     * Event-driven tick: resumes the running leaf if possible, otherwise
+     * traverses from the root and records the new active path.
+     */
+    private Behavior.Status tickEventDriven(BehaviorContext context) {
+        if (activePath.canResume(context.getBlackboard())
+                && activePath.resume(context) == Behavior.Status.RUNNING) {
+            return Behavior.Status.RUNNING;
+        }
+
+        ActivePath previous = context.getActivePath();
+        activePath.beginTraversal();
+        context.setActivePath(activePath);
+        try {
+            return rootBehavior.execute(context);
+        } finally {
+            context.setActivePath(previous);
+            activePath.endTraversal(context);
+        }
+    }
+
+    /**
+     * Enables or disables event-driven execution.
+     * When enabled, the tree keeps a pointer to the running leaf and resumes it
+     * directly on later ticks. It walks from the root again only when the leaf
+     * completes, a guard's watched blackboard keys change, a node on the path
+     * pinned it, or {@link #requestEvaluation()} was called. Guards without
+     * watched keys are re-evaluated every tick as before.
+     *
+     * @param eventDriven True to enable event-driven execution
+     * @return This tree for method chaining
+     */
+    public BehaviorTree setEventDriven(boolean eventDriven) {
+        if (eventDriven && activePath == null) {
+            activePath = new ActivePath();
+        } else if (!eventDriven) {
+            activePath = null;
+        }
+        return this;
+    }
+
+    /**
+     * Checks if event-driven execution is enabled.
+     *
+     * @return True if event-driven
+     */
+    public boolean isEventDriven() {
+        return activePath != null;
+    }
+
+    /**
+     * Requests a full traversal on the next tick in event-driven mode.
+     * Call this from events the tree's guards depend on but cannot observe
+     * through the blackboard, such as taking damage. Safe to call from any thread.
+     */
+    public void requestEvaluation() {
+        ActivePath path = activePath;
+        if (path != null) {
+            path.requestEvaluation();
+        }
+    }
+
+    /**
+     * Gets the active path recorded in event-driven mode.
+     *
+     * @return The active path, or null if not event-driven
+     */
+    public ActivePath getActivePath() {
+        return activePath;
+    }
+
     /**
      * Gets the last execution status of the tree.
      *
@@ -70,10 +172,20 @@ public class BehaviorTree {
      */
     public void reset(BehaviorContext context) {
         if (isRunning) {
-            rootBehavior.onEnd(context, lastStatus);
+            NodeState previousState = context.getNodeState();
+            context.setNodeState(nodeState);
+            try {
+                rootBehavior.onEnd(context, lastStatus);
+            } finally {
+                context.setNodeState(previousState);
+            }
         }
+        nodeState.clear();
         isRunning = false;
         lastStatus = Behavior.Status.SUCCESS;
+        if (activePath != null) {
+            activePath.clear();
+        }
     }
 
     /**
@@ -84,4 +196,22 @@ public class BehaviorTree {
     public Behavior getRootBehavior() {
         return rootBehavior;
     }
+
+    /**
+     * Gets the template this tree was created from.
+     *
+     * @return The template
+     */
+    public BehaviorTreeTemplate getTemplate() {
+        return template;
+    }
+
+    /**
+     * Gets this tree's node state.
+     *
+     * @return The node state
+     */
+    public NodeState getNodeState() {
+        return nodeState;
+    }
 }
@@ -0,0 +1,72 @@
+package com.gerefloc45.voidapi.api;
+
+/**
+ * Shareable, immutable behavior tree definition.
+ * The node graph is built once; every tree created from the template shares
+ * it and only owns a compact {@link NodeState}. Use a template when many
+ * entities run the same AI instead of building a node graph per entity.
+ * <p>
+ * The node graph must be complete before the template is created, and leaves
+ * that keep their own instance fields must not be shared; wrap them in
+ * {@link com.gerefloc45.voidapi.api.nodes.PerEntityNode}.
+ *
+ * <pre>{@code
+ * BehaviorTreeTemplate zombieAi = new BehaviorTreeTemplate(buildZombieTree());
+ * BrainController.getInstance().attachBrain(zombie, zombieAi.createTree());
+ * }</pre>
+ *
+ * @author VoidAPI Framework
+ * @version 0.8.0
+ */
+public final class BehaviorTreeTemplate {
+    private final Behavior root;
+    private final NodeStateLayout layout;
+
+    /**
+     * Creates a template and lays out its node state.
+     *
+     * @param root The root behavior
+     */
+    public BehaviorTreeTemplate(Behavior root) {
+        this.root = root;
+        this.layout = new NodeStateLayout();
+        layout.add(root);
+        layout.complete();
+    }
+
+    /**
+     * Creates a tree instance with its own node state.
+     *
+     * @return A new behavior tree
+     */
+    public BehaviorTree createTree() {
+        return new BehaviorTree(this);
+    }
+
+    /**
+     * Creates zeroed node state for one tree instance.
+     *
+     * @return New state
+     */
+    NodeState newState() {
+        return layout.newState();
+    }
+
+    /**
+     * Gets the shared root behavior.
+     *
+     * @return The root
+     */
+    public Behavior getRoot() {
+        return root;
+    }
+
+    /**
+     * Gets the node state layout.
+     *
+     * @return The layout
+     */
+    public NodeStateLayout getLayout() {
+        return layout;
+    }
+}
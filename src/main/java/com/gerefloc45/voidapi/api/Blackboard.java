@@ -1,24 +1,129 @@
 package com.gerefloc45.voidapi.api;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
  * Blackboard memory system for storing and retrieving arbitrary data per entity.
- * Thread-safe implementation for concurrent access.
- * 
+ * Thread-safe by default; a single-owner blackboard skips locking entirely.
+ * <p>
+ * Values are stored in dense slots addressed by {@link BlackboardKey} ids.
+ * Int, float, long and boolean values written through the primitive setters
+ * are stored unboxed, and the typed getters never allocate. The string API
+ * shares the same storage, so a value written with {@code setInt(key, 3)} can
+ * still be read with {@code get(key.getName())}.
+ * <p>
+ * Every change stamps the key with a new version from a per-blackboard
+ * counter and adds it to the dirty set, which the brain clears at the end of
+ * each tick. Conditions can compare versions (see {@link BlackboardWatch}) to
+ * skip re-evaluation when none of the keys they read changed, and listeners
+ * can subscribe to individual keys. Writing a value equal to the current one
+ * replaces the stored instance but is not a change; writing the same mutable
+ * instance again is, so re-setting a list after mutating it in place is still
+ * observed.
+ *
  * @author VoidAPI Framework
  * @version 1.0.0
  */
 public class Blackboard {
-    private final Map<String, Object> data;
+    private static final byte ABSENT = 0;
+    private static final byte OBJECT = 1;
+    private static final byte INT = 2;
+    private static final byte FLOAT = 3;
+    private static final byte LONG = 4;
+    private static final byte BOOLEAN = 5;
+
+    private static final Subscription[] NO_SUBSCRIPTIONS = new Subscription[0];
+
+    private final boolean threadSafe;
+
+    // Key id -> local slot + 1 (open addressing, slots are never freed)
+    private int[] tableIds;
+    private int[] tableSlots;
+    private int mask;
+
+    // Dense slot storage
+    private Object[] objects;
+    private long[] primitives;
+    private byte[] kinds;
+    private long[] versions;
+    private Subscription[][] subscriptions;
+    private int slotCount;
+    private int size;
+    private long modCount;
+
+    // Slots changed since the last clearDirty()
+    private boolean[] dirty;
+    private int[] dirtySlots;
+    private int dirtyCount;
+
+    // Slots whose subscribers wait for dispatchNotifications()
+    private boolean deferring;
+    private boolean[] pending;
+    private int[] pendingSlots;
+    private int pendingCount;
 
     /**
-     * Creates a new empty blackboard.
+     * Listener notified when the value under a subscribed key changes.
+     * Called on the writing thread after the blackboard lock is released, or
+     * by {@link #dispatchNotifications()} while notifications are deferred.
+     */
+    @FunctionalInterface
+    public interface ChangeListener {
+        /**
+         * Called after a subscribed key changed.
+         *
+         * @param blackboard The blackboard that changed
+         * @param key The key that was subscribed to
+         */
+        void onChange(Blackboard blackboard, BlackboardKey<?> key);
+    }
+
+    /**
+     * A listener bound to the key it subscribed with.
+     */
+    private record Subscription(BlackboardKey<?> key, ChangeListener listener) {
+    }
+
+    /**
+     * Creates a new empty thread-safe blackboard.
      */
     public Blackboard() {
-        this.data = new HashMap<>();
+        this(true);
+    }
+
+    /**
+     * Creates a new empty blackboard.
+     *
+     * @param threadSafe False for a single-owner blackboard that is only accessed
+     *                   from one thread at a time and skips synchronization
+     */
+    public Blackboard(boolean threadSafe) {
+        this.threadSafe = threadSafe;
+        this.tableIds = new int[16];
+        this.tableSlots = new int[16];
+        this.mask = 15;
+        this.objects = new Object[8];
+        this.primitives = new long[8];
+        this.kinds = new byte[8];
+        this.versions = new long[8];
+        this.subscriptions = new Subscription[8][];
+        this.dirty = new boolean[8];
+        this.dirtySlots = new int[8];
+        this.pending = new boolean[8];
+        this.pendingSlots = new int[8];
+    }
+
+    /**
+     * Checks if this blackboard synchronizes access.
+     *
+     * @return True if thread-safe, false for single-owner
+     */
+    public boolean isThreadSafe() {
+        return threadSafe;
     }
 
     /**
@@ -27,8 +132,8 @@ public class Blackboard {
      * @param key The key to store the value under
      * @param value The value to store
      */
-    public synchronized void set(String key, Object value) {
-        data.put(key, value);
+    public void set(String key, Object value) {
+        setObject(BlackboardKey.idOf(key), value);
     }
 
     /**
@@ -39,9 +144,13 @@ public class Blackboard {
      * @return Optional containing the value if present and of correct type
      */
     @SuppressWarnings("unchecked")
-    public synchronized <T> Optional<T> get(String key) {
+    public <T> Optional<T> get(String key) {
+        int id = BlackboardKey.findId(key);
+        if (id < 0) {
+            return Optional.empty();
+        }
         try {
-            return Optional.ofNullable((T) data.get(key));
+            return Optional.ofNullable((T) getObject(id));
         } catch (ClassCastException e) {
             return Optional.empty();
         }
@@ -55,7 +164,7 @@ public class Blackboard {
      * @param <T> The expected type of the value
      * @return The value or default if not present
      */
-    public synchronized <T> T getOrDefault(String key, T defaultValue) {
+    public <T> T getOrDefault(String key, T defaultValue) {
         return this.<T>get(key).orElse(defaultValue);
     }
 
@@ -65,8 +174,9 @@ public class Blackboard {
      * @param key The key to check
      * @return True if the key exists
      */
-    public synchronized boolean has(String key) {
-        return data.containsKey(key);
+    public boolean has(String key) {
+        int id = BlackboardKey.findId(key);
+        return id >= 0 && has(id);
     }
 
     /**
@@ -74,15 +184,354 @@ public class Blackboard {
      *
      * @param key The key to remove
      */
-    public synchronized void remove(String key) {
-        data.remove(key);
+    public void remove(String key) {
+        int id = BlackboardKey.findId(key);
+        if (id >= 0) {
+            remove(id);
+        }
+    }
+
+    /**
+     * Sets a value under a typed key.
+     *
+     * @param key The key
+     * @param value The value to store
+     * @param <T> The value type
+     */
+    public <T> void set(BlackboardKey<T> key, T value) {
+        setObject(key.getId(), value);
+    }
+
+    /**
+     * Gets a value under a typed key without allocating.
+     *
+     * @param key The key
+     * @param <T> The value type
+     * @return The value, or null if absent or not of the key's type
+     */
+    public <T> T getOrNull(BlackboardKey<T> key) {
+        Object value = getObject(key.getId());
+        return key.getType().isInstance(value) ? key.getType().cast(value) : null;
+    }
+
+    /**
+     * Gets a value under a typed key with a default fallback.
+     *
+     * @param key The key
+     * @param defaultValue The default value if absent or not of the key's type
+     * @param <T> The value type
+     * @return The value or default
+     */
+    public <T> T getOrDefault(BlackboardKey<T> key, T defaultValue) {
+        T value = getOrNull(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Checks if a typed key exists in the blackboard.
+     *
+     * @param key The key
+     * @return True if the key exists
+     */
+    public boolean has(BlackboardKey<?> key) {
+        return has(key.getId());
+    }
+
+    /**
+     * Removes a value under a typed key.
+     *
+     * @param key The key
+     */
+    public void remove(BlackboardKey<?> key) {
+        remove(key.getId());
+    }
+
+    /**
+     * Stores an unboxed int.
+     *
+     * @param key The key
+     * @param value The value
+     */
+    public void setInt(BlackboardKey<Integer> key, int value) {
+        putPrimitive(key.getId(), INT, value);
+    }
+
+    /**
+     * Reads an int without allocating. Other numeric values are converted.
+     *
+     * @param key The key
+     * @param defaultValue Value returned if absent or not numeric
+     * @return The value or default
+     */
+    public int getInt(BlackboardKey<Integer> key, int defaultValue) {
+        if (threadSafe) {
+            synchronized (this) {
+                return readInt(key.getId(), defaultValue);
+            }
+        }
+        return readInt(key.getId(), defaultValue);
+    }
+
+    /**
+     * Stores an unboxed float.
+     *
+     * @param key The key
+     * @param value The value
+     */
+    public void setFloat(BlackboardKey<Float> key, float value) {
+        putPrimitive(key.getId(), FLOAT, Float.floatToRawIntBits(value));
+    }
+
+    /**
+     * Reads a float without allocating. Other numeric values are converted.
+     *
+     * @param key The key
+     * @param defaultValue Value returned if absent or not numeric
+     * @return The value or default
+     */
+    public float getFloat(BlackboardKey<Float> key, float defaultValue) {
+        if (threadSafe) {
+            synchronized (this) {
+                return readFloat(key.getId(), defaultValue);
+            }
+        }
+        return readFloat(key.getId(), defaultValue);
+    }
+
+    /**
+     * Stores an unboxed long.
+     *
+     * @param key The key
+     * @param value The value
+     */
+    public void setLong(BlackboardKey<Long> key, long value) {
+        putPrimitive(key.getId(), LONG, value);
+    }
+
+    /**
+     * Reads a long without allocating. Other integral values are converted.
+     *
+     * @param key The key
+     * @param defaultValue Value returned if absent or not numeric
+     * @return The value or default
+     */
+    public long getLong(BlackboardKey<Long> key, long defaultValue) {
+        if (threadSafe) {
+            synchronized (this) {
+                return readLong(key.getId(), defaultValue);
+            }
+        }
+        return readLong(key.getId(), defaultValue);
+    }
+
+    /**
+     * Stores an unboxed boolean.
+     *
+     * @param key The key
+     * @param value The value
+     */
+    public void setBoolean(BlackboardKey<Boolean> key, boolean value) {
+        putPrimitive(key.getId(), BOOLEAN, value ? 1L : 0L);
+    }
+
+    /**
+     * Reads a boolean without allocating.
+     *
+     * @param key The key
+     * @param defaultValue Value returned if absent or not a boolean
+     * @return The value or default
+     */
+    public boolean getBoolean(BlackboardKey<Boolean> key, boolean defaultValue) {
+        if (threadSafe) {
+            synchronized (this) {
+                return readBoolean(key.getId(), defaultValue);
+            }
+        }
+        return readBoolean(key.getId(), defaultValue);
+    }
+
+    /**
+     * Gets the version of a key: the modification count at its last change.
+     * Versions only increase, so a key changed if its version differs from a
+     * previously observed one.
+     *
+     * @param key The key
+     * @return The version, or 0 if the key never changed on this blackboard
+     */
+    public long getVersion(BlackboardKey<?> key) {
+        if (threadSafe) {
+            synchronized (this) {
+                return readVersion(key.getId());
+            }
+        }
+        return readVersion(key.getId());
+    }
+
+    /**
+     * Gets the version of a key by name.
+     *
+     * @param key The key name
+     * @return The version, or 0 if the key never changed on this blackboard
+     */
+    public long getVersion(String key) {
+        int id = BlackboardKey.findId(key);
+        if (id < 0) {
+            return 0;
+        }
+        if (threadSafe) {
+            synchronized (this) {
+                return readVersion(id);
+            }
+        }
+        return readVersion(id);
+    }
+
+    /**
+     * Gets the total number of changes made to this blackboard.
+     * Equal to the version of the most recently changed key.
+     *
+     * @return The modification count
+     */
+    public long getModCount() {
+        if (threadSafe) {
+            synchronized (this) {
+                return modCount;
+            }
+        }
+        return modCount;
+    }
+
+    /**
+     * Checks if a key changed since the dirty set was last cleared.
+     *
+     * @param key The key
+     * @return True if the key is dirty
+     */
+    public boolean isDirty(BlackboardKey<?> key) {
+        if (threadSafe) {
+            synchronized (this) {
+                int slot = rawSlotOf(key.getId());
+                return slot >= 0 && dirty[slot];
+            }
+        }
+        int slot = rawSlotOf(key.getId());
+        return slot >= 0 && dirty[slot];
+    }
+
+    /**
+     * Checks if any key changed since the dirty set was last cleared.
+     *
+     * @return True if the dirty set is not empty
+     */
+    public boolean hasChanges() {
+        return getDirtyCount() > 0;
+    }
+
+    /**
+     * Gets the number of keys changed since the dirty set was last cleared.
+     *
+     * @return Dirty key count
+     */
+    public int getDirtyCount() {
+        if (threadSafe) {
+            synchronized (this) {
+                return dirtyCount;
+            }
+        }
+        return dirtyCount;
+    }
+
+    /**
+     * Clears the dirty set. Called by the brain at the end of every tick.
+     * Versions are not affected.
+     */
+    public void clearDirty() {
+        if (threadSafe) {
+            synchronized (this) {
+                resetDirty();
+            }
+        } else {
+            resetDirty();
+        }
+    }
+
+    /**
+     * Subscribes a listener to changes of a key.
+     *
+     * @param key The key to observe
+     * @param listener The listener
+     */
+    public void subscribe(BlackboardKey<?> key, ChangeListener listener) {
+        Objects.requireNonNull(listener, "listener");
+        if (threadSafe) {
+            synchronized (this) {
+                addSubscription(key, listener);
+            }
+        } else {
+            addSubscription(key, listener);
+        }
+    }
+
+    /**
+     * Removes a listener from a key.
+     *
+     * @param key The observed key
+     * @param listener The listener to remove
+     */
+    public void unsubscribe(BlackboardKey<?> key, ChangeListener listener) {
+        if (threadSafe) {
+            synchronized (this) {
+                removeSubscription(key, listener);
+            }
+        } else {
+            removeSubscription(key, listener);
+        }
+    }
+
+    /**
+     * Holds back change notifications until {@link #dispatchNotifications()}.
+     * The brain defers them while sensors and decisions run on worker threads,
+     * so listeners only ever run on the server thread.
+     */
+    public void deferNotifications() {
+        if (threadSafe) {
+            synchronized (this) {
+                deferring = true;
+            }
+        } else {
+            deferring = true;
+        }
+    }
+
+    /**
+     * Stops deferring and notifies the subscribers of every key that changed
+     * since {@link #deferNotifications()}, once per key.
+     */
+    public void dispatchNotifications() {
+        List<Subscription[]> toNotify;
+        if (threadSafe) {
+            synchronized (this) {
+                toNotify = takePending();
+            }
+        } else {
+            toNotify = takePending();
+        }
+        notifySubscribers(toNotify);
     }
 
     /**
      * Clears all data from the blackboard.
      */
-    public synchronized void clear() {
-        data.clear();
+    public void clear() {
+        List<Subscription[]> toNotify;
+        if (threadSafe) {
+            synchronized (this) {
+                toNotify = clearSlots();
+            }
+        } else {
+            toNotify = clearSlots();
+        }
+        notifySubscribers(toNotify);
     }
 
     /**
@@ -90,7 +539,416 @@ public class Blackboard {
      *
      * @return The size of the blackboard
      */
-    public synchronized int size() {
-        return data.size();
+    public int size() {
+        if (threadSafe) {
+            synchronized (this) {
+                return size;
+            }
+        }
+        return size;
+    }
+
+    private void setObject(int id, Object value) {
+        Subscription[] toNotify;
+        if (threadSafe) {
+            synchronized (this) {
+                toNotify = putObject(id, value);
+            }
+        } else {
+            toNotify = putObject(id, value);
+        }
+        notifySubscribers(toNotify);
+    }
+
+    private void putPrimitive(int id, byte kind, long bits) {
+        Subscription[] toNotify;
+        if (threadSafe) {
+            synchronized (this) {
+                toNotify = storePrimitive(id, kind, bits);
+            }
+        } else {
+            toNotify = storePrimitive(id, kind, bits);
+        }
+        notifySubscribers(toNotify);
+    }
+
+    private void notifySubscribers(Subscription[] subscribers) {
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscription subscription : subscribers) {
+            subscription.listener().onChange(this, subscription.key());
+        }
+    }
+
+    private void notifySubscribers(List<Subscription[]> toNotify) {
+        if (toNotify == null) {
+            return;
+        }
+        for (Subscription[] subscribers : toNotify) {
+            notifySubscribers(subscribers);
+        }
+    }
+
+    // ---- Slot storage, callers handle locking ----
+
+    /**
+     * @return Subscribers to notify, or null if nothing changed or nobody listens
+     */
+    private Subscription[] putObject(int id, Object value) {
+        int slot = slotFor(id);
+        byte kind = kinds[slot];
+        Object current = objects[slot];
+        if (kind == ABSENT) {
+            size++;
+        }
+        kinds[slot] = OBJECT;
+        objects[slot] = value;
+        // An equal value is stored but is not a change
+        if (kind == OBJECT && current != value && Objects.equals(current, value)) {
+            return null;
+        }
+        return markChanged(slot);
+    }
+
+    /**
+     * @return Subscribers to notify, or null if nothing changed or nobody listens
+     */
+    private Subscription[] storePrimitive(int id, byte kind, long bits) {
+        int slot = slotFor(id);
+        byte current = kinds[slot];
+        if (current == kind && primitives[slot] == bits) {
+            return null;
+        }
+        if (current == ABSENT) {
+            size++;
+        }
+        kinds[slot] = kind;
+        objects[slot] = null;
+        primitives[slot] = bits;
+        return markChanged(slot);
+    }
+
+    /**
+     * Stamps a slot with a new version and adds it to the dirty set.
+     *
+     * @return The slot's subscribers, or null if none or notifications are deferred
+     */
+    private Subscription[] markChanged(int slot) {
+        versions[slot] = ++modCount;
+        if (!dirty[slot]) {
+            dirty[slot] = true;
+            if (dirtyCount == dirtySlots.length) {
+                dirtySlots = Arrays.copyOf(dirtySlots, dirtyCount * 2);
+            }
+            dirtySlots[dirtyCount++] = slot;
+        }
+        Subscription[] subscribers = subscriptions[slot];
+        if (subscribers != null && deferring) {
+            if (!pending[slot]) {
+                pending[slot] = true;
+                if (pendingCount == pendingSlots.length) {
+                    pendingSlots = Arrays.copyOf(pendingSlots, pendingCount * 2);
+                }
+                pendingSlots[pendingCount++] = slot;
+            }
+            return null;
+        }
+        return subscribers;
+    }
+
+    /**
+     * Ends deferral and collects the subscribers of the pending slots.
+     *
+     * @return Subscriber arrays to notify, or null if none
+     */
+    private List<Subscription[]> takePending() {
+        deferring = false;
+        if (pendingCount == 0) {
+            return null;
+        }
+        List<Subscription[]> toNotify = new ArrayList<>(pendingCount);
+        for (int i = 0; i < pendingCount; i++) {
+            int slot = pendingSlots[i];
+            pending[slot] = false;
+            // Listeners may have unsubscribed since the change
+            if (subscriptions[slot] != null) {
+                toNotify.add(subscriptions[slot]);
+            }
+        }
+        pendingCount = 0;
+        return toNotify;
+    }
+
+    private void resetDirty() {
+        for (int i = 0; i < dirtyCount; i++) {
+            dirty[dirtySlots[i]] = false;
+        }
+        dirtyCount = 0;
+    }
+
+    private long readVersion(int id) {
+        int slot = rawSlotOf(id);
+        return slot >= 0 ? versions[slot] : 0L;
+    }
+
+    private void addSubscription(BlackboardKey<?> key, ChangeListener listener) {
+        int slot = slotFor(key.getId());
+        Subscription[] current = subscriptions[slot];
+        Subscription[] updated = current == null
+            ? new Subscription[1]
+            : Arrays.copyOf(current, current.length + 1);
+        updated[updated.length - 1] = new Subscription(key, listener);
+        subscriptions[slot] = updated;
+    }
+
+    private void removeSubscription(BlackboardKey<?> key, ChangeListener listener) {
+        int slot = rawSlotOf(key.getId());
+        Subscription[] current = slot >= 0 ? subscriptions[slot] : null;
+        if (current == null) {
+            return;
+        }
+        Subscription[] updated = NO_SUBSCRIPTIONS;
+        for (Subscription subscription : current) {
+            if (subscription.listener() != listener) {
+                updated = Arrays.copyOf(updated, updated.length + 1);
+                updated[updated.length - 1] = subscription;
+            }
+        }
+        subscriptions[slot] = updated.length > 0 ? updated : null;
+    }
+
+    private Object getObject(int id) {
+        if (threadSafe) {
+            synchronized (this) {
+                return readObject(id);
+            }
+        }
+        return readObject(id);
+    }
+
+    /**
+     * Reads a slot as an object, boxing primitive slots.
+     */
+    private Object readObject(int id) {
+        int slot = slotOf(id);
+        if (slot < 0) {
+            return null;
+        }
+        long bits = primitives[slot];
+        switch (kinds[slot]) {
+            case OBJECT:
+                return objects[slot];
+            case INT:
+                return (int) bits;
+            case FLOAT:
+                return Float.intBitsToFloat((int) bits);
+            case LONG:
+                return bits;
+            case BOOLEAN:
+                return bits != 0L;
+            default:
+                return null;
+        }
+    }
+
+    private int readInt(int id, int defaultValue) {
+        int slot = slotOf(id);
+        if (slot < 0) {
+            return defaultValue;
+        }
+        switch (kinds[slot]) {
+            case INT:
+            case LONG:
+                return (int) primitives[slot];
+            case FLOAT:
+                return (int) Float.intBitsToFloat((int) primitives[slot]);
+            case OBJECT:
+                return objects[slot] instanceof Number number ? number.intValue() : defaultValue;
+            default:
+                return defaultValue;
+        }
+    }
+
+    private float readFloat(int id, float defaultValue) {
+        int slot = slotOf(id);
+        if (slot < 0) {
+            return defaultValue;
+        }
+        switch (kinds[slot]) {
+            case FLOAT:
+                return Float.intBitsToFloat((int) primitives[slot]);
+            case INT:
+            case LONG:
+                return (float) primitives[slot];
+            case OBJECT:
+                return objects[slot] instanceof Number number ? number.floatValue() : defaultValue;
+            default:
+                return defaultValue;
+        }
+    }
+
+    private long readLong(int id, long defaultValue) {
+        int slot = slotOf(id);
+        if (slot < 0) {
+            return defaultValue;
+        }
+        switch (kinds[slot]) {
+            case INT:
+            case LONG:
+                return primitives[slot];
+            case FLOAT:
+                return (long) Float.intBitsToFloat((int) primitives[slot]);
+            case OBJECT:
+                return objects[slot] instanceof Number number ? number.longValue() : defaultValue;
+            default:
+                return defaultValue;
+        }
+    }
+
+    private boolean readBoolean(int id, boolean defaultValue) {
+        int slot = slotOf(id);
+        if (slot < 0) {
+            return defaultValue;
+        }
+        switch (kinds[slot]) {
+            case BOOLEAN:
+                return primitives[slot] != 0L;
+            case OBJECT:
+                return objects[slot] instanceof Boolean value ? value : defaultValue;
+            default:
+                return defaultValue;
+        }
+    }
+
+    private boolean has(int id) {
+        if (threadSafe) {
+            synchronized (this) {
+                return slotOf(id) >= 0;
+            }
+        }
+        return slotOf(id) >= 0;
+    }
+
+    private void remove(int id) {
+        Subscription[] toNotify;
+        if (threadSafe) {
+            synchronized (this) {
+                toNotify = removeSlot(id);
+            }
+        } else {
+            toNotify = removeSlot(id);
+        }
+        notifySubscribers(toNotify);
+    }
+
+    private Subscription[] removeSlot(int id) {
+        int slot = slotOf(id);
+        if (slot < 0) {
+            return null;
+        }
+        kinds[slot] = ABSENT;
+        objects[slot] = null;
+        size--;
+        return markChanged(slot);
+    }
+
+    /**
+     * @return Subscriber arrays to notify, or null if none
+     */
+    private List<Subscription[]> clearSlots() {
+        List<Subscription[]> toNotify = null;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (kinds[slot] == ABSENT) {
+                continue;
+            }
+            kinds[slot] = ABSENT;
+            objects[slot] = null;
+            Subscription[] subscribers = markChanged(slot);
+            if (subscribers != null) {
+                if (toNotify == null) {
+                    toNotify = new ArrayList<>();
+                }
+                toNotify.add(subscribers);
+            }
+        }
+        size = 0;
+        return toNotify;
+    }
+
+    /**
+     * Gets the slot holding a present value for a key id.
+     *
+     * @return The slot, or -1 if the key has no value
+     */
+    private int slotOf(int id) {
+        int slot = rawSlotOf(id);
+        return slot >= 0 && kinds[slot] != ABSENT ? slot : -1;
+    }
+
+    /**
+     * Gets the slot assigned to a key id, whether or not it holds a value.
+     *
+     * @return The slot, or -1 if the key was never used on this blackboard
+     */
+    private int rawSlotOf(int id) {
+        int index = id & mask;
+        while (tableSlots[index] != 0) {
+            if (tableIds[index] == id) {
+                return tableSlots[index] - 1;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the slot for a key id, assigning a new one on first use.
+     */
+    private int slotFor(int id) {
+        int index = id & mask;
+        while (tableSlots[index] != 0) {
+            if (tableIds[index] == id) {
+                return tableSlots[index] - 1;
+            }
+            index = (index + 1) & mask;
+        }
+
+        if (slotCount == kinds.length) {
+            int capacity = slotCount * 2;
+            objects = Arrays.copyOf(objects, capacity);
+            primitives = Arrays.copyOf(primitives, capacity);
+            kinds = Arrays.copyOf(kinds, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            subscriptions = Arrays.copyOf(subscriptions, capacity);
+            dirty = Arrays.copyOf(dirty, capacity);
+            pending = Arrays.copyOf(pending, capacity);
+        }
+        int slot = slotCount++;
+        tableIds[index] = id;
+        tableSlots[index] = slot + 1;
+
+        if (slotCount * 2 > tableIds.length) {
+            rehash(tableIds.length * 2);
+        }
+        return slot;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldIds = tableIds;
+        int[] oldSlots = tableSlots;
+        tableIds = new int[capacity];
+        tableSlots = new int[capacity];
+        mask = capacity - 1;
+        for (int i = 0; i < oldIds.length; i++) {
+            if (oldSlots[i] != 0) {
+                int index = oldIds[i] & mask;
+                while (tableSlots[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                tableIds[index] = oldIds[i];
+                tableSlots[index] = oldSlots[i];
+            }
+        }
     }
 }
@@ -0,0 +1,163 @@
+package com.gerefloc45.voidapi.api;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Typed, interned key for {@link Blackboard} access.
+ * Every key name is interned once to a dense integer id, so blackboards can
+ * address values by id instead of hashing strings. Create keys once (as
+ * constants or in constructors) and reuse them on hot paths; keys created from
+ * the same name share storage with each other and with the string API.
+ *
+ * @param <T> The type of value stored under this key
+ * @author VoidAPI Framework
+ * @version 0.8.0
+ */
+public final class BlackboardKey<T> {
+    private static final ConcurrentHashMap<String, Integer> IDS = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    private final String name;
+    private final Class<T> type;
+    private final int id;
+
+    private BlackboardKey(String name, Class<T> type, int id) {
+        this.name = name;
+        this.type = type;
+        this.id = id;
+    }
+
+    /**
+     * Creates a typed key.
+     *
+     * @param name The key name
+     * @param type The value type; reads return null if the stored value is not an instance of it
+     * @param <T> The value type
+     * @return The key
+     */
+    public static <T> BlackboardKey<T> of(String name, Class<T> type) {
+        return new BlackboardKey<>(name, type, idOf(name));
+    }
+
+    /**
+     * Creates an untyped key for generic values such as lists or maps.
+     * Reads are not type-checked.
+     *
+     * @param name The key name
+     * @param <T> The value type
+     * @return The key
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> BlackboardKey<T> of(String name) {
+        return new BlackboardKey<>(name, (Class<T>) Object.class, idOf(name));
+    }
+
+    /**
+     * Creates a key for an int value, intended for {@link Blackboard#setInt}/{@link Blackboard#getInt}.
+     *
+     * @param name The key name
+     * @return The key
+     */
+    public static BlackboardKey<Integer> ofInt(String name) {
+        return of(name, Integer.class);
+    }
+
+    /**
+     * Creates a key for a float value, intended for {@link Blackboard#setFloat}/{@link Blackboard#getFloat}.
+     *
+     * @param name The key name
+     * @return The key
+     */
+    public static BlackboardKey<Float> ofFloat(String name) {
+        return of(name, Float.class);
+    }
+
+    /**
+     * Creates a key for a long value, intended for {@link Blackboard#setLong}/{@link Blackboard#getLong}.
+     *
+     * @param name The key name
+     * @return The key
+     */
+    public static BlackboardKey<Long> ofLong(String name) {
+        return of(name, Long.class);
+    }
+
+    /**
+     * Creates a key for a boolean value, intended for {@link Blackboard#setBoolean}/{@link Blackboard#getBoolean}.
+     *
+     * @param name The key name
+     * @return The key
+     */
+    public static BlackboardKey<Boolean> ofBoolean(String name) {
+        return of(name, Boolean.class);
+    }
+
+    /**
+     * Gets the interned id of a key name, assigning a new one on first use.
+     *
+     * @param name The key name
+     * @return The dense id
+     */
+    static int idOf(String name) {
+        Integer id = IDS.get(name);
+        if (id != null) {
+            return id;
+        }
+        return IDS.computeIfAbsent(name, n -> NEXT_ID.getAndIncrement());
+    }
+
+    /**
+     * Gets the interned id of a key name without assigning one, for
+     * read-only lookups: a name that was never interned has no value anywhere.
+     *
+     * @param name The key name
+     * @return The dense id, or -1 if the name was never interned
+     */
+    static int findId(String name) {
+        Integer id = IDS.get(name);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Gets the key name.
+     *
+     * @return The name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the value type.
+     *
+     * @return The type
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Gets the interned id.
+     *
+     * @return The dense id
+     */
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof BlackboardKey<?> other && other.id == id);
+    }
+
+    @Override
+    public int hashCode() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
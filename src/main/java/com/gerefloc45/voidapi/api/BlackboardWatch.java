@@ -0,0 +1,108 @@
+package com.gerefloc45.voidapi.api;
+
+/**
+ * Tracks the versions of a fixed set of blackboard keys.
+ * Lets a condition declare the keys it reads and skip re-evaluation when
+ * none of them changed since it last looked. The first check, and any check
+ * against a different blackboard than the previous one, always reports a change.
+ *
+ * @author VoidAPI Framework
+ * @version 0.8.0
+ */
+public final class BlackboardWatch {
+    private final BlackboardKey<?>[] keys;
+    private final long[] seenVersions;
+    private Blackboard seenBlackboard;
+
+    /**
+     * Creates a watch over the given keys.
+     *
+     * @param keys The keys the condition reads
+     */
+    public BlackboardWatch(BlackboardKey<?>... keys) {
+        if (keys.length == 0) {
+            throw new IllegalArgumentException("At least one key must be watched");
+        }
+        this.keys = keys.clone();
+        this.seenVersions = new long[keys.length];
+    }
+
+    /**
+     * Creates a fresh watch over the same keys, with no recorded versions.
+     * Used to give each tree sharing a node its own watch.
+     *
+     * @return The copy
+     */
+    public BlackboardWatch copy() {
+        return new BlackboardWatch(keys);
+    }
+
+    /**
+     * Creates a watch over keys given by name.
+     *
+     * @param names The key names the condition reads
+     * @return The watch
+     */
+    public static BlackboardWatch of(String... names) {
+        BlackboardKey<?>[] keys = new BlackboardKey<?>[names.length];
+        for (int i = 0; i < names.length; i++) {
+            keys[i] = BlackboardKey.of(names[i]);
+        }
+        return new BlackboardWatch(keys);
+    }
+
+    /**
+     * Checks whether any watched key changed since the last call, and records
+     * the current versions.
+     *
+     * @param blackboard The blackboard to check
+     * @return True if a watched key changed or the blackboard was not seen before
+     */
+    public boolean poll(Blackboard blackboard) {
+        boolean changed = blackboard != seenBlackboard;
+        for (int i = 0; i < keys.length; i++) {
+            long version = blackboard.getVersion(keys[i]);
+            if (version != seenVersions[i]) {
+                seenVersions[i] = version;
+                changed = true;
+            }
+        }
+        seenBlackboard = blackboard;
+        return changed;
+    }
+
+    /**
+     * Checks whether any watched key changed since the last poll, without
+     * recording the current versions.
+     *
+     * @param blackboard The blackboard to check
+     * @return True if a watched key changed or the blackboard was not seen before
+     */
+    public boolean isChanged(Blackboard blackboard) {
+        if (blackboard != seenBlackboard) {
+            return true;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (blackboard.getVersion(keys[i]) != seenVersions[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Forgets all recorded versions so the next poll reports a change.
+     */
+    public void invalidate() {
+        seenBlackboard = null;
+    }
+
+    /**
+     * Gets the number of watched keys.
+     *
+     * @return Key count
+     */
+    public int size() {
+        return keys.length;
+    }
+}
@@ -0,0 +1,170 @@
+package com.gerefloc45.voidapi.api;
+
+/**
+ * Handle to a node's runtime state inside the current tree's {@link NodeState}.
+ * A node declares how many primitive and reference fields it needs. When its
+ * tree is laid out, the handle is assigned offsets into the tree's state
+ * arrays, and every access reads the state of the tree currently ticking.
+ * <p>
+ * A node executed outside the tree it was laid out for, such as a behavior
+ * run by a state machine, falls back to private per-node state, which
+ * behaves like the instance fields it replaces.
+ *
+ * @author VoidAPI Framework
+ * @version 0.8.0
+ */
+public final class NodeMemory {
+    private final int longCount;
+    private final int objectCount;
+    private NodeStateLayout layout;
+    private int longOffset;
+    private int objectOffset;
+    private NodeState fallback;
+
+    /**
+     * Creates a handle for a node's state.
+     *
+     * @param longCount Number of primitive fields (ints, longs, booleans)
+     * @param objectCount Number of reference fields
+     */
+    public NodeMemory(int longCount, int objectCount) {
+        this.longCount = longCount;
+        this.objectCount = objectCount;
+    }
+
+    /**
+     * Assigns this handle to a layout. Called once by the first layout that reaches it.
+     */
+    void assign(NodeStateLayout layout, int longOffset, int objectOffset) {
+        this.layout = layout;
+        this.longOffset = longOffset;
+        this.objectOffset = objectOffset;
+    }
+
+    NodeStateLayout getLayout() {
+        return layout;
+    }
+
+    int getLongCount() {
+        return longCount;
+    }
+
+    int getObjectCount() {
+        return objectCount;
+    }
+
+    /**
+     * Gets a primitive field.
+     *
+     * @param context The behavior context
+     * @param field The field index
+     * @return The value
+     */
+    public long getLong(BehaviorContext context, int field) {
+        NodeState state = context.getNodeState();
+        if (state != null && state.layout == layout) {
+            return state.longs[longOffset + field];
+        }
+        return fallback().longs[field];
+    }
+
+    /**
+     * Sets a primitive field.
+     *
+     * @param context The behavior context
+     * @param field The field index
+     * @param value The value
+     */
+    public void setLong(BehaviorContext context, int field, long value) {
+        NodeState state = context.getNodeState();
+        if (state != null && state.layout == layout) {
+            state.longs[longOffset + field] = value;
+        } else {
+            fallback().longs[field] = value;
+        }
+    }
+
+    /**
+     * Gets an int field.
+     *
+     * @param context The behavior context
+     * @param field The field index
+     * @return The value
+     */
+    public int getInt(BehaviorContext context, int field) {
+        return (int) getLong(context, field);
+    }
+
+    /**
+     * Sets an int field.
+     *
+     * @param context The behavior context
+     * @param field The field index
+     * @param value The value
+     */
+    public void setInt(BehaviorContext context, int field, int value) {
+        setLong(context, field, value);
+    }
+
+    /**
+     * Gets a boolean field.
+     *
+     * @param context The behavior context
+     * @param field The field index
+     * @return The value
+     */
+    public boolean getBoolean(BehaviorContext context, int field) {
+        return getLong(context, field) != 0L;
+    }
+
+    /**
+     * Sets a boolean field.
+     *
+     * @param context The behavior context
+     * @param field The field index
+     * @param value The value
+     */
+    public void setBoolean(BehaviorContext context, int field, boolean value) {
+        setLong(context, field, value ? 1L : 0L);
+    }
+
+    /**
+     * Gets a reference field.
+     *
+     * @param context The behavior context
+     * @param field The field index
+     * @param <T> The value type
+     * @return The value, or null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getObject(BehaviorContext context, int field) {
+        NodeState state = context.getNodeState();
+        if (state != null && state.layout == layout) {
+            return (T) state.objects[objectOffset + field];
+        }
+        return (T) fallback().objects[field];
+    }
+
+    /**
+     * Sets a reference field.
+     *
+     * @param context The behavior context
+     * @param field The field index
+     * @param value The value
+     */
+    public void setObject(BehaviorContext context, int field, Object value) {
+        NodeState state = context.getNodeState();
+        if (state != null && state.layout == layout) {
+            state.objects[objectOffset + field] = value;
+        } else {
+            fallback().objects[field] = value;
+        }
+    }
+
+    private NodeState fallback() {
+        if (fallback == null) {
+            fallback = new NodeState(null, longCount, objectCount);
+        }
+        return fallback;
+    }
+}
@@ -0,0 +1,57 @@
+package com.gerefloc45.voidapi.api;
+
+import java.util.Arrays;
+
+/**
+ * Per-tree runtime state of behavior nodes.
+ * Holds the compact slot arrays that {@link NodeMemory} handles index into,
+ * so one tree definition can be shared by many entities, each with its own
+ * NodeState.
+ *
+ * @author VoidAPI Framework
+ * @version 0.8.0
+ */
+public final class NodeState {
+    final NodeStateLayout layout;
+    final long[] longs;
+    final Object[] objects;
+
+    /**
+     * Creates zeroed state for a layout.
+     *
+     * @param layout The layout, or null for a node's private fallback state
+     * @param longCount Number of primitive slots
+     * @param objectCount Number of reference slots
+     */
+    NodeState(NodeStateLayout layout, int longCount, int objectCount) {
+        this.layout = layout;
+        this.longs = new long[longCount];
+        this.objects = new Object[objectCount];
+    }
+
+    /**
+     * Resets every slot to zero or null.
+     */
+    public void clear() {
+        Arrays.fill(longs, 0L);
+        Arrays.fill(objects, null);
+    }
+
+    /**
+     * Gets the number of primitive slots.
+     *
+     * @return Slot count
+     */
+    public int getLongSlots() {
+        return longs.length;
+    }
+
+    /**
+     * Gets the number of reference slots.
+     *
+     * @return Slot count
+     */
+    public int getObjectSlots() {
+        return objects.length;
+    }
+}
@@ -0,0 +1,99 @@
+package com.gerefloc45.voidapi.api;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Assigns every node of a tree definition its offsets into a {@link NodeState}.
+ * Built once per {@link BehaviorTreeTemplate} by walking the tree through
+ * {@link Behavior#layoutState(NodeStateLayout)}.
+ *
+ * @author VoidAPI Framework
+ * @version 0.8.0
+ */
+public final class NodeStateLayout {
+    private Set<Behavior> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    private int nodeCount;
+    private int longCount;
+    private int objectCount;
+
+    /**
+     * Creates an empty layout.
+     */
+    NodeStateLayout() {
+    }
+
+    /**
+     * Lays out a node and, through it, its children. Nodes reached twice are laid out once.
+     *
+     * @param node The node
+     */
+    public void add(Behavior node) {
+        if (visited == null) {
+            throw new IllegalStateException("Layout is already complete");
+        }
+        if (node != null && visited.add(node)) {
+            nodeCount++;
+            node.layoutState(this);
+        }
+    }
+
+    /**
+     * Reserves slots for a node's memory. A memory already laid out by another
+     * tree keeps its assignment and uses private fallback state in this one.
+     *
+     * @param memory The node's memory handle
+     */
+    public void allocate(NodeMemory memory) {
+        if (memory.getLayout() != null) {
+            return;
+        }
+        memory.assign(this, longCount, objectCount);
+        longCount += memory.getLongCount();
+        objectCount += memory.getObjectCount();
+    }
+
+    /**
+     * Finishes the layout; no further nodes can be added.
+     */
+    void complete() {
+        visited = null;
+    }
+
+    /**
+     * Creates zeroed state for one tree instance.
+     *
+     * @return New state
+     */
+    NodeState newState() {
+        return new NodeState(this, longCount, objectCount);
+    }
+
+    /**
+     * Gets the number of distinct nodes in the tree.
+     *
+     * @return Node count
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Gets the number of primitive slots per tree instance.
+     *
+     * @return Slot count
+     */
+    public int getLongSlots() {
+        return longCount;
+    }
+
+    /**
+     * Gets the number of reference slots per tree instance.
+     *
+     * @return Slot count
+     */
+    public int getObjectSlots() {
+        return objectCount;
+    }
+}
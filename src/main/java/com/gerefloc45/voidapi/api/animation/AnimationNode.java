@@ -2,6 +2,8 @@ package com.gerefloc45.voidapi.api.animation;
 
 import com.gerefloc45.voidapi.api.Behavior;
 import com.gerefloc45.voidapi.api.BehaviorContext;
+import com.gerefloc45.voidapi.api.NodeMemory;
+import com.gerefloc45.voidapi.api.NodeStateLayout;
 
 /**
  * Animation node - triggers and manages entity animations.
@@ -11,12 +13,14 @@ import com.gerefloc45.voidapi.api.BehaviorContext;
  * @version 0.2.0
  */
 public class AnimationNode implements Behavior {
+    private static final int START_TIME = 0;
+    private static final int HAS_STARTED = 1;
+
     private final String animationName;
     private final float duration;
     private final boolean waitForCompletion;
     private final boolean looping;
-    private long startTime;
-    private boolean hasStarted;
+    private final NodeMemory memory = new NodeMemory(2, 0);
 
     /**
      * Creates an animation node that plays once.
@@ -52,16 +56,15 @@ public class AnimationNode implements Behavior {
         this.duration = duration;
         this.waitForCompletion = waitForCompletion;
         this.looping = looping;
-        this.hasStarted = false;
     }
 
     @Override
     public Status execute(BehaviorContext context) {
-        if (!hasStarted) {
+        if (!memory.getBoolean(context, HAS_STARTED)) {
             // Trigger animation
             startAnimation(context);
-            startTime = System.currentTimeMillis();
-            hasStarted = true;
+            memory.setLong(context, START_TIME, System.currentTimeMillis());
+            memory.setBoolean(context, HAS_STARTED, true);
 
             if (!waitForCompletion) {
                 return Status.SUCCESS;
@@ -71,7 +74,7 @@ public class AnimationNode implements Behavior {
         // Wait for animation completion
         if (waitForCompletion && !looping) {
             long currentTime = System.currentTimeMillis();
-            float elapsedSeconds = (currentTime - startTime) / 1000.0f;
+            float elapsedSeconds = (currentTime - memory.getLong(context, START_TIME)) / 1000.0f;
 
             if (elapsedSeconds >= duration) {
                 return Status.SUCCESS;
@@ -95,7 +98,7 @@ public class AnimationNode implements Behavior {
     private void startAnimation(BehaviorContext context) {
         // Store animation state in blackboard
         context.getBlackboard().set("current_animation", animationName);
-        context.getBlackboard().set("animation_start_time", startTime);
+        context.getBlackboard().set("animation_start_time", memory.getLong(context, START_TIME));
         context.getBlackboard().set("animation_looping", looping);
 
         // Try to use AnimationController if available
@@ -123,7 +126,7 @@ public class AnimationNode implements Behavior {
 
     @Override
     public void onStart(BehaviorContext context) {
-        hasStarted = false;
+        memory.setBoolean(context, HAS_STARTED, false);
     }
 
     @Override
@@ -131,7 +134,12 @@ public class AnimationNode implements Behavior {
         if (!looping) {
             stopAnimation(context);
         }
-        hasStarted = false;
+        memory.setBoolean(context, HAS_STARTED, false);
+    }
+
+    @Override
+    public void layoutState(NodeStateLayout layout) {
+        layout.allocate(memory);
     }
 
     /**
@@ -173,13 +181,14 @@ public class AnimationNode implements Behavior {
     /**
      * Gets the elapsed time since animation started.
      *
+     * @param context The behavior context
      * @return Elapsed time in seconds
      */
-    public float getElapsedTime() {
-        if (!hasStarted) {
+    public float getElapsedTime(BehaviorContext context) {
+        if (!memory.getBoolean(context, HAS_STARTED)) {
             return 0.0f;
         }
         long currentTime = System.currentTimeMillis();
-        return (currentTime - startTime) / 1000.0f;
+        return (currentTime - memory.getLong(context, START_TIME)) / 1000.0f;
     }
 }
@@ -3,18 +3,25 @@ package com.gerefloc45.voidapi.api.fsm;
 import com.gerefloc45.voidapi.api.Behavior;
 import com.gerefloc45.voidapi.api.BehaviorContext;
 import com.gerefloc45.voidapi.api.BehaviorNode;
+import com.gerefloc45.voidapi.api.NodeMemory;
+import com.gerefloc45.voidapi.api.NodeStateLayout;
 
 /**
  * Behavior tree node that runs a Finite State Machine.
  * Allows FSM to be used as part of a behavior tree.
+ * The state machine itself holds per-entity state; wrap this node in a
+ * {@link com.gerefloc45.voidapi.api.nodes.PerEntityNode} when the tree is
+ * shared through a {@link com.gerefloc45.voidapi.api.BehaviorTreeTemplate}.
  * 
  * @author VoidAPI Framework
  * @version 0.3.0
  */
 public class StateMachineNode extends BehaviorNode {
     private final StateMachine stateMachine;
+    private static final int WAS_STARTED = 0;
+
     private final String blackboardKey;
-    private boolean wasStarted;
+    private final NodeMemory memory = new NodeMemory(1, 0);
 
     /**
      * Creates a state machine node.
@@ -35,15 +42,18 @@ public class StateMachineNode extends BehaviorNode {
     public StateMachineNode(StateMachine stateMachine, String blackboardKey) {
         this.stateMachine = stateMachine;
         this.blackboardKey = blackboardKey;
-        this.wasStarted = false;
     }
 
     @Override
     public Behavior.Status execute(BehaviorContext context) {
+        if (context.getActivePath() != null) {
+            context.getActivePath().pin(); // Transitions are checked every tick
+        }
+
         // Start FSM on first tick
-        if (!wasStarted) {
+        if (!memory.getBoolean(context, WAS_STARTED)) {
             stateMachine.start(context);
-            wasStarted = true;
+            memory.setBoolean(context, WAS_STARTED, true);
         }
 
         // Update FSM
@@ -59,9 +69,15 @@ public class StateMachineNode extends BehaviorNode {
     }
 
     @Override
-    protected void reset() {
-        super.reset();
-        wasStarted = false;
+    protected void reset(BehaviorContext context) {
+        super.reset(context);
+        memory.setBoolean(context, WAS_STARTED, false);
+    }
+
+    @Override
+    public void layoutState(NodeStateLayout layout) {
+        layout.allocate(memory);
+        super.layoutState(layout);
     }
 
     /**
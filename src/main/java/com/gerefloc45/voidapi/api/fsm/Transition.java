@@ -1,12 +1,16 @@
 package com.gerefloc45.voidapi.api.fsm;
 
 import com.gerefloc45.voidapi.api.BehaviorContext;
+import com.gerefloc45.voidapi.api.BlackboardKey;
+import com.gerefloc45.voidapi.api.BlackboardWatch;
 
 import java.util.function.Predicate;
 
 /**
  * Represents a transition between two states in a Finite State Machine.
  * Transitions are triggered when their condition evaluates to true.
+ * A transition that declares the blackboard keys its condition reads only
+ * re-evaluates the condition when one of them changes.
  * 
  * @author VoidAPI Framework
  * @version 0.3.0
@@ -17,6 +21,8 @@ public class Transition {
     private final Predicate<BehaviorContext> condition;
     private final int priority;
     private final String name;
+    private final BlackboardWatch watch;
+    private boolean lastResult;
 
     /**
      * Creates a transition with default priority.
@@ -52,11 +58,27 @@ public class Transition {
      * @param name Transition name for debugging
      */
     public Transition(State fromState, State toState, Predicate<BehaviorContext> condition, int priority, String name) {
+        this(fromState, toState, condition, priority, name, null);
+    }
+
+    /**
+     * Creates a named transition whose condition depends only on the given blackboard keys.
+     *
+     * @param fromState Source state
+     * @param toState Target state
+     * @param condition Condition that triggers this transition
+     * @param priority Transition priority
+     * @param name Transition name for debugging
+     * @param watch Keys the condition reads, or null to evaluate every check
+     */
+    public Transition(State fromState, State toState, Predicate<BehaviorContext> condition, int priority, String name,
+                      BlackboardWatch watch) {
         this.fromState = fromState;
         this.toState = toState;
         this.condition = condition;
         this.priority = priority;
         this.name = name;
+        this.watch = watch;
     }
 
     /**
@@ -66,12 +88,16 @@ public class Transition {
      * @return True if condition is met
      */
     public boolean shouldTransition(BehaviorContext context) {
+        if (watch != null && !watch.poll(context.getBlackboard())) {
+            return lastResult;
+        }
         try {
-            return condition.test(context);
+            lastResult = condition.test(context);
         } catch (Exception e) {
             // Log error but don't crash
-            return false;
+            lastResult = false;
         }
+        return lastResult;
     }
 
     /**
@@ -124,6 +150,7 @@ public class Transition {
         private Predicate<BehaviorContext> condition;
         private int priority = 0;
         private String name;
+        private BlackboardKey<?>[] watchedKeys;
 
         public Builder from(State state) {
             this.fromState = state;
@@ -150,6 +177,15 @@ public class Transition {
             return this;
         }
 
+        /**
+         * Declares the blackboard keys the condition reads, so it is only
+         * re-evaluated when one of them changes.
+         */
+        public Builder watching(BlackboardKey<?>... keys) {
+            this.watchedKeys = keys;
+            return this;
+        }
+
         public Transition build() {
             if (fromState == null || toState == null || condition == null) {
                 throw new IllegalStateException("From state, to state, and condition are required");
@@ -157,7 +193,8 @@ public class Transition {
             if (name == null) {
                 name = fromState.getName() + "->" + toState.getName();
             }
-            return new Transition(fromState, toState, condition, priority, name);
+            BlackboardWatch watch = watchedKeys != null ? new BlackboardWatch(watchedKeys) : null;
+            return new Transition(fromState, toState, condition, priority, name, watch);
         }
     }
 }
@@ -2,8 +2,12 @@ package com.gerefloc45.voidapi.api.goap;
 
 import com.gerefloc45.voidapi.api.BehaviorContext;
 import com.gerefloc45.voidapi.api.BehaviorNode;
+import com.gerefloc45.voidapi.api.NodeMemory;
+import com.gerefloc45.voidapi.api.NodeStateLayout;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Function;
 
 /**
@@ -42,15 +46,20 @@ import java.util.function.Function;
  * @since 0.4.0
  */
 public class GOAPNode extends BehaviorNode {
+    private static final int TICKS_SINCE_PLAN = 0;
+    private static final int EXECUTOR = 0;
+    private static final int LAST_WORLD_STATE = 1;
+    private static final int PENDING_PLAN = 2;
+    private static final int PENDING_STATE = 3;
+
     private final Goal goal;
     private final List<Action> availableActions;
     private final Function<BehaviorContext, WorldState> worldStateProvider;
     private final Planner planner;
-    private final PlanExecutor executor;
     private final int replanInterval;
-    
-    private int ticksSinceLastPlan;
-    private WorldState lastWorldState;
+    private final NodeMemory memory = new NodeMemory(1, 4);
+    private boolean asyncPlanning;
+    private boolean planRepair;
     
     /**
      * Creates a new GOAP node.
@@ -68,9 +77,6 @@ public class GOAPNode extends BehaviorNode {
         this.worldStateProvider = worldStateProvider;
         this.replanInterval = replanInterval;
         this.planner = new Planner();
-        this.executor = new PlanExecutor();
-        this.ticksSinceLastPlan = 0;
-        this.lastWorldState = null;
     }
     
     /**
@@ -85,22 +91,97 @@ public class GOAPNode extends BehaviorNode {
         this(goal, availableActions, worldStateProvider, 20); // Replan every second by default
     }
     
+    /**
+     * Enables or disables planning off the tick thread.
+     * 
+     * <p>With async planning, plans are searched on the async executor
+     * against a snapshot of the world state. While a plan is pending the
+     * node keeps executing its previous plan, or returns RUNNING if it has
+     * none. A request made for a state that has since changed is cancelled
+     * and replaced, and a finished plan is only adopted if it still reaches
+     * the goal from the live state. A search that throws is logged and
+     * requested again; only a search that finds no plan fails the node.
+     * 
+     * @param asyncPlanning True to plan asynchronously
+     * @return This node for chaining
+     */
+    public GOAPNode setAsyncPlanning(boolean asyncPlanning) {
+        this.asyncPlanning = asyncPlanning;
+        return this;
+    }
+    
+    /**
+     * Shares plans with other GOAP nodes through a cache.
+     * 
+     * @param planCache The cache, e.g. {@link PlanCache#getShared()}, or null for none
+     * @return This node for chaining
+     */
+    public GOAPNode setPlanCache(PlanCache planCache) {
+        planner.setPlanCache(planCache);
+        return this;
+    }
+    
+    /**
+     * Enables or disables repairing the current plan when the world state
+     * changes, instead of planning from scratch.
+     * 
+     * <p>With plan repair, a state change patches the remaining actions
+     * through {@link Planner#repair}; plans are still made from scratch
+     * every replan interval, when there is no plan, and when an action
+     * fails. Repair applies to synchronous planning.
+     * 
+     * @param planRepair True to repair plans
+     * @return This node for chaining
+     */
+    public GOAPNode setPlanRepair(boolean planRepair) {
+        this.planRepair = planRepair;
+        return this;
+    }
+    
+    /**
+     * Checks if plans are repaired when the world state changes.
+     * 
+     * @return True if plans are repaired
+     */
+    public boolean isPlanRepair() {
+        return planRepair;
+    }
+    
+    /**
+     * Checks if plans are searched off the tick thread.
+     * 
+     * @return True if planning is asynchronous
+     */
+    public boolean isAsyncPlanning() {
+        return asyncPlanning;
+    }
+    
     @Override
     public Status execute(BehaviorContext context) {
         WorldState currentState = worldStateProvider.apply(context);
         
         // Check if goal is already satisfied
         if (goal.isSatisfied(currentState)) {
+            cancelPendingPlan(context);
             return Status.SUCCESS;
         }
         
+        if (asyncPlanning) {
+            return executeAsync(context, currentState);
+        }
+        
         // Check if we need to (re)plan
+        PlanExecutor executor = getExecutor(context);
+        int ticksSinceLastPlan = memory.getInt(context, TICKS_SINCE_PLAN);
         boolean needsPlanning = !executor.hasPlan() || 
                                 ticksSinceLastPlan >= replanInterval ||
-                                shouldReplan(currentState);
+                                shouldReplan(memory.getObject(context, LAST_WORLD_STATE), currentState);
         
         if (needsPlanning) {
-            Plan newPlan = planner.plan(context, currentState, goal, availableActions);
+            boolean repair = planRepair && executor.hasPlan() && ticksSinceLastPlan < replanInterval;
+            Plan newPlan = repair
+                    ? planner.repair(context, currentState, goal, executor.getPlan(), availableActions)
+                    : planner.plan(context, currentState, goal, availableActions);
             
             if (newPlan == null) {
                 // No plan found - goal is unreachable
@@ -110,7 +191,7 @@ public class GOAPNode extends BehaviorNode {
             executor.cancel(context);
             executor.setPlan(newPlan);
             ticksSinceLastPlan = 0;
-            lastWorldState = currentState.copy();
+            memory.setObject(context, LAST_WORLD_STATE, currentState.copy());
         }
         
         // Execute current plan
@@ -125,22 +206,125 @@ public class GOAPNode extends BehaviorNode {
             }
             
             executor.setPlan(newPlan);
-            ticksSinceLastPlan = 0;
-            lastWorldState = currentState.copy();
+            memory.setInt(context, TICKS_SINCE_PLAN, 0);
+            memory.setObject(context, LAST_WORLD_STATE, currentState.copy());
             return Status.RUNNING;
         }
         
-        ticksSinceLastPlan++;
+        memory.setInt(context, TICKS_SINCE_PLAN, ticksSinceLastPlan + 1);
         return executionStatus;
     }
     
+    /**
+     * Executes with plans searched on the async executor.
+     * 
+     * @param context The behavior context
+     * @param currentState The current world state
+     * @return The execution status
+     */
+    private Status executeAsync(BehaviorContext context, WorldState currentState) {
+        PlanExecutor executor = getExecutor(context);
+        int ticksSinceLastPlan = memory.getInt(context, TICKS_SINCE_PLAN);
+        CompletableFuture<Plan> pending = memory.getObject(context, PENDING_PLAN);
+        
+        if (pending != null && pending.isDone()) {
+            WorldState requestState = memory.getObject(context, PENDING_STATE);
+            memory.setObject(context, PENDING_PLAN, null);
+            memory.setObject(context, PENDING_STATE, null);
+            Plan newPlan = null;
+            boolean searched = false; // A cancelled or failed search says nothing about the goal
+            if (!pending.isCancelled()) {
+                try {
+                    newPlan = pending.join();
+                    searched = true;
+                } catch (CompletionException e) {
+                    System.err.println("Error searching a plan for goal " + goal.getName() + ": " + e.getCause());
+                    e.getCause().printStackTrace();
+                }
+            }
+            pending = null;
+            
+            if (searched && newPlan == null && !shouldReplan(requestState, currentState)) {
+                // No plan from an up-to-date state - goal is unreachable
+                executor.cancel(context);
+                executor.setPlan(null);
+                return Status.FAILURE;
+            }
+            if (newPlan != null && planner.isValid(newPlan, currentState, goal)) {
+                executor.cancel(context);
+                executor.setPlan(newPlan);
+                ticksSinceLastPlan = 0;
+                memory.setObject(context, LAST_WORLD_STATE, currentState.copy());
+            } else {
+                // Made for a state that has since changed, or no result; ask again below
+                ticksSinceLastPlan = replanInterval;
+            }
+        }
+        
+        if (pending != null) {
+            // A newer state makes the pending request stale
+            if (shouldReplan(memory.getObject(context, PENDING_STATE), currentState)) {
+                pending.cancel(false);
+                requestPlan(context, currentState);
+            }
+        } else if (!executor.hasPlan() ||
+                   ticksSinceLastPlan >= replanInterval ||
+                   shouldReplan(memory.getObject(context, LAST_WORLD_STATE), currentState)) {
+            requestPlan(context, currentState);
+        }
+        
+        memory.setInt(context, TICKS_SINCE_PLAN, ticksSinceLastPlan + 1);
+        if (!executor.hasPlan()) {
+            return Status.RUNNING; // Waiting for the first plan
+        }
+        
+        // Keep executing the current plan while a new one is searched
+        Status executionStatus = executor.execute(context);
+        if (executionStatus == Status.FAILURE) {
+            // Action failed - drop the plan and ask for a new one
+            executor.setPlan(null);
+            if (memory.getObject(context, PENDING_PLAN) == null) {
+                requestPlan(context, currentState);
+            }
+            return Status.RUNNING;
+        }
+        return executionStatus;
+    }
+    
+    /**
+     * Starts an asynchronous plan request for a state.
+     * 
+     * @param context The behavior context
+     * @param currentState The state to plan from
+     */
+    private void requestPlan(BehaviorContext context, WorldState currentState) {
+        WorldState snapshot = currentState.copy();
+        memory.setObject(context, PENDING_STATE, snapshot);
+        memory.setObject(context, PENDING_PLAN, planner.planAsync(context, snapshot, goal, availableActions));
+    }
+    
+    /**
+     * Cancels the pending plan request of the tree the context belongs to.
+     * 
+     * @param context The behavior context
+     */
+    private void cancelPendingPlan(BehaviorContext context) {
+        CompletableFuture<Plan> pending = memory.getObject(context, PENDING_PLAN);
+        if (pending != null) {
+            pending.cancel(false);
+            memory.setObject(context, PENDING_PLAN, null);
+            memory.setObject(context, PENDING_STATE, null);
+        }
+    }
+    
     /**
      * Determines if replanning is needed based on world state changes.
      * 
+     * @param lastWorldState The world state the current plan was made for
      * @param currentState The current world state
      * @return True if replanning is recommended
      */
-    private boolean shouldReplan(WorldState currentState) {
+    private boolean shouldReplan(WorldState lastWorldState, WorldState currentState) {
         if (lastWorldState == null) {
             return true;
         }
@@ -162,14 +346,21 @@ public class GOAPNode extends BehaviorNode {
     @Override
     public void onStart(BehaviorContext context) {
         super.onStart(context);
-        ticksSinceLastPlan = replanInterval; // Force initial planning
+        memory.setInt(context, TICKS_SINCE_PLAN, replanInterval); // Force initial planning
     }
     
     @Override
     public void onEnd(BehaviorContext context, Status status) {
-        executor.cancel(context);
+        cancelPendingPlan(context);
+        getExecutor(context).cancel(context);
         super.onEnd(context, status);
     }
+
+    @Override
+    public void layoutState(NodeStateLayout layout) {
+        layout.allocate(memory);
+        super.layoutState(layout);
+    }
     
     /**
      * Gets the current goal.
@@ -190,28 +381,34 @@ public class GOAPNode extends BehaviorNode {
     }
     
     /**
-     * Gets the executor.
+     * Gets the executor of the tree the context belongs to, created on first use.
      * 
+     * @param context The behavior context
      * @return The executor instance
      */
-    public PlanExecutor getExecutor() {
+    public PlanExecutor getExecutor(BehaviorContext context) {
+        PlanExecutor executor = memory.getObject(context, EXECUTOR);
+        if (executor == null) {
+            executor = new PlanExecutor();
+            memory.setObject(context, EXECUTOR, executor);
+        }
         return executor;
     }
     
     /**
-     * Gets the current plan.
+     * Gets the current plan of the tree the context belongs to.
      * 
+     * @param context The behavior context
      * @return The active plan, or null
      */
-    public Plan getCurrentPlan() {
-        return executor.getPlan();
+    public Plan getCurrentPlan(BehaviorContext context) {
+        return getExecutor(context).getPlan();
     }
     
     @Override
     public String toString() {
         return "GOAPNode{" +
                 "goal=" + goal.getName() +
-                ", plan=" + executor.getPlan() +
                 '}';
     }
 }
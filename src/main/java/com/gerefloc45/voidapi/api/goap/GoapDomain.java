@@ -0,0 +1,935 @@
+package com.gerefloc45.voidapi.api.goap;
+
+import com.gerefloc45.voidapi.api.BehaviorContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A set of GOAP actions compiled for fast planning.
+ *
+ * <p>Every fact named by an action's preconditions or effects, or by a goal,
+ * is interned into a bit position. Facts that only ever hold booleans take one
+ * value bit and one "known" bit; other facts take a small packed field holding
+ * the index of their value among the values the domain mentions. A planning
+ * {@link State} is a single {@code long[]}, and preconditions, goals and
+ * effects are masks over it, so checking a precondition, applying effects,
+ * comparing and hashing states are a few word operations instead of map
+ * copies and lookups. Actions are also indexed by the facts they set and
+ * by one of their preconditions, so a search step only looks at the
+ * actions that can matter in it.
+ *
+ * <p>Values the domain never mentions, and facts no action or goal reads,
+ * cannot change a plan and are not told apart. Actions that override
+ * {@link Action#isApplicable}, {@link Action#applyEffects} or
+ * {@link Action#getProceduralCost} are still called with a decoded
+ * {@link WorldState}. They may read or write any fact, so facts custom
+ * effects write that the packed words cannot hold are kept in a per-state
+ * overlay, and {@link #relevantFacts} keeps every fact of such domains.
+ *
+ * <p>A domain is immutable and can be shared between threads. The
+ * {@link Planner} compiles one on first use and again when its actions,
+ * their preconditions or effects change, or a goal names a new fact value.
+ *
+ * @since 0.8.0
+ */
+public final class GoapDomain {
+    /**
+     * Stands for fact values a domain does not tell apart in {@link #relevantFacts}.
+     */
+    private static final Object OTHER_VALUE = new Object() {
+        @Override
+        public String toString() {
+            return "<other>";
+        }
+    };
+    /**
+     * Marks a fact removed from the base state in a {@link State}'s overlay.
+     */
+    private static final Object REMOVED = new Object() {
+        @Override
+        public String toString() {
+            return "<removed>";
+        }
+    };
+
+    private final List<Action> actions;
+    private final int[] actionVersions;
+    private final Map<String, Set<Object>> actionValues; // Values named by actions only
+    private final long fingerprint;
+    private final Map<String, Integer> booleanFacts; // Fact -> bit
+    private final Map<String, Field> fieldFacts;
+    private final Field[] fields;
+    private final int booleanWords;
+    private final int words;
+
+    // Per action: precondition and effect masks over a state
+    private final long[][] preconditionMasks;
+    private final long[][] preconditionValues;
+    private final long[][] effectMasks;
+    private final long[][] effectValues;
+    private final boolean[] customApplicable;
+    private final boolean[] customEffects;
+    private final boolean[] customCost;
+    private final boolean regressable;
+    private final boolean custom; // Some action has a custom check, effect or cost
+    private final long[] settable; // Bits some action's effects set
+
+    // Action bitsets: actions setting each fact, and actions keyed by one precondition each
+    private final int actionWords;
+    private final long[][] booleanAchievers;
+    private final long[][] fieldAchievers;
+    private final long[][] requiresTrue;
+    private final long[][] requiresFalse;
+    private final long[][][] requiresCode;
+    private final long[] unkeyed;
+
+    private GoapDomain(List<Action> actions, List<WorldState> goals) {
+        this.actions = new ArrayList<>(actions);
+        this.actionVersions = new int[actions.size()];
+
+        // Collect every value each fact is compared with or set to
+        Map<String, Set<Object>> values = new LinkedHashMap<>();
+        for (int i = 0; i < actions.size(); i++) {
+            Action action = actions.get(i);
+            actionVersions[i] = version(action);
+            collect(action.getPreconditions(), values);
+            collect(action.getEffects(), values);
+        }
+        this.actionValues = new HashMap<>(values);
+        for (Map.Entry<String, Set<Object>> entry : actionValues.entrySet()) {
+            entry.setValue(new LinkedHashSet<>(entry.getValue()));
+        }
+        this.fingerprint = fingerprint(actions);
+        for (WorldState goal : goals) {
+            collect(goal, values);
+        }
+
+        this.booleanFacts = new HashMap<>();
+        this.fieldFacts = new HashMap<>();
+        List<Field> fields = new ArrayList<>();
+        for (Map.Entry<String, Set<Object>> entry : values.entrySet()) {
+            if (entry.getValue().stream().allMatch(value -> value instanceof Boolean)) {
+                booleanFacts.put(entry.getKey(), booleanFacts.size());
+            } else {
+                Field field = new Field(entry.getValue());
+                field.index = fields.size();
+                fieldFacts.put(entry.getKey(), field);
+                fields.add(field);
+            }
+        }
+
+        // Lay out fields after the boolean value and known words, never across a word
+        this.booleanWords = (booleanFacts.size() + 63) >>> 6;
+        int word = 2 * booleanWords;
+        int shift = 0;
+        for (Field field : fields) {
+            if (shift + field.width > 64) {
+                word++;
+                shift = 0;
+            }
+            field.word = word;
+            field.shift = shift;
+            shift += field.width;
+        }
+        this.words = fields.isEmpty() ? 2 * booleanWords : word + 1;
+        this.fields = fields.toArray(new Field[0]);
+
+        int count = actions.size();
+        this.preconditionMasks = new long[count][];
+        this.preconditionValues = new long[count][];
+        this.effectMasks = new long[count][];
+        this.effectValues = new long[count][];
+        this.customApplicable = new boolean[count];
+        this.customEffects = new boolean[count];
+        this.customCost = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            Action action = actions.get(i);
+            Condition preconditions = compile(action.getPreconditions());
+            Condition effects = compile(action.getEffects());
+            preconditionMasks[i] = preconditions.mask;
+            preconditionValues[i] = preconditions.value;
+            effectMasks[i] = effects.mask;
+            effectValues[i] = effects.value;
+            customApplicable[i] = overrides(action, "isApplicable", WorldState.class);
+            customEffects[i] = overrides(action, "applyEffects", WorldState.class);
+            customCost[i] = overrides(action, "getProceduralCost", BehaviorContext.class,
+                    WorldState.class);
+        }
+
+        boolean regressable = true;
+        boolean custom = false;
+        this.settable = new long[words];
+        for (int i = 0; i < count; i++) {
+            regressable &= !customApplicable[i] && !customEffects[i];
+            custom |= customApplicable[i] || customEffects[i] || customCost[i];
+            for (int w = 0; w < words; w++) {
+                settable[w] |= effectMasks[i][w];
+            }
+        }
+        this.regressable = regressable;
+        this.custom = custom;
+
+        this.actionWords = (count + 63) >>> 6;
+        this.booleanAchievers = new long[booleanFacts.size()][];
+        this.fieldAchievers = new long[this.fields.length][];
+        this.requiresTrue = new long[booleanFacts.size()][];
+        this.requiresFalse = new long[booleanFacts.size()][];
+        this.requiresCode = new long[this.fields.length][][];
+        this.unkeyed = new long[actionWords];
+        for (int i = 0; i < count; i++) {
+            Action action = actions.get(i);
+            for (String key : action.getEffects().keys()) {
+                Integer bit = booleanFacts.get(key);
+                if (bit != null) {
+                    add(booleanAchievers, bit, i);
+                } else {
+                    add(fieldAchievers, fieldFacts.get(key).index, i);
+                }
+            }
+            index(action, i);
+        }
+    }
+
+    /**
+     * Keys an action by one of its preconditions, preferring a boolean one,
+     * so forward search only checks it in states where that precondition holds.
+     */
+    private void index(Action action, int i) {
+        if (customApplicable[i] || action.getPreconditions().size() == 0) {
+            unkeyed[i >>> 6] |= 1L << i;
+            return;
+        }
+        String fieldKey = null;
+        for (String key : action.getPreconditions().keys()) {
+            Integer bit = booleanFacts.get(key);
+            if (bit != null) {
+                add((Boolean) action.getPreconditions().get(key) ? requiresTrue : requiresFalse, bit, i);
+                return;
+            }
+            fieldKey = key;
+        }
+        int field = fieldFacts.get(fieldKey).index;
+        if (requiresCode[field] == null) {
+            requiresCode[field] = new long[this.fields[field].other + 1][];
+        }
+        add(requiresCode[field], this.fields[field].codes.get(action.getPreconditions().get(fieldKey)), i);
+    }
+
+    private void add(long[][] index, int slot, int action) {
+        if (index[slot] == null) {
+            index[slot] = new long[actionWords];
+        }
+        index[slot][action >>> 6] |= 1L << action;
+    }
+
+    /**
+     * Compiles a domain for a set of actions and the goals it will plan for.
+     *
+     * @param actions The available actions
+     * @param goals The desired states of the goals
+     * @return The compiled domain
+     */
+    public static GoapDomain compile(List<Action> actions, List<WorldState> goals) {
+        return new GoapDomain(actions, goals);
+    }
+
+    /**
+     * Checks if this domain was compiled for these actions, and none of
+     * their preconditions or effects changed since.
+     *
+     * @param actions The actions
+     * @return True if the domain can plan with them
+     */
+    public boolean isCompiledFor(List<Action> actions) {
+        if (actions.size() != this.actions.size()) {
+            return false;
+        }
+        for (int i = 0; i < actionVersions.length; i++) {
+            Action action = actions.get(i);
+            if (action != this.actions.get(i) || version(action) != actionVersions[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets a hash of the actions' types, names, costs, preconditions and
+     * effects. Domains compiled from equivalent action sets, e.g. by
+     * different entities, have the same fingerprint.
+     *
+     * @return The fingerprint
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Extracts the facts of a state that can change a plan for a goal: those
+     * named by the actions or the goal. Values neither mentions are replaced
+     * by one shared placeholder, since no action can tell them apart. Actions
+     * with custom checks, effects or costs can read any fact, so domains with
+     * them keep the whole state.
+     *
+     * @param state The world state
+     * @param goalState The goal's desired state
+     * @return A new world state with the relevant facts
+     */
+    public WorldState relevantFacts(WorldState state, WorldState goalState) {
+        if (custom) {
+            return state.copy();
+        }
+        WorldState relevant = new WorldState();
+        for (String key : state.keys()) {
+            Set<Object> known = actionValues.get(key);
+            if (known == null && !goalState.has(key)) {
+                continue;
+            }
+            Object value = state.get(key);
+            boolean named = known != null && known.contains(value)
+                    || goalState.has(key) && Objects.equals(goalState.get(key), value);
+            relevant.set(key, named ? value : OTHER_VALUE);
+        }
+        return relevant;
+    }
+
+    /**
+     * Checks if every fact value of a condition is known to this domain.
+     *
+     * @param condition The condition, e.g. a goal's desired state
+     * @return True if the condition can be compiled
+     */
+    public boolean covers(WorldState condition) {
+        for (String key : condition.keys()) {
+            Object value = condition.get(key);
+            if (booleanFacts.containsKey(key)) {
+                if (!(value instanceof Boolean)) {
+                    return false;
+                }
+            } else {
+                Field field = fieldFacts.get(key);
+                if (field == null || !field.codes.containsKey(value)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compiles a condition, such as a goal's desired state, into masks.
+     * The condition must be {@link #covers covered} by this domain.
+     *
+     * @param condition The condition
+     * @return The compiled condition
+     */
+    public Condition compile(WorldState condition) {
+        long[] mask = new long[words];
+        long[] value = new long[words];
+        int[] fieldWords = new int[condition.size()];
+        long[] fieldMasks = new long[condition.size()];
+        int fieldCount = 0;
+        for (String key : condition.keys()) {
+            Object expected = condition.get(key);
+            Integer bit = booleanFacts.get(key);
+            if (bit != null) {
+                int word = bit >>> 6;
+                mask[word] |= 1L << bit;
+                mask[booleanWords + word] |= 1L << bit;
+                value[booleanWords + word] |= 1L << bit;
+                if ((Boolean) expected) {
+                    value[word] |= 1L << bit;
+                }
+            } else {
+                Field field = fieldFacts.get(key);
+                mask[field.word] |= field.mask();
+                value[field.word] |= (long) field.codes.get(expected) << field.shift;
+                fieldWords[fieldCount] = field.word;
+                fieldMasks[fieldCount++] = field.mask();
+            }
+        }
+        return new Condition(mask, value, Arrays.copyOf(fieldWords, fieldCount), Arrays.copyOf(fieldMasks, fieldCount));
+    }
+
+    /**
+     * Encodes a world state.
+     *
+     * @param worldState The world state
+     * @return The packed state
+     */
+    public State encode(WorldState worldState) {
+        return new State(pack(worldState), null);
+    }
+
+    /**
+     * Encodes a state produced by custom effects. Whatever the words cannot
+     * hold, i.e. what decoding them on the base state would get wrong, goes
+     * into the state's overlay.
+     */
+    private State encode(WorldState worldState, WorldState base) {
+        long[] packed = pack(worldState);
+        WorldState unpacked = decode(new State(packed, null), base);
+        WorldState overlay = null;
+        for (String key : worldState.keys()) {
+            if (!unpacked.has(key) || !Objects.equals(unpacked.get(key), worldState.get(key))) {
+                overlay = overlay != null ? overlay : new WorldState();
+                overlay.set(key, worldState.get(key));
+            }
+        }
+        for (String key : unpacked.keys()) {
+            if (!worldState.has(key)) {
+                overlay = overlay != null ? overlay : new WorldState();
+                overlay.set(key, REMOVED);
+            }
+        }
+        return new State(packed, overlay);
+    }
+
+    private long[] pack(WorldState worldState) {
+        long[] state = new long[words];
+        for (Map.Entry<String, Integer> entry : booleanFacts.entrySet()) {
+            Object value = worldState.get(entry.getKey());
+            if (value instanceof Boolean) {
+                int bit = entry.getValue();
+                state[booleanWords + (bit >>> 6)] |= 1L << bit;
+                if ((Boolean) value) {
+                    state[bit >>> 6] |= 1L << bit;
+                }
+            }
+        }
+        for (Map.Entry<String, Field> entry : fieldFacts.entrySet()) {
+            if (worldState.has(entry.getKey())) {
+                Field field = entry.getValue();
+                Integer code = field.codes.get(worldState.get(entry.getKey()));
+                state[field.word] |= (long) (code != null ? code : field.other) << field.shift;
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Decodes a packed state on top of the world state planning started from.
+     * Facts the domain does not know, and values it cannot tell apart, keep
+     * their value from the base state unless custom effects changed them.
+     *
+     * @param state The packed state
+     * @param base The world state planning started from
+     * @return A new world state
+     */
+    public WorldState decode(State state, WorldState base) {
+        WorldState result = base.copy();
+        for (Map.Entry<String, Integer> entry : booleanFacts.entrySet()) {
+            int bit = entry.getValue();
+            if ((state.words[booleanWords + (bit >>> 6)] & 1L << bit) != 0) {
+                result.set(entry.getKey(), (state.words[bit >>> 6] & 1L << bit) != 0);
+            } else if (base.get(entry.getKey()) instanceof Boolean) {
+                result.remove(entry.getKey());
+            }
+        }
+        for (Map.Entry<String, Field> entry : fieldFacts.entrySet()) {
+            Field field = entry.getValue();
+            int code = (int) (state.words[field.word] >>> field.shift & (1L << field.width) - 1);
+            if (code == 0) {
+                result.remove(entry.getKey());
+            } else if (code != field.other) {
+                result.set(entry.getKey(), field.values[code - 1]);
+            }
+        }
+        if (state.overlay != null) {
+            for (String key : state.overlay.keys()) {
+                Object value = state.overlay.get(key);
+                if (value == REMOVED) {
+                    result.remove(key);
+                } else {
+                    result.set(key, value);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks if a state satisfies a condition.
+     *
+     * @param state The state
+     * @param condition The condition
+     * @return True if every fact of the condition holds
+     */
+    public boolean satisfies(State state, Condition condition) {
+        return matches(state.words, condition.mask, condition.value);
+    }
+
+    /**
+     * Counts the facts of a condition a state does not satisfy.
+     *
+     * @param state The state
+     * @param condition The condition
+     * @return The number of unsatisfied facts
+     */
+    public int countDifferences(State state, Condition condition) {
+        long[] s = state.words;
+        int differences = 0;
+        for (int i = 0; i < booleanWords; i++) {
+            int k = booleanWords + i;
+            differences += Long.bitCount((s[i] ^ condition.value[i]) & condition.mask[i]
+                    | (s[k] ^ condition.value[k]) & condition.mask[k]);
+        }
+        for (int i = 0; i < condition.fieldWords.length; i++) {
+            int word = condition.fieldWords[i];
+            if (((s[word] ^ condition.value[word]) & condition.fieldMasks[i]) != 0) {
+                differences++;
+            }
+        }
+        return differences;
+    }
+
+    /**
+     * Checks if an action sets at least one fact of a condition to the
+     * required value, and none to a different one.
+     *
+     * @param action The action index
+     * @param condition The condition, e.g. a goal
+     * @return True if the action helps reach the condition
+     */
+    public boolean achieves(int action, Condition condition) {
+        long[] mask = effectMasks[action];
+        long[] value = effectValues[action];
+        boolean overlaps = false;
+        for (int i = 0; i < words; i++) {
+            long shared = mask[i] & condition.mask[i];
+            if (((value[i] ^ condition.value[i]) & shared) != 0) {
+                return false;
+            }
+            overlaps |= shared != 0;
+        }
+        return overlaps;
+    }
+
+    /**
+     * Collects the actions that set a fact of a condition, the only ones
+     * worth {@link #regress regressing} it through.
+     *
+     * @param condition The condition
+     * @param candidates Receives the action bitset, {@link #getActionWords} long
+     */
+    public void collectAchievers(Condition condition, long[] candidates) {
+        Arrays.fill(candidates, 0L);
+        for (int w = 0; w < booleanWords; w++) {
+            long bits = condition.mask[w];
+            while (bits != 0) {
+                or(candidates, booleanAchievers[w << 6 | Long.numberOfTrailingZeros(bits)]);
+                bits &= bits - 1;
+            }
+        }
+        for (int f = 0; f < fields.length; f++) {
+            if ((condition.mask[fields[f].word] & fields[f].mask()) != 0) {
+                or(candidates, fieldAchievers[f]);
+            }
+        }
+    }
+
+    /**
+     * Collects the actions that may be applicable in a state: those whose
+     * indexed precondition holds, and those without one. Candidates still
+     * need an {@link #isApplicable} check.
+     *
+     * @param state The state
+     * @param candidates Receives the action bitset, {@link #getActionWords} long
+     */
+    public void collectApplicable(State state, long[] candidates) {
+        System.arraycopy(unkeyed, 0, candidates, 0, actionWords);
+        long[] s = state.words;
+        for (int w = 0; w < booleanWords; w++) {
+            long known = s[booleanWords + w];
+            long bits = known & s[w];
+            while (bits != 0) {
+                or(candidates, requiresTrue[w << 6 | Long.numberOfTrailingZeros(bits)]);
+                bits &= bits - 1;
+            }
+            bits = known & ~s[w];
+            while (bits != 0) {
+                or(candidates, requiresFalse[w << 6 | Long.numberOfTrailingZeros(bits)]);
+                bits &= bits - 1;
+            }
+        }
+        for (int f = 0; f < fields.length; f++) {
+            if (requiresCode[f] != null) {
+                Field field = fields[f];
+                or(candidates, requiresCode[f][(int) (s[field.word] >>> field.shift & (1L << field.width) - 1)]);
+            }
+        }
+    }
+
+    /**
+     * Gets the length of action bitsets.
+     *
+     * @return The number of longs holding one bit per action
+     */
+    public int getActionWords() {
+        return actionWords;
+    }
+
+    private static void or(long[] target, long[] bits) {
+        if (bits != null) {
+            for (int i = 0; i < target.length; i++) {
+                target[i] |= bits[i];
+            }
+        }
+    }
+
+    /**
+     * Regresses a condition through an action: computes what must hold
+     * before the action so the condition holds after it. The condition
+     * facts the action sets are replaced by its preconditions.
+     *
+     * @param action The action index
+     * @param condition The condition to hold after the action
+     * @return The condition to hold before it, or null if the action sets a
+     *         fact of the condition to another value, its preconditions
+     *         contradict the condition, or it has custom checks or effects
+     */
+    public Condition regress(int action, Condition condition) {
+        if (customApplicable[action] || customEffects[action]) {
+            return null;
+        }
+        long[] effectMask = effectMasks[action];
+        long[] preMask = preconditionMasks[action];
+        long[] preValue = preconditionValues[action];
+        long[] mask = new long[words];
+        long[] value = new long[words];
+        for (int i = 0; i < words; i++) {
+            long shared = effectMask[i] & condition.mask[i];
+            if (((effectValues[action][i] ^ condition.value[i]) & shared) != 0) {
+                return null;
+            }
+            long kept = condition.mask[i] & ~effectMask[i];
+            if (((condition.value[i] ^ preValue[i]) & kept & preMask[i]) != 0) {
+                return null;
+            }
+            mask[i] = kept | preMask[i];
+            value[i] = condition.value[i] & kept | preValue[i] & preMask[i];
+        }
+
+        int fieldCount = 0;
+        for (Field field : fields) {
+            if ((mask[field.word] & field.mask()) != 0) {
+                fieldCount++;
+            }
+        }
+        int[] fieldWords = new int[fieldCount];
+        long[] fieldMasks = new long[fieldCount];
+        fieldCount = 0;
+        for (Field field : fields) {
+            if ((mask[field.word] & field.mask()) != 0) {
+                fieldWords[fieldCount] = field.word;
+                fieldMasks[fieldCount++] = field.mask();
+            }
+        }
+        return new Condition(mask, value, fieldWords, fieldMasks);
+    }
+
+    /**
+     * Checks if a state could still come to satisfy a condition: every fact
+     * it does not satisfy yet is set by some action.
+     *
+     * @param state The state
+     * @param condition The condition
+     * @return False if the condition can never hold starting from the state
+     */
+    public boolean canReach(State state, Condition condition) {
+        for (int i = 0; i < words; i++) {
+            if (((state.words[i] ^ condition.value[i]) & condition.mask[i] & ~settable[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if every action can be {@link #regress regressed}, i.e. none
+     * overrides {@link Action#isApplicable} or {@link Action#applyEffects}.
+     *
+     * @return True if the domain supports backward search
+     */
+    public boolean isRegressable() {
+        return regressable;
+    }
+
+    /**
+     * Gets the index of an action.
+     *
+     * @param action The action
+     * @return The action index, or -1 if the domain does not contain it
+     */
+    public int indexOf(Action action) {
+        for (int i = 0; i < actions.size(); i++) {
+            if (actions.get(i) == action) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if an action's preconditions hold in a state.
+     *
+     * @param action The action index
+     * @param state The state
+     * @param base The world state planning started from, for actions with custom checks
+     * @return True if the action is applicable
+     */
+    public boolean isApplicable(int action, State state, WorldState base) {
+        if (customApplicable[action]) {
+            return actions.get(action).isApplicable(decode(state, base));
+        }
+        return matches(state.words, preconditionMasks[action], preconditionValues[action]);
+    }
+
+    /**
+     * Applies an action's effects to a state.
+     *
+     * @param action The action index
+     * @param state The state
+     * @param base The world state planning started from, for actions with custom effects
+     * @return The resulting state
+     */
+    public State apply(int action, State state, WorldState base) {
+        if (customEffects[action]) {
+            WorldState decoded = decode(state, base);
+            actions.get(action).applyEffects(decoded);
+            return encode(decoded, base);
+        }
+        long[] mask = effectMasks[action];
+        long[] value = effectValues[action];
+        long[] result = new long[words];
+        for (int i = 0; i < words; i++) {
+            result[i] = state.words[i] & ~mask[i] | value[i];
+        }
+        return new State(result, withoutEffects(state.overlay, action));
+    }
+
+    /**
+     * Drops the overlay entries an action's declared effects overwrite; the
+     * packed words now hold those facts.
+     */
+    private WorldState withoutEffects(WorldState overlay, int action) {
+        if (overlay == null) {
+            return null;
+        }
+        WorldState result = overlay;
+        for (String key : actions.get(action).getEffects().keys()) {
+            if (result.has(key)) {
+                if (result == overlay) {
+                    result = overlay.copy();
+                }
+                result.remove(key);
+            }
+        }
+        return result.size() > 0 ? result : null;
+    }
+
+    /**
+     * Gets the cost of an action in a state.
+     *
+     * @param action The action index
+     * @param context The behavior context
+     * @param state The state
+     * @param base The world state planning started from, for actions with procedural costs
+     * @return The cost
+     */
+    public float getCost(int action, BehaviorContext context, State state, WorldState base) {
+        Action a = actions.get(action);
+        return customCost[action] ? a.getProceduralCost(context, decode(state, base)) : a.getCost();
+    }
+
+    /**
+     * Gets the cost of an action in an already decoded state.
+     *
+     * @param action The action index
+     * @param context The behavior context
+     * @param decoded The {@link #decode decoded} state
+     * @return The cost
+     */
+    public float getCost(int action, BehaviorContext context, WorldState decoded) {
+        Action a = actions.get(action);
+        return customCost[action] ? a.getProceduralCost(context, decoded) : a.getCost();
+    }
+
+    /**
+     * Checks if an action's cost depends on the context or state.
+     *
+     * @param action The action index
+     * @return True if the action overrides {@link Action#getProceduralCost}
+     */
+    public boolean hasProceduralCost(int action) {
+        return customCost[action];
+    }
+
+    /**
+     * Gets an action by index.
+     *
+     * @param action The action index
+     * @return The action
+     */
+    public Action getAction(int action) {
+        return actions.get(action);
+    }
+
+    /**
+     * Gets the number of actions.
+     *
+     * @return The action count
+     */
+    public int getActionCount() {
+        return actions.size();
+    }
+
+    /**
+     * Gets the number of interned facts.
+     *
+     * @return The fact count
+     */
+    public int getFactCount() {
+        return booleanFacts.size() + fieldFacts.size();
+    }
+
+    private static boolean matches(long[] state, long[] mask, long[] value) {
+        for (int i = 0; i < state.length; i++) {
+            if (((state[i] ^ value[i]) & mask[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void collect(WorldState state, Map<String, Set<Object>> values) {
+        for (String key : state.keys()) {
+            values.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(state.get(key));
+        }
+    }
+
+    private static long fingerprint(List<Action> actions) {
+        long hash = 0x9E3779B97F4A7C15L;
+        for (Action action : actions) {
+            hash = mix(hash, action.getClass().getName().hashCode());
+            hash = mix(hash, action.getName().hashCode());
+            hash = mix(hash, Float.floatToIntBits(action.getCost()));
+            hash = mix(hash, action.getPreconditions().hashCode());
+            hash = mix(hash, action.getEffects().hashCode());
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, int value) {
+        hash = (hash ^ value) * 0x100000001B3L;
+        return hash ^ (hash >>> 29);
+    }
+
+    private static int version(Action action) {
+        return action.getPreconditions().getVersion() * 31 + action.getEffects().getVersion();
+    }
+
+    private static boolean overrides(Action action, String name, Class<?>... parameters) {
+        try {
+            return action.getClass().getMethod(name, parameters).getDeclaringClass() != Action.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * A packed world state. Equal states have equal words and overlays.
+     */
+    public static final class State {
+        private final long[] words;
+        private final WorldState overlay; // Facts custom effects set that the words cannot hold, or null
+        private final int hash;
+
+        State(long[] words, WorldState overlay) {
+            this.words = words;
+            this.overlay = overlay;
+            this.hash = Arrays.hashCode(words) * 31 + Objects.hashCode(overlay);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof State)) return false;
+            State other = (State) obj;
+            return hash == other.hash && Arrays.equals(words, other.words) && Objects.equals(overlay, other.overlay);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * A compiled set of required fact values, such as a goal.
+     */
+    public static final class Condition {
+        private final long[] mask;
+        private final long[] value;
+        private final int[] fieldWords; // Word and mask of each non-boolean fact, for counting
+        private final long[] fieldMasks;
+
+        private final int hash;
+
+        Condition(long[] mask, long[] value, int[] fieldWords, long[] fieldMasks) {
+            this.mask = mask;
+            this.value = value;
+            this.fieldWords = fieldWords;
+            this.fieldMasks = fieldMasks;
+            this.hash = Arrays.hashCode(mask) * 31 + Arrays.hashCode(value);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Condition)) return false;
+            Condition other = (Condition) obj;
+            return hash == other.hash && Arrays.equals(mask, other.mask) && Arrays.equals(value, other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * A packed non-boolean fact. Code 0 means absent, codes 1 to n the
+     * values the domain mentions, and the last code any other value.
+     */
+    private static final class Field {
+        final Map<Object, Integer> codes = new HashMap<>();
+        final Object[] values;
+        final int other;
+        final int width;
+        int index;
+        int word;
+        int shift;
+
+        Field(Set<Object> values) {
+            this.values = values.toArray();
+            for (int i = 0; i < this.values.length; i++) {
+                codes.put(this.values[i], i + 1);
+            }
+            this.other = this.values.length + 1;
+            this.width = 32 - Integer.numberOfLeadingZeros(other);
+        }
+
+        long mask() {
+            return ((1L << width) - 1) << shift;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.gerefloc45.voidapi.api.goap;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, least-recently-used cache of GOAP plans, shared between planners.
+ *
+ * <p>Plans are keyed by the {@link GoapDomain#getFingerprint fingerprint} of
+ * the action set, the goal's desired state and the
+ * {@link GoapDomain#relevantFacts relevant facts} of the state planned from,
+ * and stored as action indices. Entities running equivalent action sets
+ * therefore reuse each other's plans, even with their own action instances.
+ * A cached plan is replayed against the requesting state before use, so a
+ * reused plan always reaches the goal; with procedural costs it is the plan
+ * that was cheapest for the entity that searched it.
+ *
+ * <p><b>Example:</b>
+ * <pre>{@code
+ * GOAPNode node = new GOAPNode(goal, actions, stateProvider)
+ *     .setPlanCache(PlanCache.getShared());
+ * }</pre>
+ *
+ * @since 0.8.0
+ */
+public class PlanCache {
+    private static final PlanCache SHARED = new PlanCache(1024);
+
+    private final int capacity;
+    private final Map<Key, int[]> plans;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong rejections = new AtomicLong();
+
+    /**
+     * Creates a plan cache.
+     *
+     * @param capacity Maximum number of plans kept
+     */
+    public PlanCache(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.plans = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, int[]> eldest) {
+                return size() > PlanCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Gets the cache shared by all planners that opt into it.
+     *
+     * @return The shared cache
+     */
+    public static PlanCache getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Creates the key of a planning request.
+     *
+     * @param domain The compiled domain
+     * @param goalState The goal's desired state
+     * @param currentState The state planned from
+     * @return The key
+     */
+    Key key(GoapDomain domain, WorldState goalState, WorldState currentState) {
+        return new Key(domain.getFingerprint(), goalState.copy(), domain.relevantFacts(currentState, goalState));
+    }
+
+    /**
+     * Gets a cached plan.
+     *
+     * @param key The request key
+     * @return The plan's action indices, or null on a miss
+     */
+    synchronized int[] get(Key key) {
+        return plans.get(key);
+    }
+
+    /**
+     * Caches a plan.
+     *
+     * @param key The request key
+     * @param actions The plan's action indices
+     */
+    synchronized void put(Key key, int[] actions) {
+        plans.put(key, actions);
+    }
+
+    /**
+     * Drops a cached plan that no longer applies.
+     *
+     * @param key The request key
+     */
+    synchronized void invalidate(Key key) {
+        plans.remove(key);
+    }
+
+    void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    void recordRejection() {
+        rejections.incrementAndGet();
+    }
+
+    /**
+     * Gets the number of requests served from the cache.
+     *
+     * @return The hit count
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of requests that had to be searched, including rejections.
+     *
+     * @return The miss count
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the number of cached plans that failed validation.
+     *
+     * @return The rejection count
+     */
+    public long getRejections() {
+        return rejections.get();
+    }
+
+    /**
+     * Gets the fraction of requests served from the cache.
+     *
+     * @return The hit rate from 0.0 to 1.0
+     */
+    public double getHitRate() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    /**
+     * Gets the number of cached plans.
+     *
+     * @return The cache size
+     */
+    public synchronized int size() {
+        return plans.size();
+    }
+
+    /**
+     * Gets the maximum number of cached plans.
+     *
+     * @return The capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Removes all cached plans and resets the metrics.
+     */
+    public synchronized void clear() {
+        plans.clear();
+        hits.set(0);
+        misses.set(0);
+        rejections.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "PlanCache{" +
+                "size=" + size() +
+                ", hits=" + hits.get() +
+                ", misses=" + misses.get() +
+                ", rejections=" + rejections.get() +
+                '}';
+    }
+
+    /**
+     * Key of a planning request.
+     */
+    static final class Key {
+        private final long fingerprint;
+        private final WorldState goal;
+        private final WorldState facts;
+        private final int hash;
+
+        Key(long fingerprint, WorldState goal, WorldState facts) {
+            this.fingerprint = fingerprint;
+            this.goal = goal;
+            this.facts = facts;
+            this.hash = (Long.hashCode(fingerprint) * 31 + goal.hashCode()) * 31 + facts.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+            Key other = (Key) obj;
+            return hash == other.hash && fingerprint == other.fingerprint
+                    && goal.equals(other.goal) && facts.equals(other.facts);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
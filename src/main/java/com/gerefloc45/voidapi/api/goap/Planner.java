@@ -1,14 +1,19 @@
 package com.gerefloc45.voidapi.api.goap;
 
 import com.gerefloc45.voidapi.api.BehaviorContext;
+import com.gerefloc45.voidapi.util.AsyncHelper;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
 
 /**
  * GOAP planner that uses A* algorithm to find optimal action sequences.
  * 
  * <p>The planner searches through possible action sequences to find
  * the lowest-cost path from the current world state to a goal state.
+ * It searches forward by default; {@link SearchMode#BACKWARD} regresses
+ * from the goal instead, and {@link #repair} patches a plan in progress.
  * 
  * <p><b>Example:</b>
  * <pre>{@code
@@ -32,15 +37,63 @@ import java.util.*;
 public class Planner {
     private static final int MAX_NODES = 1000; // Prevent infinite loops
     
+    private volatile GoapDomain domain;
+    private volatile List<WorldState> domainGoals = List.of();
+    private volatile PlanCache planCache;
+    private volatile SearchMode searchMode = SearchMode.FORWARD;
+    
     /**
      * Creates a new planner.
      */
     public Planner() {
     }
     
+    /**
+     * Sets the direction plans are searched in.
+     * 
+     * @param searchMode The search mode
+     * @return This planner for chaining
+     */
+    public Planner setSearchMode(SearchMode searchMode) {
+        this.searchMode = searchMode;
+        return this;
+    }
+    
+    /**
+     * Gets the direction plans are searched in.
+     * 
+     * @return The search mode
+     */
+    public SearchMode getSearchMode() {
+        return searchMode;
+    }
+    
+    /**
+     * Sets the cache plans are looked up in before searching and stored in after.
+     * 
+     * @param planCache The cache, e.g. {@link PlanCache#getShared()}, or null for none
+     * @return This planner for chaining
+     */
+    public Planner setPlanCache(PlanCache planCache) {
+        this.planCache = planCache;
+        return this;
+    }
+    
+    /**
+     * Gets the plan cache.
+     * 
+     * @return The cache, or null if plans are not cached
+     */
+    public PlanCache getPlanCache() {
+        return planCache;
+    }
+    
     /**
      * Plans a sequence of actions to achieve a goal.
      * 
+     * <p>States are searched in the packed form of a {@link GoapDomain},
+     * which is compiled on first use and reused while the actions stay the same.
+     * 
      * @param context The behavior context
      * @param currentState The current world state
      * @param goal The goal to achieve
@@ -53,63 +106,266 @@ public class Planner {
             return new Plan(new ArrayList<>(), 0.0f);
         }
         
+        GoapDomain domain = getDomain(availableActions, goal.getDesiredState());
+        GoapDomain.Condition target = domain.compile(goal.getDesiredState());
+        PlanCache cache = planCache;
+        PlanCache.Key key = null;
+        if (cache != null) {
+            key = cache.key(domain, goal.getDesiredState(), currentState);
+            Plan cached = fromCache(context, cache, key, domain, currentState, target, null);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        float[] costs = searchMode == SearchMode.BACKWARD ? costsAt(context, domain, currentState) : null;
+        return search(context, domain, currentState, target, costs, () -> false, cache, key);
+    }
+    
+    /**
+     * Plans a sequence of actions on the async executor.
+     * 
+     * <p>The search runs against a copy of the current state. Procedural
+     * costs read the context, so they are evaluated on the calling thread
+     * against the current state before the search starts; actions that
+     * override {@link Action#isApplicable} or {@link Action#applyEffects}
+     * must not touch the world. Cancelling the returned future stops the
+     * search at its next expansion.
+     * 
+     * @param context The behavior context
+     * @param currentState The current world state
+     * @param goal The goal to achieve
+     * @param availableActions Available actions to use
+     * @return A future completed with the plan, or with null if no plan found
+     */
+    public CompletableFuture<Plan> planAsync(BehaviorContext context, WorldState currentState, Goal goal,
+                                             List<Action> availableActions) {
+        if (goal.isSatisfied(currentState)) {
+            return AsyncHelper.completedFuture(new Plan(new ArrayList<>(), 0.0f));
+        }
+        
+        WorldState snapshot = currentState.copy();
+        GoapDomain domain = getDomain(availableActions, goal.getDesiredState());
+        GoapDomain.Condition target = domain.compile(goal.getDesiredState());
+        float[] costs = costsAt(context, domain, snapshot);
+        
+        // Cache hits are cheap enough to serve on the calling thread
+        PlanCache cache = planCache;
+        PlanCache.Key key = cache != null ? cache.key(domain, goal.getDesiredState(), snapshot) : null;
+        if (cache != null) {
+            Plan cached = fromCache(context, cache, key, domain, snapshot, target, costs);
+            if (cached != null) {
+                return AsyncHelper.completedFuture(cached);
+            }
+        }
+        
+        CompletableFuture<Plan> result = new CompletableFuture<>();
+        AsyncHelper.runAsync(() -> {
+            try {
+                result.complete(search(context, domain, snapshot, target, costs, result::isDone, cache, key));
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        return result;
+    }
+    
+    /**
+     * Checks if a plan still reaches its goal from a state, e.g. one made
+     * for an older state.
+     * 
+     * @param plan The plan
+     * @param currentState The state the plan would start from
+     * @param goal The goal
+     * @return True if every action is applicable in turn and the goal is reached
+     */
+    public boolean isValid(Plan plan, WorldState currentState, Goal goal) {
+        WorldState state = currentState.copy();
+        for (Action action : plan.getActions()) {
+            if (!action.isApplicable(state)) {
+                return false;
+            }
+            action.applyEffects(state);
+        }
+        return goal.isSatisfied(state);
+    }
+    
+    /**
+     * Patches the rest of a plan after the world state changed, instead of
+     * planning from scratch.
+     * 
+     * <p>The actions not yet executed are kept where possible: if they still
+     * reach the goal the plan is returned as is, otherwise a short bridge is
+     * searched from the current state to the point where some remaining
+     * suffix of the plan works again, or to the goal itself. The result is
+     * cheap to find but not necessarily the cheapest plan.
+     * 
+     * @param context The behavior context
+     * @param currentState The current world state
+     * @param goal The goal to achieve
+     * @param plan The plan being executed
+     * @param availableActions Available actions to use
+     * @return A plan starting from the current state, or null if no plan found
+     */
+    public Plan repair(BehaviorContext context, WorldState currentState, Goal goal, Plan plan,
+                       List<Action> availableActions) {
+        if (goal.isSatisfied(currentState)) {
+            return new Plan(new ArrayList<>(), 0.0f);
+        }
+        
+        GoapDomain domain = getDomain(availableActions, goal.getDesiredState());
+        List<Action> planned = plan.getActions();
+        int[] suffix = new int[plan.getRemainingActions()];
+        for (int i = 0; i < suffix.length; i++) {
+            suffix[i] = domain.indexOf(planned.get(plan.getCurrentActionIndex() + i));
+            if (suffix[i] < 0) {
+                return plan(context, currentState, goal, availableActions);
+            }
+        }
+        
+        // What must hold before each remaining step for the rest of the plan to work
+        float[] costs = costsAt(context, domain, currentState);
+        GoapDomain.Condition[] requirements = new GoapDomain.Condition[suffix.length + 1];
+        float[] suffixCosts = new float[suffix.length + 1];
+        requirements[suffix.length] = domain.compile(goal.getDesiredState());
+        for (int i = suffix.length - 1; i >= 0; i--) {
+            requirements[i] = requirements[i + 1] != null ? domain.regress(suffix[i], requirements[i + 1]) : null;
+            suffixCosts[i] = suffixCosts[i + 1] + costs[suffix[i]];
+        }
+        
+        Node found = searchForward(context, domain, currentState, requirements, suffixCosts, costs, () -> false);
+        if (found == null) {
+            return null;
+        }
+        int rejoin = reached(domain, found.state, requirements, suffixCosts);
+        int[] bridge = reconstructPlan(found);
+        int[] actions = Arrays.copyOf(bridge, bridge.length + suffix.length - rejoin);
+        System.arraycopy(suffix, rejoin, actions, bridge.length, suffix.length - rejoin);
+        return toPlan(domain, actions, found.g + suffixCosts[rejoin]);
+    }
+    
+    /**
+     * Runs the search in the configured direction and caches the result.
+     * 
+     * @param context The behavior context
+     * @param domain The compiled domain
+     * @param currentState The world state to start from
+     * @param target The compiled goal
+     * @param costs Fixed action costs, or null to evaluate them during a forward search
+     * @param cancelled Checked before each expansion
+     * @param cache The cache to store the plan in, or null
+     * @param key The request's cache key, or null
+     * @return A plan, or null if no plan found or cancelled
+     */
+    private Plan search(BehaviorContext context, GoapDomain domain, WorldState currentState,
+                        GoapDomain.Condition target, float[] costs, BooleanSupplier cancelled,
+                        PlanCache cache, PlanCache.Key key) {
+        int[] actions;
+        float totalCost;
+        if (searchMode == SearchMode.BACKWARD && domain.isRegressable() && costs != null) {
+            RegressionNode found = searchBackward(domain, currentState, target, costs, cancelled);
+            if (found == null) {
+                return null;
+            }
+            actions = reconstructPlan(found);
+            totalCost = found.g;
+        } else {
+            Node found = searchForward(context, domain, currentState, new GoapDomain.Condition[] {target},
+                    new float[1], costs, cancelled);
+            if (found == null) {
+                return null;
+            }
+            actions = reconstructPlan(found);
+            totalCost = found.g;
+        }
+        
+        if (cache != null) {
+            cache.put(key, actions);
+        }
+        return toPlan(domain, actions, totalCost);
+    }
+    
+    /**
+     * Runs the A* search forward over packed states, until a state
+     * satisfies one of the targets.
+     * 
+     * @param context The behavior context
+     * @param domain The compiled domain
+     * @param currentState The world state to start from
+     * @param targets The compiled targets; null entries are skipped
+     * @param remainingCosts The cost still to pay after reaching each target
+     * @param costs Fixed action costs, or null to evaluate them during the search
+     * @param cancelled Checked before each expansion
+     * @return The node that reached a target, or null if none found or cancelled
+     */
+    private Node searchForward(BehaviorContext context, GoapDomain domain, WorldState currentState,
+                               GoapDomain.Condition[] targets, float[] remainingCosts, float[] costs,
+                               BooleanSupplier cancelled) {
+        GoapDomain.State start = domain.encode(currentState);
+        
         // A* search
         PriorityQueue<Node> openSet = new PriorityQueue<>(Comparator.comparingDouble(Node::getF));
-        Map<WorldState, Node> openMap = new HashMap<>();
-        Set<WorldState> closedSet = new HashSet<>();
+        Map<GoapDomain.State, Node> openMap = new HashMap<>();
+        Set<GoapDomain.State> closedSet = new HashSet<>();
         
-        Node startNode = new Node(currentState, null, null, 0.0f, 
-                                   heuristic(currentState, goal.getDesiredState()));
+        Node startNode = new Node(start, null, -1, 0.0f, estimate(domain, start, targets, remainingCosts));
         openSet.add(startNode);
-        openMap.put(currentState, startNode);
+        openMap.put(start, startNode);
         
         int iterations = 0;
+        long[] candidates = new long[domain.getActionWords()];
+        CostMemo memo = costs == null ? new CostMemo(context, domain, currentState) : null;
         
         while (!openSet.isEmpty() && iterations < MAX_NODES) {
             iterations++;
+            if (cancelled.getAsBoolean()) {
+                return null;
+            }
             
             Node current = openSet.poll();
             openMap.remove(current.state);
             
-            // Check if we reached the goal
-            if (goal.isSatisfied(current.state)) {
-                return reconstructPlan(current);
+            // Check if we reached a target
+            if (reached(domain, current.state, targets, remainingCosts) >= 0) {
+                return current;
             }
             
             closedSet.add(current.state);
             
-            // Expand neighbors
-            for (Action action : availableActions) {
-                if (!action.isApplicable(current.state)) {
-                    continue;
-                }
-                
-                // Simulate action
-                WorldState newState = current.state.copy();
-                action.applyEffects(newState);
-                
-                if (closedSet.contains(newState)) {
-                    continue;
-                }
-                
-                float actionCost = action.getProceduralCost(context, current.state);
-                float newG = current.g + actionCost;
-                float newH = heuristic(newState, goal.getDesiredState());
-                
-                Node existingNode = openMap.get(newState);
-                if (existingNode != null) {
-                    if (newG < existingNode.g) {
-                        // Found better path
-                        openSet.remove(existingNode);
-                        openMap.remove(newState);
-                    } else {
+            // Expand neighbors, among the actions whose indexed precondition holds
+            domain.collectApplicable(current.state, candidates);
+            for (int word = 0; word < candidates.length; word++) {
+                for (long bits = candidates[word]; bits != 0; bits &= bits - 1) {
+                    int action = word << 6 | Long.numberOfTrailingZeros(bits);
+                    if (!domain.isApplicable(action, current.state, currentState)) {
                         continue;
                     }
+                    
+                    // Simulate action
+                    GoapDomain.State newState = domain.apply(action, current.state, currentState);
+                    
+                    if (closedSet.contains(newState)) {
+                        continue;
+                    }
+                    
+                    float actionCost = costs != null ? costs[action] : memo.get(action, current.state);
+                    float newG = current.g + actionCost;
+                    
+                    Node existingNode = openMap.get(newState);
+                    if (existingNode != null) {
+                        if (newG < existingNode.g) {
+                            // Found better path
+                            openSet.remove(existingNode);
+                            openMap.remove(newState);
+                        } else {
+                            continue;
+                        }
+                    }
+                    
+                    Node newNode = new Node(newState, current, action, newG,
+                            estimate(domain, newState, targets, remainingCosts));
+                    openSet.add(newNode);
+                    openMap.put(newState, newNode);
                 }
-                
-                Node newNode = new Node(newState, current, action, newG, newH);
-                openSet.add(newNode);
-                openMap.put(newState, newNode);
             }
         }
         
@@ -118,47 +374,331 @@ public class Planner {
     }
     
     /**
-     * Heuristic function for A* (number of unsatisfied conditions).
+     * Runs the A* search backward from the goal: each node is a condition
+     * that, once it holds, lets the actions found so far reach the goal.
+     * Only actions that set a fact of the condition are expanded.
      * 
-     * @param current The current state
-     * @param goal The goal state
-     * @return The heuristic value
+     * @param domain The compiled domain
+     * @param currentState The world state to reach
+     * @param target The compiled goal
+     * @param costs Fixed action costs
+     * @param cancelled Checked before each expansion
+     * @return The node whose condition the current state satisfies, or null if none found or cancelled
      */
-    private float heuristic(WorldState current, WorldState goal) {
-        return goal.countDifferences(current);
+    private RegressionNode searchBackward(GoapDomain domain, WorldState currentState, GoapDomain.Condition target,
+                                          float[] costs, BooleanSupplier cancelled) {
+        GoapDomain.State start = domain.encode(currentState);
+        
+        PriorityQueue<RegressionNode> openSet = new PriorityQueue<>(Comparator.comparingDouble(RegressionNode::getF));
+        Map<GoapDomain.Condition, RegressionNode> openMap = new HashMap<>();
+        Set<GoapDomain.Condition> closedSet = new HashSet<>();
+        
+        RegressionNode goalNode = new RegressionNode(target, null, -1, 0.0f, domain.countDifferences(start, target));
+        openSet.add(goalNode);
+        openMap.put(target, goalNode);
+        
+        int iterations = 0;
+        long[] candidates = new long[domain.getActionWords()];
+        
+        while (!openSet.isEmpty() && iterations < MAX_NODES) {
+            iterations++;
+            if (cancelled.getAsBoolean()) {
+                return null;
+            }
+            
+            RegressionNode current = openSet.poll();
+            openMap.remove(current.condition);
+            
+            if (domain.satisfies(start, current.condition)) {
+                return current;
+            }
+            
+            closedSet.add(current.condition);
+            
+            domain.collectAchievers(current.condition, candidates);
+            for (int word = 0; word < candidates.length; word++) {
+                for (long bits = candidates[word]; bits != 0; bits &= bits - 1) {
+                    int action = word << 6 | Long.numberOfTrailingZeros(bits);
+                    if (!domain.achieves(action, current.condition)) {
+                        continue;
+                    }
+                    GoapDomain.Condition before = domain.regress(action, current.condition);
+                    if (before == null || !domain.canReach(start, before) || closedSet.contains(before)) {
+                        continue;
+                    }
+                    
+                    float newG = current.g + costs[action];
+                    RegressionNode existingNode = openMap.get(before);
+                    if (existingNode != null) {
+                        if (newG < existingNode.g) {
+                            openSet.remove(existingNode);
+                            openMap.remove(before);
+                        } else {
+                            continue;
+                        }
+                    }
+                    
+                    RegressionNode newNode = new RegressionNode(before, current, action, newG,
+                            domain.countDifferences(start, before));
+                    openSet.add(newNode);
+                    openMap.put(before, newNode);
+                }
+            }
+        }
+        
+        return null;
+    }
+    
+    /**
+     * Estimates the cost to finish from a state: the cheapest of the
+     * targets' unsatisfied fact counts plus their remaining costs.
+     */
+    private static float estimate(GoapDomain domain, GoapDomain.State state, GoapDomain.Condition[] targets,
+                                  float[] remainingCosts) {
+        float best = Float.MAX_VALUE;
+        for (int i = 0; i < targets.length; i++) {
+            if (targets[i] != null) {
+                best = Math.min(best, domain.countDifferences(state, targets[i]) + remainingCosts[i]);
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * Finds the cheapest target a state satisfies.
+     * 
+     * @return The target index, or -1 if the state satisfies none
+     */
+    private static int reached(GoapDomain domain, GoapDomain.State state, GoapDomain.Condition[] targets,
+                               float[] remainingCosts) {
+        int best = -1;
+        for (int i = 0; i < targets.length; i++) {
+            if (targets[i] != null && (best < 0 || remainingCosts[i] < remainingCosts[best])
+                    && domain.satisfies(state, targets[i])) {
+                best = i;
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * Evaluates every action's cost in a state.
+     * 
+     * @param context The behavior context
+     * @param domain The compiled domain
+     * @param currentState The state
+     * @return The costs, by action index
+     */
+    private static float[] costsAt(BehaviorContext context, GoapDomain domain, WorldState currentState) {
+        GoapDomain.State state = domain.encode(currentState);
+        float[] costs = new float[domain.getActionCount()];
+        for (int action = 0; action < costs.length; action++) {
+            costs[action] = domain.getCost(action, context, state, currentState);
+        }
+        return costs;
+    }
+    
+    /**
+     * Gets the compiled domain for a set of actions and a goal, compiling
+     * it again if the actions changed or the goal names a new fact value.
+     * 
+     * @param actions The available actions
+     * @param goalState The goal's desired state
+     * @return The compiled domain
+     */
+    public GoapDomain getDomain(List<Action> actions, WorldState goalState) {
+        GoapDomain compiled = domain;
+        if (compiled != null && compiled.isCompiledFor(actions) && compiled.covers(goalState)) {
+            return compiled;
+        }
+        
+        synchronized (this) {
+            compiled = domain;
+            if (compiled != null && compiled.isCompiledFor(actions) && compiled.covers(goalState)) {
+                return compiled;
+            }
+            // Keep the goals planned for so far, as long as the actions stay the same
+            List<WorldState> goals = new ArrayList<>();
+            if (compiled != null && compiled.isCompiledFor(actions)) {
+                goals.addAll(domainGoals);
+            }
+            goals.add(goalState);
+            compiled = GoapDomain.compile(actions, goals);
+            domainGoals = goals;
+            domain = compiled;
+            return compiled;
+        }
+    }
+    
+    /**
+     * Looks up a cached plan and replays it from the current state.
+     * 
+     * @param context The behavior context
+     * @param cache The plan cache
+     * @param key The request's cache key
+     * @param domain The compiled domain
+     * @param currentState The state to plan from
+     * @param target The compiled goal
+     * @param costs Fixed action costs, or null to evaluate them
+     * @return The cached plan, or null on a miss or if it no longer reaches the goal
+     */
+    private Plan fromCache(BehaviorContext context, PlanCache cache, PlanCache.Key key, GoapDomain domain,
+                           WorldState currentState, GoapDomain.Condition target, float[] costs) {
+        int[] actions = cache.get(key);
+        if (actions == null) {
+            cache.recordMiss();
+            return null;
+        }
+        
+        GoapDomain.State state = domain.encode(currentState);
+        float totalCost = 0.0f;
+        boolean valid = true;
+        for (int action : actions) {
+            if (action >= domain.getActionCount() || !domain.isApplicable(action, state, currentState)) {
+                valid = false;
+                break;
+            }
+            totalCost += costs != null ? costs[action] : domain.getCost(action, context, state, currentState);
+            state = domain.apply(action, state, currentState);
+        }
+        if (!valid || !domain.satisfies(state, target)) {
+            cache.invalidate(key);
+            cache.recordRejection();
+            cache.recordMiss();
+            return null;
+        }
+        
+        cache.recordHit();
+        return toPlan(domain, actions, totalCost);
     }
     
     /**
-     * Reconstructs the plan from the goal node.
+     * Reconstructs the action indices from the goal node.
      * 
      * @param goalNode The node representing the goal
-     * @return The complete plan
+     * @return The action indices, in order
      */
-    private Plan reconstructPlan(Node goalNode) {
-        List<Action> actions = new ArrayList<>();
-        float totalCost = goalNode.g;
+    private int[] reconstructPlan(Node goalNode) {
+        int length = 0;
+        for (Node node = goalNode; node.parent != null; node = node.parent) {
+            length++;
+        }
         
+        int[] actions = new int[length];
         Node current = goalNode;
         while (current.parent != null) {
-            actions.add(current.action);
+            actions[--length] = current.action;
             current = current.parent;
         }
+        return actions;
+    }
+    
+    /**
+     * Reconstructs the action indices from a backward search node. The
+     * node's action comes first, its parent's next, up to the goal.
+     * 
+     * @param startNode The node whose condition holds in the current state
+     * @return The action indices, in order
+     */
+    private int[] reconstructPlan(RegressionNode startNode) {
+        int length = 0;
+        for (RegressionNode node = startNode; node.parent != null; node = node.parent) {
+            length++;
+        }
         
-        Collections.reverse(actions);
-        return new Plan(actions, totalCost);
+        int[] actions = new int[length];
+        RegressionNode current = startNode;
+        for (int i = 0; i < length; i++) {
+            actions[i] = current.action;
+            current = current.parent;
+        }
+        return actions;
+    }
+    
+    /**
+     * Builds a plan from action indices.
+     * 
+     * @param domain The compiled domain
+     * @param actions The action indices
+     * @param totalCost The plan's total cost
+     * @return The plan
+     */
+    private Plan toPlan(GoapDomain domain, int[] actions, float totalCost) {
+        List<Action> list = new ArrayList<>(actions.length);
+        for (int action : actions) {
+            list.add(domain.getAction(action));
+        }
+        return new Plan(list, totalCost);
+    }
+    
+    /**
+     * Procedural costs evaluated during one search, by state and action.
+     * Each state is decoded once for all of its actions.
+     */
+    private static final class CostMemo {
+        private final BehaviorContext context;
+        private final GoapDomain domain;
+        private final WorldState base;
+        private final Map<GoapDomain.State, Entry> entries = new HashMap<>();
+        
+        CostMemo(BehaviorContext context, GoapDomain domain, WorldState base) {
+            this.context = context;
+            this.domain = domain;
+            this.base = base;
+        }
+        
+        float get(int action, GoapDomain.State state) {
+            if (!domain.hasProceduralCost(action)) {
+                return domain.getAction(action).getCost();
+            }
+            Entry entry = entries.computeIfAbsent(state, s -> new Entry(domain.decode(s, base), domain.getActionCount()));
+            float cost = entry.costs[action];
+            if (Float.isNaN(cost)) {
+                cost = domain.getCost(action, context, entry.decoded);
+                entry.costs[action] = cost;
+            }
+            return cost;
+        }
+        
+        private static final class Entry {
+            final WorldState decoded;
+            final float[] costs;
+            
+            Entry(WorldState decoded, int actionCount) {
+                this.decoded = decoded;
+                this.costs = new float[actionCount];
+                Arrays.fill(costs, Float.NaN);
+            }
+        }
+    }
+    
+    /**
+     * Direction the planner searches in.
+     */
+    public enum SearchMode {
+        /** From the current state towards the goal, expanding every applicable action. */
+        FORWARD,
+        /**
+         * From the goal back towards the current state, expanding only actions
+         * that set a fact still needed. Much narrower with large action sets.
+         * Domains with actions that override {@link Action#isApplicable} or
+         * {@link Action#applyEffects} are searched forward, and procedural
+         * costs are evaluated once, in the current state.
+         */
+        BACKWARD
     }
     
     /**
      * Node in the A* search tree.
      */
     private static class Node {
-        final WorldState state;
+        final GoapDomain.State state;
         final Node parent;
-        final Action action;
+        final int action; // Index in the domain, -1 for the start
         final float g; // Cost from start
         final float h; // Heuristic to goal
         
-        Node(WorldState state, Node parent, Action action, float g, float h) {
+        Node(GoapDomain.State state, Node parent, int action, float g, float h) {
             this.state = state;
             this.parent = parent;
             this.action = action;
@@ -170,4 +710,27 @@ public class Planner {
             return g + h;
         }
     }
+    
+    /**
+     * Node in the backward search tree.
+     */
+    private static class RegressionNode {
+        final GoapDomain.Condition condition;
+        final RegressionNode parent; // Closer to the goal
+        final int action; // Index in the domain, -1 for the goal
+        final float g; // Cost from the goal
+        final float h; // Facts the current state does not satisfy
+        
+        RegressionNode(GoapDomain.Condition condition, RegressionNode parent, int action, float g, float h) {
+            this.condition = condition;
+            this.parent = parent;
+            this.action = action;
+            this.g = g;
+            this.h = h;
+        }
+        
+        float getF() {
+            return g + h;
+        }
+    }
 }
@@ -23,6 +23,7 @@ import java.util.Objects;
  */
 public class WorldState {
     private final Map<String, Object> state;
+    private int version; // Bumped on every change, so compiled domains notice edits
     
     /**
      * Creates a new empty world state.
@@ -48,6 +49,7 @@ public class WorldState {
      */
     public void set(String key, Object value) {
         state.put(key, value);
+        version++;
     }
     
     /**
@@ -108,6 +110,7 @@ public class WorldState {
      */
     public void remove(String key) {
         state.remove(key);
+        version++;
     }
     
     /**
@@ -144,6 +147,7 @@ public class WorldState {
      */
     public void apply(WorldState effects) {
         state.putAll(effects.state);
+        version++;
     }
     
     /**
@@ -165,6 +169,15 @@ public class WorldState {
         return differences;
     }
     
+    /**
+     * Gets the modification count of this state.
+     * 
+     * @return A number that changes whenever a value is set or removed
+     */
+    int getVersion() {
+        return version;
+    }
+    
     /**
      * Gets all state keys.
      * 
@@ -179,6 +192,7 @@ public class WorldState {
      */
     public void clear() {
         state.clear();
+        version++;
     }
     
     /**
@@ -3,6 +3,8 @@ package com.gerefloc45.voidapi.api.ml;
 import com.gerefloc45.voidapi.api.Behavior;
 import com.gerefloc45.voidapi.api.BehaviorContext;
 import com.gerefloc45.voidapi.api.BehaviorNode;
+import com.gerefloc45.voidapi.api.NodeMemory;
+import com.gerefloc45.voidapi.api.NodeStateLayout;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -36,10 +38,11 @@ import java.util.List;
  * @since 0.5.0
  */
 public class LearningNode extends BehaviorNode {
+    private static final int ACTION_START_TIME = 0;
+    private static final int CURRENT_BEHAVIOR = 0;
+
     private final List<NamedBehavior> behaviors;
-    
-    private NamedBehavior currentBehavior;
-    private long actionStartTime;
+    private final NodeMemory memory = new NodeMemory(1, 1);
     
     /**
      * Creates a new learning node.
@@ -69,6 +72,7 @@ public class LearningNode extends BehaviorNode {
         
         // Select behavior using learner
         String bestAction = entityLearner.getBestAction(context);
+        NamedBehavior currentBehavior;
         
         if (bestAction != null) {
             // Use learned behavior
@@ -81,14 +85,16 @@ public class LearningNode extends BehaviorNode {
             currentBehavior = behaviors.isEmpty() ? null : behaviors.get(0);
         }
         
+        memory.setObject(context, CURRENT_BEHAVIOR, currentBehavior);
         if (currentBehavior != null) {
             entityLearner.recordAction(currentBehavior.name, context);
-            actionStartTime = System.currentTimeMillis();
+            memory.setLong(context, ACTION_START_TIME, System.currentTimeMillis());
         }
     }
     
     @Override
     public Status execute(BehaviorContext context) {
+        NamedBehavior currentBehavior = memory.getObject(context, CURRENT_BEHAVIOR);
         if (currentBehavior == null || behaviors.isEmpty()) {
             return Status.FAILURE;
         }
@@ -111,9 +117,18 @@ public class LearningNode extends BehaviorNode {
     
     @Override
     public void onEnd(BehaviorContext context, Status status) {
-        currentBehavior = null;
+        memory.setObject(context, CURRENT_BEHAVIOR, null);
         super.onEnd(context, status);
     }
+
+    @Override
+    public void layoutState(NodeStateLayout layout) {
+        layout.allocate(memory);
+        super.layoutState(layout);
+        for (NamedBehavior namedBehavior : behaviors) {
+            layout.add(namedBehavior.behavior);
+        }
+    }
     
     private BehaviorLearner getEntityLearner(BehaviorContext context) {
         // Get learner from blackboard or create new one
@@ -137,7 +152,7 @@ public class LearningNode extends BehaviorNode {
         float reward = 0.5f;
         
         // Bonus for quick completion
-        long duration = System.currentTimeMillis() - actionStartTime;
+        long duration = System.currentTimeMillis() - memory.getLong(context, ACTION_START_TIME);
         if (duration < 5000) { // Less than 5 seconds
             reward += 0.3f;
         }
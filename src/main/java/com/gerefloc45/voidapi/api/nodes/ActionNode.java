@@ -1,11 +1,14 @@
 package com.gerefloc45.voidapi.api.nodes;
 
+import com.gerefloc45.voidapi.api.ActivePath;
 import com.gerefloc45.voidapi.api.Behavior;
 import com.gerefloc45.voidapi.api.BehaviorContext;
+import com.gerefloc45.voidapi.api.NodeStateLayout;
 
 /**
  * Action node - wraps a behavior function for use in behavior trees.
  * This is a leaf node that executes a single action.
+ * In event-driven trees a running action node is resumed directly.
  * 
  * @author VoidAPI Framework
  * @version 1.0.0
@@ -34,7 +37,20 @@ public class ActionNode implements Behavior {
 
     @Override
     public Status execute(BehaviorContext context) {
-        return action.execute(context);
+        ActivePath path = context.getActivePath();
+        if (path == null) {
+            return action.execute(context);
+        }
+
+        Status replayed = path.takeResult(this);
+        if (replayed != null) {
+            return replayed;
+        }
+        Status status = action.execute(context);
+        if (status == Status.RUNNING) {
+            path.leafRunning(this);
+        }
+        return status;
     }
 
     @Override
@@ -46,4 +62,9 @@ public class ActionNode implements Behavior {
     public void onEnd(BehaviorContext context, Status status) {
         action.onEnd(context, status);
     }
+
+    @Override
+    public void layoutState(NodeStateLayout layout) {
+        layout.add(action);
+    }
 }
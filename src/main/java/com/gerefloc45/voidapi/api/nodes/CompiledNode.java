@@ -0,0 +1,373 @@
+package com.gerefloc45.voidapi.api.nodes;
+
+import com.gerefloc45.voidapi.api.Behavior;
+import com.gerefloc45.voidapi.api.BehaviorContext;
+import com.gerefloc45.voidapi.api.NodeMemory;
+import com.gerefloc45.voidapi.api.NodeStateLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiled node - a behavior tree flattened into a linear instruction program.
+ * {@link SequenceNode}, {@link SelectorNode}, {@link InverterNode} and
+ * {@link RepeatNode} are compiled to opcodes over flat arrays and run by a
+ * single interpreter, so control flow no longer dispatches through
+ * {@code Behavior.execute} on every composite. Any other behavior, including
+ * subclasses of the compiled node types, becomes a call-leaf instruction and
+ * keeps its own implementation. The program behaves exactly like the tree it
+ * was compiled from.
+ *
+ * <pre>{@code
+ * BehaviorTree tree = new BehaviorTree(CompiledNode.compile(root));
+ * }</pre>
+ *
+ * <p>The tree must not be modified after compiling. Runtime state lives in the
+ * tree's node state, so a compiled node can be shared through a
+ * {@link com.gerefloc45.voidapi.api.BehaviorTreeTemplate}.
+ *
+ * @author VoidAPI Framework
+ * @version 0.8.0
+ */
+public final class CompiledNode implements Behavior {
+    static final byte OP_CALL = 0;
+    static final byte OP_SEQUENCE = 1;
+    static final byte OP_SELECTOR = 2;
+    static final byte OP_INVERT = 3;
+    static final byte OP_REPEAT = 4;
+
+    // State slots, relative to an instruction's first slot
+    private static final int CURRENT = 0; // Current child, or current repeat
+    private static final int STARTED = 1; // Whether the current child was started
+
+    private final byte[] opcodes;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[] children;
+    private final int[] args;
+    private final int[] slots;
+    private final Behavior[] leaves;
+    private final NodeMemory memory;
+
+    private CompiledNode(Compiler compiler) {
+        int count = compiler.opcodes.size();
+        this.opcodes = new byte[count];
+        this.firstChild = new int[count];
+        this.childCount = new int[count];
+        this.args = new int[count];
+        this.slots = new int[count];
+        this.leaves = compiler.leaves.toArray(new Behavior[0]);
+        for (int i = 0; i < count; i++) {
+            opcodes[i] = compiler.opcodes.get(i);
+            firstChild[i] = compiler.firstChild.get(i);
+            childCount[i] = compiler.childCount.get(i);
+            args[i] = compiler.args.get(i);
+            slots[i] = compiler.slots.get(i);
+        }
+        this.children = compiler.children.stream().mapToInt(Integer::intValue).toArray();
+        this.memory = new NodeMemory(compiler.slotCount, 0);
+    }
+
+    /**
+     * Compiles a behavior tree into a flat program.
+     *
+     * @param root The root behavior
+     * @return The compiled node
+     */
+    public static CompiledNode compile(Behavior root) {
+        Compiler compiler = new Compiler();
+        compiler.emit(root);
+        return new CompiledNode(compiler);
+    }
+
+    /**
+     * Gets the number of instructions in the program.
+     *
+     * @return Instruction count
+     */
+    public int getInstructionCount() {
+        return opcodes.length;
+    }
+
+    /**
+     * Gets the number of instructions that call a behavior's own implementation.
+     *
+     * @return Call-leaf count
+     */
+    public int getLeafCount() {
+        int count = 0;
+        for (byte opcode : opcodes) {
+            if (opcode == OP_CALL) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public Status execute(BehaviorContext context) {
+        return run(0, context);
+    }
+
+    @Override
+    public void onStart(BehaviorContext context) {
+        start(0, context);
+    }
+
+    @Override
+    public void onEnd(BehaviorContext context, Status status) {
+        end(0, status, context);
+    }
+
+    @Override
+    public void layoutState(NodeStateLayout layout) {
+        layout.allocate(memory);
+        for (Behavior leaf : leaves) {
+            if (leaf != null) {
+                layout.add(leaf);
+            }
+        }
+    }
+
+    private Status run(int pc, BehaviorContext context) {
+        switch (opcodes[pc]) {
+            case OP_SEQUENCE:
+                return runSequence(pc, context);
+            case OP_SELECTOR:
+                return runSelector(pc, context);
+            case OP_INVERT:
+                Status status = run(children[firstChild[pc]], context);
+                return status == Status.SUCCESS ? Status.FAILURE
+                    : status == Status.FAILURE ? Status.SUCCESS : status;
+            case OP_REPEAT:
+                return runRepeat(pc, context);
+            default:
+                return leaves[pc].execute(context);
+        }
+    }
+
+    private void start(int pc, BehaviorContext context) {
+        switch (opcodes[pc]) {
+            case OP_SEQUENCE:
+            case OP_SELECTOR:
+                memory.setLong(context, slots[pc] + STARTED, 0L);
+                memory.setLong(context, slots[pc] + CURRENT, 0L);
+                break;
+            case OP_INVERT:
+                start(children[firstChild[pc]], context);
+                break;
+            case OP_REPEAT:
+                memory.setLong(context, slots[pc] + CURRENT, 0L);
+                start(children[firstChild[pc]], context);
+                break;
+            default:
+                leaves[pc].onStart(context);
+        }
+    }
+
+    private void end(int pc, Status status, BehaviorContext context) {
+        switch (opcodes[pc]) {
+            case OP_SEQUENCE:
+            case OP_SELECTOR:
+                memory.setLong(context, slots[pc] + STARTED, 0L);
+                memory.setLong(context, slots[pc] + CURRENT, 0L);
+                break;
+            case OP_INVERT:
+                end(children[firstChild[pc]], status == Status.SUCCESS ? Status.FAILURE
+                    : status == Status.FAILURE ? Status.SUCCESS : status, context);
+                break;
+            case OP_REPEAT:
+                end(children[firstChild[pc]], status, context);
+                memory.setLong(context, slots[pc] + CURRENT, 0L);
+                break;
+            default:
+                leaves[pc].onEnd(context, status);
+        }
+    }
+
+    private Status runSequence(int pc, BehaviorContext context) {
+        int count = childCount[pc];
+        if (count == 0) {
+            return Status.SUCCESS;
+        }
+        int first = firstChild[pc];
+        int slot = slots[pc];
+
+        int current = memory.getInt(context, slot + CURRENT);
+        while (current < count) {
+            int child = children[first + current];
+            if (!memory.getBoolean(context, slot + STARTED)) {
+                start(child, context);
+                memory.setBoolean(context, slot + STARTED, true);
+            }
+
+            Status status = run(child, context);
+            if (status == Status.RUNNING) {
+                memory.setInt(context, slot + CURRENT, current);
+                return Status.RUNNING;
+            }
+            end(child, status, context);
+            memory.setBoolean(context, slot + STARTED, false);
+            if (status == Status.FAILURE) {
+                memory.setInt(context, slot + CURRENT, 0);
+                return Status.FAILURE;
+            }
+            current++;
+        }
+
+        // All children succeeded
+        memory.setInt(context, slot + CURRENT, 0);
+        return Status.SUCCESS;
+    }
+
+    private Status runSelector(int pc, BehaviorContext context) {
+        int count = childCount[pc];
+        if (count == 0) {
+            return Status.FAILURE;
+        }
+        int first = firstChild[pc];
+        int slot = slots[pc];
+
+        int current = memory.getInt(context, slot + CURRENT);
+        if (memory.getBoolean(context, slot + STARTED)) {
+            int preempting = findPreemptingChild(first, current, context);
+            if (preempting >= 0) {
+                end(children[first + current], Status.FAILURE, context);
+                memory.setBoolean(context, slot + STARTED, false);
+                current = preempting;
+            }
+        }
+
+        while (current < count) {
+            int child = children[first + current];
+            if (!memory.getBoolean(context, slot + STARTED)) {
+                start(child, context);
+                memory.setBoolean(context, slot + STARTED, true);
+            }
+
+            Status status = run(child, context);
+            if (status == Status.RUNNING) {
+                memory.setInt(context, slot + CURRENT, current);
+                return Status.RUNNING;
+            }
+            end(child, status, context);
+            memory.setBoolean(context, slot + STARTED, false);
+            if (status == Status.SUCCESS) {
+                memory.setInt(context, slot + CURRENT, 0);
+                return Status.SUCCESS;
+            }
+            current++;
+        }
+
+        // All children failed
+        memory.setInt(context, slot + CURRENT, 0);
+        return Status.FAILURE;
+    }
+
+    /**
+     * Same guard check as {@link SelectorNode}: the first higher-priority guard
+     * that aborts lower priorities and now passes.
+     */
+    private int findPreemptingChild(int first, int current, BehaviorContext context) {
+        for (int i = 0; i < current; i++) {
+            if (leaves[children[first + i]] instanceof ConditionalNode guard
+                    && guard.abortsLowerPriority()
+                    && guard.test(context)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private Status runRepeat(int pc, BehaviorContext context) {
+        int child = children[firstChild[pc]];
+        int slot = slots[pc];
+        int maxRepeats = args[pc] >> 1;
+        boolean untilFailure = (args[pc] & 1) != 0;
+
+        int currentRepeat = memory.getInt(context, slot + CURRENT);
+        if (maxRepeats > 0 && currentRepeat >= maxRepeats) {
+            return Status.SUCCESS;
+        }
+
+        Status status = run(child, context);
+        if (status == Status.RUNNING) {
+            return Status.RUNNING;
+        }
+        end(child, status, context);
+
+        if (status == Status.FAILURE) {
+            memory.setInt(context, slot + CURRENT, 0);
+            return untilFailure ? Status.SUCCESS : Status.FAILURE;
+        }
+
+        // Restart child for the next repeat on the next tick
+        memory.setInt(context, slot + CURRENT, currentRepeat + 1);
+        start(child, context);
+        return Status.RUNNING;
+    }
+
+    /**
+     * Flattens a node graph in pre-order. Each instruction's children are stored
+     * contiguously in the children array.
+     */
+    private static final class Compiler {
+        private final List<Byte> opcodes = new ArrayList<>();
+        private final List<Integer> firstChild = new ArrayList<>();
+        private final List<Integer> childCount = new ArrayList<>();
+        private final List<Integer> args = new ArrayList<>();
+        private final List<Integer> slots = new ArrayList<>();
+        private final List<Behavior> leaves = new ArrayList<>();
+        private final List<Integer> children = new ArrayList<>();
+        private int slotCount;
+
+        private int emit(Behavior node) {
+            Class<?> type = node.getClass();
+            if (type == SequenceNode.class) {
+                return emitComposite(OP_SEQUENCE, ((SequenceNode) node).getChildren(), 0, 2);
+            }
+            if (type == SelectorNode.class) {
+                return emitComposite(OP_SELECTOR, ((SelectorNode) node).getChildren(), 0, 2);
+            }
+            if (type == InverterNode.class) {
+                return emitComposite(OP_INVERT, List.of(((InverterNode) node).getChild()), 0, 0);
+            }
+            if (type == RepeatNode.class) {
+                RepeatNode repeat = (RepeatNode) node;
+                int arg = (repeat.getMaxRepeats() << 1) | (repeat.isRepeatUntilFailure() ? 1 : 0);
+                return emitComposite(OP_REPEAT, List.of(repeat.getChild()), arg, 1);
+            }
+            int pc = add(OP_CALL, 0, 0);
+            leaves.set(pc, node);
+            return pc;
+        }
+
+        private int emitComposite(byte opcode, List<Behavior> nodeChildren, int arg, int slotsUsed) {
+            int pc = add(opcode, arg, slotsUsed);
+
+            // Reserve this instruction's children block before emitting their subtrees
+            int first = children.size();
+            for (int i = 0; i < nodeChildren.size(); i++) {
+                children.add(-1);
+            }
+            firstChild.set(pc, first);
+            childCount.set(pc, nodeChildren.size());
+            for (int i = 0; i < nodeChildren.size(); i++) {
+                children.set(first + i, emit(nodeChildren.get(i)));
+            }
+            return pc;
+        }
+
+        private int add(byte opcode, int arg, int slotsUsed) {
+            int pc = opcodes.size();
+            opcodes.add(opcode);
+            firstChild.add(0);
+            childCount.add(0);
+            args.add(arg);
+            slots.add(slotCount);
+            leaves.add(null);
+            slotCount += slotsUsed;
+            return pc;
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package com.gerefloc45.voidapi.api.nodes;
 
+import com.gerefloc45.voidapi.api.ActivePath;
 import com.gerefloc45.voidapi.api.Behavior;
 import com.gerefloc45.voidapi.api.BehaviorContext;
+import com.gerefloc45.voidapi.api.BlackboardKey;
+import com.gerefloc45.voidapi.api.BlackboardWatch;
+import com.gerefloc45.voidapi.api.NodeMemory;
+import com.gerefloc45.voidapi.api.NodeStateLayout;
 
 import java.util.function.Predicate;
 
@@ -9,12 +14,40 @@ import java.util.function.Predicate;
  * Conditional node - executes child only if condition is true.
  * Returns FAILURE if condition is false without executing child.
  * 
+ * <p>If the condition only reads blackboard values, pass the keys it reads and
+ * the result is cached until one of them changes.
+ * 
+ * <p>The {@link AbortMode} controls what a change of the condition aborts while
+ * a subtree is running: the node's own child, lower-priority siblings in a
+ * {@link SelectorNode}, or both.
+ * 
  * @author VoidAPI Framework
  * @version 1.1.0
  */
 public class ConditionalNode implements Behavior {
+    private static final int LAST_RESULT = 0;
+    private static final int CHILD_RUNNING = 1;
+    private static final int WATCH = 0;
+
     private final Behavior child;
     private final Predicate<BehaviorContext> condition;
+    private final BlackboardWatch watch;
+    private final NodeMemory memory = new NodeMemory(2, 1);
+    private AbortMode abortMode = AbortMode.SELF;
+
+    /**
+     * What a condition change aborts while a subtree is running.
+     */
+    public enum AbortMode {
+        /** Condition is checked only when the node starts its child */
+        NONE,
+        /** Running child is aborted when the condition becomes false */
+        SELF,
+        /** A running lower-priority sibling in a selector is aborted when the condition becomes true */
+        LOWER_PRIORITY,
+        /** Both SELF and LOWER_PRIORITY */
+        BOTH
+    }
 
     /**
      * Creates a new conditional node.
@@ -25,29 +58,124 @@ public class ConditionalNode implements Behavior {
     public ConditionalNode(Predicate<BehaviorContext> condition, Behavior child) {
         this.condition = condition;
         this.child = child;
+        this.watch = null;
+    }
+
+    /**
+     * Creates a conditional node whose condition depends only on the given
+     * blackboard keys. The condition is re-evaluated only when one of them changes.
+     *
+     * @param condition The condition to check
+     * @param child The child behavior to execute if condition is true
+     * @param watchedKeys The blackboard keys the condition reads
+     */
+    public ConditionalNode(Predicate<BehaviorContext> condition, Behavior child, BlackboardKey<?>... watchedKeys) {
+        this.condition = condition;
+        this.child = child;
+        this.watch = new BlackboardWatch(watchedKeys);
+    }
+
+    /**
+     * Sets what a condition change aborts while a subtree is running.
+     * Defaults to {@link AbortMode#SELF}.
+     *
+     * @param abortMode The abort mode
+     * @return This node for method chaining
+     */
+    public ConditionalNode setAbortMode(AbortMode abortMode) {
+        this.abortMode = abortMode;
+        return this;
+    }
+
+    /**
+     * Gets the abort mode.
+     *
+     * @return The abort mode
+     */
+    public AbortMode getAbortMode() {
+        return abortMode;
+    }
+
+    /**
+     * Evaluates the condition, reusing the cached result if no watched key changed.
+     * In event-driven trees the evaluation is registered with the active path.
+     *
+     * @param context The behavior context
+     * @return The condition result
+     */
+    boolean test(BehaviorContext context) {
+        ActivePath path = context.getActivePath();
+        if (watch == null) {
+            if (path != null) {
+                path.pin();
+            }
+            return condition.test(context);
+        }
+        BlackboardWatch watch = getWatch(context);
+        if (path != null) {
+            path.observe(watch);
+        }
+        if (watch.poll(context.getBlackboard())) {
+            memory.setBoolean(context, LAST_RESULT, condition.test(context));
+        }
+        return memory.getBoolean(context, LAST_RESULT);
+    }
+
+    /**
+     * Gets the watch of the current tree, created on first use.
+     */
+    private BlackboardWatch getWatch(BehaviorContext context) {
+        BlackboardWatch own = memory.getObject(context, WATCH);
+        if (own == null) {
+            own = watch.copy();
+            memory.setObject(context, WATCH, own);
+        }
+        return own;
+    }
+
+    /**
+     * Checks if this node may abort a running lower-priority sibling.
+     *
+     * @return True for LOWER_PRIORITY and BOTH
+     */
+    boolean abortsLowerPriority() {
+        return abortMode == AbortMode.LOWER_PRIORITY || abortMode == AbortMode.BOTH;
     }
 
     @Override
     public Status execute(BehaviorContext context) {
-        if (!condition.test(context)) {
+        boolean abortsSelf = abortMode == AbortMode.SELF || abortMode == AbortMode.BOTH;
+        boolean childRunning = memory.getBoolean(context, CHILD_RUNNING);
+        if ((!childRunning || abortsSelf) && !test(context)) {
+            memory.setBoolean(context, CHILD_RUNNING, false);
             return Status.FAILURE;
         }
 
-        return child.execute(context);
+        Status status = child.execute(context);
+        memory.setBoolean(context, CHILD_RUNNING, status == Status.RUNNING);
+        return status;
     }
 
     @Override
     public void onStart(BehaviorContext context) {
-        if (condition.test(context)) {
+        memory.setBoolean(context, CHILD_RUNNING, false);
+        if (test(context)) {
             child.onStart(context);
         }
     }
 
     @Override
     public void onEnd(BehaviorContext context, Status status) {
+        memory.setBoolean(context, CHILD_RUNNING, false);
         child.onEnd(context, status);
     }
 
+    @Override
+    public void layoutState(NodeStateLayout layout) {
+        layout.allocate(memory);
+        layout.add(child);
+    }
+
     /**
      * Creates a conditional node that checks a blackboard value.
      *
@@ -58,7 +186,8 @@ public class ConditionalNode implements Behavior {
     public static ConditionalNode checkBlackboard(String key, Behavior child) {
         return new ConditionalNode(
             ctx -> ctx.getBlackboard().has(key),
-            child
+            child,
+            BlackboardKey.of(key)
         );
     }
 
@@ -75,7 +204,8 @@ public class ConditionalNode implements Behavior {
             ctx -> ctx.getBlackboard().get(key)
                 .map(value -> value.equals(expectedValue))
                 .orElse(false),
-            child
+            child,
+            BlackboardKey.of(key)
         );
     }
 }
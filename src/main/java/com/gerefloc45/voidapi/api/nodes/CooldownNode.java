@@ -2,6 +2,7 @@ package com.gerefloc45.voidapi.api.nodes;
 
 import com.gerefloc45.voidapi.api.Behavior;
 import com.gerefloc45.voidapi.api.BehaviorContext;
+import com.gerefloc45.voidapi.api.NodeStateLayout;
 
 /**
  * Cooldown node - adds a cooldown period between executions of child behavior.
@@ -94,4 +95,9 @@ public class CooldownNode implements Behavior {
         float elapsedSeconds = (currentTime - lastExecutionTime) / 1000.0f;
         return Math.max(0, cooldownSeconds - elapsedSeconds);
     }
+
+    @Override
+    public void layoutState(NodeStateLayout layout) {
+        layout.add(child);
+    }
 }
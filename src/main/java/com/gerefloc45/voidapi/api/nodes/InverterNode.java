@@ -2,6 +2,7 @@ package com.gerefloc45.voidapi.api.nodes;
 
 import com.gerefloc45.voidapi.api.Behavior;
 import com.gerefloc45.voidapi.api.BehaviorContext;
+import com.gerefloc45.voidapi.api.NodeStateLayout;
 
 /**
  * Inverter node - inverts the result of its child behavior.
@@ -51,4 +52,13 @@ public class InverterNode implements Behavior {
                                status == Status.FAILURE ? Status.SUCCESS : status;
         child.onEnd(context, invertedStatus);
     }
+
+    Behavior getChild() {
+        return child;
+    }
+
+    @Override
+    public void layoutState(NodeStateLayout layout) {
+        layout.add(child);
+    }
 }
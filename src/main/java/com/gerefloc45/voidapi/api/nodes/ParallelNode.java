@@ -3,9 +3,8 @@ package com.gerefloc45.voidapi.api.nodes;
 import com.gerefloc45.voidapi.api.Behavior;
 import com.gerefloc45.voidapi.api.BehaviorContext;
 import com.gerefloc45.voidapi.api.BehaviorNode;
-
-import java.util.ArrayList;
-import java.util.List;
+import com.gerefloc45.voidapi.api.NodeMemory;
+import com.gerefloc45.voidapi.api.NodeStateLayout;
 
 /**
  * Parallel node - executes all children simultaneously.
@@ -26,8 +25,10 @@ public class ParallelNode extends BehaviorNode {
         REQUIRE_ONE
     }
     
+    private static final int CHILD_STATUSES = 0;
+
     private final Policy successPolicy;
-    private final List<Status> childStatuses;
+    private final NodeMemory memory = new NodeMemory(0, 1);
 
     /**
      * Creates a new parallel node with REQUIRE_ALL policy.
@@ -44,7 +45,6 @@ public class ParallelNode extends BehaviorNode {
     public ParallelNode(Policy successPolicy) {
         super();
         this.successPolicy = successPolicy;
-        this.childStatuses = new ArrayList<>();
     }
 
     @Override
@@ -52,13 +52,22 @@ public class ParallelNode extends BehaviorNode {
         if (children.isEmpty()) {
             return Status.SUCCESS;
         }
+        if (context.getActivePath() != null) {
+            context.getActivePath().pin(); // All running children tick every tick
+        }
 
         // Initialize statuses on first run
-        if (childStatuses.isEmpty()) {
+        Status[] childStatuses = memory.getObject(context, CHILD_STATUSES);
+        if (childStatuses == null || !isStarted(context)) {
+            if (childStatuses == null || childStatuses.length != children.size()) {
+                childStatuses = new Status[children.size()];
+                memory.setObject(context, CHILD_STATUSES, childStatuses);
+            }
             for (int i = 0; i < children.size(); i++) {
-                childStatuses.add(Status.RUNNING);
+                childStatuses[i] = Status.RUNNING;
                 children.get(i).onStart(context);
             }
+            markStarted(context);
         }
 
         int successCount = 0;
@@ -66,7 +75,7 @@ public class ParallelNode extends BehaviorNode {
 
         // Execute all children
         for (int i = 0; i < children.size(); i++) {
-            Status currentStatus = childStatuses.get(i);
+            Status currentStatus = childStatuses[i];
             
             // Skip already completed children
             if (currentStatus != Status.RUNNING) {
@@ -78,7 +87,7 @@ public class ParallelNode extends BehaviorNode {
             // Execute child
             Behavior child = children.get(i);
             Status newStatus = child.execute(context);
-            childStatuses.set(i, newStatus);
+            childStatuses[i] = newStatus;
 
             if (newStatus == Status.SUCCESS) {
                 child.onEnd(context, newStatus);
@@ -94,22 +103,18 @@ public class ParallelNode extends BehaviorNode {
         switch (successPolicy) {
             case REQUIRE_ALL:
                 if (successCount == children.size()) {
-                    reset();
                     return Status.SUCCESS;
                 }
                 if (failureCount > 0) {
-                    reset();
                     return Status.FAILURE;
                 }
                 break;
                 
             case REQUIRE_ONE:
                 if (successCount > 0) {
-                    reset();
                     return Status.SUCCESS;
                 }
                 if (failureCount == children.size()) {
-                    reset();
                     return Status.FAILURE;
                 }
                 break;
@@ -118,21 +123,23 @@ public class ParallelNode extends BehaviorNode {
         return Status.RUNNING;
     }
 
-    @Override
-    public void onStart(BehaviorContext context) {
-        super.onStart(context);
-        childStatuses.clear();
-    }
-
     @Override
     public void onEnd(BehaviorContext context, Status status) {
         // Clean up any still-running children
-        for (int i = 0; i < children.size(); i++) {
-            if (childStatuses.size() > i && childStatuses.get(i) == Status.RUNNING) {
-                children.get(i).onEnd(context, status);
+        Status[] childStatuses = memory.getObject(context, CHILD_STATUSES);
+        if (childStatuses != null && isStarted(context)) {
+            for (int i = 0; i < children.size() && i < childStatuses.length; i++) {
+                if (childStatuses[i] == Status.RUNNING) {
+                    children.get(i).onEnd(context, status);
+                }
             }
         }
-        childStatuses.clear();
         super.onEnd(context, status);
     }
+
+    @Override
+    public void layoutState(NodeStateLayout layout) {
+        layout.allocate(memory);
+        super.layoutState(layout);
+    }
 }
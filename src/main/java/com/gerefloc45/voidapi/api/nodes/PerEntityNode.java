@@ -0,0 +1,73 @@
+package com.gerefloc45.voidapi.api.nodes;
+
+import com.gerefloc45.voidapi.api.Behavior;
+import com.gerefloc45.voidapi.api.BehaviorContext;
+import com.gerefloc45.voidapi.api.NodeMemory;
+import com.gerefloc45.voidapi.api.NodeStateLayout;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-entity node - creates its own instance of a behavior for every tree.
+ * Lets a shared {@link com.gerefloc45.voidapi.api.BehaviorTreeTemplate} contain
+ * behaviors that keep state in instance fields, such as custom leaves, state
+ * machines or anything not written against {@link NodeMemory}. The instance is
+ * created on first use and kept for the lifetime of the tree.
+ *
+ * <pre>{@code
+ * new PerEntityNode(() -> new StateMachineNode(buildGuardFsm()))
+ * }</pre>
+ *
+ * @author VoidAPI Framework
+ * @version 0.8.0
+ */
+public class PerEntityNode implements Behavior {
+    private static final int INSTANCE = 0;
+
+    private final Supplier<? extends Behavior> factory;
+    private final NodeMemory memory = new NodeMemory(0, 1);
+
+    /**
+     * Creates a per-entity node.
+     *
+     * @param factory Creates a fresh behavior instance for each tree
+     */
+    public PerEntityNode(Supplier<? extends Behavior> factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public Status execute(BehaviorContext context) {
+        return getInstance(context).execute(context);
+    }
+
+    @Override
+    public void onStart(BehaviorContext context) {
+        getInstance(context).onStart(context);
+    }
+
+    @Override
+    public void onEnd(BehaviorContext context, Status status) {
+        getInstance(context).onEnd(context, status);
+    }
+
+    @Override
+    public void layoutState(NodeStateLayout layout) {
+        layout.allocate(memory);
+    }
+
+    /**
+     * Gets the behavior instance of the tree the context belongs to, creating it on first use.
+     *
+     * @param context The behavior context
+     * @return The instance
+     */
+    public Behavior getInstance(BehaviorContext context) {
+        Behavior instance = memory.getObject(context, INSTANCE);
+        if (instance == null) {
+            instance = factory.get();
+            memory.setObject(context, INSTANCE, instance);
+        }
+        return instance;
+    }
+}
@@ -3,6 +3,8 @@ package com.gerefloc45.voidapi.api.nodes;
 import com.gerefloc45.voidapi.api.Behavior;
 import com.gerefloc45.voidapi.api.BehaviorContext;
 import com.gerefloc45.voidapi.api.BehaviorNode;
+import com.gerefloc45.voidapi.api.NodeMemory;
+import com.gerefloc45.voidapi.api.NodeStateLayout;
 
 import java.util.Random;
 
@@ -14,9 +16,10 @@ import java.util.Random;
  * @version 0.2.0
  */
 public class RandomSelectorNode extends BehaviorNode {
+    private static final int SELECTED_CHILD = 0; // Index + 1, 0 when none
+
     private final Random random;
-    private Behavior currentChild;
-    private boolean hasSelectedChild;
+    private final NodeMemory memory = new NodeMemory(1, 0);
 
     /**
      * Creates a new random selector node.
@@ -24,7 +27,6 @@ public class RandomSelectorNode extends BehaviorNode {
     public RandomSelectorNode() {
         super();
         this.random = new Random();
-        this.hasSelectedChild = false;
     }
 
     /**
@@ -35,7 +37,6 @@ public class RandomSelectorNode extends BehaviorNode {
     public RandomSelectorNode(long seed) {
         super();
         this.random = new Random(seed);
-        this.hasSelectedChild = false;
     }
 
     @Override
@@ -45,12 +46,13 @@ public class RandomSelectorNode extends BehaviorNode {
         }
 
         // Select a random child on first execution
-        if (!hasSelectedChild) {
-            int randomIndex = random.nextInt(children.size());
-            currentChild = children.get(randomIndex);
-            currentChild.onStart(context);
-            hasSelectedChild = true;
+        int selected = memory.getInt(context, SELECTED_CHILD) - 1;
+        if (selected < 0) {
+            selected = random.nextInt(children.size());
+            children.get(selected).onStart(context);
+            memory.setInt(context, SELECTED_CHILD, selected + 1);
         }
+        Behavior currentChild = children.get(selected);
 
         // Execute the selected child
         Status status = currentChild.execute(context);
@@ -58,7 +60,7 @@ public class RandomSelectorNode extends BehaviorNode {
         // If child completed, reset selection
         if (status != Status.RUNNING) {
             currentChild.onEnd(context, status);
-            hasSelectedChild = false;
+            memory.setInt(context, SELECTED_CHILD, 0);
         }
 
         return status;
@@ -67,26 +69,33 @@ public class RandomSelectorNode extends BehaviorNode {
     @Override
     public void onStart(BehaviorContext context) {
         super.onStart(context);
-        hasSelectedChild = false;
-        currentChild = null;
+        memory.setInt(context, SELECTED_CHILD, 0);
     }
 
     @Override
     public void onEnd(BehaviorContext context, Status status) {
-        if (currentChild != null && hasSelectedChild) {
+        Behavior currentChild = getCurrentChild(context);
+        if (currentChild != null) {
             currentChild.onEnd(context, status);
         }
         super.onEnd(context, status);
-        hasSelectedChild = false;
-        currentChild = null;
+        memory.setInt(context, SELECTED_CHILD, 0);
     }
 
     /**
      * Gets the currently selected child (if any).
      *
+     * @param context The behavior context
      * @return Current child or null
      */
-    public Behavior getCurrentChild() {
-        return currentChild;
+    public Behavior getCurrentChild(BehaviorContext context) {
+        int selected = memory.getInt(context, SELECTED_CHILD) - 1;
+        return selected >= 0 && selected < children.size() ? children.get(selected) : null;
+    }
+
+    @Override
+    public void layoutState(NodeStateLayout layout) {
+        layout.allocate(memory);
+        super.layoutState(layout);
     }
 }
@@ -2,6 +2,8 @@ package com.gerefloc45.voidapi.api.nodes;
 
 import com.gerefloc45.voidapi.api.Behavior;
 import com.gerefloc45.voidapi.api.BehaviorContext;
+import com.gerefloc45.voidapi.api.NodeMemory;
+import com.gerefloc45.voidapi.api.NodeStateLayout;
 
 /**
  * Repeat node - repeats its child behavior a specified number of times.
@@ -11,10 +13,12 @@ import com.gerefloc45.voidapi.api.BehaviorContext;
  * @version 1.1.0
  */
 public class RepeatNode implements Behavior {
+    private static final int CURRENT_REPEAT = 0;
+
     private final Behavior child;
     private final int maxRepeats;
     private final boolean repeatUntilFailure;
-    private int currentRepeat;
+    private final NodeMemory memory = new NodeMemory(1, 0);
 
     /**
      * Creates a repeat node that repeats infinitely.
@@ -46,13 +50,13 @@ public class RepeatNode implements Behavior {
         this.child = child;
         this.maxRepeats = maxRepeats;
         this.repeatUntilFailure = repeatUntilFailure;
-        this.currentRepeat = 0;
     }
 
     @Override
     public Status execute(BehaviorContext context) {
         while (true) {
             // Check if we've reached max repeats
+            int currentRepeat = memory.getInt(context, CURRENT_REPEAT);
             if (maxRepeats > 0 && currentRepeat >= maxRepeats) {
                 return Status.SUCCESS;
             }
@@ -67,17 +71,17 @@ public class RepeatNode implements Behavior {
             child.onEnd(context, childStatus);
 
             if (repeatUntilFailure && childStatus == Status.FAILURE) {
-                currentRepeat = 0;
+                memory.setInt(context, CURRENT_REPEAT, 0);
                 return Status.SUCCESS;
             }
 
             if (!repeatUntilFailure && childStatus == Status.FAILURE) {
-                currentRepeat = 0;
+                memory.setInt(context, CURRENT_REPEAT, 0);
                 return Status.FAILURE;
             }
 
             // Restart child for next repeat
-            currentRepeat++;
+            memory.setInt(context, CURRENT_REPEAT, currentRepeat + 1);
             child.onStart(context);
 
             // If we're in a single tick, break to avoid infinite loop
@@ -92,13 +96,31 @@ public class RepeatNode implements Behavior {
 
     @Override
     public void onStart(BehaviorContext context) {
-        currentRepeat = 0;
+        memory.setInt(context, CURRENT_REPEAT, 0);
         child.onStart(context);
     }
 
     @Override
     public void onEnd(BehaviorContext context, Status status) {
         child.onEnd(context, status);
-        currentRepeat = 0;
+        memory.setInt(context, CURRENT_REPEAT, 0);
+    }
+
+    Behavior getChild() {
+        return child;
+    }
+
+    int getMaxRepeats() {
+        return maxRepeats;
+    }
+
+    boolean isRepeatUntilFailure() {
+        return repeatUntilFailure;
+    }
+
+    @Override
+    public void layoutState(NodeStateLayout layout) {
+        layout.allocate(memory);
+        layout.add(child);
     }
 }
@@ -2,6 +2,8 @@ package com.gerefloc45.voidapi.api.nodes;
 
 import com.gerefloc45.voidapi.api.Behavior;
 import com.gerefloc45.voidapi.api.BehaviorContext;
+import com.gerefloc45.voidapi.api.NodeMemory;
+import com.gerefloc45.voidapi.api.NodeStateLayout;
 
 /**
  * Retry node - retries a failed child behavior a specified number of times.
@@ -11,13 +13,15 @@ import com.gerefloc45.voidapi.api.BehaviorContext;
  * @version 0.2.0
  */
 public class RetryNode implements Behavior {
+    private static final int CURRENT_RETRY = 0;
+    private static final int LAST_RETRY_TIME = 1;
+    private static final int WAITING_FOR_RETRY = 2;
+
     private final Behavior child;
     private final int maxRetries;
     private final float retryDelaySeconds;
     private final boolean useExponentialBackoff;
-    private int currentRetry;
-    private long lastRetryTime;
-    private boolean isWaitingForRetry;
+    private final NodeMemory memory = new NodeMemory(3, 0);
 
     /**
      * Creates a retry node with default settings (3 retries, no delay).
@@ -62,25 +66,24 @@ public class RetryNode implements Behavior {
         this.maxRetries = maxRetries;
         this.retryDelaySeconds = retryDelaySeconds;
         this.useExponentialBackoff = useExponentialBackoff;
-        this.currentRetry = 0;
-        this.lastRetryTime = 0;
-        this.isWaitingForRetry = false;
     }
 
     @Override
     public Status execute(BehaviorContext context) {
+        int currentRetry = memory.getInt(context, CURRENT_RETRY);
+
         // If waiting for retry delay
-        if (isWaitingForRetry) {
+        if (memory.getBoolean(context, WAITING_FOR_RETRY)) {
             long currentTime = System.currentTimeMillis();
-            float elapsedSeconds = (currentTime - lastRetryTime) / 1000.0f;
-            float currentDelay = calculateDelay();
+            float elapsedSeconds = (currentTime - memory.getLong(context, LAST_RETRY_TIME)) / 1000.0f;
+            float currentDelay = calculateDelay(currentRetry);
 
             if (elapsedSeconds < currentDelay) {
                 return Status.RUNNING;
             }
 
             // Delay complete, restart child
-            isWaitingForRetry = false;
+            memory.setBoolean(context, WAITING_FOR_RETRY, false);
             child.onStart(context);
         }
 
@@ -93,20 +96,20 @@ public class RetryNode implements Behavior {
 
         if (childStatus == Status.SUCCESS) {
             // Success, reset and return
-            currentRetry = 0;
+            memory.setInt(context, CURRENT_RETRY, 0);
             return Status.SUCCESS;
         }
 
         // Child failed
         if (currentRetry < maxRetries) {
             // Retry
-            currentRetry++;
+            memory.setInt(context, CURRENT_RETRY, currentRetry + 1);
             child.onEnd(context, childStatus);
 
             if (retryDelaySeconds > 0) {
                 // Start retry delay
-                lastRetryTime = System.currentTimeMillis();
-                isWaitingForRetry = true;
+                memory.setLong(context, LAST_RETRY_TIME, System.currentTimeMillis());
+                memory.setBoolean(context, WAITING_FOR_RETRY, true);
                 return Status.RUNNING;
             } else {
                 // Immediate retry
@@ -116,30 +119,31 @@ public class RetryNode implements Behavior {
         }
 
         // Max retries exceeded
-        currentRetry = 0;
+        memory.setInt(context, CURRENT_RETRY, 0);
         return Status.FAILURE;
     }
 
     @Override
     public void onStart(BehaviorContext context) {
-        currentRetry = 0;
-        isWaitingForRetry = false;
+        memory.setInt(context, CURRENT_RETRY, 0);
+        memory.setBoolean(context, WAITING_FOR_RETRY, false);
         child.onStart(context);
     }
 
     @Override
     public void onEnd(BehaviorContext context, Status status) {
         child.onEnd(context, status);
-        currentRetry = 0;
-        isWaitingForRetry = false;
+        memory.setInt(context, CURRENT_RETRY, 0);
+        memory.setBoolean(context, WAITING_FOR_RETRY, false);
     }
 
     /**
      * Calculates the current retry delay based on retry count and backoff settings.
      *
+     * @param currentRetry The current retry number
      * @return Delay in seconds
      */
-    private float calculateDelay() {
+    private float calculateDelay(int currentRetry) {
         if (!useExponentialBackoff) {
             return retryDelaySeconds;
         }
@@ -150,10 +154,11 @@ public class RetryNode implements Behavior {
     /**
      * Gets the current retry attempt number.
      *
+     * @param context The behavior context
      * @return Current retry number (0 = first attempt)
      */
-    public int getCurrentRetry() {
-        return currentRetry;
+    public int getCurrentRetry(BehaviorContext context) {
+        return memory.getInt(context, CURRENT_RETRY);
     }
 
     /**
@@ -164,4 +169,10 @@ public class RetryNode implements Behavior {
     public int getMaxRetries() {
         return maxRetries;
     }
+
+    @Override
+    public void layoutState(NodeStateLayout layout) {
+        layout.allocate(memory);
+        layout.add(child);
+    }
 }
@@ -3,6 +3,8 @@ package com.gerefloc45.voidapi.api.nodes;
 import com.gerefloc45.voidapi.api.Behavior;
 import com.gerefloc45.voidapi.api.BehaviorContext;
 import com.gerefloc45.voidapi.api.BehaviorNode;
+import com.gerefloc45.voidapi.api.NodeMemory;
+import com.gerefloc45.voidapi.api.NodeStateLayout;
 
 /**
  * Selector node (OR logic) - executes children until one succeeds.
@@ -10,11 +12,17 @@ import com.gerefloc45.voidapi.api.BehaviorNode;
  * Returns FAILURE if all children fail.
  * Returns RUNNING if current child is running.
  * 
+ * <p>While a child is running, higher-priority {@link ConditionalNode} children
+ * with a lower-priority abort mode are re-checked, and the running child is
+ * aborted in favor of the first one whose condition became true.
+ * 
  * @author VoidAPI Framework
  * @version 1.0.0
  */
 public class SelectorNode extends BehaviorNode {
-    private int currentChildIndex = 0;
+    private static final int CURRENT_CHILD = 0;
+
+    private final NodeMemory memory = new NodeMemory(1, 0);
 
     /**
      * Creates a new selector node.
@@ -29,12 +37,23 @@ public class SelectorNode extends BehaviorNode {
             return Status.FAILURE;
         }
 
+        int currentChildIndex = memory.getInt(context, CURRENT_CHILD);
+
+        if (isStarted(context)) {
+            int preempting = findPreemptingChild(context, currentChildIndex);
+            if (preempting >= 0) {
+                children.get(currentChildIndex).onEnd(context, Status.FAILURE);
+                reset(context);
+                currentChildIndex = preempting;
+            }
+        }
+
         while (currentChildIndex < children.size()) {
             Behavior child = children.get(currentChildIndex);
             
-            if (!isStarted()) {
+            if (!isStarted(context)) {
                 child.onStart(context);
-                markStarted();
+                markStarted(context);
             }
 
             Status status = child.execute(context);
@@ -42,35 +61,58 @@ public class SelectorNode extends BehaviorNode {
             switch (status) {
                 case SUCCESS:
                     child.onEnd(context, status);
-                    reset();
-                    currentChildIndex = 0;
+                    reset(context);
+                    memory.setInt(context, CURRENT_CHILD, 0);
                     return Status.SUCCESS;
                     
                 case FAILURE:
                     child.onEnd(context, status);
-                    reset();
+                    reset(context);
                     currentChildIndex++;
                     break;
                     
                 case RUNNING:
+                    memory.setInt(context, CURRENT_CHILD, currentChildIndex);
                     return Status.RUNNING;
             }
         }
 
         // All children failed
-        currentChildIndex = 0;
+        memory.setInt(context, CURRENT_CHILD, 0);
         return Status.FAILURE;
     }
 
+    /**
+     * Finds the first higher-priority guard that aborts lower priorities and now passes.
+     *
+     * @return Its index, or -1 if the running child keeps running
+     */
+    private int findPreemptingChild(BehaviorContext context, int currentChildIndex) {
+        for (int i = 0; i < currentChildIndex; i++) {
+            if (children.get(i) instanceof ConditionalNode guard
+                    && guard.abortsLowerPriority()
+                    && guard.test(context)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     @Override
     public void onStart(BehaviorContext context) {
         super.onStart(context);
-        currentChildIndex = 0;
+        memory.setInt(context, CURRENT_CHILD, 0);
     }
 
     @Override
     public void onEnd(BehaviorContext context, Status status) {
         super.onEnd(context, status);
-        currentChildIndex = 0;
+        memory.setInt(context, CURRENT_CHILD, 0);
+    }
+
+    @Override
+    public void layoutState(NodeStateLayout layout) {
+        layout.allocate(memory);
+        super.layoutState(layout);
     }
 }
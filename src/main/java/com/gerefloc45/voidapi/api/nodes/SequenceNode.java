@@ -3,6 +3,8 @@ package com.gerefloc45.voidapi.api.nodes;
 import com.gerefloc45.voidapi.api.Behavior;
 import com.gerefloc45.voidapi.api.BehaviorContext;
 import com.gerefloc45.voidapi.api.BehaviorNode;
+import com.gerefloc45.voidapi.api.NodeMemory;
+import com.gerefloc45.voidapi.api.NodeStateLayout;
 
 /**
  * Sequence node (AND logic) - executes children until one fails.
@@ -14,7 +16,9 @@ import com.gerefloc45.voidapi.api.BehaviorNode;
  * @version 1.0.0
  */
 public class SequenceNode extends BehaviorNode {
-    private int currentChildIndex = 0;
+    private static final int CURRENT_CHILD = 0;
+
+    private final NodeMemory memory = new NodeMemory(1, 0);
 
     /**
      * Creates a new sequence node.
@@ -29,12 +33,14 @@ public class SequenceNode extends BehaviorNode {
             return Status.SUCCESS;
         }
 
+        int currentChildIndex = memory.getInt(context, CURRENT_CHILD);
+
         while (currentChildIndex < children.size()) {
             Behavior child = children.get(currentChildIndex);
             
-            if (!isStarted()) {
+            if (!isStarted(context)) {
                 child.onStart(context);
-                markStarted();
+                markStarted(context);
             }
 
             Status status = child.execute(context);
@@ -42,35 +48,42 @@ public class SequenceNode extends BehaviorNode {
             switch (status) {
                 case SUCCESS:
                     child.onEnd(context, status);
-                    reset();
+                    reset(context);
                     currentChildIndex++;
                     break;
                     
                 case FAILURE:
                     child.onEnd(context, status);
-                    reset();
-                    currentChildIndex = 0;
+                    reset(context);
+                    memory.setInt(context, CURRENT_CHILD, 0);
                     return Status.FAILURE;
                     
                 case RUNNING:
+                    memory.setInt(context, CURRENT_CHILD, currentChildIndex);
                     return Status.RUNNING;
             }
         }
 
         // All children succeeded
-        currentChildIndex = 0;
+        memory.setInt(context, CURRENT_CHILD, 0);
         return Status.SUCCESS;
     }
 
     @Override
     public void onStart(BehaviorContext context) {
         super.onStart(context);
-        currentChildIndex = 0;
+        memory.setInt(context, CURRENT_CHILD, 0);
     }
 
     @Override
     public void onEnd(BehaviorContext context, Status status) {
         super.onEnd(context, status);
-        currentChildIndex = 0;
+        memory.setInt(context, CURRENT_CHILD, 0);
+    }
+
+    @Override
+    public void layoutState(NodeStateLayout layout) {
+        layout.allocate(memory);
+        super.layoutState(layout);
     }
 }
@@ -2,6 +2,8 @@ package com.gerefloc45.voidapi.api.nodes;
 
 import com.gerefloc45.voidapi.api.Behavior;
 import com.gerefloc45.voidapi.api.BehaviorContext;
+import com.gerefloc45.voidapi.api.NodeMemory;
+import com.gerefloc45.voidapi.api.NodeStateLayout;
 
 /**
  * Timeout node - fails the child behavior if it doesn't complete within a time limit.
@@ -11,11 +13,13 @@ import com.gerefloc45.voidapi.api.BehaviorContext;
  * @version 0.2.0
  */
 public class TimeoutNode implements Behavior {
+    private static final int START_TIME = 0;
+    private static final int HAS_STARTED = 1;
+
     private final Behavior child;
     private final float timeoutSeconds;
     private final String timeoutKey;
-    private long startTime;
-    private boolean hasStarted;
+    private final NodeMemory memory = new NodeMemory(2, 0);
 
     /**
      * Creates a new timeout node.
@@ -27,7 +31,6 @@ public class TimeoutNode implements Behavior {
         this.child = child;
         this.timeoutSeconds = timeoutSeconds;
         this.timeoutKey = "timeout_" + System.identityHashCode(this);
-        this.hasStarted = false;
     }
 
     /**
@@ -41,16 +44,21 @@ public class TimeoutNode implements Behavior {
         this.child = child;
         this.timeoutSeconds = timeoutSeconds;
         this.timeoutKey = timeoutKey;
-        this.hasStarted = false;
     }
 
     @Override
     public Status execute(BehaviorContext context) {
-        if (!hasStarted) {
-            startTime = System.currentTimeMillis();
-            hasStarted = true;
-            context.getBlackboard().set(timeoutKey, startTime);
+        if (context.getActivePath() != null) {
+            context.getActivePath().pin(); // Elapsed time is checked every tick
+        }
+
+        if (!memory.getBoolean(context, HAS_STARTED)) {
+            long now = System.currentTimeMillis();
+            memory.setLong(context, START_TIME, now);
+            memory.setBoolean(context, HAS_STARTED, true);
+            context.getBlackboard().set(timeoutKey, now);
         }
+        long startTime = memory.getLong(context, START_TIME);
 
         // Check if timeout exceeded
         long currentTime = System.currentTimeMillis();
@@ -67,7 +75,7 @@ public class TimeoutNode implements Behavior {
 
         // If child completed, reset
         if (childStatus != Status.RUNNING) {
-            hasStarted = false;
+            memory.setBoolean(context, HAS_STARTED, false);
         }
 
         return childStatus;
@@ -75,37 +83,45 @@ public class TimeoutNode implements Behavior {
 
     @Override
     public void onStart(BehaviorContext context) {
-        hasStarted = false;
-        startTime = System.currentTimeMillis();
+        memory.setBoolean(context, HAS_STARTED, false);
+        memory.setLong(context, START_TIME, System.currentTimeMillis());
         child.onStart(context);
     }
 
     @Override
     public void onEnd(BehaviorContext context, Status status) {
         child.onEnd(context, status);
-        hasStarted = false;
+        memory.setBoolean(context, HAS_STARTED, false);
         context.getBlackboard().remove(timeoutKey);
     }
 
     /**
      * Gets the elapsed time since the behavior started.
      *
+     * @param context The behavior context
      * @return Elapsed time in seconds
      */
-    public float getElapsedTime() {
-        if (!hasStarted) {
+    public float getElapsedTime(BehaviorContext context) {
+        if (!memory.getBoolean(context, HAS_STARTED)) {
             return 0.0f;
         }
         long currentTime = System.currentTimeMillis();
-        return (currentTime - startTime) / 1000.0f;
+        return (currentTime - memory.getLong(context, START_TIME)) / 1000.0f;
     }
 
     /**
      * Gets the remaining time before timeout.
      *
+     * @param context The behavior context
      * @return Remaining time in seconds
      */
-    public float getRemainingTime() {
-        return Math.max(0, timeoutSeconds - getElapsedTime());
+    public float getRemainingTime(BehaviorContext context) {
+        return Math.max(0, timeoutSeconds - getElapsedTime(context));
+    }
+
+    @Override
+    public void layoutState(NodeStateLayout layout) {
+        layout.allocate(memory);
+        layout.add(child);
     }
 }
@@ -2,6 +2,8 @@ package com.gerefloc45.voidapi.api.nodes;
 
 import com.gerefloc45.voidapi.api.Behavior;
 import com.gerefloc45.voidapi.api.BehaviorContext;
+import com.gerefloc45.voidapi.api.NodeMemory;
+import com.gerefloc45.voidapi.api.NodeStateLayout;
 
 /**
  * Until failure node - repeats its child behavior until it fails.
@@ -11,9 +13,11 @@ import com.gerefloc45.voidapi.api.BehaviorContext;
  * @version 0.2.0
  */
 public class UntilFailureNode implements Behavior {
+    private static final int CURRENT_ATTEMPT = 0;
+
     private final Behavior child;
     private final int maxAttempts;
-    private int currentAttempt;
+    private final NodeMemory memory = new NodeMemory(1, 0);
 
     /**
      * Creates an until failure node with unlimited attempts.
@@ -33,12 +37,12 @@ public class UntilFailureNode implements Behavior {
     public UntilFailureNode(Behavior child, int maxAttempts) {
         this.child = child;
         this.maxAttempts = maxAttempts;
-        this.currentAttempt = 0;
     }
 
     @Override
     public Status execute(BehaviorContext context) {
         // Check if max attempts reached
+        int currentAttempt = memory.getInt(context, CURRENT_ATTEMPT);
         if (maxAttempts > 0 && currentAttempt >= maxAttempts) {
             return Status.SUCCESS;
         }
@@ -51,12 +55,12 @@ public class UntilFailureNode implements Behavior {
 
         if (childStatus == Status.FAILURE) {
             // Failed! Reset and return success (we wanted it to fail)
-            currentAttempt = 0;
+            memory.setInt(context, CURRENT_ATTEMPT, 0);
             return Status.SUCCESS;
         }
 
         // Child succeeded, restart and continue
-        currentAttempt++;
+        memory.setInt(context, CURRENT_ATTEMPT, currentAttempt + 1);
         child.onEnd(context, childStatus);
         child.onStart(context);
 
@@ -66,23 +70,24 @@ public class UntilFailureNode implements Behavior {
 
     @Override
     public void onStart(BehaviorContext context) {
-        currentAttempt = 0;
+        memory.setInt(context, CURRENT_ATTEMPT, 0);
         child.onStart(context);
     }
 
     @Override
     public void onEnd(BehaviorContext context, Status status) {
         child.onEnd(context, status);
-        currentAttempt = 0;
+        memory.setInt(context, CURRENT_ATTEMPT, 0);
     }
 
     /**
      * Gets the current attempt number.
      *
+     * @param context The behavior context
      * @return Current attempt (0-based)
      */
-    public int getCurrentAttempt() {
-        return currentAttempt;
+    public int getCurrentAttempt(BehaviorContext context) {
+        return memory.getInt(context, CURRENT_ATTEMPT);
     }
 
     /**
@@ -93,4 +98,10 @@ public class UntilFailureNode implements Behavior {
     public int getMaxAttempts() {
         return maxAttempts;
     }
+
+    @Override
+    public void layoutState(NodeStateLayout layout) {
+        layout.allocate(memory);
+        layout.add(child);
+    }
 }
@@ -3,6 +3,8 @@ package com.gerefloc45.voidapi.api.nodes;
 import com.gerefloc45.voidapi.api.Behavior;
 import com.gerefloc45.voidapi.api.BehaviorContext;
 import com.gerefloc45.voidapi.api.BehaviorNode;
+import com.gerefloc45.voidapi.api.NodeMemory;
+import com.gerefloc45.voidapi.api.NodeStateLayout;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -16,10 +18,11 @@ import java.util.Random;
  * @version 0.2.0
  */
 public class WeightedSelectorNode extends BehaviorNode {
+    private static final int SELECTED_CHILD = 0; // Index + 1, 0 when none
+
     private final Random random;
     private final List<Float> weights;
-    private Behavior currentChild;
-    private boolean hasSelectedChild;
+    private final NodeMemory memory = new NodeMemory(1, 0);
     private float totalWeight;
 
     /**
@@ -29,7 +32,6 @@ public class WeightedSelectorNode extends BehaviorNode {
         super();
         this.random = new Random();
         this.weights = new ArrayList<>();
-        this.hasSelectedChild = false;
         this.totalWeight = 0.0f;
     }
 
@@ -42,7 +44,6 @@ public class WeightedSelectorNode extends BehaviorNode {
         super();
         this.random = new Random(seed);
         this.weights = new ArrayList<>();
-        this.hasSelectedChild = false;
         this.totalWeight = 0.0f;
     }
 
@@ -76,11 +77,13 @@ public class WeightedSelectorNode extends BehaviorNode {
         }
 
         // Select a weighted random child on first execution
-        if (!hasSelectedChild) {
-            currentChild = selectWeightedChild();
-            currentChild.onStart(context);
-            hasSelectedChild = true;
+        int selected = memory.getInt(context, SELECTED_CHILD) - 1;
+        if (selected < 0) {
+            selected = selectWeightedChild();
+            children.get(selected).onStart(context);
+            memory.setInt(context, SELECTED_CHILD, selected + 1);
         }
+        Behavior currentChild = children.get(selected);
 
         // Execute the selected child
         Status status = currentChild.execute(context);
@@ -88,7 +91,7 @@ public class WeightedSelectorNode extends BehaviorNode {
         // If child completed, reset selection
         if (status != Status.RUNNING) {
             currentChild.onEnd(context, status);
-            hasSelectedChild = false;
+            memory.setInt(context, SELECTED_CHILD, 0);
         }
 
         return status;
@@ -97,38 +100,37 @@ public class WeightedSelectorNode extends BehaviorNode {
     /**
      * Selects a child based on weighted probability.
      *
-     * @return Selected child behavior
+     * @return Index of the selected child
      */
-    private Behavior selectWeightedChild() {
+    private int selectWeightedChild() {
         float randomValue = random.nextFloat() * totalWeight;
         float cumulativeWeight = 0.0f;
 
         for (int i = 0; i < children.size(); i++) {
             cumulativeWeight += weights.get(i);
             if (randomValue <= cumulativeWeight) {
-                return children.get(i);
+                return i;
             }
         }
 
         // Fallback (should never happen)
-        return children.get(children.size() - 1);
+        return children.size() - 1;
     }
 
     @Override
     public void onStart(BehaviorContext context) {
         super.onStart(context);
-        hasSelectedChild = false;
-        currentChild = null;
+        memory.setInt(context, SELECTED_CHILD, 0);
     }
 
     @Override
     public void onEnd(BehaviorContext context, Status status) {
-        if (currentChild != null && hasSelectedChild) {
+        Behavior currentChild = getCurrentChild(context);
+        if (currentChild != null) {
             currentChild.onEnd(context, status);
         }
         super.onEnd(context, status);
-        hasSelectedChild = false;
-        currentChild = null;
+        memory.setInt(context, SELECTED_CHILD, 0);
     }
 
     /**
@@ -184,4 +186,21 @@ public class WeightedSelectorNode extends BehaviorNode {
         }
         return getWeight(index) / totalWeight;
     }
+
+    /**
+     * Gets the currently selected child (if any).
+     *
+     * @param context The behavior context
+     * @return Current child or null
+     */
+    public Behavior getCurrentChild(BehaviorContext context) {
+        int selected = memory.getInt(context, SELECTED_CHILD) - 1;
+        return selected >= 0 && selected < children.size() ? children.get(selected) : null;
+    }
+
+    @Override
+    public void layoutState(NodeStateLayout layout) {
+        layout.allocate(memory);
+        super.layoutState(layout);
+    }
 }
@@ -1,6 +1,7 @@
 package com.gerefloc45.voidapi.api.perception;
 
 import com.gerefloc45.voidapi.api.BehaviorContext;
+import com.gerefloc45.voidapi.api.BlackboardKey;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.util.math.Vec3d;
 
@@ -10,12 +11,23 @@ import java.util.*;
  * Attention system for prioritizing and focusing on important stimuli.
  * Limits the number of tracked entities and switches focus based on stimulus
  * priority.
- * 
+ * <p>
+ * Stimuli are offered as they are perceived: from the perception memory on
+ * every update, and from other sensors through {@link #pushStimulus}. Tracked
+ * stimuli live in a fixed set of slots sized to the maximum tracked entities,
+ * ordered by two indexed heaps: a min-heap that finds the stimulus to evict
+ * when a stronger one arrives, and a max-heap that gives the focus candidate.
+ * A stimulus not offered again by the next update is dropped. The blackboard
+ * is only written when the tracked set or the focus changes, so the published
+ * scores are those of the last change.
+ *
  * @author VoidAPI Framework
- * @version 0.7.0
+ * @version 0.8.0
  */
 public class AttentionSystem implements Sensor {
-    private final String blackboardKey;
+    private final BlackboardKey<List<ScoredStimulus>> trackedKey;
+    private final BlackboardKey<UUID> focusKey;
+    private final BlackboardKey<ScoredStimulus> focusDataKey;
     private final int maxTrackedEntities;
     private final int updateFrequency;
     private final float focusSwitchThreshold; // Hysteresis for switching focus
@@ -23,7 +35,27 @@ public class AttentionSystem implements Sensor {
 
     // Current attention state
     private UUID currentFocusUuid;
-    private final Map<UUID, StimulusScore> trackedStimuli;
+    private final Map<UUID, Integer> slotsByUuid;
+
+    // Tracked stimuli, slots 0 to trackedCount - 1
+    private final UUID[] uuids;
+    private final StimulusData[] stimuli;
+    private final float[] scores;
+    private final long[] epochs; // Update a stimulus was last offered for
+    private int trackedCount;
+    private long epoch;
+    private final UUID[] publishedUuids; // Tracked set last written to the blackboard
+    private int publishedCount = -1; // -1 = nothing published
+
+    // Indexed heaps over the slots; stimuli not yet offered this update sort lowest in the min-heap
+    private final int[] minHeap;
+    private final int[] minPositions;
+    private final int[] maxHeap;
+    private final int[] maxPositions;
+
+    // Reused while collecting from perception memory
+    private final PerceptionMemory.MemoryVisitor memoryCollector = this::offerMemory;
+    private Vec3d observerPos;
 
     /**
      * Creates an attention system with default settings.
@@ -47,142 +79,128 @@ public class AttentionSystem implements Sensor {
     public AttentionSystem(double range, String blackboardKey, int maxTrackedEntities,
             float focusSwitchThreshold, int updateFrequency) {
         this.range = range;
-        this.blackboardKey = blackboardKey;
-        this.maxTrackedEntities = maxTrackedEntities;
+        this.trackedKey = BlackboardKey.of(blackboardKey + "_tracked");
+        this.focusKey = BlackboardKey.of(blackboardKey + "_focus", UUID.class);
+        this.focusDataKey = BlackboardKey.of(blackboardKey + "_focus_data", ScoredStimulus.class);
+        this.maxTrackedEntities = Math.max(1, maxTrackedEntities);
         this.focusSwitchThreshold = Math.max(0.0f, Math.min(1.0f, focusSwitchThreshold));
         this.updateFrequency = updateFrequency;
         this.currentFocusUuid = null;
-        this.trackedStimuli = new HashMap<>();
+        this.slotsByUuid = new HashMap<>();
+
+        int capacity = this.maxTrackedEntities;
+        this.uuids = new UUID[capacity];
+        this.stimuli = new StimulusData[capacity];
+        this.scores = new float[capacity];
+        this.epochs = new long[capacity];
+        this.minHeap = new int[capacity];
+        this.minPositions = new int[capacity];
+        this.maxHeap = new int[capacity];
+        this.maxPositions = new int[capacity];
+        this.publishedUuids = new UUID[capacity];
     }
 
     @Override
     public void update(BehaviorContext context) {
         LivingEntity entity = context.getEntity();
 
-        // Collect all potential stimuli from perception memory and sensors
-        Map<UUID, StimulusData> allStimuli = collectStimuli(context, entity);
-
-        // Score each stimulus
-        List<ScoredStimulus> scoredStimuli = new ArrayList<>();
-        for (Map.Entry<UUID, StimulusData> entry : allStimuli.entrySet()) {
-            UUID stimulusUuid = entry.getKey();
-            StimulusData data = entry.getValue();
-
-            float score = calculateStimulusScore(entity, data);
-            scoredStimuli.add(new ScoredStimulus(stimulusUuid, data, score));
-
-            // Update tracked stimuli
-            StimulusScore tracked = trackedStimuli.get(stimulusUuid);
-            if (tracked == null) {
-                trackedStimuli.put(stimulusUuid, new StimulusScore(score));
-            } else {
-                tracked.update(score);
-            }
+        // Offer stimuli from perception memory; pushed stimuli are already in
+        PerceptionMemory memory = context.getBlackboard()
+                .<PerceptionMemory>get("perception_memory")
+                .orElse(null);
+        if (memory != null) {
+            observerPos = entity.getPos();
+            memory.forEach(memoryCollector);
+            observerPos = null;
         }
 
-        // Sort by score (highest first)
-        scoredStimuli.sort((a, b) -> Float.compare(b.score, a.score));
-
-        // Limit to max tracked entities
-        if (scoredStimuli.size() > maxTrackedEntities) {
-            scoredStimuli = scoredStimuli.subList(0, maxTrackedEntities);
+        // Drop stimuli that were not offered again
+        for (int slot = trackedCount - 1; slot >= 0; slot--) {
+            if (epochs[slot] != epoch) {
+                removeSlot(slot);
+            }
         }
+        epoch++;
 
         // Update focus with hysteresis
-        updateFocus(scoredStimuli);
-
-        // Clean up old tracked stimuli
-        Set<UUID> currentUuids = new HashSet<>();
-        for (ScoredStimulus s : scoredStimuli) {
-            currentUuids.add(s.uuid);
-        }
-        trackedStimuli.keySet().retainAll(currentUuids);
+        UUID previousFocus = currentFocusUuid;
+        updateFocus();
 
         // Store in blackboard
-        context.getBlackboard().set(blackboardKey + "_tracked", scoredStimuli);
-        context.getBlackboard().set(blackboardKey + "_focus", currentFocusUuid);
-
-        if (currentFocusUuid != null) {
-            ScoredStimulus focused = scoredStimuli.stream()
-                    .filter(s -> s.uuid.equals(currentFocusUuid))
-                    .findFirst()
-                    .orElse(null);
-            context.getBlackboard().set(blackboardKey + "_focus_data", focused);
-        } else {
-            context.getBlackboard().remove(blackboardKey + "_focus_data");
+        if (trackedSetChanged() || !Objects.equals(previousFocus, currentFocusUuid)) {
+            context.getBlackboard().set(trackedKey, snapshotTracked());
+            context.getBlackboard().set(focusKey, currentFocusUuid);
+            if (currentFocusUuid != null) {
+                int slot = slotsByUuid.get(currentFocusUuid);
+                context.getBlackboard().set(focusDataKey, new ScoredStimulus(uuids[slot], stimuli[slot], scores[slot]));
+            } else {
+                context.getBlackboard().remove(focusDataKey);
+            }
+            System.arraycopy(uuids, 0, publishedUuids, 0, trackedCount);
+            publishedCount = trackedCount;
         }
     }
 
     /**
-     * Collects all potential stimuli from various sources.
+     * Offers a stimulus perceived by another sensor for the next update.
+     * It is tracked if it is in range and scores higher than the weakest
+     * tracked stimulus, and kept until an update passes without it being
+     * offered again.
      *
-     * @param context Behavior context
-     * @param entity  The entity
-     * @return Map of UUID to stimulus data
+     * @param uuid UUID of the stimulus source
+     * @param data Stimulus data
      */
-    private Map<UUID, StimulusData> collectStimuli(BehaviorContext context, LivingEntity entity) {
-        Map<UUID, StimulusData> stimuli = new HashMap<>();
-
-        // Collect from perception memory
-        PerceptionMemory memory = context.getBlackboard()
-                .<PerceptionMemory>get("perception_memory")
-                .orElse(null);
-
-        if (memory != null) {
-            for (PerceptionMemory.MemoryEntry entry : memory.getAllMemories()) {
-                double distance = entity.getPos().distanceTo(entry.getLastKnownPosition());
-                if (distance <= range) {
-                    stimuli.put(entry.getEntityUuid(), new StimulusData(
-                            entry.getLastKnownPosition(),
-                            distance,
-                            entry.getThreatLevel(),
-                            entry.getImportance(),
-                            entry.getConfidence(),
-                            entry.getTimeSinceLastSeen(),
-                            StimulusType.MEMORY));
-                }
-            }
+    public void pushStimulus(UUID uuid, StimulusData data) {
+        if (data.distance <= range) {
+            offer(uuid, data, calculateStimulusScore(data.distance, data.threatLevel, data.importance,
+                    data.timeSinceSeen, data.confidence));
         }
+    }
 
-        // Could also collect from entity sensors, sound sensors, etc.
-        // For simplicity, we primarily use perception memory
+    private void offerMemory(UUID uuid, Vec3d position, float threatLevel, float importance,
+            float confidence, long ticksSinceSeen) {
+        double distance = observerPos.distanceTo(position);
+        if (distance > range) {
+            return;
+        }
+        float timeSinceSeen = ticksSinceSeen / 20.0f;
+        float score = calculateStimulusScore(distance, threatLevel, importance, timeSinceSeen, confidence);
 
-        return stimuli;
+        // Only build the stimulus once it is known to be tracked
+        if (slotsByUuid.containsKey(uuid) || trackedCount < maxTrackedEntities || score > minKey(minHeap[0])) {
+            offer(uuid, new StimulusData(position, distance, threatLevel, importance, confidence,
+                    timeSinceSeen, StimulusType.MEMORY), score);
+        }
     }
 
     /**
      * Calculates the attention score for a stimulus.
      * Higher scores mean more attention-worthy.
      *
-     * @param observer The observing entity
-     * @param data     Stimulus data
      * @return Attention score (0.0 to 1.0+)
      */
-    private float calculateStimulusScore(LivingEntity observer, StimulusData data) {
+    private float calculateStimulusScore(double distance, float threatLevel, float importance,
+            float timeSinceSeen, float confidence) {
         // Multi-factor scoring
 
         // 1. Proximity factor (closer = more attention)
-        float proximityScore = 1.0f - (float) (data.distance / range);
+        float proximityScore = 1.0f - (float) (distance / range);
         proximityScore = Math.max(0.0f, proximityScore);
 
         // 2. Threat factor
-        float threatScore = data.threatLevel;
+        float threatScore = threatLevel;
 
         // 3. Importance factor
-        float importanceScore = data.importance;
+        float importanceScore = importance;
 
         // 4. Novelty factor (new stimuli get bonus attention)
-        StimulusScore existing = trackedStimuli.values().stream()
-                .filter(s -> s.currentScore > 0)
-                .findFirst()
-                .orElse(null);
-        float noveltyScore = existing == null ? 1.0f : 0.5f;
+        float noveltyScore = trackedCount == 0 ? 1.0f : 0.5f;
 
         // 5. Recency factor (recently seen = more reliable)
-        float recencyScore = data.timeSinceSeen < 5.0f ? 1.0f : Math.max(0.1f, 1.0f - (data.timeSinceSeen / 30.0f));
+        float recencyScore = timeSinceSeen < 5.0f ? 1.0f : Math.max(0.1f, 1.0f - (timeSinceSeen / 30.0f));
 
         // 6. Confidence factor
-        float confidenceScore = data.confidence;
+        float confidenceScore = confidence;
 
         // Weighted combination
         float combinedScore = proximityScore * 0.25f +
@@ -197,39 +215,202 @@ public class AttentionSystem implements Sensor {
 
     /**
      * Updates the current focus with hysteresis to prevent rapid switching.
-     *
-     * @param scoredStimuli List of scored stimuli (sorted by score)
      */
-    private void updateFocus(List<ScoredStimulus> scoredStimuli) {
-        if (scoredStimuli.isEmpty()) {
+    private void updateFocus() {
+        if (trackedCount == 0) {
             currentFocusUuid = null;
             return;
         }
 
-        ScoredStimulus highest = scoredStimuli.get(0);
+        int highest = maxHeap[0];
 
-        if (currentFocusUuid == null) {
-            // No current focus, take highest
-            currentFocusUuid = highest.uuid;
+        // Find current focus among the tracked stimuli
+        Integer currentFocus = currentFocusUuid != null ? slotsByUuid.get(currentFocusUuid) : null;
+        if (currentFocus == null) {
+            // No current focus, or no longer tracked; take highest
+            currentFocusUuid = uuids[highest];
             return;
         }
 
-        // Find current focus in list
-        ScoredStimulus currentFocus = scoredStimuli.stream()
-                .filter(s -> s.uuid.equals(currentFocusUuid))
-                .findFirst()
-                .orElse(null);
+        // Apply hysteresis: only switch if new target is significantly better
+        if (scores[highest] > scores[currentFocus] + focusSwitchThreshold) {
+            currentFocusUuid = uuids[highest];
+        }
+    }
 
-        if (currentFocus == null) {
-            // Current focus no longer tracked, switch to highest
-            currentFocusUuid = highest.uuid;
+    /**
+     * Tracks a stimulus, updating it if already tracked or replacing the
+     * weakest one if the set is full and it scores higher.
+     */
+    private void offer(UUID uuid, StimulusData data, float score) {
+        Integer existing = slotsByUuid.get(uuid);
+        int slot;
+        if (existing != null) {
+            slot = existing;
+        } else if (trackedCount < maxTrackedEntities) {
+            slot = trackedCount++;
+            minHeap[slot] = slot;
+            minPositions[slot] = slot;
+            maxHeap[slot] = slot;
+            maxPositions[slot] = slot;
+            slotsByUuid.put(uuid, slot);
+        } else if (score > minKey(minHeap[0])) {
+            slot = minHeap[0];
+            slotsByUuid.remove(uuids[slot]);
+            slotsByUuid.put(uuid, slot);
+        } else {
             return;
         }
 
-        // Apply hysteresis: only switch if new target is significantly better
-        if (highest.score > currentFocus.score + focusSwitchThreshold) {
-            currentFocusUuid = highest.uuid;
+        uuids[slot] = uuid;
+        stimuli[slot] = data;
+        scores[slot] = score;
+        epochs[slot] = epoch;
+        resift(slot);
+    }
+
+    /**
+     * Removes a slot by moving the last slot into it.
+     */
+    private void removeSlot(int slot) {
+        slotsByUuid.remove(uuids[slot]);
+        int last = --trackedCount;
+
+        // Take the slot out of both heaps by moving the last heap entries into its positions
+        int minPosition = minPositions[slot];
+        int maxPosition = maxPositions[slot];
+        int minMoved = minHeap[last];
+        int maxMoved = maxHeap[last];
+        minHeap[minPosition] = minMoved;
+        minPositions[minMoved] = minPosition;
+        maxHeap[maxPosition] = maxMoved;
+        maxPositions[maxMoved] = maxPosition;
+        if (minPosition < last) {
+            siftMin(minPosition);
+        }
+        if (maxPosition < last) {
+            siftMax(maxPosition);
         }
+
+        if (slot != last) {
+            uuids[slot] = uuids[last];
+            stimuli[slot] = stimuli[last];
+            scores[slot] = scores[last];
+            epochs[slot] = epochs[last];
+            minHeap[minPositions[last]] = slot;
+            minPositions[slot] = minPositions[last];
+            maxHeap[maxPositions[last]] = slot;
+            maxPositions[slot] = maxPositions[last];
+            slotsByUuid.put(uuids[slot], slot);
+        }
+        uuids[last] = null;
+        stimuli[last] = null;
+    }
+
+    private void resift(int slot) {
+        siftMin(minPositions[slot]);
+        siftMax(maxPositions[slot]);
+    }
+
+    /**
+     * Gets the eviction key of a slot; stimuli not offered this update come first.
+     */
+    private float minKey(int slot) {
+        return epochs[slot] == epoch ? scores[slot] : Float.NEGATIVE_INFINITY;
+    }
+
+    private void siftMin(int position) {
+        int slot = minHeap[position];
+        float key = minKey(slot);
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (minKey(minHeap[parent]) <= key) {
+                break;
+            }
+            placeMin(minHeap[parent], position);
+            position = parent;
+        }
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= trackedCount) {
+                break;
+            }
+            if (child + 1 < trackedCount && minKey(minHeap[child + 1]) < minKey(minHeap[child])) {
+                child++;
+            }
+            if (key <= minKey(minHeap[child])) {
+                break;
+            }
+            placeMin(minHeap[child], position);
+            position = child;
+        }
+        placeMin(slot, position);
+    }
+
+    private void siftMax(int position) {
+        int slot = maxHeap[position];
+        float key = scores[slot];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (scores[maxHeap[parent]] >= key) {
+                break;
+            }
+            placeMax(maxHeap[parent], position);
+            position = parent;
+        }
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= trackedCount) {
+                break;
+            }
+            if (child + 1 < trackedCount && scores[maxHeap[child + 1]] > scores[maxHeap[child]]) {
+                child++;
+            }
+            if (key >= scores[maxHeap[child]]) {
+                break;
+            }
+            placeMax(maxHeap[child], position);
+            position = child;
+        }
+        placeMax(slot, position);
+    }
+
+    private void placeMin(int slot, int position) {
+        minHeap[position] = slot;
+        minPositions[slot] = position;
+    }
+
+    private void placeMax(int slot, int position) {
+        maxHeap[position] = slot;
+        maxPositions[slot] = position;
+    }
+
+    /**
+     * Checks if the tracked set differs from the last published one. Stimuli
+     * may be evicted and tracked again during an update; only the result counts.
+     */
+    private boolean trackedSetChanged() {
+        if (publishedCount != trackedCount) {
+            return true;
+        }
+        for (int i = 0; i < publishedCount; i++) {
+            if (!slotsByUuid.containsKey(publishedUuids[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds the published list of tracked stimuli, highest score first.
+     */
+    private List<ScoredStimulus> snapshotTracked() {
+        List<ScoredStimulus> tracked = new ArrayList<>(trackedCount);
+        for (int slot = 0; slot < trackedCount; slot++) {
+            tracked.add(new ScoredStimulus(uuids[slot], stimuli[slot], scores[slot]));
+        }
+        tracked.sort((a, b) -> Float.compare(b.score, a.score));
+        return tracked;
     }
 
     @Override
@@ -244,10 +425,16 @@ public class AttentionSystem implements Sensor {
 
     @Override
     public void reset(BehaviorContext context) {
-        context.getBlackboard().remove(blackboardKey + "_tracked");
-        context.getBlackboard().remove(blackboardKey + "_focus");
-        context.getBlackboard().remove(blackboardKey + "_focus_data");
-        trackedStimuli.clear();
+        context.getBlackboard().remove(trackedKey);
+        context.getBlackboard().remove(focusKey);
+        context.getBlackboard().remove(focusDataKey);
+        for (int slot = 0; slot < trackedCount; slot++) {
+            uuids[slot] = null;
+            stimuli[slot] = null;
+        }
+        slotsByUuid.clear();
+        trackedCount = 0;
+        publishedCount = -1;
         currentFocusUuid = null;
     }
 
@@ -258,9 +445,7 @@ public class AttentionSystem implements Sensor {
      * @return UUID of focused stimulus, or null if none
      */
     public UUID getFocusedStimulus(BehaviorContext context) {
-        return context.getBlackboard()
-                .<UUID>get(blackboardKey + "_focus")
-                .orElse(null);
+        return context.getBlackboard().getOrNull(focusKey);
     }
 
     /**
@@ -270,9 +455,8 @@ public class AttentionSystem implements Sensor {
      * @return List of scored stimuli
      */
     public List<ScoredStimulus> getTrackedStimuli(BehaviorContext context) {
-        return context.getBlackboard()
-                .<List<ScoredStimulus>>get(blackboardKey + "_tracked")
-                .orElse(new ArrayList<>());
+        List<ScoredStimulus> tracked = context.getBlackboard().getOrNull(trackedKey);
+        return tracked != null ? tracked : new ArrayList<>();
     }
 
     /**
@@ -325,22 +509,4 @@ public class AttentionSystem implements Sensor {
             this.score = score;
         }
     }
-
-    /**
-     * Tracks stimulus score over time.
-     */
-    private static class StimulusScore {
-        float currentScore;
-        long lastUpdateTime;
-
-        StimulusScore(float initialScore) {
-            this.currentScore = initialScore;
-            this.lastUpdateTime = System.currentTimeMillis();
-        }
-
-        void update(float newScore) {
-            this.currentScore = newScore;
-            this.lastUpdateTime = System.currentTimeMillis();
-        }
-    }
 }
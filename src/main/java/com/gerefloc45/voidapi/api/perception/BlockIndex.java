@@ -0,0 +1,268 @@
+package com.gerefloc45.voidapi.api.perception;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Per-world index of the blocks matching block sensor filters.
+ * For every filter queried, each chunk section is summarized as 4096 bits, one
+ * per block, set where the block state matches. Sections are built lazily from
+ * the chunk's block palette, skipping sections whose palette has no matching
+ * state, and are kept up to date from block change events. A query visits only
+ * the matching blocks of the sections it overlaps instead of every block in range.
+ * <p>
+ * Filters are registered on first query and held weakly: the sections of a
+ * filter are dropped once nothing references the filter any more. Filters from
+ * {@link #blockFilter} are cached for the lifetime of the game and never
+ * dropped, which lets every sensor looking for the same block share one set of
+ * sections. Block changes in sections no filter has built cost a set lookup.
+ * Queries are safe from worker threads; changes are applied on the server thread.
+ *
+ * @author VoidAPI Framework
+ * @version 0.8.0
+ */
+public final class BlockIndex {
+    private static final Map<World, BlockIndex> INDEXES = new ConcurrentHashMap<>();
+    private static final Map<Block, Predicate<BlockState>> BLOCK_FILTERS = new ConcurrentHashMap<>();
+    private static final long[] EMPTY = new long[0]; // Section without matching blocks
+    private static final int WORDS = 4096 / 64;
+
+    private final World world;
+    private final ChunkChangeTracker changes;
+    private final Map<Predicate<BlockState>, Map<Long, long[]>> channels = new WeakHashMap<>();
+    // Sections built by at least one filter, so other changes skip the channels
+    private final Set<Long> builtSections = ConcurrentHashMap.newKeySet();
+
+    private BlockIndex(World world) {
+        this.world = world;
+        this.changes = ChunkChangeTracker.of(world);
+    }
+
+    /**
+     * Gets the block index of a world, creating it on first use.
+     *
+     * @param world The world
+     * @return The world's index
+     */
+    public static BlockIndex of(World world) {
+        return INDEXES.computeIfAbsent(world, BlockIndex::new);
+    }
+
+    /**
+     * Drops the index of an unloaded world.
+     *
+     * @param world The world
+     */
+    public static void remove(World world) {
+        INDEXES.remove(world);
+    }
+
+    /**
+     * Gets the shared filter matching every state of a block.
+     *
+     * @param block The block
+     * @return A filter instance shared by all callers
+     */
+    public static Predicate<BlockState> blockFilter(Block block) {
+        return BLOCK_FILTERS.computeIfAbsent(block, b -> state -> state.isOf(b));
+    }
+
+    /**
+     * Applies a block change to the world's index, if it has one.
+     *
+     * @param world The world
+     * @param pos   The changed block position
+     * @param state The new block state
+     */
+    public static void onBlockChanged(World world, BlockPos pos, BlockState state) {
+        BlockIndex index = INDEXES.get(world);
+        if (index != null) {
+            index.update(pos, state);
+        }
+    }
+
+    /**
+     * Drops the indexed sections of a chunk, e.g. when it is loaded or unloaded.
+     *
+     * @param world  The world
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     */
+    public static void invalidateChunk(World world, int chunkX, int chunkZ) {
+        BlockIndex index = INDEXES.get(world);
+        if (index == null) {
+            return;
+        }
+        synchronized (index.channels) {
+            for (int sy = world.getBottomSectionCoord(); sy < world.getTopSectionCoord(); sy++) {
+                long key = ChunkSectionPos.asLong(chunkX, sy, chunkZ);
+                index.builtSections.remove(key);
+                for (Map<Long, long[]> sections : index.channels.values()) {
+                    sections.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the positions of matching blocks inside a box. Blocks in
+     * unloaded chunks are not reported.
+     *
+     * @param filter The block filter
+     * @param min    Minimum corner, inclusive
+     * @param max    Maximum corner, inclusive
+     * @param out    List to add the matching positions to
+     */
+    public void query(Predicate<BlockState> filter, BlockPos min, BlockPos max, List<BlockPos> out) {
+        Map<Long, long[]> sections = getChannel(filter);
+        int minY = Math.max(min.getY(), world.getBottomY());
+        int maxY = Math.min(max.getY(), world.getTopY() - 1);
+        if (minY > maxY) {
+            return;
+        }
+
+        for (int sx = min.getX() >> 4; sx <= max.getX() >> 4; sx++) {
+            for (int sz = min.getZ() >> 4; sz <= max.getZ() >> 4; sz++) {
+                for (int sy = minY >> 4; sy <= maxY >> 4; sy++) {
+                    long[] bits = getSection(filter, sections, sx, sy, sz);
+                    if (bits == null || bits == EMPTY) {
+                        continue;
+                    }
+                    collect(bits, sx, sy, sz, min.getX(), minY, min.getZ(), max.getX(), maxY, max.getZ(), out);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of sections indexed for a filter.
+     *
+     * @param filter The block filter
+     * @return Indexed section count
+     */
+    public int getSectionCount(Predicate<BlockState> filter) {
+        synchronized (channels) {
+            Map<Long, long[]> sections = channels.get(filter);
+            return sections != null ? sections.size() : 0;
+        }
+    }
+
+    private static void collect(long[] bits, int sx, int sy, int sz,
+                                int minX, int minY, int minZ, int maxX, int maxY, int maxZ,
+                                List<BlockPos> out) {
+        int baseX = ChunkSectionPos.getBlockCoord(sx);
+        int baseY = ChunkSectionPos.getBlockCoord(sy);
+        int baseZ = ChunkSectionPos.getBlockCoord(sz);
+        for (int word = 0; word < WORDS; word++) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+                int index = word << 6 | Long.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+
+                int x = baseX + (index & 15);
+                int y = baseY + (index >> 8);
+                int z = baseZ + ((index >> 4) & 15);
+                if (x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ) {
+                    out.add(new BlockPos(x, y, z));
+                }
+            }
+        }
+    }
+
+    private Map<Long, long[]> getChannel(Predicate<BlockState> filter) {
+        synchronized (channels) {
+            return channels.computeIfAbsent(filter, f -> new ConcurrentHashMap<>());
+        }
+    }
+
+    private void update(BlockPos pos, BlockState state) {
+        int x = pos.getX();
+        int y = pos.getY();
+        int z = pos.getZ();
+        long key = ChunkSectionPos.asLong(x >> 4, y >> 4, z >> 4);
+        if (!builtSections.contains(key)) {
+            return; // Built with the change when first needed
+        }
+        int index = (y & 15) << 8 | (z & 15) << 4 | (x & 15);
+
+        synchronized (channels) {
+            for (Map.Entry<Predicate<BlockState>, Map<Long, long[]>> channel : channels.entrySet()) {
+                Map<Long, long[]> sections = channel.getValue();
+                long[] bits = sections.get(key);
+                if (bits == null) {
+                    continue; // Built with the change when first needed
+                }
+                if (channel.getKey().test(state)) {
+                    if (bits == EMPTY) {
+                        bits = new long[WORDS];
+                        bits[index >>> 6] |= 1L << index;
+                        sections.put(key, bits);
+                    } else {
+                        bits[index >>> 6] |= 1L << index;
+                    }
+                } else if (bits != EMPTY) {
+                    bits[index >>> 6] &= ~(1L << index);
+                }
+            }
+        }
+    }
+
+    private long[] getSection(Predicate<BlockState> filter, Map<Long, long[]> sections,
+                              int sectionX, int sectionY, int sectionZ) {
+        long key = ChunkSectionPos.asLong(sectionX, sectionY, sectionZ);
+        long[] bits = sections.get(key);
+        if (bits != null) {
+            return bits;
+        }
+
+        WorldChunk chunk = OcclusionGrid.getLoadedChunk(world, sectionX, sectionZ);
+        if (chunk == null) {
+            return null;
+        }
+        long version = changes.getVersion(sectionX, sectionZ);
+        bits = build(filter, chunk.getSection(sectionY - world.getBottomSectionCoord()));
+        builtSections.add(key);
+
+        // A block change during the build may have been missed; use the result
+        // for this query only and rebuild next time
+        if (sections.putIfAbsent(key, bits) == null
+                && changes.getVersion(sectionX, sectionZ) != version) {
+            sections.remove(key, bits);
+        }
+        return bits;
+    }
+
+    private static long[] build(Predicate<BlockState> filter, ChunkSection section) {
+        // The palette tells whether any matching state is present without visiting blocks
+        if (!section.getBlockStateContainer().hasAny(filter)) {
+            return EMPTY;
+        }
+
+        long[] bits = new long[WORDS];
+        BlockState last = null;
+        boolean lastMatches = false;
+        for (int index = 0; index < 4096; index++) {
+            BlockState state = section.getBlockState(index & 15, index >> 8, (index >> 4) & 15);
+            if (state != last) {
+                last = state;
+                lastMatches = filter.test(state);
+            }
+            if (lastMatches) {
+                bits[index >>> 6] |= 1L << index;
+            }
+        }
+        return bits;
+    }
+}
@@ -1,6 +1,7 @@
 package com.gerefloc45.voidapi.api.perception;
 
 import com.gerefloc45.voidapi.api.BehaviorContext;
+import com.gerefloc45.voidapi.api.BlackboardKey;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.entity.LivingEntity;
@@ -13,14 +14,18 @@ import java.util.function.Predicate;
 
 /**
  * Sensor for detecting specific blocks in the environment.
- * Supports pattern matching and area scanning.
+ * Supports pattern matching and area scanning. Area scans are served from the
+ * world's {@link BlockIndex}, which only visits blocks matching the filter;
+ * sensors sharing a filter instance share its index.
  * 
  * @author VoidAPI Framework
  * @version 1.1.0
  */
 public class BlockSensor implements Sensor {
     private final double range;
-    private final String blackboardKey;
+    private final BlackboardKey<List<BlockPos>> blocksKey;
+    private final BlackboardKey<Integer> countKey;
+    private final BlackboardKey<BlockPos> nearestKey;
     private final int updateFrequency;
     private final Predicate<BlockState> blockFilter;
     private final ScanPattern scanPattern;
@@ -62,7 +67,9 @@ public class BlockSensor implements Sensor {
     public BlockSensor(double range, String blackboardKey, Predicate<BlockState> blockFilter,
                       ScanPattern scanPattern, int updateFrequency) {
         this.range = range;
-        this.blackboardKey = blackboardKey;
+        this.blocksKey = BlackboardKey.of(blackboardKey);
+        this.countKey = BlackboardKey.ofInt(blackboardKey + "_count");
+        this.nearestKey = BlackboardKey.of(blackboardKey + "_nearest", BlockPos.class);
         this.blockFilter = blockFilter;
         this.scanPattern = scanPattern;
         this.updateFrequency = updateFrequency;
@@ -77,13 +84,13 @@ public class BlockSensor implements Sensor {
         List<BlockPos> detectedBlocks = scanForBlocks(world, entityPos);
 
         // Store in blackboard
-        context.getBlackboard().set(blackboardKey, detectedBlocks);
-        context.getBlackboard().set(blackboardKey + "_count", detectedBlocks.size());
+        context.getBlackboard().set(blocksKey, detectedBlocks);
+        context.getBlackboard().setInt(countKey, detectedBlocks.size());
         
         // Store nearest block if any detected
         if (!detectedBlocks.isEmpty()) {
             BlockPos nearest = findNearestBlock(entityPos, detectedBlocks);
-            context.getBlackboard().set(blackboardKey + "_nearest", nearest);
+            context.getBlackboard().set(nearestKey, nearest);
         }
     }
 
@@ -119,23 +126,17 @@ public class BlockSensor implements Sensor {
      * Scans all blocks in a spherical range.
      */
     private List<BlockPos> scanFullSphere(World world, BlockPos center) {
-        List<BlockPos> foundBlocks = new ArrayList<>();
         int rangeInt = (int) Math.ceil(range);
-
-        for (int x = -rangeInt; x <= rangeInt; x++) {
-            for (int y = -rangeInt; y <= rangeInt; y++) {
-                for (int z = -rangeInt; z <= rangeInt; z++) {
-                    BlockPos pos = center.add(x, y, z);
-                    if (center.getSquaredDistance(pos) <= range * range) {
-                        BlockState state = world.getBlockState(pos);
-                        if (blockFilter.test(state)) {
-                            foundBlocks.add(pos);
-                        }
-                    }
-                }
+        List<BlockPos> candidates = new ArrayList<>();
+        BlockIndex.of(world).query(blockFilter,
+                center.add(-rangeInt, -rangeInt, -rangeInt), center.add(rangeInt, rangeInt, rangeInt), candidates);
+
+        List<BlockPos> foundBlocks = new ArrayList<>(candidates.size());
+        for (BlockPos pos : candidates) {
+            if (center.getSquaredDistance(pos) <= range * range) {
+                foundBlocks.add(pos);
             }
         }
-
         return foundBlocks;
     }
 
@@ -143,24 +144,21 @@ public class BlockSensor implements Sensor {
      * Scans only horizontal plane around entity.
      */
     private List<BlockPos> scanHorizontalPlane(World world, BlockPos center) {
-        List<BlockPos> foundBlocks = new ArrayList<>();
         int rangeInt = (int) Math.ceil(range);
+        List<BlockPos> candidates = new ArrayList<>();
 
         // Scan only at entity's Y level and +/- 1
-        for (int y = -1; y <= 1; y++) {
-            for (int x = -rangeInt; x <= rangeInt; x++) {
-                for (int z = -rangeInt; z <= rangeInt; z++) {
-                    BlockPos pos = center.add(x, y, z);
-                    if (Math.sqrt(x * x + z * z) <= range) {
-                        BlockState state = world.getBlockState(pos);
-                        if (blockFilter.test(state)) {
-                            foundBlocks.add(pos);
-                        }
-                    }
-                }
+        BlockIndex.of(world).query(blockFilter,
+                center.add(-rangeInt, -1, -rangeInt), center.add(rangeInt, 1, rangeInt), candidates);
+
+        List<BlockPos> foundBlocks = new ArrayList<>(candidates.size());
+        for (BlockPos pos : candidates) {
+            int x = pos.getX() - center.getX();
+            int z = pos.getZ() - center.getZ();
+            if (x * x + z * z <= range * range) {
+                foundBlocks.add(pos);
             }
         }
-
         return foundBlocks;
     }
 
@@ -242,9 +240,9 @@ public class BlockSensor implements Sensor {
 
     @Override
     public void reset(BehaviorContext context) {
-        context.getBlackboard().remove(blackboardKey);
-        context.getBlackboard().remove(blackboardKey + "_count");
-        context.getBlackboard().remove(blackboardKey + "_nearest");
+        context.getBlackboard().remove(blocksKey);
+        context.getBlackboard().remove(countKey);
+        context.getBlackboard().remove(nearestKey);
     }
 
     /**
@@ -254,9 +252,8 @@ public class BlockSensor implements Sensor {
      * @return List of detected block positions
      */
     public List<BlockPos> getDetectedBlocks(BehaviorContext context) {
-        return context.getBlackboard()
-            .<List<BlockPos>>get(blackboardKey)
-            .orElse(new ArrayList<>());
+        List<BlockPos> blocks = context.getBlackboard().getOrNull(blocksKey);
+        return blocks != null ? blocks : new ArrayList<>();
     }
 
     /**
@@ -266,9 +263,7 @@ public class BlockSensor implements Sensor {
      * @return The nearest block position, or null if none detected
      */
     public BlockPos getNearestBlock(BehaviorContext context) {
-        return context.getBlackboard()
-            .<BlockPos>get(blackboardKey + "_nearest")
-            .orElse(null);
+        return context.getBlackboard().getOrNull(nearestKey);
     }
 
     /**
@@ -292,7 +287,7 @@ public class BlockSensor implements Sensor {
         }
 
         public Builder filterByBlock(Block block) {
-            this.blockFilter = state -> state.isOf(block);
+            this.blockFilter = BlockIndex.blockFilter(block);
             return this;
         }
 
@@ -0,0 +1,95 @@
+package com.gerefloc45.voidapi.api.perception;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-world block change counters, bucketed by chunk.
+ * Every block update in a server world bumps the counter of its chunk's bucket,
+ * so perception caches can record the versions of the chunks a result depends
+ * on and treat it as valid until one of them changes. Chunks share a fixed
+ * number of buckets; a collision only causes an unnecessary recompute.
+ * <p>
+ * Counters are lock-free and can be read from any thread.
+ *
+ * @author VoidAPI Framework
+ * @version 0.8.0
+ */
+public final class ChunkChangeTracker {
+    private static final Map<World, ChunkChangeTracker> TRACKERS = new ConcurrentHashMap<>();
+    private static final int BUCKETS = 4096; // Power of two
+
+    private final AtomicLongArray versions = new AtomicLongArray(BUCKETS);
+
+    private ChunkChangeTracker() {
+    }
+
+    /**
+     * Gets the tracker of a world, creating it on first use.
+     *
+     * @param world The world
+     * @return The world's tracker
+     */
+    public static ChunkChangeTracker of(World world) {
+        return TRACKERS.computeIfAbsent(world, w -> new ChunkChangeTracker());
+    }
+
+    /**
+     * Drops the tracker of an unloaded world.
+     *
+     * @param world The world
+     */
+    public static void remove(World world) {
+        TRACKERS.remove(world);
+    }
+
+    /**
+     * Records a block change.
+     *
+     * @param pos The changed block position
+     */
+    public void markChanged(BlockPos pos) {
+        markChanged(pos.getX() >> 4, pos.getZ() >> 4);
+    }
+
+    /**
+     * Records a change anywhere in a chunk, e.g. when it is loaded.
+     *
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     */
+    public void markChanged(int chunkX, int chunkZ) {
+        versions.incrementAndGet(bucketOf(chunkX, chunkZ));
+    }
+
+    /**
+     * Gets the change version of a chunk. The value only ever grows; compare it
+     * with a previously read version to detect changes.
+     *
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     * @return The chunk's version
+     */
+    public long getVersion(int chunkX, int chunkZ) {
+        return versions.get(bucketOf(chunkX, chunkZ));
+    }
+
+    /**
+     * Gets the bucket a chunk's changes are counted in.
+     */
+    static int bucketOf(int chunkX, int chunkZ) {
+        int h = chunkX * 0x9E3779B1 + chunkZ * 0x85EBCA6B;
+        return (h ^ (h >>> 16)) & (BUCKETS - 1);
+    }
+
+    /**
+     * Gets the version of a bucket.
+     */
+    long getBucketVersion(int bucket) {
+        return versions.get(bucket);
+    }
+}
@@ -1,8 +1,10 @@
 package com.gerefloc45.voidapi.api.perception;
 
 import com.gerefloc45.voidapi.api.BehaviorContext;
+import com.gerefloc45.voidapi.api.BlackboardKey;
 import com.gerefloc45.voidapi.util.EntityUtil;
 import net.minecraft.entity.LivingEntity;
+import net.minecraft.util.math.Box;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -20,8 +22,10 @@ public class EntitySensor<T extends LivingEntity> implements Sensor {
     private final double range;
     private final boolean requireLineOfSight;
     private final Predicate<T> filter;
-    private final String blackboardKey;
+    private final BlackboardKey<List<T>> entitiesKey;
+    private final BlackboardKey<Integer> countKey;
     private final int updateFrequency;
+    private PerceptionGroup<T> perceptionGroup;
 
     /**
      * Creates a new entity sensor.
@@ -48,30 +52,43 @@ public class EntitySensor<T extends LivingEntity> implements Sensor {
                        boolean requireLineOfSight, Predicate<T> filter, int updateFrequency) {
         this.entityClass = entityClass;
         this.range = range;
-        this.blackboardKey = blackboardKey;
+        this.entitiesKey = BlackboardKey.of(blackboardKey);
+        this.countKey = BlackboardKey.ofInt(blackboardKey + "_count");
         this.requireLineOfSight = requireLineOfSight;
         this.filter = filter;
         this.updateFrequency = updateFrequency;
     }
 
+    /**
+     * Shares this sensor's scan with nearby entities in the same group.
+     * Members reuse a representative's line-of-sight results.
+     *
+     * @param group The perception group, or null to scan alone
+     * @return This sensor for chaining
+     */
+    public EntitySensor<T> setPerceptionGroup(PerceptionGroup<T> group) {
+        this.perceptionGroup = group;
+        return this;
+    }
+
     @Override
     public void update(BehaviorContext context) {
-        List<T> detectedEntities = EntityUtil.findEntitiesInRange(
-            context.getEntity(),
-            range,
-            entityClass
-        );
+        LivingEntity self = context.getEntity();
+        List<T> detectedEntities = perceptionGroup != null
+            ? perceptionGroup.getCandidates(self, range, updateFrequency, this::scan)
+            : scan(self, range);
+        Box rangeBox = perceptionGroup != null ? new Box(self.getBlockPos()).expand(range) : null;
 
         // Apply filters
         List<T> filteredEntities = new ArrayList<>();
         for (T entity : detectedEntities) {
             // Skip self
-            if (entity.equals(context.getEntity())) {
+            if (entity.equals(self)) {
                 continue;
             }
 
-            // Check line of sight if required
-            if (requireLineOfSight && !EntityUtil.canSee(context.getEntity(), entity)) {
+            // A shared scan is wider than this sensor's range
+            if (rangeBox != null && !rangeBox.intersects(entity.getBoundingBox())) {
                 continue;
             }
 
@@ -84,8 +101,19 @@ public class EntitySensor<T extends LivingEntity> implements Sensor {
         }
 
         // Store in blackboard
-        context.getBlackboard().set(blackboardKey, filteredEntities);
-        context.getBlackboard().set(blackboardKey + "_count", filteredEntities.size());
+        context.getBlackboard().set(entitiesKey, filteredEntities);
+        context.getBlackboard().setInt(countKey, filteredEntities.size());
+    }
+
+    /**
+     * Finds entities in range, checking line of sight from the scanning entity if required.
+     */
+    private List<T> scan(LivingEntity observer, double scanRange) {
+        List<T> entities = EntityUtil.findEntitiesInRange(observer, scanRange, entityClass);
+        if (requireLineOfSight) {
+            entities.removeIf(entity -> !entity.equals(observer) && !EntityUtil.canSee(observer, entity));
+        }
+        return entities;
     }
 
     @Override
@@ -100,8 +128,8 @@ public class EntitySensor<T extends LivingEntity> implements Sensor {
 
     @Override
     public void reset(BehaviorContext context) {
-        context.getBlackboard().remove(blackboardKey);
-        context.getBlackboard().remove(blackboardKey + "_count");
+        context.getBlackboard().remove(entitiesKey);
+        context.getBlackboard().remove(countKey);
     }
 
     /**
@@ -111,9 +139,8 @@ public class EntitySensor<T extends LivingEntity> implements Sensor {
      * @return List of detected entities
      */
     public List<T> getDetectedEntities(BehaviorContext context) {
-        return context.getBlackboard()
-            .<List<T>>get(blackboardKey)
-            .orElse(new ArrayList<>());
+        List<T> entities = context.getBlackboard().getOrNull(entitiesKey);
+        return entities != null ? entities : new ArrayList<>();
     }
 
     /**
@@ -1,13 +1,9 @@
 package com.gerefloc45.voidapi.api.perception;
 
 import com.gerefloc45.voidapi.api.BehaviorContext;
-import net.minecraft.block.BlockState;
+import com.gerefloc45.voidapi.api.BlackboardKey;
 import net.minecraft.entity.LivingEntity;
-import net.minecraft.util.hit.BlockHitResult;
-import net.minecraft.util.hit.HitResult;
-import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
-import net.minecraft.world.RaycastContext;
 import net.minecraft.world.World;
 
 import java.util.*;
@@ -16,7 +12,11 @@ import java.util.function.Predicate;
 /**
  * Advanced line-of-sight sensor with occlusion detection.
  * Uses raycasting to determine if entities are visible, accounting for block
- * occlusion.
+ * occlusion. Raycasts are batched and cached per world by
+ * {@link LineOfSightService}. A pair the service has not cached yet is queued
+ * and remembered, and the next update reads its answer from the cache even if
+ * the observer or target moved to other blocks since, so moving targets are
+ * reported at most one update late whatever the update interval.
  * 
  * @author VoidAPI Framework
  * @version 0.7.0
@@ -24,15 +24,19 @@ import java.util.function.Predicate;
 public class LineOfSightSensor<T extends LivingEntity> implements Sensor {
     private final Class<T> entityClass;
     private final double range;
-    private final String blackboardKey;
+    private final BlackboardKey<List<T>> entitiesKey;
+    private final BlackboardKey<Integer> countKey;
+    private final BlackboardKey<Map<UUID, Float>> visibilityKey;
     private final int updateFrequency;
     private final VisionCone visionCone;
     private final boolean allowTransparentBlocks;
     private final Predicate<T> filter;
+    private PerceptionGroup<T> perceptionGroup;
 
-    // Cache for raycast results
-    private final Map<UUID, CachedRaycastResult> raycastCache;
-    private final long cacheLifetimeMs;
+    // Last known visibility per target, used while the service computes a new pair
+    private final Map<UUID, Boolean> lastVisibility;
+    // Pair queued per target at the previous update, resolved from the cache at the next
+    private final Map<UUID, PendingSight> pendingSight;
 
     /**
      * Creates a basic line-of-sight sensor.
@@ -69,32 +73,51 @@ public class LineOfSightSensor<T extends LivingEntity> implements Sensor {
      * @param allowTransparentBlocks Allow seeing through glass, leaves, etc.
      * @param filter                 Additional filter predicate
      * @param updateFrequency        Update frequency in ticks
-     * @param cacheLifetimeMs        Raycast cache lifetime in milliseconds
+     * @param cacheLifetimeMs        Unused; cached results are invalidated by block changes instead
      */
     public LineOfSightSensor(Class<T> entityClass, double range, String blackboardKey,
             VisionCone visionCone, boolean allowTransparentBlocks,
             Predicate<T> filter, int updateFrequency, long cacheLifetimeMs) {
         this.entityClass = entityClass;
         this.range = range;
-        this.blackboardKey = blackboardKey;
+        this.entitiesKey = BlackboardKey.of(blackboardKey);
+        this.countKey = BlackboardKey.ofInt(blackboardKey + "_count");
+        this.visibilityKey = BlackboardKey.of(blackboardKey + "_visibility");
         this.visionCone = visionCone;
         this.allowTransparentBlocks = allowTransparentBlocks;
         this.filter = filter;
         this.updateFrequency = updateFrequency;
-        this.cacheLifetimeMs = cacheLifetimeMs;
-        this.raycastCache = new HashMap<>();
+        this.lastVisibility = new HashMap<>();
+        this.pendingSight = new HashMap<>();
+    }
+
+    /**
+     * Shares this sensor's scan with nearby entities in the same group.
+     * Members use the line of sight seen from the group's representative and
+     * apply their own range, filter and vision cone.
+     *
+     * @param group The perception group, or null to scan alone
+     * @return This sensor for chaining
+     */
+    public LineOfSightSensor<T> setPerceptionGroup(PerceptionGroup<T> group) {
+        this.perceptionGroup = group;
+        return this;
     }
 
     @Override
     public void update(BehaviorContext context) {
+        if (perceptionGroup != null) {
+            updateFromGroup(context);
+            return;
+        }
+
         LivingEntity observer = context.getEntity();
         World world = observer.getWorld();
 
         // Find entities in range
         List<T> nearbyEntities = findEntitiesInRange(observer, world);
         List<T> visibleEntities = new ArrayList<>();
-
-        long currentTime = System.currentTimeMillis();
+        Set<UUID> inRange = new HashSet<>();
 
         for (T target : nearbyEntities) {
             // Skip self
@@ -112,106 +135,115 @@ public class LineOfSightSensor<T extends LivingEntity> implements Sensor {
                 continue;
             }
 
-            // Check line of sight with caching
-            if (hasLineOfSight(observer, target, world, currentTime)) {
+            // Check line of sight
+            inRange.add(target.getUuid());
+            if (hasLineOfSight(observer, target, world)) {
                 visibleEntities.add(target);
             }
         }
 
-        // Clean up old cache entries
-        raycastCache.entrySet().removeIf(entry -> currentTime - entry.getValue().timestamp > cacheLifetimeMs);
-
-        // Store in blackboard
-        context.getBlackboard().set(blackboardKey, visibleEntities);
-        context.getBlackboard().set(blackboardKey + "_count", visibleEntities.size());
+        // Forget targets that left range or view
+        lastVisibility.keySet().retainAll(inRange);
+        pendingSight.keySet().retainAll(inRange);
 
-        // Store visibility factors
-        Map<UUID, Float> visibilityFactors = new HashMap<>();
-        for (T entity : visibleEntities) {
-            float factor = visionCone.getVisibilityFactor(observer, entity.getEyePos());
-            visibilityFactors.put(entity.getUuid(), factor);
-        }
-        context.getBlackboard().set(blackboardKey + "_visibility", visibilityFactors);
+        store(context, observer, visibleEntities);
     }
 
     /**
-     * Checks if the observer has line of sight to the target.
-     * Uses caching to improve performance.
-     *
-     * @param observer    The observing entity
-     * @param target      The target entity
-     * @param world       The world
-     * @param currentTime Current timestamp for cache management
-     * @return True if line of sight exists
+     * Update for a group member: filters the entities visible to the group's
+     * representative down to this observer's range, filter and vision cone.
      */
-    private boolean hasLineOfSight(LivingEntity observer, T target, World world, long currentTime) {
-        UUID targetUuid = target.getUuid();
+    private void updateFromGroup(BehaviorContext context) {
+        LivingEntity observer = context.getEntity();
+        List<T> candidates = perceptionGroup.getCandidates(observer, range, updateFrequency, this::scanVisible);
+        List<T> visibleEntities = new ArrayList<>();
+        double rangeSquared = range * range;
 
-        // Check cache
-        CachedRaycastResult cached = raycastCache.get(targetUuid);
-        if (cached != null && currentTime - cached.timestamp < cacheLifetimeMs) {
-            // Verify entity hasn't moved significantly
-            if (cached.targetPos.distanceTo(target.getPos()) < 0.5) {
-                return cached.hasLineOfSight;
+        for (T target : candidates) {
+            if (target.equals(observer)
+                    || target.squaredDistanceTo(observer.getPos()) > rangeSquared
+                    || !filter.test(target)
+                    || !visionCone.isInVisionCone(observer, target)) {
+                continue;
             }
+            visibleEntities.add(target);
         }
 
-        // Perform raycast
-        Vec3d observerEye = observer.getEyePos();
-        Vec3d targetEye = target.getEyePos();
-
-        boolean hasLOS = performRaycast(world, observerEye, targetEye);
-
-        // Cache result
-        raycastCache.put(targetUuid, new CachedRaycastResult(
-                hasLOS, target.getPos(), currentTime));
-
-        return hasLOS;
+        store(context, observer, visibleEntities);
     }
 
     /**
-     * Performs a raycast between two points.
-     *
-     * @param world The world
-     * @param from  Start position
-     * @param to    End position
-     * @return True if line of sight exists (no solid blocks in the way)
+     * Representative scan: entities in range that the scanning entity can see.
+     * The scanning entity itself is included so other members can detect it.
      */
-    private boolean performRaycast(World world, Vec3d from, Vec3d to) {
-        RaycastContext.FluidHandling fluidHandling = RaycastContext.FluidHandling.NONE;
-
-        RaycastContext context = new RaycastContext(
-                from,
-                to,
-                RaycastContext.ShapeType.COLLIDER,
-                fluidHandling,
-                (net.minecraft.entity.Entity) null);
+    private List<T> scanVisible(LivingEntity representative, double scanRange) {
+        World world = representative.getWorld();
+        List<T> entities = new ArrayList<>();
+        SpatialIndex.of(world).queryRadius(representative.getPos(), scanRange, entityClass, null, entities);
+
+        Set<UUID> seen = new HashSet<>();
+        entities.removeIf(target -> {
+            if (target.equals(representative)) {
+                return false;
+            }
+            seen.add(target.getUuid());
+            return !hasLineOfSight(representative, target, world);
+        });
+        lastVisibility.keySet().retainAll(seen);
+        pendingSight.keySet().retainAll(seen);
+        return entities;
+    }
 
-        BlockHitResult result = world.raycast(context);
+    /**
+     * Stores the visible entities and their visibility factors in the blackboard.
+     */
+    private void store(BehaviorContext context, LivingEntity observer, List<T> visibleEntities) {
+        context.getBlackboard().set(entitiesKey, visibleEntities);
+        context.getBlackboard().setInt(countKey, visibleEntities.size());
 
-        if (result.getType() == HitResult.Type.MISS) {
-            return true; // No blocks hit
+        // Store visibility factors
+        Map<UUID, Float> visibilityFactors = new HashMap<>();
+        for (T entity : visibleEntities) {
+            float factor = visionCone.getVisibilityFactor(observer, entity.getEyePos());
+            visibilityFactors.put(entity.getUuid(), factor);
         }
+        context.getBlackboard().set(visibilityKey, visibilityFactors);
+    }
 
-        // Check if we hit a transparent block and it's allowed
-        if (allowTransparentBlocks) {
-            BlockPos hitPos = result.getBlockPos();
-            BlockState hitState = world.getBlockState(hitPos);
-
-            // Consider transparent blocks as "see-through"
-            if (!hitState.isOpaque() || hitState.getBlock().getBlastResistance() < 0.5f) {
-                // Continue raycast from hit point to check further blocks
-                Vec3d newFrom = result.getPos().add(
-                        to.subtract(from).normalize().multiply(0.1));
+    /**
+     * Checks if the observer has line of sight to the target through the
+     * world's {@link LineOfSightService}. While a new pair is pending, the
+     * answer for the pair queued at the previous update is used, or else the
+     * last known result for the target.
+     *
+     * @param observer The observing entity
+     * @param target   The target entity
+     * @param world    The world
+     * @return True if line of sight exists
+     */
+    private boolean hasLineOfSight(LivingEntity observer, T target, World world) {
+        LineOfSightService service = LineOfSightService.of(world);
+        Vec3d from = observer.getEyePos();
+        Vec3d to = target.getEyePos();
+        LineOfSightService.Visibility visibility = service.query(from, to, allowTransparentBlocks);
 
-                if (newFrom.distanceTo(to) > 0.2) {
-                    return performRaycast(world, newFrom, to);
+        UUID targetUuid = target.getUuid();
+        if (visibility == LineOfSightService.Visibility.PENDING) {
+            // The pair queued last time has been raycast since; it is the freshest answer
+            PendingSight previous = pendingSight.put(targetUuid, new PendingSight(from, to));
+            if (previous != null) {
+                LineOfSightService.Visibility resolved = service.peek(previous.from(), previous.to(),
+                        allowTransparentBlocks);
+                if (resolved != LineOfSightService.Visibility.PENDING) {
+                    lastVisibility.put(targetUuid, resolved == LineOfSightService.Visibility.VISIBLE);
                 }
-                return true;
             }
+            return lastVisibility.getOrDefault(targetUuid, false);
         }
-
-        return false; // Solid block in the way
+        pendingSight.remove(targetUuid);
+        boolean visible = visibility == LineOfSightService.Visibility.VISIBLE;
+        lastVisibility.put(targetUuid, visible);
+        return visible;
     }
 
     /**
@@ -222,10 +254,9 @@ public class LineOfSightSensor<T extends LivingEntity> implements Sensor {
      * @return List of entities in range
      */
     private List<T> findEntitiesInRange(LivingEntity observer, World world) {
-        return world.getEntitiesByClass(
-                entityClass,
-                observer.getBoundingBox().expand(range),
-                entity -> entity.squaredDistanceTo(observer) <= range * range);
+        List<T> entities = new ArrayList<>();
+        SpatialIndex.of(world).queryRadius(observer.getPos(), range, entityClass, observer, entities);
+        return entities;
     }
 
     @Override
@@ -240,10 +271,11 @@ public class LineOfSightSensor<T extends LivingEntity> implements Sensor {
 
     @Override
     public void reset(BehaviorContext context) {
-        context.getBlackboard().remove(blackboardKey);
-        context.getBlackboard().remove(blackboardKey + "_count");
-        context.getBlackboard().remove(blackboardKey + "_visibility");
-        raycastCache.clear();
+        context.getBlackboard().remove(entitiesKey);
+        context.getBlackboard().remove(countKey);
+        context.getBlackboard().remove(visibilityKey);
+        lastVisibility.clear();
+        pendingSight.clear();
     }
 
     /**
@@ -253,9 +285,8 @@ public class LineOfSightSensor<T extends LivingEntity> implements Sensor {
      * @return List of visible entities
      */
     public List<T> getVisibleEntities(BehaviorContext context) {
-        return context.getBlackboard()
-                .<List<T>>get(blackboardKey)
-                .orElse(new ArrayList<>());
+        List<T> entities = context.getBlackboard().getOrNull(entitiesKey);
+        return entities != null ? entities : new ArrayList<>();
     }
 
     /**
@@ -266,24 +297,13 @@ public class LineOfSightSensor<T extends LivingEntity> implements Sensor {
      * @return Visibility factor (0.0 to 1.0), or 0.0 if not visible
      */
     public float getVisibilityFactor(BehaviorContext context, UUID entityUuid) {
-        return context.getBlackboard()
-                .<Map<UUID, Float>>get(blackboardKey + "_visibility")
-                .map(map -> map.getOrDefault(entityUuid, 0.0f))
-                .orElse(0.0f);
+        Map<UUID, Float> factors = context.getBlackboard().getOrNull(visibilityKey);
+        return factors != null ? factors.getOrDefault(entityUuid, 0.0f) : 0.0f;
     }
 
     /**
-     * Cached raycast result to improve performance.
+     * Eye positions of a queued visibility request.
      */
-    private static class CachedRaycastResult {
-        final boolean hasLineOfSight;
-        final Vec3d targetPos;
-        final long timestamp;
-
-        CachedRaycastResult(boolean hasLineOfSight, Vec3d targetPos, long timestamp) {
-            this.hasLineOfSight = hasLineOfSight;
-            this.targetPos = targetPos;
-            this.timestamp = timestamp;
-        }
+    private record PendingSight(Vec3d from, Vec3d to) {
     }
 }
@@ -0,0 +1,393 @@
+package com.gerefloc45.voidapi.api.perception;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.util.hit.BlockHitResult;
+import net.minecraft.util.hit.HitResult;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.RaycastContext;
+import net.minecraft.world.World;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * World-level line-of-sight service shared by all sensors.
+ * Sensors query visibility between two points; unknown pairs are queued and
+ * raycast together in one batch at the end of the tick, so the answer is
+ * available from the next tick on. Results are cached by the block cells of
+ * both end points, with A&rarr;B and B&rarr;A sharing one entry, and stay valid
+ * until a block changes in a chunk the ray crosses (see {@link ChunkChangeTracker}).
+ * A result whose chunks changed is still returned while its recompute is queued.
+ * <p>
+ * {@link com.gerefloc45.voidapi.core.BrainTicker} flushes the queue on the
+ * server thread after brains tick. Queries are safe from sensor worker
+ * threads; they only read the cache, whose entries are published complete.
+ *
+ * @author VoidAPI Framework
+ * @version 0.8.0
+ */
+public final class LineOfSightService {
+    private static final Map<World, LineOfSightService> SERVICES = new ConcurrentHashMap<>();
+    private static final int MAX_CHUNKS = 16; // Longer rays are recomputed whenever requested
+    private static final long EVICT_AFTER_TICKS = 200;
+    private static final long EVICT_INTERVAL_TICKS = 100;
+
+    /**
+     * Result of a visibility query.
+     */
+    public enum Visibility {
+        /** Nothing blocks the line */
+        VISIBLE,
+        /** A solid block is in the way */
+        BLOCKED,
+        /** Not known yet; the pair was queued for the next batch */
+        PENDING
+    }
+
+    private final World world;
+    private final ChunkChangeTracker changes;
+    private final OcclusionGrid grid;
+    private final ConcurrentLinkedQueue<Request> pending = new ConcurrentLinkedQueue<>();
+    private final int[] chunkScratch = new int[MAX_CHUNKS];
+
+    // Open-addressed cache, only modified while flushing; reassigned to publish new entries
+    private volatile Entry[] table = new Entry[256];
+    private int size;
+    private long lastEviction;
+    private long flushCount;
+    private long raycastCount;
+
+    private LineOfSightService(World world) {
+        this.world = world;
+        this.changes = ChunkChangeTracker.of(world);
+        this.grid = OcclusionGrid.of(world);
+    }
+
+    /**
+     * Gets the service of a world, creating it on first use.
+     *
+     * @param world The world
+     * @return The world's service
+     */
+    public static LineOfSightService of(World world) {
+        return SERVICES.computeIfAbsent(world, LineOfSightService::new);
+    }
+
+    /**
+     * Serves the queued requests of every service.
+     * Called on the server thread after brains tick.
+     */
+    public static void flushAll() {
+        for (LineOfSightService service : SERVICES.values()) {
+            service.flush();
+        }
+    }
+
+    /**
+     * Drops the service of an unloaded world.
+     *
+     * @param world The world
+     */
+    public static void remove(World world) {
+        SERVICES.remove(world);
+    }
+
+    /**
+     * Queries whether the line between two points is clear of solid blocks.
+     *
+     * @param from Start point, e.g. the observer's eyes
+     * @param to End point, e.g. the target's eyes
+     * @param allowTransparentBlocks Whether glass, leaves and other non-opaque blocks can be seen through
+     * @return The cached visibility, or PENDING if the pair was not seen before
+     */
+    public Visibility query(Vec3d from, Vec3d to, boolean allowTransparentBlocks) {
+        long time = world.getTime();
+        long fromCell = cellOf(from);
+        long toCell = cellOf(to);
+        Entry entry = find(Math.min(fromCell, toCell), Math.max(fromCell, toCell), allowTransparentBlocks);
+        if (entry == null) {
+            enqueue(from, to, allowTransparentBlocks);
+            return Visibility.PENDING;
+        }
+
+        entry.lastUsed = time;
+        Result result = entry.result;
+        if (!entry.queued && !result.isCurrent(changes)) {
+            entry.queued = true;
+            enqueue(from, to, allowTransparentBlocks);
+        }
+        return result.visible() ? Visibility.VISIBLE : Visibility.BLOCKED;
+    }
+
+    /**
+     * Looks up the cached visibility between two points without queueing
+     * anything, e.g. for a pair queried at an earlier tick.
+     *
+     * @param from Start point
+     * @param to End point
+     * @param allowTransparentBlocks Whether glass, leaves and other non-opaque blocks can be seen through
+     * @return The cached visibility, or PENDING if the pair is not cached
+     */
+    public Visibility peek(Vec3d from, Vec3d to, boolean allowTransparentBlocks) {
+        long fromCell = cellOf(from);
+        long toCell = cellOf(to);
+        Entry entry = find(Math.min(fromCell, toCell), Math.max(fromCell, toCell), allowTransparentBlocks);
+        if (entry == null) {
+            return Visibility.PENDING;
+        }
+        entry.lastUsed = world.getTime();
+        return entry.result.visible() ? Visibility.VISIBLE : Visibility.BLOCKED;
+    }
+
+    /**
+     * Raycasts all queued requests. Requests for the same or mirrored cell pair
+     * are served by a single raycast. Must be called on the server thread.
+     */
+    public synchronized void flush() {
+        long time = world.getTime();
+        flushCount++;
+
+        Request request;
+        while ((request = pending.poll()) != null) {
+            long fromCell = cellOf(request.from);
+            long toCell = cellOf(request.to);
+            long low = Math.min(fromCell, toCell);
+            long high = Math.max(fromCell, toCell);
+
+            Entry entry = find(low, high, request.allowTransparentBlocks);
+            if (entry == null) {
+                // Fill the entry before readers can find it
+                entry = new Entry(low, high, request.allowTransparentBlocks);
+                entry.result = compute(request.from, request.to, request.allowTransparentBlocks);
+                insert(entry);
+            } else if (entry.servedFlush == flushCount || entry.result.isCurrent(changes)) {
+                entry.queued = false;
+                continue; // Already served in this batch
+            } else {
+                entry.result = compute(request.from, request.to, request.allowTransparentBlocks);
+                entry.queued = false;
+            }
+            entry.servedFlush = flushCount;
+            entry.lastUsed = time;
+        }
+
+        if (time - lastEviction >= EVICT_INTERVAL_TICKS) {
+            lastEviction = time;
+            evict(time - EVICT_AFTER_TICKS);
+        }
+    }
+
+    /**
+     * Gets the number of cached cell pairs.
+     *
+     * @return Cache size
+     */
+    public int getCacheSize() {
+        return size;
+    }
+
+    /**
+     * Gets the total number of raycasts performed.
+     *
+     * @return Raycast count
+     */
+    public long getRaycastCount() {
+        return raycastCount;
+    }
+
+    private void enqueue(Vec3d from, Vec3d to, boolean allowTransparentBlocks) {
+        pending.add(new Request(from, to, allowTransparentBlocks));
+    }
+
+    /**
+     * Raycasts a segment and records the versions of the chunks it crosses.
+     */
+    private Result compute(Vec3d from, Vec3d to, boolean allowTransparentBlocks) {
+        boolean visible = raycast(from, to, allowTransparentBlocks);
+        int count = collectChunks(from, to);
+        if (count < 0) {
+            return new Result(visible, null, null);
+        }
+        int[] buckets = new int[count];
+        long[] versions = new long[count];
+        for (int i = 0; i < count; i++) {
+            buckets[i] = chunkScratch[i];
+            versions[i] = changes.getBucketVersion(buckets[i]);
+        }
+        return new Result(visible, buckets, versions);
+    }
+
+    /**
+     * Raycasts between two points. See-through mode walks the world's
+     * {@link OcclusionGrid}; otherwise any block with a collision shape blocks.
+     *
+     * @return True if nothing blocks the segment
+     */
+    private boolean raycast(Vec3d from, Vec3d to, boolean allowTransparentBlocks) {
+        raycastCount++;
+        if (allowTransparentBlocks) {
+            return grid.isClear(from, to);
+        }
+        BlockHitResult result = world.raycast(new RaycastContext(
+                from,
+                to,
+                RaycastContext.ShapeType.COLLIDER,
+                RaycastContext.FluidHandling.NONE,
+                (Entity) null));
+        return result.getType() == HitResult.Type.MISS;
+    }
+
+    /**
+     * Walks the chunk columns a segment crosses and stores their change buckets
+     * in the scratch array.
+     *
+     * @return Number of chunks, or -1 if the segment crosses too many
+     */
+    private int collectChunks(Vec3d from, Vec3d to) {
+        int chunkX = MathHelper.floor(from.x) >> 4;
+        int chunkZ = MathHelper.floor(from.z) >> 4;
+        int endX = MathHelper.floor(to.x) >> 4;
+        int endZ = MathHelper.floor(to.z) >> 4;
+        double dx = to.x - from.x;
+        double dz = to.z - from.z;
+        int stepX = dx > 0 ? 1 : -1;
+        int stepZ = dz > 0 ? 1 : -1;
+        double deltaX = dx == 0 ? Double.POSITIVE_INFINITY : 16.0 / Math.abs(dx);
+        double deltaZ = dz == 0 ? Double.POSITIVE_INFINITY : 16.0 / Math.abs(dz);
+        double nextX = dx == 0 ? Double.POSITIVE_INFINITY
+                : ((dx > 0 ? (chunkX + 1) * 16.0 : chunkX * 16.0) - from.x) / dx;
+        double nextZ = dz == 0 ? Double.POSITIVE_INFINITY
+                : ((dz > 0 ? (chunkZ + 1) * 16.0 : chunkZ * 16.0) - from.z) / dz;
+
+        int count = 0;
+        while (true) {
+            if (count == MAX_CHUNKS) {
+                return -1;
+            }
+            chunkScratch[count++] = ChunkChangeTracker.bucketOf(chunkX, chunkZ);
+            if (chunkX == endX && chunkZ == endZ) {
+                return count;
+            }
+            if (nextX < nextZ) {
+                chunkX += stepX;
+                nextX += deltaX;
+            } else {
+                chunkZ += stepZ;
+                nextZ += deltaZ;
+            }
+        }
+    }
+
+    private Entry find(long low, long high, boolean allowTransparentBlocks) {
+        Entry[] entries = table;
+        int mask = entries.length - 1;
+        int slot = hash(low, high, allowTransparentBlocks) & mask;
+        Entry entry;
+        while ((entry = entries[slot]) != null) {
+            if (entry.low == low && entry.high == high && entry.allowTransparentBlocks == allowTransparentBlocks) {
+                return entry;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    private void insert(Entry entry) {
+        Entry[] entries = table;
+        if ((size + 1) * 2 > entries.length) {
+            entries = rehash(entries, entries.length * 2, Long.MIN_VALUE);
+        }
+        place(entries, entry);
+        size++;
+        table = entries; // Volatile write, publishes the filled entry
+    }
+
+    /**
+     * Drops entries not queried since the given tick.
+     */
+    private void evict(long unusedSince) {
+        int capacity = table.length;
+        while (capacity > 256 && size * 8 < capacity) {
+            capacity >>= 1;
+        }
+        table = rehash(table, capacity, unusedSince);
+    }
+
+    private Entry[] rehash(Entry[] entries, int capacity, long unusedSince) {
+        Entry[] resized = new Entry[capacity];
+        int kept = 0;
+        for (Entry entry : entries) {
+            if (entry != null && entry.lastUsed >= unusedSince) {
+                place(resized, entry);
+                kept++;
+            }
+        }
+        size = kept;
+        return resized;
+    }
+
+    private static void place(Entry[] entries, Entry entry) {
+        int mask = entries.length - 1;
+        int slot = hash(entry.low, entry.high, entry.allowTransparentBlocks) & mask;
+        while (entries[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        entries[slot] = entry;
+    }
+
+    private static int hash(long low, long high, boolean allowTransparentBlocks) {
+        long h = (low * 0x9E3779B97F4A7C15L) ^ (high * 0xC2B2AE3D27D4EB4FL);
+        return (int) (h ^ (h >>> 29)) ^ (allowTransparentBlocks ? 0x5BD1E995 : 0);
+    }
+
+    private static long cellOf(Vec3d pos) {
+        return BlockPos.asLong(MathHelper.floor(pos.x), MathHelper.floor(pos.y), MathHelper.floor(pos.z));
+    }
+
+    /**
+     * A queued visibility request.
+     */
+    private record Request(Vec3d from, Vec3d to, boolean allowTransparentBlocks) {
+    }
+
+    /**
+     * Cached visibility of a cell pair.
+     */
+    private static final class Entry {
+        final long low;
+        final long high;
+        final boolean allowTransparentBlocks;
+        volatile Result result; // Replaced whole, so readers never see a half-written one
+        volatile boolean queued;
+        volatile long lastUsed;
+        long servedFlush;
+
+        Entry(long low, long high, boolean allowTransparentBlocks) {
+            this.low = low;
+            this.high = high;
+            this.allowTransparentBlocks = allowTransparentBlocks;
+        }
+    }
+
+    /**
+     * A raycast result and the chunk versions it was computed at.
+     *
+     * @param buckets Change buckets of the chunks crossed, or null if the ray crossed too many to track
+     */
+    private record Result(boolean visible, int[] buckets, long[] versions) {
+        boolean isCurrent(ChunkChangeTracker changes) {
+            if (buckets == null) {
+                return false;
+            }
+            for (int i = 0; i < buckets.length; i++) {
+                if (changes.getBucketVersion(buckets[i]) != versions[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.gerefloc45.voidapi.api.perception;
+
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.WorldChunk;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-world map of the chunks that are fully loaded, kept from chunk load and
+ * unload events. Vanilla only hands out chunks on the server thread and
+ * serves other threads through its task queue; this map lets perception
+ * caches and brain decision workers read loaded chunks directly while the
+ * server thread waits for them, without ever loading one.
+ * <p>
+ * Lookups are lock-free and can be made from any thread.
+ *
+ * @author VoidAPI Framework
+ * @version 0.8.0
+ */
+public final class LoadedChunks {
+    private static final Map<World, LoadedChunks> MAPS = new ConcurrentHashMap<>();
+
+    private final Map<Long, WorldChunk> chunks = new ConcurrentHashMap<>();
+
+    private LoadedChunks() {
+    }
+
+    /**
+     * Gets the loaded chunk map of a world, creating it on first use.
+     *
+     * @param world The world
+     * @return The world's map
+     */
+    public static LoadedChunks of(World world) {
+        return MAPS.computeIfAbsent(world, w -> new LoadedChunks());
+    }
+
+    /**
+     * Drops the map of an unloaded world.
+     *
+     * @param world The world
+     */
+    public static void remove(World world) {
+        MAPS.remove(world);
+    }
+
+    /**
+     * Records a chunk that finished loading.
+     *
+     * @param chunk The chunk
+     */
+    public void onLoad(WorldChunk chunk) {
+        chunks.put(key(chunk.getPos().x, chunk.getPos().z), chunk);
+    }
+
+    /**
+     * Forgets a chunk that is being unloaded.
+     *
+     * @param chunk The chunk
+     */
+    public void onUnload(WorldChunk chunk) {
+        chunks.remove(key(chunk.getPos().x, chunk.getPos().z), chunk);
+    }
+
+    /**
+     * Gets a chunk if it is loaded.
+     *
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     * @return The chunk, or null if it is not loaded
+     */
+    public WorldChunk get(int chunkX, int chunkZ) {
+        return chunks.get(key(chunkX, chunkZ));
+    }
+
+    private static long key(int chunkX, int chunkZ) {
+        return (long) chunkX << 32 | (chunkZ & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,398 @@
+package com.gerefloc45.voidapi.api.perception;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.BlockView;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-world occlusion bitsets for fast visibility checks.
+ * Each 16x16x16 chunk section is summarized as 4096 bits, one per block, set
+ * where the block blocks sight (see {@link #occludes}). Sections are built
+ * lazily from the chunk's block palette the first time a ray crosses them and
+ * are kept up to date from block change events, so {@link #isClear} only walks
+ * bits instead of running a vanilla raycast with shape and fluid queries.
+ * <p>
+ * Opaque full cubes block any ray that enters them. Other solid blocks that
+ * are not full cubes (slabs, stairs, walls, see {@link #occludesPartially})
+ * are marked in a second set of bits, which sections without them leave out;
+ * a ray entering one is tested against the block's collision shape, as a
+ * vanilla collider raycast would. See-through blocks (glass, leaves) never
+ * block sight.
+ * <p>
+ * Queries are safe from worker threads; changes are applied on the server thread.
+ *
+ * @author VoidAPI Framework
+ * @version 0.8.0
+ */
+public final class OcclusionGrid {
+    private static final Map<World, OcclusionGrid> GRIDS = new ConcurrentHashMap<>();
+    private static final long[] EMPTY = new long[0]; // Section without occluding blocks
+    private static final int WORDS = 4096 / 64; // Per set of bits
+
+    private final World world;
+    private final ChunkChangeTracker changes;
+    private final Map<Long, long[]> sections = new ConcurrentHashMap<>();
+    private final SectionSource source = new SectionSource() {
+        @Override
+        public long[] get(int sectionX, int sectionY, int sectionZ) {
+            return getSection(sectionX, sectionY, sectionZ);
+        }
+
+        @Override
+        public boolean hitsShape(int x, int y, int z, Vec3d from, Vec3d to) {
+            return OcclusionGrid.this.hitsShape(x, y, z, from, to);
+        }
+    };
+
+    /**
+     * Supplies the occlusion bits of chunk sections to a traversal.
+     */
+    interface SectionSource {
+        /**
+         * Gets the bits of a section, indexed {@code y << 8 | z << 4 | x}: the
+         * full occluders, followed by the partial occluders if there are any.
+         *
+         * @return The bits, or null if the section is not loaded
+         */
+        long[] get(int sectionX, int sectionY, int sectionZ);
+
+        /**
+         * Checks if a segment hits the collision shape of a partial occluder.
+         *
+         * @return True if the block is in the way
+         */
+        boolean hitsShape(int x, int y, int z, Vec3d from, Vec3d to);
+    }
+
+    private OcclusionGrid(World world) {
+        this.world = world;
+        this.changes = ChunkChangeTracker.of(world);
+    }
+
+    /**
+     * Gets the occlusion grid of a world, creating it on first use.
+     *
+     * @param world The world
+     * @return The world's grid
+     */
+    public static OcclusionGrid of(World world) {
+        return GRIDS.computeIfAbsent(world, OcclusionGrid::new);
+    }
+
+    /**
+     * Drops the grid of an unloaded world.
+     *
+     * @param world The world
+     */
+    public static void remove(World world) {
+        GRIDS.remove(world);
+    }
+
+    /**
+     * Applies a block change to the world's grid, if it has one.
+     *
+     * @param world The world
+     * @param pos   The changed block position
+     * @param state The new block state
+     */
+    public static void onBlockChanged(World world, BlockPos pos, BlockState state) {
+        OcclusionGrid grid = GRIDS.get(world);
+        if (grid != null) {
+            grid.update(pos, state);
+        }
+    }
+
+    /**
+     * Drops the cached sections of a chunk, e.g. when it is loaded or unloaded.
+     *
+     * @param world  The world
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     */
+    public static void invalidateChunk(World world, int chunkX, int chunkZ) {
+        OcclusionGrid grid = GRIDS.get(world);
+        if (grid == null) {
+            return;
+        }
+        for (int sy = world.getBottomSectionCoord(); sy < world.getTopSectionCoord(); sy++) {
+            grid.sections.remove(ChunkSectionPos.asLong(chunkX, sy, chunkZ));
+        }
+    }
+
+    /**
+     * Checks if a block state blocks sight: an opaque full cube that is not
+     * trivially breakable.
+     *
+     * @param state The block state
+     * @param world The world
+     * @param pos   The block position
+     * @return True if the block blocks sight
+     */
+    public static boolean occludes(BlockState state, BlockView world, BlockPos pos) {
+        return state.isOpaqueFullCube(world, pos) && state.getBlock().getBlastResistance() >= 0.5f;
+    }
+
+    /**
+     * Checks if a block state blocks sight only where a ray hits its collision
+     * shape: an opaque block that is not trivially breakable but is not a full
+     * cube, such as a stone slab, stairs or a wall.
+     *
+     * @param state The block state
+     * @param world The world
+     * @param pos   The block position
+     * @return True if the block partially blocks sight
+     */
+    public static boolean occludesPartially(BlockState state, BlockView world, BlockPos pos) {
+        return state.isOpaque() && !state.isOpaqueFullCube(world, pos) && state.getBlock().getBlastResistance() >= 0.5f;
+    }
+
+    /**
+     * Checks if nothing blocks sight between two points, walking every block the
+     * segment passes through (Amanatides-Woo voxel traversal). Both end blocks
+     * are included. Blocks in unloaded chunks count as occluding.
+     *
+     * @param from Start point
+     * @param to   End point
+     * @return True if the segment is clear
+     */
+    public boolean isClear(Vec3d from, Vec3d to) {
+        return isClear(from, to, world.getBottomY(), world.getTopY(), source);
+    }
+
+    /**
+     * Walks a segment over sections from any source, see {@link #isClear(Vec3d, Vec3d)}.
+     *
+     * @param bottomY Lowest block Y that has sections
+     * @param topY    Block Y above the highest section
+     */
+    static boolean isClear(Vec3d from, Vec3d to, int bottomY, int topY, SectionSource sections) {
+        int x = MathHelper.floor(from.x);
+        int y = MathHelper.floor(from.y);
+        int z = MathHelper.floor(from.z);
+        int endX = MathHelper.floor(to.x);
+        int endY = MathHelper.floor(to.y);
+        int endZ = MathHelper.floor(to.z);
+
+        double dx = to.x - from.x;
+        double dy = to.y - from.y;
+        double dz = to.z - from.z;
+        int stepX = Integer.signum(endX - x);
+        int stepY = Integer.signum(endY - y);
+        int stepZ = Integer.signum(endZ - z);
+        double deltaX = stepX != 0 ? Math.abs(1.0 / dx) : Double.POSITIVE_INFINITY;
+        double deltaY = stepY != 0 ? Math.abs(1.0 / dy) : Double.POSITIVE_INFINITY;
+        double deltaZ = stepZ != 0 ? Math.abs(1.0 / dz) : Double.POSITIVE_INFINITY;
+        double maxX = boundary(stepX, from.x, x, deltaX);
+        double maxY = boundary(stepY, from.y, y, deltaY);
+        double maxZ = boundary(stepZ, from.z, z, deltaZ);
+
+        long sectionKey = Long.MIN_VALUE;
+        long[] bits = null;
+        int remaining = Math.abs(endX - x) + Math.abs(endY - y) + Math.abs(endZ - z);
+        while (true) {
+            if (y >= bottomY && y < topY) {
+                long key = ChunkSectionPos.asLong(x >> 4, y >> 4, z >> 4);
+                if (key != sectionKey) {
+                    sectionKey = key;
+                    bits = sections.get(x >> 4, y >> 4, z >> 4);
+                    if (bits == null) {
+                        return false; // Unloaded
+                    }
+                }
+                if (bits != EMPTY) {
+                    int index = (y & 15) << 8 | (z & 15) << 4 | (x & 15);
+                    long bit = 1L << index;
+                    if ((bits[index >>> 6] & bit) != 0) {
+                        return false;
+                    }
+                    if (bits.length > WORDS && (bits[WORDS + (index >>> 6)] & bit) != 0
+                            && sections.hitsShape(x, y, z, from, to)) {
+                        return false;
+                    }
+                }
+            }
+            if (remaining-- == 0) {
+                return true;
+            }
+
+            // Step along the axis whose next boundary is closest; axes already at
+            // their end block are never stepped, whatever rounding says
+            if (maxX <= maxY && maxX <= maxZ) {
+                x += stepX;
+                maxX = x == endX ? Double.POSITIVE_INFINITY : maxX + deltaX;
+            } else if (maxY <= maxZ) {
+                y += stepY;
+                maxY = y == endY ? Double.POSITIVE_INFINITY : maxY + deltaY;
+            } else {
+                z += stepZ;
+                maxZ = z == endZ ? Double.POSITIVE_INFINITY : maxZ + deltaZ;
+            }
+        }
+    }
+
+    /**
+     * Checks if the block at a position blocks sight from every direction.
+     *
+     * @param pos The block position
+     * @return True if a full occluder, or if the chunk is not loaded
+     */
+    public boolean isOccluding(BlockPos pos) {
+        int x = pos.getX();
+        int y = pos.getY();
+        int z = pos.getZ();
+        if (y < world.getBottomY() || y >= world.getTopY()) {
+            return false;
+        }
+        long[] bits = getSection(x >> 4, y >> 4, z >> 4);
+        if (bits == null) {
+            return true;
+        }
+        int index = (y & 15) << 8 | (z & 15) << 4 | (x & 15);
+        return bits != EMPTY && (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Gets the number of sections currently cached.
+     *
+     * @return Cached section count
+     */
+    public int getSectionCount() {
+        return sections.size();
+    }
+
+    /**
+     * Gets the ray parameter at which a segment first crosses a block boundary
+     * along one axis.
+     */
+    private static double boundary(int step, double start, int block, double delta) {
+        if (step > 0) {
+            return (block + 1 - start) * delta;
+        }
+        if (step < 0) {
+            return (start - block) * delta;
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+    private void update(BlockPos pos, BlockState state) {
+        int x = pos.getX();
+        int y = pos.getY();
+        int z = pos.getZ();
+        long key = ChunkSectionPos.asLong(x >> 4, y >> 4, z >> 4);
+        long[] bits = sections.get(key);
+        if (bits == null) {
+            return; // Built with the change when first needed
+        }
+
+        boolean full = occludes(state, world, pos);
+        boolean partial = !full && occludesPartially(state, world, pos);
+        if (bits == EMPTY && (full || partial)) {
+            bits = new long[partial ? WORDS * 2 : WORDS];
+            sections.put(key, bits);
+        } else if (partial && bits.length == WORDS) {
+            bits = Arrays.copyOf(bits, WORDS * 2);
+            sections.put(key, bits);
+        }
+        if (bits == EMPTY) {
+            return;
+        }
+
+        int index = (y & 15) << 8 | (z & 15) << 4 | (x & 15);
+        long bit = 1L << index;
+        bits[index >>> 6] = full ? bits[index >>> 6] | bit : bits[index >>> 6] & ~bit;
+        if (bits.length > WORDS) {
+            int word = WORDS + (index >>> 6);
+            bits[word] = partial ? bits[word] | bit : bits[word] & ~bit;
+        }
+    }
+
+    /**
+     * Tests a segment against the collision shape of the block at a position.
+     */
+    private boolean hitsShape(int x, int y, int z, Vec3d from, Vec3d to) {
+        WorldChunk chunk = getLoadedChunk(world, x >> 4, z >> 4);
+        if (chunk == null) {
+            return true; // Unloaded since its section was built
+        }
+        BlockPos pos = new BlockPos(x, y, z);
+        return chunk.getBlockState(pos).getCollisionShape(chunk, pos).raycast(from, to, pos) != null;
+    }
+
+    private long[] getSection(int sectionX, int sectionY, int sectionZ) {
+        long key = ChunkSectionPos.asLong(sectionX, sectionY, sectionZ);
+        long[] bits = sections.get(key);
+        if (bits != null) {
+            return bits;
+        }
+
+        WorldChunk chunk = getLoadedChunk(world, sectionX, sectionZ);
+        if (chunk == null) {
+            return null;
+        }
+        long version = changes.getVersion(sectionX, sectionZ);
+        bits = build(chunk.getSection(sectionY - world.getBottomSectionCoord()), sectionX, sectionY, sectionZ);
+
+        // A block change during the build may have been missed; use the result
+        // for this query only and rebuild next time
+        if (sections.putIfAbsent(key, bits) == null
+                && changes.getVersion(sectionX, sectionZ) != version) {
+            sections.remove(key, bits);
+        }
+        return bits;
+    }
+
+    private long[] build(ChunkSection section, int sectionX, int sectionY, int sectionZ) {
+        // The palette tells whether any opaque state is present without visiting blocks
+        if (section.isEmpty() || !section.getBlockStateContainer().hasAny(BlockState::isOpaque)) {
+            return EMPTY;
+        }
+
+        long[] bits = new long[WORDS];
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        int baseX = ChunkSectionPos.getBlockCoord(sectionX);
+        int baseY = ChunkSectionPos.getBlockCoord(sectionY);
+        int baseZ = ChunkSectionPos.getBlockCoord(sectionZ);
+        for (int index = 0; index < 4096; index++) {
+            int x = index & 15;
+            int z = (index >> 4) & 15;
+            int y = index >> 8;
+            BlockState state = section.getBlockState(x, y, z);
+            if (!state.isOpaque()) {
+                continue;
+            }
+            pos.set(baseX + x, baseY + y, baseZ + z);
+            if (occludes(state, world, pos)) {
+                bits[index >>> 6] |= 1L << index;
+            } else if (occludesPartially(state, world, pos)) {
+                if (bits.length == WORDS) {
+                    bits = Arrays.copyOf(bits, WORDS * 2);
+                }
+                bits[WORDS + (index >>> 6)] |= 1L << index;
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Gets a chunk only if it is already loaded, without blocking on the server
+     * thread. Server worlds answer from {@link LoadedChunks}, since vanilla only
+     * hands out chunks on the server thread.
+     */
+    static WorldChunk getLoadedChunk(World world, int chunkX, int chunkZ) {
+        if (world instanceof ServerWorld) {
+            return LoadedChunks.of(world).get(chunkX, chunkZ);
+        }
+        return world.isChunkLoaded(chunkX, chunkZ) ? world.getChunk(chunkX, chunkZ) : null;
+    }
+}
@@ -0,0 +1,185 @@
+package com.gerefloc45.voidapi.api.perception;
+
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shares one perception scan between nearby allied entities.
+ * Sensors opted into a group (see {@link EntitySensor#setPerceptionGroup} and
+ * {@link LineOfSightSensor#setPerceptionGroup}) ask it for their candidates.
+ * The first member to ask becomes the representative of a cluster: it scans
+ * with its range widened by the cluster radius and the result is kept for the
+ * sensor's update interval. Later members within the cluster radius reuse that
+ * result and apply their own range, filter and vision cone to it, so a pack
+ * runs roughly one scan instead of one per member. Clusters form and dissolve
+ * from proximity alone; no membership has to be managed.
+ * <p>
+ * Results shared by a {@link LineOfSightSensor} group are visibility checks
+ * made from the representative's eyes, which is an approximation for members
+ * standing close by. Use one group per sensor configuration (entity type and
+ * line-of-sight mode). Groups are safe to use from sensor worker threads, and
+ * drop their clusters of a world when it unloads.
+ *
+ * <pre>{@code
+ * PerceptionGroup<PlayerEntity> pack = new PerceptionGroup<>(6.0);
+ * for (WolfEntity wolf : wolves) {
+ *     SensorManager sensors = new SensorManager();
+ *     sensors.addSensor(new LineOfSightSensor<>(PlayerEntity.class, 24.0, "prey")
+ *         .setPerceptionGroup(pack));
+ *     BrainController.getInstance().attachSensors(wolf, sensors);
+ * }
+ * }</pre>
+ *
+ * @param <T> The type of entity perceived
+ * @author VoidAPI Framework
+ * @version 0.8.0
+ */
+public final class PerceptionGroup<T extends LivingEntity> {
+    // Live groups, so world unloads reach them; groups nobody uses any more are collected
+    private static final Set<PerceptionGroup<?>> GROUPS = Collections.newSetFromMap(new WeakHashMap<>());
+
+    private final double clusterRadius;
+    private final Map<World, List<Cluster<T>>> clusters = new ConcurrentHashMap<>();
+    // Incremented under different per-world locks
+    private final LongAdder scanCount = new LongAdder();
+    private final LongAdder sharedCount = new LongAdder();
+
+    /**
+     * A scan performed by a cluster's representative.
+     *
+     * @param <T> The type of entity perceived
+     */
+    @FunctionalInterface
+    public interface Scan<T> {
+        /**
+         * Finds candidate entities around the representative.
+         *
+         * @param representative The entity scanning for the cluster
+         * @param range          Scan range, already widened by the cluster radius
+         * @return The candidates; may include the representative itself
+         */
+        List<T> scan(LivingEntity representative, double range);
+    }
+
+    /**
+     * Creates a perception group.
+     *
+     * @param clusterRadius Maximum distance from a representative for a member to share its scan
+     */
+    public PerceptionGroup(double clusterRadius) {
+        this.clusterRadius = Math.max(0.0, clusterRadius);
+        synchronized (GROUPS) {
+            GROUPS.add(this);
+        }
+    }
+
+    /**
+     * Drops the clusters every group keeps for an unloaded world, which would
+     * otherwise hold on to the world and its entities.
+     *
+     * @param world The world
+     */
+    public static void removeAll(World world) {
+        synchronized (GROUPS) {
+            for (PerceptionGroup<?> group : GROUPS) {
+                group.clear(world);
+            }
+        }
+    }
+
+    /**
+     * Gets the candidates for a member, reusing a nearby representative's scan
+     * if one is recent and wide enough, or scanning as a new representative.
+     * The candidates are not filtered by the member's range.
+     *
+     * @param member      The member asking
+     * @param range       The member's sensor range
+     * @param maxAgeTicks How long a scan may be reused, usually the sensor's update frequency
+     * @param scan        The scan to run if the member becomes a representative
+     * @return Unmodifiable candidate list
+     */
+    public List<T> getCandidates(LivingEntity member, double range, int maxAgeTicks, Scan<T> scan) {
+        World world = member.getWorld();
+        long now = world.getTime();
+        Vec3d pos = member.getPos();
+        List<Cluster<T>> worldClusters = clusters.computeIfAbsent(world, w -> new ArrayList<>());
+
+        synchronized (worldClusters) {
+            for (int i = worldClusters.size() - 1; i >= 0; i--) {
+                Cluster<T> cluster = worldClusters.get(i);
+                if (now - cluster.tick() >= Math.max(1, maxAgeTicks) || now < cluster.tick()) {
+                    continue;
+                }
+                // The scan covers the member's range if it reaches past it from the anchor
+                double distance = cluster.anchor().distanceTo(pos);
+                if (distance <= clusterRadius && cluster.range() >= range + distance) {
+                    sharedCount.increment();
+                    return cluster.candidates();
+                }
+            }
+        }
+
+        // Become the representative of a new cluster; one extra block covers
+        // members whose block-aligned scan box starts in a neighbouring block
+        double scanRange = range + clusterRadius + 1.0;
+        List<T> candidates = Collections.unmodifiableList(new ArrayList<>(scan.scan(member, scanRange)));
+        synchronized (worldClusters) {
+            worldClusters.removeIf(cluster -> now - cluster.tick() >= Math.max(1, maxAgeTicks) || now < cluster.tick());
+            worldClusters.add(new Cluster<>(pos, scanRange, now, candidates));
+            scanCount.increment();
+        }
+        return candidates;
+    }
+
+    /**
+     * Drops the clusters of a world.
+     *
+     * @param world The world
+     */
+    public void clear(World world) {
+        clusters.remove(world);
+    }
+
+    /**
+     * Gets the cluster radius.
+     *
+     * @return Radius in blocks
+     */
+    public double getClusterRadius() {
+        return clusterRadius;
+    }
+
+    /**
+     * Gets the number of scans run by representatives.
+     *
+     * @return Scan count
+     */
+    public long getScanCount() {
+        return scanCount.sum();
+    }
+
+    /**
+     * Gets the number of times a member reused a representative's scan.
+     *
+     * @return Shared result count
+     */
+    public long getSharedCount() {
+        return sharedCount.sum();
+    }
+
+    /**
+     * A representative's scan and where it was made.
+     */
+    private record Cluster<T>(Vec3d anchor, double range, long tick, List<T> candidates) {
+    }
+}
@@ -2,6 +2,7 @@ package com.gerefloc45.voidapi.api.perception;
 
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
 
 import java.util.*;
 
@@ -9,15 +10,47 @@ import java.util.*;
  * Memory system for storing perceived entities and their information.
  * Entities are remembered even after they leave sensor range.
  * Enhanced with memory degradation, importance levels, and confidence tracking.
- * 
+ * <p>
+ * Memories are stored in parallel arrays indexed by slot, with an open-addressed
+ * table from entity UUID to slot. Times are world ticks taken from the
+ * remembered entities' world, and confidence is computed from a memory's age
+ * when it is read, using a precomputed decay curve. Slots are kept ordered by
+ * threat and by importance as memories are refreshed, so the highest-ranked
+ * memories are visited without sorting; the most confident ones are selected
+ * with a bounded heap. The {@code forEach} methods allocate nothing.
+ *
  * @author VoidAPI Framework
- * @version 0.7.0
+ * @version 0.8.0
  */
 public class PerceptionMemory {
-    private final Map<UUID, MemoryEntry> memories;
-    private final float decayTimeSeconds;
-    private final DecayMode decayMode;
+    private static final int CURVE_SAMPLES = 256;
+    private static final float MIN_CONFIDENCE = 0.05f;
+
     private final boolean useImportanceRetention;
+    private final float decayTicks;
+    private final float[] curve; // Confidence by decay progress, CURVE_SAMPLES + 1 samples
+
+    private World world; // Tick source, from the last remembered entity
+
+    // Memories, slots 0 to size - 1
+    private UUID[] uuids;
+    private Vec3d[] positions;
+    private float[] threats;
+    private float[] importances;
+    private long[] lastSeenTicks;
+    private long[] firstSeenTicks;
+    private int[] refreshCounts;
+    private int size;
+
+    private int[] table; // Slot + 1 per UUID hash, 0 = empty; power-of-two length
+
+    // Threat and importance only grow while remembered, so refreshes just move slots up
+    private final SortedIndex byThreat = new SortedIndex();
+    private final SortedIndex byImportance = new SortedIndex();
+
+    // Scratch min-heap for confidence queries
+    private int[] heapSlots;
+    private float[] heapKeys;
 
     /**
      * Decay mode for memory degradation.
@@ -28,6 +61,25 @@ public class PerceptionMemory {
         LOGARITHMIC // Logarithmic decay (slower at first)
     }
 
+    /**
+     * Visits a memory without allocating.
+     */
+    @FunctionalInterface
+    public interface MemoryVisitor {
+        /**
+         * Visits one memory.
+         *
+         * @param entityUuid        UUID of the remembered entity
+         * @param lastKnownPosition Where the entity was last seen
+         * @param threatLevel       Threat level
+         * @param importance        Importance level
+         * @param confidence        Current confidence (0.0 to 1.0)
+         * @param ticksSinceSeen    Ticks since the entity was last seen
+         */
+        void visit(UUID entityUuid, Vec3d lastKnownPosition, float threatLevel,
+                float importance, float confidence, long ticksSinceSeen);
+    }
+
     /**
      * Creates a new perception memory with default settings.
      * Default: 10 second decay, linear mode, importance retention enabled
@@ -54,10 +106,10 @@ public class PerceptionMemory {
      */
     public PerceptionMemory(float decayTimeSeconds, DecayMode decayMode,
             boolean useImportanceRetention) {
-        this.memories = new HashMap<>();
-        this.decayTimeSeconds = decayTimeSeconds;
-        this.decayMode = decayMode;
         this.useImportanceRetention = useImportanceRetention;
+        this.decayTicks = decayTimeSeconds * 20.0f;
+        this.curve = buildCurve(decayMode);
+        allocate(8);
     }
 
     /**
@@ -78,18 +130,28 @@ public class PerceptionMemory {
      * @param importance  Importance level (0.0 to 1.0) - affects retention
      */
     public void remember(LivingEntity entity, float threatLevel, float importance) {
+        world = entity.getWorld();
+        long now = world.getTime();
         UUID uuid = entity.getUuid();
-        long currentTime = System.currentTimeMillis();
         Vec3d position = entity.getPos();
 
-        MemoryEntry entry = memories.get(uuid);
-        if (entry == null) {
-            entry = new MemoryEntry(entity, position, threatLevel, importance, currentTime);
-        } else {
-            entry.refresh(position, threatLevel, importance, currentTime);
+        int slot = find(uuid);
+        if (slot < 0) {
+            add(uuid, position, threatLevel, Math.max(0.0f, Math.min(1.0f, importance)), now);
+            return;
         }
 
-        memories.put(uuid, entry);
+        positions[slot] = position;
+        if (threatLevel > threats[slot]) { // Keep highest threat
+            threats[slot] = threatLevel;
+            byThreat.raise(slot, threats);
+        }
+        if (importance > importances[slot]) { // Keep highest importance
+            importances[slot] = importance;
+            byImportance.raise(slot, importances);
+        }
+        lastSeenTicks[slot] = now;
+        refreshCounts[slot]++;
     }
 
     /**
@@ -98,33 +160,115 @@ public class PerceptionMemory {
      * @param entityUuid The entity UUID to forget
      */
     public void forget(UUID entityUuid) {
-        memories.remove(entityUuid);
+        int slot = find(entityUuid);
+        if (slot >= 0) {
+            removeSlot(slot);
+        }
     }
 
     /**
-     * Gets a memory entry for an entity.
+     * Checks if an entity is remembered.
+     *
+     * @param entityUuid The entity UUID
+     * @return True if remembered
+     */
+    public boolean isRemembered(UUID entityUuid) {
+        return find(entityUuid) >= 0;
+    }
+
+    /**
+     * Gets a snapshot of the memory of an entity.
      *
      * @param entityUuid The entity UUID
      * @return Optional containing the memory entry
      */
     public Optional<MemoryEntry> getMemory(UUID entityUuid) {
-        MemoryEntry entry = memories.get(entityUuid);
-        if (entry != null) {
-            entry.updateConfidence(decayTimeSeconds, decayMode);
+        int slot = find(entityUuid);
+        return slot >= 0 ? Optional.of(snapshot(slot, now())) : Optional.empty();
+    }
+
+    /**
+     * Visits every memory, in no particular order.
+     *
+     * @param visitor The visitor
+     */
+    public void forEach(MemoryVisitor visitor) {
+        long now = now();
+        for (int slot = 0; slot < size; slot++) {
+            visit(slot, now, confidence(slot, now), visitor);
+        }
+    }
+
+    /**
+     * Visits the memories with the highest threat, highest first.
+     *
+     * @param limit   Maximum number of memories to visit
+     * @param visitor The visitor
+     */
+    public void forEachByThreat(int limit, MemoryVisitor visitor) {
+        visitOrdered(byThreat, limit, visitor);
+    }
+
+    /**
+     * Visits the memories with the highest importance, highest first.
+     *
+     * @param limit   Maximum number of memories to visit
+     * @param visitor The visitor
+     */
+    public void forEachByImportance(int limit, MemoryVisitor visitor) {
+        visitOrdered(byImportance, limit, visitor);
+    }
+
+    /**
+     * Visits the memories with the highest confidence, highest first.
+     * Selects them in O(n log limit) without sorting all memories.
+     * The visitor must not call back into this memory's {@code forEach} methods.
+     *
+     * @param limit   Maximum number of memories to visit
+     * @param visitor The visitor
+     */
+    public void forEachByConfidence(int limit, MemoryVisitor visitor) {
+        long now = now();
+        int k = Math.min(limit, size);
+        if (k <= 0) {
+            return;
+        }
+
+        int count = 0;
+        for (int slot = 0; slot < size; slot++) {
+            float confidence = confidence(slot, now);
+            if (count < k) {
+                heapSlots[count] = slot;
+                heapKeys[count] = confidence;
+                siftUp(count++);
+            } else if (confidence > heapKeys[0]) {
+                heapSlots[0] = slot;
+                heapKeys[0] = confidence;
+                siftDown(0, count);
+            }
+        }
+
+        // Heapsort the min-heap in place, leaving it highest first
+        for (int end = count - 1; end > 0; end--) {
+            swap(0, end);
+            siftDown(0, end);
+        }
+        for (int i = 0; i < count; i++) {
+            visit(heapSlots[i], now, heapKeys[i], visitor);
         }
-        return Optional.ofNullable(entry);
     }
 
     /**
      * Gets all remembered entities.
+     * Allocates a snapshot per memory; prefer {@link #forEach} in per-tick code.
      *
      * @return List of all memory entries
      */
     public List<MemoryEntry> getAllMemories() {
-        List<MemoryEntry> result = new ArrayList<>();
-        for (MemoryEntry entry : memories.values()) {
-            entry.updateConfidence(decayTimeSeconds, decayMode);
-            result.add(entry);
+        long now = now();
+        List<MemoryEntry> result = new ArrayList<>(size);
+        for (int slot = 0; slot < size; slot++) {
+            result.add(snapshot(slot, now));
         }
         return result;
     }
@@ -135,9 +279,7 @@ public class PerceptionMemory {
      * @return List of memory entries sorted by threat (highest first)
      */
     public List<MemoryEntry> getMemoriesByThreat() {
-        List<MemoryEntry> sorted = getAllMemories();
-        sorted.sort((a, b) -> Float.compare(b.threatLevel, a.threatLevel));
-        return sorted;
+        return snapshots(byThreat);
     }
 
     /**
@@ -146,9 +288,11 @@ public class PerceptionMemory {
      * @return List of memory entries sorted by confidence (highest first)
      */
     public List<MemoryEntry> getMemoriesByConfidence() {
-        List<MemoryEntry> sorted = getAllMemories();
-        sorted.sort((a, b) -> Float.compare(b.getConfidence(), a.getConfidence()));
-        return sorted;
+        List<MemoryEntry> result = new ArrayList<>(size);
+        long now = now();
+        forEachByConfidence(size, (uuid, position, threat, importance, confidence, ticks) ->
+                result.add(snapshot(find(uuid), now)));
+        return result;
     }
 
     /**
@@ -157,9 +301,7 @@ public class PerceptionMemory {
      * @return List of memory entries sorted by importance (highest first)
      */
     public List<MemoryEntry> getMemoriesByImportance() {
-        List<MemoryEntry> sorted = getAllMemories();
-        sorted.sort((a, b) -> Float.compare(b.importance, a.importance));
-        return sorted;
+        return snapshots(byImportance);
     }
 
     /**
@@ -167,29 +309,33 @@ public class PerceptionMemory {
      * Considers importance levels if enabled.
      */
     public void update() {
-        long currentTime = System.currentTimeMillis();
-        memories.entrySet().removeIf(entry -> {
-            MemoryEntry memoryEntry = entry.getValue();
-            memoryEntry.updateConfidence(decayTimeSeconds, decayMode);
-
-            float elapsedSeconds = (currentTime - memoryEntry.lastSeenTime) / 1000.0f;
-            float effectiveDecayTime = decayTimeSeconds;
+        long now = now();
+        // Backwards, so the slot moved into a removed one has already been checked
+        for (int slot = size - 1; slot >= 0; slot--) {
+            float effectiveDecayTicks = decayTicks;
 
             // Extend decay time for important memories
             if (useImportanceRetention) {
-                effectiveDecayTime *= (1.0f + memoryEntry.importance);
+                effectiveDecayTicks *= (1.0f + importances[slot]);
             }
 
             // Remove if fully decayed and confidence is too low
-            return elapsedSeconds > effectiveDecayTime || memoryEntry.getConfidence() < 0.05f;
-        });
+            if (now - lastSeenTicks[slot] > effectiveDecayTicks || confidence(slot, now) < MIN_CONFIDENCE) {
+                removeSlot(slot);
+            }
+        }
     }
 
     /**
      * Clears all memories.
      */
     public void clear() {
-        memories.clear();
+        Arrays.fill(uuids, 0, size, null);
+        Arrays.fill(positions, 0, size, null);
+        Arrays.fill(table, 0);
+        byThreat.clear();
+        byImportance.clear();
+        size = 0;
     }
 
     /**
@@ -198,89 +344,326 @@ public class PerceptionMemory {
      * @return Memory count
      */
     public int getMemoryCount() {
-        return memories.size();
+        return size;
     }
 
-    /**
-     * Memory entry for a perceived entity.
-     * Enhanced with degradation, importance, and confidence tracking.
-     */
-    public static class MemoryEntry {
-        private final UUID entityUuid;
-        private Vec3d lastKnownPosition;
-        private float threatLevel;
-        private float importance;
-        private long lastSeenTime;
-        private long firstSeenTime;
-        private int refreshCount;
-        private float confidence; // 0.0 to 1.0, affected by time and refreshes
-
-        MemoryEntry(LivingEntity entity, Vec3d position, float threatLevel,
-                float importance, long time) {
-            this.entityUuid = entity.getUuid();
-            this.lastKnownPosition = position;
-            this.threatLevel = threatLevel;
-            this.importance = Math.max(0.0f, Math.min(1.0f, importance));
-            this.lastSeenTime = time;
-            this.firstSeenTime = time;
-            this.refreshCount = 1;
-            this.confidence = 1.0f;
-        }
+    private long now() {
+        return world != null ? world.getTime() : 0L;
+    }
 
-        /**
-         * Refreshes the memory with updated information.
-         *
-         * @param position    New position
-         * @param threatLevel New threat level
-         * @param importance  New importance level
-         * @param time        Current time
-         */
-        void refresh(Vec3d position, float threatLevel, float importance, long time) {
-            this.lastKnownPosition = position;
-            this.threatLevel = Math.max(this.threatLevel, threatLevel); // Keep highest threat
-            this.importance = Math.max(this.importance, importance); // Keep highest importance
-            this.lastSeenTime = time;
-            this.refreshCount++;
-            this.confidence = 1.0f; // Reset confidence on refresh
+    private float confidence(int slot, long now) {
+        long age = Math.max(0L, now - lastSeenTicks[slot]);
+        float progress = decayTicks > 0.0f ? Math.min(1.0f, age / decayTicks) : 1.0f;
+        float scaled = progress * CURVE_SAMPLES;
+        int sample = (int) scaled;
+        float confidence = sample >= CURVE_SAMPLES
+                ? curve[CURVE_SAMPLES]
+                : curve[sample] + (curve[sample + 1] - curve[sample]) * (scaled - sample);
+
+        // Boost confidence for frequently refreshed memories
+        if (refreshCounts[slot] > 1) {
+            confidence += Math.min(0.2f, refreshCounts[slot] * 0.02f);
         }
+        return Math.max(0.0f, Math.min(1.0f, confidence));
+    }
 
-        /**
-         * Updates the confidence level based on decay.
-         *
-         * @param decayTimeSeconds Decay time setting
-         * @param decayMode        Decay curve mode
-         */
-        void updateConfidence(float decayTimeSeconds, DecayMode decayMode) {
-            float elapsedSeconds = (System.currentTimeMillis() - lastSeenTime) / 1000.0f;
-            float decayProgress = Math.min(1.0f, elapsedSeconds / decayTimeSeconds);
-
+    private static float[] buildCurve(DecayMode decayMode) {
+        float[] curve = new float[CURVE_SAMPLES + 1];
+        for (int i = 0; i <= CURVE_SAMPLES; i++) {
+            float decayProgress = i / (float) CURVE_SAMPLES;
             switch (decayMode) {
                 case LINEAR:
-                    confidence = 1.0f - decayProgress;
+                    curve[i] = 1.0f - decayProgress;
                     break;
 
                 case EXPONENTIAL:
                     // Exponential decay: confidence = e^(-k*t)
-                    confidence = (float) Math.exp(-3.0 * decayProgress);
+                    curve[i] = (float) Math.exp(-3.0 * decayProgress);
                     break;
 
                 case LOGARITHMIC:
                     // Logarithmic decay: slower at first
-                    if (decayProgress < 0.01f) {
-                        confidence = 1.0f;
-                    } else {
-                        confidence = 1.0f - (float) (Math.log(1 + 9 * decayProgress) / Math.log(10));
-                    }
+                    curve[i] = decayProgress < 0.01f
+                            ? 1.0f
+                            : 1.0f - (float) (Math.log(1 + 9 * decayProgress) / Math.log(10));
                     break;
             }
+        }
+        return curve;
+    }
 
-            // Boost confidence for frequently refreshed memories
-            if (refreshCount > 1) {
-                float refreshBonus = Math.min(0.2f, refreshCount * 0.02f);
-                confidence = Math.min(1.0f, confidence + refreshBonus);
+    private void visit(int slot, long now, float confidence, MemoryVisitor visitor) {
+        visitor.visit(uuids[slot], positions[slot], threats[slot], importances[slot],
+                confidence, Math.max(0L, now - lastSeenTicks[slot]));
+    }
+
+    private void visitOrdered(SortedIndex index, int limit, MemoryVisitor visitor) {
+        long now = now();
+        int count = Math.min(limit, size);
+        for (int i = 0; i < count; i++) {
+            int slot = index.order[i];
+            visit(slot, now, confidence(slot, now), visitor);
+        }
+    }
+
+    private List<MemoryEntry> snapshots(SortedIndex index) {
+        long now = now();
+        List<MemoryEntry> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(snapshot(index.order[i], now));
+        }
+        return result;
+    }
+
+    private MemoryEntry snapshot(int slot, long now) {
+        return new MemoryEntry(uuids[slot], positions[slot], threats[slot], importances[slot],
+                lastSeenTicks[slot], firstSeenTicks[slot], refreshCounts[slot], confidence(slot, now), now);
+    }
+
+    private void add(UUID uuid, Vec3d position, float threatLevel, float importance, long now) {
+        if (size == uuids.length) {
+            allocate(size * 2);
+        }
+        int slot = size++;
+        uuids[slot] = uuid;
+        positions[slot] = position;
+        threats[slot] = threatLevel;
+        importances[slot] = importance;
+        lastSeenTicks[slot] = now;
+        firstSeenTicks[slot] = now;
+        refreshCounts[slot] = 1;
+        tablePut(uuid, slot);
+        byThreat.add(slot, threats);
+        byImportance.add(slot, importances);
+    }
+
+    /**
+     * Removes a slot by moving the last slot into it.
+     */
+    private void removeSlot(int slot) {
+        byThreat.remove(slot);
+        byImportance.remove(slot);
+        tableRemove(uuids[slot]);
+
+        int last = --size;
+        if (slot != last) {
+            uuids[slot] = uuids[last];
+            positions[slot] = positions[last];
+            threats[slot] = threats[last];
+            importances[slot] = importances[last];
+            lastSeenTicks[slot] = lastSeenTicks[last];
+            firstSeenTicks[slot] = firstSeenTicks[last];
+            refreshCounts[slot] = refreshCounts[last];
+            byThreat.relabel(last, slot);
+            byImportance.relabel(last, slot);
+            table[tableIndex(uuids[slot])] = slot + 1;
+        }
+        uuids[last] = null;
+        positions[last] = null;
+    }
+
+    private void allocate(int capacity) {
+        if (uuids == null) {
+            uuids = new UUID[capacity];
+            positions = new Vec3d[capacity];
+            threats = new float[capacity];
+            importances = new float[capacity];
+            lastSeenTicks = new long[capacity];
+            firstSeenTicks = new long[capacity];
+            refreshCounts = new int[capacity];
+        } else {
+            uuids = Arrays.copyOf(uuids, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+            threats = Arrays.copyOf(threats, capacity);
+            importances = Arrays.copyOf(importances, capacity);
+            lastSeenTicks = Arrays.copyOf(lastSeenTicks, capacity);
+            firstSeenTicks = Arrays.copyOf(firstSeenTicks, capacity);
+            refreshCounts = Arrays.copyOf(refreshCounts, capacity);
+        }
+        heapSlots = new int[capacity];
+        heapKeys = new float[capacity];
+        byThreat.ensureCapacity(capacity);
+        byImportance.ensureCapacity(capacity);
+
+        // Keep the table at most half full
+        table = new int[Integer.highestOneBit(capacity) * 4];
+        for (int slot = 0; slot < size; slot++) {
+            tablePut(uuids[slot], slot);
+        }
+    }
+
+    private int find(UUID uuid) {
+        int mask = table.length - 1;
+        for (int i = hash(uuid) & mask; table[i] != 0; i = (i + 1) & mask) {
+            if (uuids[table[i] - 1].equals(uuid)) {
+                return table[i] - 1;
             }
+        }
+        return -1;
+    }
 
-            confidence = Math.max(0.0f, Math.min(1.0f, confidence));
+    /**
+     * Gets the table index holding a remembered UUID.
+     */
+    private int tableIndex(UUID uuid) {
+        int mask = table.length - 1;
+        int i = hash(uuid) & mask;
+        while (!uuids[table[i] - 1].equals(uuid)) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private void tablePut(UUID uuid, int slot) {
+        int mask = table.length - 1;
+        int i = hash(uuid) & mask;
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = slot + 1;
+    }
+
+    private void tableRemove(UUID uuid) {
+        int mask = table.length - 1;
+        int hole = tableIndex(uuid);
+        table[hole] = 0;
+
+        // Shift later entries of the probe run back so lookups don't stop at the hole
+        for (int i = (hole + 1) & mask; table[i] != 0; i = (i + 1) & mask) {
+            int home = hash(uuids[table[i] - 1]) & mask;
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                table[hole] = table[i];
+                table[i] = 0;
+                hole = i;
+            }
+        }
+    }
+
+    private static int hash(UUID uuid) {
+        int h = uuid.hashCode() * 0x9E3779B1;
+        return h ^ (h >>> 16);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heapKeys[parent] <= heapKeys[i]) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i, int count) {
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= count) {
+                return;
+            }
+            if (child + 1 < count && heapKeys[child + 1] < heapKeys[child]) {
+                child++;
+            }
+            if (heapKeys[i] <= heapKeys[child]) {
+                return;
+            }
+            swap(i, child);
+            i = child;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int slot = heapSlots[a];
+        heapSlots[a] = heapSlots[b];
+        heapSlots[b] = slot;
+        float key = heapKeys[a];
+        heapKeys[a] = heapKeys[b];
+        heapKeys[b] = key;
+    }
+
+    /**
+     * Slots ordered by a value, highest first, with each slot's position.
+     * Values may only grow while a slot is in the index.
+     */
+    private static final class SortedIndex {
+        int[] order = new int[0];
+        int[] rank = new int[0];
+        int count;
+
+        void ensureCapacity(int capacity) {
+            order = Arrays.copyOf(order, capacity);
+            rank = Arrays.copyOf(rank, capacity);
+        }
+
+        void add(int slot, float[] values) {
+            order[count] = slot;
+            rank[slot] = count++;
+            raise(slot, values);
+        }
+
+        /**
+         * Moves a slot up after its value grew.
+         */
+        void raise(int slot, float[] values) {
+            int position = rank[slot];
+            float value = values[slot];
+            while (position > 0 && values[order[position - 1]] < value) {
+                order[position] = order[position - 1];
+                rank[order[position]] = position;
+                position--;
+            }
+            order[position] = slot;
+            rank[slot] = position;
+        }
+
+        void remove(int slot) {
+            int position = rank[slot];
+            System.arraycopy(order, position + 1, order, position, count - position - 1);
+            count--;
+            for (int i = position; i < count; i++) {
+                rank[order[i]] = i;
+            }
+        }
+
+        /**
+         * Renames a slot after it was moved.
+         */
+        void relabel(int from, int to) {
+            order[rank[from]] = to;
+            rank[to] = rank[from];
+        }
+
+        void clear() {
+            count = 0;
+        }
+    }
+
+    /**
+     * Snapshot of the memory of a perceived entity.
+     * Times are world ticks.
+     */
+    public static class MemoryEntry {
+        private final UUID entityUuid;
+        private final Vec3d lastKnownPosition;
+        private final float threatLevel;
+        private final float importance;
+        private final long lastSeenTime;
+        private final long firstSeenTime;
+        private final int refreshCount;
+        private final float confidence; // 0.0 to 1.0, affected by time and refreshes
+        private final long snapshotTime;
+
+        MemoryEntry(UUID entityUuid, Vec3d lastKnownPosition, float threatLevel, float importance,
+                long lastSeenTime, long firstSeenTime, int refreshCount, float confidence, long snapshotTime) {
+            this.entityUuid = entityUuid;
+            this.lastKnownPosition = lastKnownPosition;
+            this.threatLevel = threatLevel;
+            this.importance = importance;
+            this.lastSeenTime = lastSeenTime;
+            this.firstSeenTime = firstSeenTime;
+            this.refreshCount = refreshCount;
+            this.confidence = confidence;
+            this.snapshotTime = snapshotTime;
         }
 
         public UUID getEntityUuid() {
@@ -299,10 +682,20 @@ public class PerceptionMemory {
             return importance;
         }
 
+        /**
+         * Gets the world tick the entity was last seen at.
+         *
+         * @return World tick
+         */
         public long getLastSeenTime() {
             return lastSeenTime;
         }
 
+        /**
+         * Gets the world tick the entity was first seen at.
+         *
+         * @return World tick
+         */
         public long getFirstSeenTime() {
             return firstSeenTime;
         }
@@ -316,11 +709,11 @@ public class PerceptionMemory {
         }
 
         public float getTimeSinceLastSeen() {
-            return (System.currentTimeMillis() - lastSeenTime) / 1000.0f;
+            return Math.max(0L, snapshotTime - lastSeenTime) / 20.0f;
         }
 
         public float getTotalTimeKnown() {
-            return (System.currentTimeMillis() - firstSeenTime) / 1000.0f;
+            return Math.max(0L, snapshotTime - firstSeenTime) / 20.0f;
         }
 
         /**
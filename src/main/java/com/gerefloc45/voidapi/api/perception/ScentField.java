@@ -0,0 +1,370 @@
+package com.gerefloc45.voidapi.api.perception;
+
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * World-level scent field shared by all smell sensors.
+ * Scent markers are stored per chunk column in primitive arrays: position,
+ * source, channel, deposited strength and the tick of the last deposit.
+ * Channels separate the trails of different sensor configurations (see
+ * {@link #channel}); readers only smell their own channel. Decay is not
+ * applied by updating markers; readers compute the current strength from the
+ * marker's age and their own decay rate. Many sensors tracking the same entity
+ * therefore refresh one shared trail instead of keeping a copy each.
+ * <p>
+ * Markers older than the longest lifetime any reader has asked for are dropped
+ * in a periodic sweep by {@link com.gerefloc45.voidapi.core.BrainTicker}.
+ * Deposits and queries are safe from sensor worker threads.
+ *
+ * @author VoidAPI Framework
+ * @version 0.8.0
+ */
+public final class ScentField {
+    private static final Map<World, ScentField> FIELDS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Map<Predicate<?>, Integer>> CHANNELS = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_CHANNEL = new AtomicInteger();
+    private static final int MAX_MARKERS_PER_CHUNK = 256;
+    private static final long SWEEP_INTERVAL_TICKS = 20;
+    private static final float MIN_STRENGTH = 0.05f; // Weaker scents are not reported
+
+    private final World world;
+    private final Map<Long, ScentChunk> chunks = new ConcurrentHashMap<>();
+    private volatile long retentionTicks = 20 * 60;
+    private long lastSweep;
+
+    private ScentField(World world) {
+        this.world = world;
+    }
+
+    /**
+     * Gets the scent field of a world, creating it on first use.
+     *
+     * @param world The world
+     * @return The world's scent field
+     */
+    public static ScentField of(World world) {
+        return FIELDS.computeIfAbsent(world, ScentField::new);
+    }
+
+    /**
+     * Drops the scent field of an unloaded world.
+     *
+     * @param world The world
+     */
+    public static void remove(World world) {
+        FIELDS.remove(world);
+    }
+
+    /**
+     * Gets the channel for scent of entities of a class that pass a filter.
+     * Sensors with the same class and filter instance share a channel, and so
+     * share trails; any other sensor never smells them. Filters are held
+     * weakly, so a filter and its channel are forgotten once unused.
+     *
+     * @param entityClass The class of entities leaving the scent
+     * @param filter      The filter those entities passed
+     * @return The channel id
+     */
+    public static int channel(Class<? extends LivingEntity> entityClass, Predicate<?> filter) {
+        Map<Predicate<?>, Integer> filters = CHANNELS.computeIfAbsent(entityClass,
+                c -> Collections.synchronizedMap(new WeakHashMap<>()));
+        return filters.computeIfAbsent(filter, f -> NEXT_CHANNEL.getAndIncrement());
+    }
+
+    /**
+     * Drops expired markers from every world's field.
+     * Called once per server tick; sweeps run every second.
+     */
+    public static void sweepAll() {
+        for (ScentField field : FIELDS.values()) {
+            field.sweep();
+        }
+    }
+
+    /**
+     * Deposits scent at a position, refreshing the marker if the same source
+     * already left scent there. A different source on the same channel
+     * replaces the marker.
+     *
+     * @param pos      The block position
+     * @param source   UUID of the entity leaving the scent
+     * @param channel  Channel of the scent, see {@link #channel}
+     * @param strength Deposited strength
+     */
+    public void deposit(BlockPos pos, UUID source, int channel, float strength) {
+        long key = columnKey(pos.getX() >> 4, pos.getZ() >> 4);
+        ScentChunk chunk = chunks.computeIfAbsent(key, k -> new ScentChunk());
+        chunk.deposit(BlockPos.asLong(pos.getX(), pos.getY(), pos.getZ()), source, channel, strength, world.getTime());
+    }
+
+    /**
+     * Finds the strongest scent within range. Strength decays linearly with
+     * age and weakens linearly with distance, reaching zero at the range.
+     *
+     * @param center         Observer position
+     * @param range          Smell range in blocks
+     * @param decayPerSecond Strength lost per second
+     * @param channel        Channel to smell, see {@link #channel}
+     * @return The strongest scent, or null if none is strong enough
+     */
+    public SmellSensor.ScentData findStrongest(BlockPos center, double range, float decayPerSecond, int channel) {
+        long now = world.getTime();
+        float decayPerTick = decayPerSecond / 20.0f;
+        requestRetention(decayPerTick);
+
+        Best best = new Best();
+        int minX = (center.getX() - (int) Math.ceil(range)) >> 4;
+        int maxX = (center.getX() + (int) Math.ceil(range)) >> 4;
+        int minZ = (center.getZ() - (int) Math.ceil(range)) >> 4;
+        int maxZ = (center.getZ() + (int) Math.ceil(range)) >> 4;
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cz = minZ; cz <= maxZ; cz++) {
+                ScentChunk chunk = chunks.get(columnKey(cx, cz));
+                if (chunk != null) {
+                    chunk.findStrongest(center, range, decayPerTick, channel, now, best);
+                }
+            }
+        }
+        if (best.position == Long.MIN_VALUE) {
+            return null;
+        }
+        BlockPos pos = BlockPos.fromLong(best.position);
+        return new SmellSensor.ScentData(Vec3d.ofCenter(pos), best.source, best.strength, best.distance);
+    }
+
+    /**
+     * Computes the scent gradient at a position: the sum of the directions to
+     * every scent in range, weighted by strength. Following it leads towards
+     * where scent is strongest overall, rather than to a single marker.
+     *
+     * @param center         Observer position
+     * @param range          Smell range in blocks
+     * @param decayPerSecond Strength lost per second
+     * @param channel        Channel to smell, see {@link #channel}
+     * @return The gradient vector, or {@link Vec3d#ZERO} if nothing is in range
+     */
+    public Vec3d gradient(Vec3d center, double range, float decayPerSecond, int channel) {
+        long now = world.getTime();
+        float decayPerTick = decayPerSecond / 20.0f;
+        requestRetention(decayPerTick);
+
+        double[] sum = new double[3];
+        int minX = (int) Math.floor(center.x - range) >> 4;
+        int maxX = (int) Math.floor(center.x + range) >> 4;
+        int minZ = (int) Math.floor(center.z - range) >> 4;
+        int maxZ = (int) Math.floor(center.z + range) >> 4;
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cz = minZ; cz <= maxZ; cz++) {
+                ScentChunk chunk = chunks.get(columnKey(cx, cz));
+                if (chunk != null) {
+                    chunk.accumulateGradient(center, range, decayPerTick, channel, now, sum);
+                }
+            }
+        }
+        return new Vec3d(sum[0], sum[1], sum[2]);
+    }
+
+    /**
+     * Gets the number of markers currently stored.
+     *
+     * @return Marker count
+     */
+    public int size() {
+        int size = 0;
+        for (ScentChunk chunk : chunks.values()) {
+            size += chunk.size();
+        }
+        return size;
+    }
+
+    /**
+     * Keeps markers at least as long as a reader with this decay can still smell them.
+     */
+    private void requestRetention(float decayPerTick) {
+        if (decayPerTick <= 0.0f) {
+            return;
+        }
+        long lifetime = (long) Math.ceil(1.0f / decayPerTick);
+        if (lifetime > retentionTicks) {
+            retentionTicks = lifetime;
+        }
+    }
+
+    private void sweep() {
+        long now = world.getTime();
+        if (now - lastSweep < SWEEP_INTERVAL_TICKS) {
+            return;
+        }
+        lastSweep = now;
+        long minTick = now - retentionTicks;
+        chunks.values().removeIf(chunk -> chunk.removeOlderThan(minTick));
+    }
+
+    private static long columnKey(int chunkX, int chunkZ) {
+        return (long) chunkX << 32 | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Strongest scent found so far during a query.
+     */
+    private static final class Best {
+        long position = Long.MIN_VALUE;
+        UUID source;
+        float strength;
+        double distance;
+    }
+
+    /**
+     * Markers of one chunk column in parallel arrays.
+     */
+    private static final class ScentChunk {
+        private long[] positions = new long[8];
+        private long[] sourceMost = new long[8];
+        private long[] sourceLeast = new long[8];
+        private int[] channels = new int[8];
+        private float[] strengths = new float[8];
+        private long[] ticks = new long[8];
+        private int size;
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized void deposit(long position, UUID source, int channel, float strength, long tick) {
+            long most = source.getMostSignificantBits();
+            long least = source.getLeastSignificantBits();
+            for (int i = 0; i < size; i++) {
+                if (positions[i] != position || channels[i] != channel) {
+                    continue;
+                }
+                if (sourceMost[i] == most && sourceLeast[i] == least) {
+                    // Refresh existing marker
+                    strengths[i] = Math.max(strengths[i], strength);
+                    ticks[i] = tick;
+                } else {
+                    set(i, position, most, least, channel, strength, tick);
+                }
+                return;
+            }
+
+            if (size == MAX_MARKERS_PER_CHUNK) {
+                set(oldest(), position, most, least, channel, strength, tick);
+                return;
+            }
+            if (size == positions.length) {
+                int capacity = Math.min(size * 2, MAX_MARKERS_PER_CHUNK);
+                positions = Arrays.copyOf(positions, capacity);
+                sourceMost = Arrays.copyOf(sourceMost, capacity);
+                sourceLeast = Arrays.copyOf(sourceLeast, capacity);
+                channels = Arrays.copyOf(channels, capacity);
+                strengths = Arrays.copyOf(strengths, capacity);
+                ticks = Arrays.copyOf(ticks, capacity);
+            }
+            set(size++, position, most, least, channel, strength, tick);
+        }
+
+        synchronized void findStrongest(BlockPos center, double range, float decayPerTick, int channel,
+                                        long now, Best best) {
+            for (int i = 0; i < size; i++) {
+                if (channels[i] != channel) {
+                    continue;
+                }
+                double distance = distance(positions[i], center.getX(), center.getY(), center.getZ());
+                if (distance > range) {
+                    continue;
+                }
+                float decayed = strengths[i] - decayPerTick * (now - ticks[i]);
+                if (decayed <= MIN_STRENGTH) {
+                    continue;
+                }
+
+                // Scent diffuses (weakens) over distance
+                float effective = decayed * (1.0f - (float) (distance / range));
+                if (effective > best.strength) {
+                    best.position = positions[i];
+                    best.source = new UUID(sourceMost[i], sourceLeast[i]);
+                    best.strength = effective;
+                    best.distance = distance;
+                }
+            }
+        }
+
+        synchronized void accumulateGradient(Vec3d center, double range, float decayPerTick, int channel,
+                                             long now, double[] sum) {
+            for (int i = 0; i < size; i++) {
+                if (channels[i] != channel) {
+                    continue;
+                }
+                double dx = BlockPos.unpackLongX(positions[i]) + 0.5 - center.x;
+                double dy = BlockPos.unpackLongY(positions[i]) + 0.5 - center.y;
+                double dz = BlockPos.unpackLongZ(positions[i]) + 0.5 - center.z;
+                double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
+                if (distance > range || distance < 1.0e-6) {
+                    continue;
+                }
+                float decayed = strengths[i] - decayPerTick * (now - ticks[i]);
+                if (decayed <= MIN_STRENGTH) {
+                    continue;
+                }
+                double weight = decayed * (1.0 - distance / range) / distance;
+                sum[0] += dx * weight;
+                sum[1] += dy * weight;
+                sum[2] += dz * weight;
+            }
+        }
+
+        /**
+         * Removes markers last refreshed before a tick.
+         *
+         * @return True if the chunk is now empty
+         */
+        synchronized boolean removeOlderThan(long minTick) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (ticks[i] >= minTick) {
+                    set(kept++, positions[i], sourceMost[i], sourceLeast[i], channels[i], strengths[i], ticks[i]);
+                }
+            }
+            size = kept;
+            return size == 0;
+        }
+
+        private int oldest() {
+            int oldest = 0;
+            for (int i = 1; i < size; i++) {
+                if (ticks[i] < ticks[oldest]) {
+                    oldest = i;
+                }
+            }
+            return oldest;
+        }
+
+        private void set(int i, long position, long most, long least, int channel, float strength, long tick) {
+            positions[i] = position;
+            sourceMost[i] = most;
+            sourceLeast[i] = least;
+            channels[i] = channel;
+            strengths[i] = strength;
+            ticks[i] = tick;
+        }
+
+        private static double distance(long position, int x, int y, int z) {
+            int dx = BlockPos.unpackLongX(position) - x;
+            int dy = BlockPos.unpackLongY(position) - y;
+            int dz = BlockPos.unpackLongZ(position) - z;
+            return Math.sqrt((double) dx * dx + (double) dy * dy + (double) dz * dz);
+        }
+    }
+}
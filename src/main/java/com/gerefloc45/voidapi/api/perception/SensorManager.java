@@ -1,39 +1,111 @@
 package com.gerefloc45.voidapi.api.perception;
 
 import com.gerefloc45.voidapi.api.BehaviorContext;
+import com.gerefloc45.voidapi.api.Blackboard;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Manages multiple sensors for an entity.
  * Handles sensor updates and lifecycle.
- * 
+ * <p>
+ * Each sensor counts down to its next update in a primitive array. The first
+ * update of every sensor is offset by a phase hashed from the entity id, so
+ * sensors of entities spawned in the same tick don't all fire together. A
+ * global per-tick budget (see {@link #setTickBudgetNanos}) defers due updates
+ * once it is spent; a deferred sensor runs on a later tick, and at the latest
+ * after one full interval. With {@link #setAdaptive adaptive} scheduling a
+ * sensor whose update changed the blackboard is updated up to twice as often,
+ * and one whose results stay the same backs off to a quarter of its rate.
+ *
  * @author VoidAPI Framework
  * @version 1.1.0
  */
 public class SensorManager {
-    private final List<Sensor> sensors;
-    private final List<Integer> tickCounters;
+    private static final int MAX_BACKOFF = 4;
+
+    private static final AtomicLong tickSpentNanos = new AtomicLong();
+    private static final AtomicLong deferredUpdates = new AtomicLong();
+    private static volatile long tickBudgetNanos;
+
+    private Sensor[] sensors;
+    private int[] countdowns; // Ticks until the next update
+    private int[] intervals; // Current interval, adjusted when adaptive
+    private int[] deferrals; // Consecutive ticks deferred by the budget
+    private int size;
     private int currentTick;
+    private boolean phased;
+    private boolean adaptive;
 
     /**
      * Creates a new sensor manager.
      */
     public SensorManager() {
-        this.sensors = new ArrayList<>();
-        this.tickCounters = new ArrayList<>();
+        this.sensors = new Sensor[4];
+        this.countdowns = new int[4];
+        this.intervals = new int[4];
+        this.deferrals = new int[4];
         this.currentTick = 0;
     }
 
+    /**
+     * Sets the maximum time all sensor managers together spend updating sensors per server tick.
+     * Due updates past the budget are deferred.
+     *
+     * @param budgetNanos Budget in nanoseconds (0 = unlimited)
+     */
+    public static void setTickBudgetNanos(long budgetNanos) {
+        tickBudgetNanos = Math.max(0L, budgetNanos);
+    }
+
+    /**
+     * Gets the per-tick sensor budget.
+     *
+     * @return Budget in nanoseconds (0 = unlimited)
+     */
+    public static long getTickBudgetNanos() {
+        return tickBudgetNanos;
+    }
+
+    /**
+     * Starts a new server tick for the global sensor budget.
+     * Called by {@link com.gerefloc45.voidapi.core.BrainTicker} before brains tick.
+     */
+    public static void beginTick() {
+        tickSpentNanos.set(0L);
+    }
+
+    /**
+     * Gets the total number of sensor updates deferred by the budget.
+     *
+     * @return Deferred update count
+     */
+    public static long getDeferredUpdates() {
+        return deferredUpdates.get();
+    }
+
     /**
      * Adds a sensor to the manager.
      *
      * @param sensor The sensor to add
      */
     public void addSensor(Sensor sensor) {
-        sensors.add(sensor);
-        tickCounters.add(0);
+        if (size == sensors.length) {
+            int capacity = size * 2;
+            sensors = Arrays.copyOf(sensors, capacity);
+            countdowns = Arrays.copyOf(countdowns, capacity);
+            intervals = Arrays.copyOf(intervals, capacity);
+            deferrals = Arrays.copyOf(deferrals, capacity);
+        }
+        sensors[size] = sensor;
+        intervals[size] = Math.max(1, sensor.getUpdateFrequency());
+        countdowns[size] = intervals[size];
+        deferrals[size] = 0;
+        size++;
+        phased = false;
     }
 
     /**
@@ -42,13 +114,59 @@ public class SensorManager {
      * @param sensor The sensor to remove
      */
     public void removeSensor(Sensor sensor) {
-        int index = sensors.indexOf(sensor);
-        if (index >= 0) {
-            sensors.remove(index);
-            tickCounters.remove(index);
+        for (int index = 0; index < size; index++) {
+            if (sensors[index].equals(sensor)) {
+                int moved = size - index - 1;
+                System.arraycopy(sensors, index + 1, sensors, index, moved);
+                System.arraycopy(countdowns, index + 1, countdowns, index, moved);
+                System.arraycopy(intervals, index + 1, intervals, index, moved);
+                System.arraycopy(deferrals, index + 1, deferrals, index, moved);
+                sensors[--size] = null;
+                return;
+            }
         }
     }
 
+    /**
+     * Enables or disables adaptive update rates.
+     *
+     * @param adaptive True to adapt each sensor's rate to how often its results change
+     * @return This manager for chaining
+     */
+    public SensorManager setAdaptive(boolean adaptive) {
+        this.adaptive = adaptive;
+        if (!adaptive) {
+            for (int i = 0; i < size; i++) {
+                intervals[i] = Math.max(1, sensors[i].getUpdateFrequency());
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Checks if adaptive update rates are enabled.
+     *
+     * @return True if adaptive
+     */
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * Gets the interval a sensor is currently updated at.
+     *
+     * @param sensor The sensor
+     * @return Interval in ticks, or -1 if the sensor is not managed
+     */
+    public int getCurrentInterval(Sensor sensor) {
+        for (int i = 0; i < size; i++) {
+            if (sensors[i].equals(sensor)) {
+                return intervals[i];
+            }
+        }
+        return -1;
+    }
+
     /**
      * Updates all sensors based on their update frequency.
      *
@@ -56,23 +174,43 @@ public class SensorManager {
      */
     public void update(BehaviorContext context) {
         currentTick++;
+        if (!phased) {
+            applyPhases(context.getEntity().getId());
+        }
+
+        long budget = tickBudgetNanos;
+        Blackboard blackboard = context.getBlackboard();
+        for (int i = 0; i < size; i++) {
+            Sensor sensor = sensors[i];
 
-        for (int i = 0; i < sensors.size(); i++) {
-            Sensor sensor = sensors.get(i);
-            
             if (!sensor.isActive()) {
                 continue;
             }
 
-            int counter = tickCounters.get(i);
-            counter++;
+            if (countdowns[i] > 1) {
+                countdowns[i]--;
+                continue;
+            }
 
-            if (counter >= sensor.getUpdateFrequency()) {
-                sensor.update(context);
-                counter = 0;
+            // Due; defer while the global budget is spent, but never past a full interval
+            if (budget > 0 && tickSpentNanos.get() >= budget && deferrals[i] < intervals[i]) {
+                deferrals[i]++;
+                deferredUpdates.incrementAndGet();
+                countdowns[i] = 1;
+                continue;
             }
 
-            tickCounters.set(i, counter);
+            long before = adaptive ? blackboard.getModCount() : 0L;
+            long start = budget > 0 ? System.nanoTime() : 0L;
+            sensor.update(context);
+            if (budget > 0) {
+                tickSpentNanos.addAndGet(System.nanoTime() - start);
+            }
+            if (adaptive) {
+                adapt(i, blackboard.getModCount() != before);
+            }
+            deferrals[i] = 0;
+            countdowns[i] = intervals[i];
         }
     }
 
@@ -82,13 +220,13 @@ public class SensorManager {
      * @param context The behavior context
      */
     public void reset(BehaviorContext context) {
-        for (Sensor sensor : sensors) {
-            sensor.reset(context);
-        }
-        tickCounters.clear();
-        for (int i = 0; i < sensors.size(); i++) {
-            tickCounters.add(0);
+        for (int i = 0; i < size; i++) {
+            sensors[i].reset(context);
+            intervals[i] = Math.max(1, sensors[i].getUpdateFrequency());
+            countdowns[i] = intervals[i];
+            deferrals[i] = 0;
         }
+        phased = false;
         currentTick = 0;
     }
 
@@ -98,7 +236,11 @@ public class SensorManager {
      * @return List of sensors
      */
     public List<Sensor> getSensors() {
-        return new ArrayList<>(sensors);
+        List<Sensor> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(sensors[i]);
+        }
+        return list;
     }
 
     /**
@@ -107,7 +249,7 @@ public class SensorManager {
      * @return Sensor count
      */
     public int getSensorCount() {
-        return sensors.size();
+        return size;
     }
 
     /**
@@ -124,7 +266,33 @@ public class SensorManager {
      * Clears all sensors.
      */
     public void clear() {
-        sensors.clear();
-        tickCounters.clear();
+        Arrays.fill(sensors, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Offsets each sensor's first update by a phase derived from the entity id,
+     * spreading sensors with the same frequency evenly across ticks.
+     */
+    private void applyPhases(int entityId) {
+        for (int i = 0; i < size; i++) {
+            int h = (entityId * 31 + i) * 0x9E3779B1;
+            h ^= h >>> 15;
+            countdowns[i] = 1 + Math.floorMod(h, intervals[i]);
+        }
+        phased = true;
+    }
+
+    /**
+     * Shortens a sensor's interval after a change and lengthens it after a stable update,
+     * within half and four times its configured frequency.
+     */
+    private void adapt(int i, boolean changed) {
+        int base = Math.max(1, sensors[i].getUpdateFrequency());
+        if (changed) {
+            intervals[i] = Math.max(Math.max(1, base / 2), intervals[i] / 2);
+        } else {
+            intervals[i] = Math.min(base * MAX_BACKOFF, intervals[i] * 2);
+        }
     }
 }
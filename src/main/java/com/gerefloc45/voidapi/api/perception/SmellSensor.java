@@ -1,17 +1,23 @@
 package com.gerefloc45.voidapi.api.perception;
 
 import com.gerefloc45.voidapi.api.BehaviorContext;
+import com.gerefloc45.voidapi.api.BlackboardKey;
 import net.minecraft.entity.LivingEntity;
-import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 import java.util.function.Predicate;
 
 /**
  * Scent-based tracking sensor.
  * Entities leave scent trails that diffuse over distance and decay over time.
  * Useful for tracking entities beyond visual range.
+ * <p>
+ * Trails live in the world's {@link ScentField}, shared by all smell sensors
+ * with the same entity class and filter instance; each sensor applies its own
+ * decay rate when sampling it and never smells other sensors' trails.
  * 
  * @author VoidAPI Framework
  * @version 0.7.0
@@ -19,15 +25,15 @@ import java.util.function.Predicate;
 public class SmellSensor<T extends LivingEntity> implements Sensor {
     private final Class<T> entityClass;
     private final double range;
-    private final String blackboardKey;
+    private final BlackboardKey<ScentData> scentKey;
+    private final BlackboardKey<Boolean> hasScentKey;
+    private final BlackboardKey<Vec3d> directionKey;
+    private final BlackboardKey<Float> strengthKey;
     private final int updateFrequency;
     private final float scentStrength;
     private final float decayRate; // Scent strength loss per second
     private final Predicate<T> filter;
-    private final int maxScentMarkers;
-
-    // Scent trail storage (position -> scent data)
-    private final Map<BlockPos, ScentMarker> scentTrail;
+    private final int scentChannel;
 
     /**
      * Creates a basic smell sensor.
@@ -50,34 +56,28 @@ public class SmellSensor<T extends LivingEntity> implements Sensor {
      * @param decayRate       Scent decay rate per second (0.0 to 1.0)
      * @param filter          Additional filter predicate
      * @param updateFrequency Update frequency in ticks
-     * @param maxScentMarkers Maximum scent markers to track
+     * @param maxScentMarkers Unused; the shared scent field bounds markers per chunk instead
      */
     public SmellSensor(Class<T> entityClass, double range, String blackboardKey,
             float scentStrength, float decayRate, Predicate<T> filter,
             int updateFrequency, int maxScentMarkers) {
         this.entityClass = entityClass;
         this.range = range;
-        this.blackboardKey = blackboardKey;
+        this.scentKey = BlackboardKey.of(blackboardKey + "_scent", ScentData.class);
+        this.hasScentKey = BlackboardKey.ofBoolean(blackboardKey + "_has_scent");
+        this.directionKey = BlackboardKey.of(blackboardKey + "_scent_direction", Vec3d.class);
+        this.strengthKey = BlackboardKey.ofFloat(blackboardKey + "_scent_strength");
         this.scentStrength = Math.max(0.0f, Math.min(1.0f, scentStrength));
         this.decayRate = Math.max(0.0f, Math.min(1.0f, decayRate));
         this.filter = filter;
+        this.scentChannel = ScentField.channel(entityClass, filter);
         this.updateFrequency = updateFrequency;
-        this.maxScentMarkers = maxScentMarkers;
-        this.scentTrail = new LinkedHashMap<BlockPos, ScentMarker>(maxScentMarkers, 0.75f, true) {
-            @Override
-            protected boolean removeEldestEntry(Map.Entry<BlockPos, ScentMarker> eldest) {
-                return size() > maxScentMarkers;
-            }
-        };
     }
 
     @Override
     public void update(BehaviorContext context) {
         LivingEntity observer = context.getEntity();
-        long currentTime = System.currentTimeMillis();
-
-        // Update scent markers (decay over time)
-        updateScentTrail(currentTime);
+        ScentField field = ScentField.of(observer.getWorld());
 
         // Detect entities and their scents
         List<T> nearbyEntities = findEntitiesInRange(observer);
@@ -92,111 +92,23 @@ public class SmellSensor<T extends LivingEntity> implements Sensor {
             }
 
             // Add scent marker at entity position
-            addScentMarker(target.getBlockPos(), target.getUuid(), scentStrength, currentTime);
+            field.deposit(target.getBlockPos(), target.getUuid(), scentChannel, scentStrength);
         }
 
-        // Find strongest scent in range
-        ScentData strongestScent = findStrongestScent(observer.getBlockPos(), currentTime);
+        // Find strongest scent in range, among trails of entities this sensor tracks
+        ScentData strongestScent = field.findStrongest(observer.getBlockPos(), range, decayRate, scentChannel);
 
         // Store in blackboard
-        context.getBlackboard().set(blackboardKey + "_scent", strongestScent);
-        context.getBlackboard().set(blackboardKey + "_has_scent", strongestScent != null);
+        context.getBlackboard().set(scentKey, strongestScent);
+        context.getBlackboard().setBoolean(hasScentKey, strongestScent != null);
 
         if (strongestScent != null) {
-            context.getBlackboard().set(blackboardKey + "_scent_direction",
+            context.getBlackboard().set(directionKey,
                     calculateScentDirection(observer.getPos(), strongestScent.position));
-            context.getBlackboard().set(blackboardKey + "_scent_strength",
-                    strongestScent.strength);
-        }
-    }
-
-    /**
-     * Updates scent trail, removing expired scents.
-     *
-     * @param currentTime Current timestamp
-     */
-    private void updateScentTrail(long currentTime) {
-        Iterator<Map.Entry<BlockPos, ScentMarker>> iterator = scentTrail.entrySet().iterator();
-
-        while (iterator.hasNext()) {
-            Map.Entry<BlockPos, ScentMarker> entry = iterator.next();
-            ScentMarker marker = entry.getValue();
-
-            // Calculate decay
-            float elapsedSeconds = (currentTime - marker.timestamp) / 1000.0f;
-            float currentStrength = marker.initialStrength - (decayRate * elapsedSeconds);
-
-            // Remove if too weak
-            if (currentStrength <= 0.05f) {
-                iterator.remove();
-            }
+            context.getBlackboard().setFloat(strengthKey, strongestScent.strength);
         }
     }
 
-    /**
-     * Adds a scent marker at a position.
-     *
-     * @param pos        Position of the scent
-     * @param sourceUuid UUID of the entity that left the scent
-     * @param strength   Scent strength
-     * @param timestamp  Time the scent was created
-     */
-    private void addScentMarker(BlockPos pos, UUID sourceUuid, float strength, long timestamp) {
-        ScentMarker existing = scentTrail.get(pos);
-
-        if (existing != null && existing.sourceUuid.equals(sourceUuid)) {
-            // Refresh existing marker
-            existing.timestamp = timestamp;
-            existing.initialStrength = Math.max(existing.initialStrength, strength);
-        } else {
-            // Add new marker
-            scentTrail.put(pos, new ScentMarker(sourceUuid, strength, timestamp));
-        }
-    }
-
-    /**
-     * Finds the strongest scent within range.
-     *
-     * @param observerPos Observer's position
-     * @param currentTime Current timestamp
-     * @return Strongest scent data, or null if none found
-     */
-    private ScentData findStrongestScent(BlockPos observerPos, long currentTime) {
-        ScentData strongest = null;
-        float maxStrength = 0.0f;
-
-        for (Map.Entry<BlockPos, ScentMarker> entry : scentTrail.entrySet()) {
-            BlockPos pos = entry.getKey();
-            ScentMarker marker = entry.getValue();
-
-            // Calculate distance
-            double distance = Math.sqrt(observerPos.getSquaredDistance(pos));
-
-            if (distance > range) {
-                continue;
-            }
-
-            // Calculate current strength with decay and diffusion
-            float elapsedSeconds = (currentTime - marker.timestamp) / 1000.0f;
-            float decayedStrength = marker.initialStrength - (decayRate * elapsedSeconds);
-
-            // Scent diffuses (weakens) over distance
-            float diffusionFactor = 1.0f - (float) (distance / range);
-            float effectiveStrength = decayedStrength * diffusionFactor;
-
-            if (effectiveStrength > maxStrength) {
-                maxStrength = effectiveStrength;
-                strongest = new ScentData(
-                        Vec3d.ofCenter(pos),
-                        marker.sourceUuid,
-                        effectiveStrength,
-                        distance);
-            }
-        }
-
-        return strongest;
-    }
-
     /**
      * Calculates direction vector to scent source.
      *
@@ -215,10 +127,9 @@ public class SmellSensor<T extends LivingEntity> implements Sensor {
      * @return List of entities in range
      */
     private List<T> findEntitiesInRange(LivingEntity observer) {
-        return observer.getWorld().getEntitiesByClass(
-                entityClass,
-                observer.getBoundingBox().expand(range),
-                entity -> entity.squaredDistanceTo(observer) <= range * range);
+        List<T> entities = new ArrayList<>();
+        SpatialIndex.of(observer.getWorld()).queryRadius(observer.getPos(), range, entityClass, observer, entities);
+        return entities;
     }
 
     @Override
@@ -233,11 +144,10 @@ public class SmellSensor<T extends LivingEntity> implements Sensor {
 
     @Override
     public void reset(BehaviorContext context) {
-        context.getBlackboard().remove(blackboardKey + "_scent");
-        context.getBlackboard().remove(blackboardKey + "_has_scent");
-        context.getBlackboard().remove(blackboardKey + "_scent_direction");
-        context.getBlackboard().remove(blackboardKey + "_scent_strength");
-        scentTrail.clear();
+        context.getBlackboard().remove(scentKey);
+        context.getBlackboard().remove(hasScentKey);
+        context.getBlackboard().remove(directionKey);
+        context.getBlackboard().remove(strengthKey);
     }
 
     /**
@@ -247,9 +157,7 @@ public class SmellSensor<T extends LivingEntity> implements Sensor {
      * @return Scent data, or null if no scent detected
      */
     public ScentData getScentData(BehaviorContext context) {
-        return context.getBlackboard()
-                .<ScentData>get(blackboardKey + "_scent")
-                .orElse(null);
+        return context.getBlackboard().getOrNull(scentKey);
     }
 
     /**
@@ -259,24 +167,7 @@ public class SmellSensor<T extends LivingEntity> implements Sensor {
      * @return True if scent detected
      */
     public boolean hasScentDetected(BehaviorContext context) {
-        return context.getBlackboard()
-                .<Boolean>get(blackboardKey + "_has_scent")
-                .orElse(false);
-    }
-
-    /**
-     * Scent marker data.
-     */
-    private static class ScentMarker {
-        final UUID sourceUuid;
-        float initialStrength;
-        long timestamp;
-
-        ScentMarker(UUID sourceUuid, float initialStrength, long timestamp) {
-            this.sourceUuid = sourceUuid;
-            this.initialStrength = initialStrength;
-            this.timestamp = timestamp;
-        }
+        return context.getBlackboard().getBoolean(hasScentKey, false);
     }
 
     /**
@@ -0,0 +1,231 @@
+package com.gerefloc45.voidapi.api.perception;
+
+import net.minecraft.sound.SoundEvent;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * World-level sound event bus shared by all sound sensors.
+ * Sounds are kept in a fixed-size ring buffer, timestamped in world ticks and
+ * chained per chunk column, newest first. A listener walks only the chains of
+ * the columns inside its hearing radius and stops at the first sound older
+ * than its memory, so a lookup costs the number of recent sounds nearby, not
+ * the number of sounds in the world. When the buffer is full the oldest sound
+ * is overwritten, which bounds memory during explosions or raids.
+ * <p>
+ * Expired sounds are dropped in one pass per tick by
+ * {@link com.gerefloc45.voidapi.core.BrainTicker}. Sounds are kept for the
+ * longest memory any listener has asked for. Queries are safe from sensor
+ * worker threads.
+ *
+ * @author VoidAPI Framework
+ * @version 0.8.0
+ */
+public final class SoundEventBus {
+    private static final Map<World, SoundEventBus> BUSES = new ConcurrentHashMap<>();
+    private static final int CAPACITY = 4096; // Power of two
+    private static final int BUCKETS = 1024; // Power of two
+    private static final long DEFAULT_RETENTION_TICKS = 100;
+
+    private final World world;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Ring buffer; slot of sequence number s is s & (CAPACITY - 1)
+    private final SoundSensor.DetectedSound[] sounds = new SoundSensor.DetectedSound[CAPACITY];
+    private final long[] sequences = new long[CAPACITY];
+    private final long[] ticks = new long[CAPACITY];
+    private final long[] columns = new long[CAPACITY];
+    private final long[] nextInColumn = new long[CAPACITY]; // Older sound in the same bucket, or -1
+
+    private final long[] heads = new long[BUCKETS]; // Newest sound per bucket, or -1
+    private long nextSequence;
+    private long oldestSequence;
+    private volatile long retentionTicks = DEFAULT_RETENTION_TICKS;
+
+    private SoundEventBus(World world) {
+        this.world = world;
+        Arrays.fill(sequences, -1L);
+        Arrays.fill(heads, -1L);
+    }
+
+    /**
+     * Gets the sound bus of a world, creating it on first use.
+     *
+     * @param world The world
+     * @return The world's sound bus
+     */
+    public static SoundEventBus of(World world) {
+        return BUSES.computeIfAbsent(world, SoundEventBus::new);
+    }
+
+    /**
+     * Drops the sound bus of an unloaded world.
+     *
+     * @param world The world
+     */
+    public static void remove(World world) {
+        BUSES.remove(world);
+    }
+
+    /**
+     * Posts a sound to the bus of every world. Used for sounds reported without a world.
+     *
+     * @param sound The sound
+     */
+    static void postToAll(SoundSensor.DetectedSound sound) {
+        for (SoundEventBus bus : BUSES.values()) {
+            bus.post(sound);
+        }
+    }
+
+    /**
+     * Drops expired sounds from every world's bus.
+     * Called once per server tick.
+     */
+    public static void expireAll() {
+        for (SoundEventBus bus : BUSES.values()) {
+            bus.expire();
+        }
+    }
+
+    /**
+     * Posts a sound heard at the current world tick.
+     *
+     * @param sound The sound
+     */
+    public void post(SoundSensor.DetectedSound sound) {
+        long column = columnOf(sound.getPosition());
+        int bucket = bucketOf(column);
+
+        lock.writeLock().lock();
+        try {
+            long sequence = nextSequence++;
+            int slot = (int) (sequence & (CAPACITY - 1));
+            sounds[slot] = sound;
+            sequences[slot] = sequence;
+            ticks[slot] = world.getTime();
+            columns[slot] = column;
+            nextInColumn[slot] = heads[bucket];
+            heads[bucket] = sequence;
+            oldestSequence = Math.max(oldestSequence, nextSequence - CAPACITY);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Collects the sounds heard within a radius during the last ticks.
+     *
+     * @param center     Listener position
+     * @param radius     Hearing radius in blocks
+     * @param maxAgeTicks Maximum sound age in ticks
+     * @param filter     Sound filter, or null to accept all
+     * @param out        List to add the sounds to, newest first per chunk column
+     * @return The nearest sound added, or null if none
+     */
+    public SoundSensor.DetectedSound query(Vec3d center, double radius, long maxAgeTicks,
+                                           Predicate<SoundEvent> filter,
+                                           List<SoundSensor.DetectedSound> out) {
+        if (maxAgeTicks > retentionTicks) {
+            retentionTicks = maxAgeTicks;
+        }
+        long minTick = world.getTime() - maxAgeTicks;
+        double radiusSquared = radius * radius;
+        int minX = MathHelper.floor(center.x - radius) >> 4;
+        int maxX = MathHelper.floor(center.x + radius) >> 4;
+        int minZ = MathHelper.floor(center.z - radius) >> 4;
+        int maxZ = MathHelper.floor(center.z + radius) >> 4;
+
+        SoundSensor.DetectedSound nearest = null;
+        double nearestDistance = Double.MAX_VALUE;
+        lock.readLock().lock();
+        try {
+            for (int cx = minX; cx <= maxX; cx++) {
+                for (int cz = minZ; cz <= maxZ; cz++) {
+                    long column = pack(cx, cz);
+                    long sequence = heads[bucketOf(column)];
+                    while (sequence >= oldestSequence) {
+                        int slot = (int) (sequence & (CAPACITY - 1));
+                        if (sequences[slot] != sequence || ticks[slot] < minTick) {
+                            break; // Overwritten, or older than the listener remembers
+                        }
+                        // Buckets are shared by several columns; only take this column's sounds
+                        if (columns[slot] == column) {
+                            SoundSensor.DetectedSound sound = sounds[slot];
+                            double distance = center.squaredDistanceTo(sound.getPosition());
+                            if (distance <= radiusSquared && (filter == null || filter.test(sound.getSound()))) {
+                                out.add(sound);
+                                if (distance < nearestDistance) {
+                                    nearest = sound;
+                                    nearestDistance = distance;
+                                }
+                            }
+                        }
+                        sequence = nextInColumn[slot];
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return nearest;
+    }
+
+    /**
+     * Gets the number of sounds currently held.
+     *
+     * @return Sound count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return (int) (nextSequence - oldestSequence);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drops sounds older than the retention time. The buffer is in posting
+     * order, so this only advances past the expired sounds.
+     */
+    private void expire() {
+        long minTick = world.getTime() - retentionTicks;
+        lock.writeLock().lock();
+        try {
+            while (oldestSequence < nextSequence) {
+                int slot = (int) (oldestSequence & (CAPACITY - 1));
+                if (ticks[slot] >= minTick) {
+                    break;
+                }
+                sounds[slot] = null;
+                sequences[slot] = -1L;
+                oldestSequence++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static long columnOf(Vec3d pos) {
+        return pack(MathHelper.floor(pos.x) >> 4, MathHelper.floor(pos.z) >> 4);
+    }
+
+    private static long pack(int chunkX, int chunkZ) {
+        return (long) chunkX << 32 | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private static int bucketOf(long column) {
+        long h = column * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & (BUCKETS - 1);
+    }
+}
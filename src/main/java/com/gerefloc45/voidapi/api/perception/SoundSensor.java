@@ -1,13 +1,16 @@
 package com.gerefloc45.voidapi.api.perception;
 
 import com.gerefloc45.voidapi.api.BehaviorContext;
+import com.gerefloc45.voidapi.api.BlackboardKey;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.sound.SoundCategory;
 import net.minecraft.sound.SoundEvent;
 import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
 
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 import java.util.function.Predicate;
 
 /**
@@ -16,20 +19,23 @@ import java.util.function.Predicate;
  * 
  * <p>Note: This is an event-based sensor that requires integration with
  * Minecraft's sound system. For full functionality, register a sound event listener
- * in your mod initialization.</p>
+ * in your mod initialization that calls {@link #registerSoundEvent(World, SoundEvent,
+ * Vec3d, SoundCategory, float, float)}.</p>
+ *
+ * <p>Sounds are read from the world's {@link SoundEventBus}, which only visits
+ * sounds in the chunk columns within range.</p>
  * 
  * @author VoidAPI Framework
  * @version 1.1.0
  */
 public class SoundSensor implements Sensor {
     private final double range;
-    private final String blackboardKey;
+    private final BlackboardKey<List<DetectedSound>> soundsKey;
+    private final BlackboardKey<Integer> countKey;
+    private final BlackboardKey<DetectedSound> nearestKey;
     private final int updateFrequency;
     private final Predicate<SoundEvent> soundFilter;
-    private final long memoryDuration; // in milliseconds
-    
-    // Global sound event registry (shared across all sensors)
-    private static final Map<UUID, List<DetectedSound>> GLOBAL_SOUND_EVENTS = new ConcurrentHashMap<>();
+    private final long memoryTicks; // memory duration in server ticks
     
     /**
      * Represents a detected sound event.
@@ -103,75 +109,33 @@ public class SoundSensor implements Sensor {
     public SoundSensor(double range, String blackboardKey, Predicate<SoundEvent> soundFilter,
                       int updateFrequency, long memoryDuration) {
         this.range = range;
-        this.blackboardKey = blackboardKey;
+        this.soundsKey = BlackboardKey.of(blackboardKey);
+        this.countKey = BlackboardKey.ofInt(blackboardKey + "_count");
+        this.nearestKey = BlackboardKey.of(blackboardKey + "_nearest", DetectedSound.class);
         this.soundFilter = soundFilter;
         this.updateFrequency = updateFrequency;
-        this.memoryDuration = memoryDuration;
+        this.memoryTicks = Math.max(1, memoryDuration / 50);
     }
 
     @Override
     public void update(BehaviorContext context) {
         LivingEntity entity = context.getEntity();
-        UUID entityId = entity.getUuid();
-        Vec3d entityPos = entity.getPos();
 
-        // Get sounds detected for this entity
-        List<DetectedSound> allSounds = GLOBAL_SOUND_EVENTS.getOrDefault(entityId, new ArrayList<>());
-        
-        // Filter by range, time, and custom filter
+        // Sounds in range, within memory and passing the filter
         List<DetectedSound> recentSounds = new ArrayList<>();
-        for (DetectedSound sound : allSounds) {
-            // Check if expired
-            if (sound.isExpired(memoryDuration)) {
-                continue;
-            }
-
-            // Check range
-            double distance = entityPos.distanceTo(sound.getPosition());
-            if (distance > range) {
-                continue;
-            }
-
-            // Apply custom filter
-            if (!soundFilter.test(sound.getSound())) {
-                continue;
-            }
-
-            recentSounds.add(sound);
-        }
-
-        // Clean up expired sounds
-        allSounds.removeIf(sound -> sound.isExpired(memoryDuration));
+        DetectedSound nearest = SoundEventBus.of(entity.getWorld())
+                .query(entity.getPos(), range, memoryTicks, soundFilter, recentSounds);
 
         // Store in blackboard
-        context.getBlackboard().set(blackboardKey, recentSounds);
-        context.getBlackboard().set(blackboardKey + "_count", recentSounds.size());
+        context.getBlackboard().set(soundsKey, recentSounds);
+        context.getBlackboard().setInt(countKey, recentSounds.size());
 
         // Store nearest sound if any detected
-        if (!recentSounds.isEmpty()) {
-            DetectedSound nearest = findNearestSound(entityPos, recentSounds);
-            context.getBlackboard().set(blackboardKey + "_nearest", nearest);
+        if (nearest != null) {
+            context.getBlackboard().set(nearestKey, nearest);
         }
     }
 
-    /**
-     * Finds the nearest sound to the given position.
-     */
-    private DetectedSound findNearestSound(Vec3d center, List<DetectedSound> sounds) {
-        DetectedSound nearest = sounds.get(0);
-        double nearestDist = center.distanceTo(nearest.getPosition());
-
-        for (DetectedSound sound : sounds) {
-            double dist = center.distanceTo(sound.getPosition());
-            if (dist < nearestDist) {
-                nearest = sound;
-                nearestDist = dist;
-            }
-        }
-
-        return nearest;
-    }
-
     @Override
     public double getRange() {
         return range;
@@ -184,13 +148,9 @@ public class SoundSensor implements Sensor {
 
     @Override
     public void reset(BehaviorContext context) {
-        context.getBlackboard().remove(blackboardKey);
-        context.getBlackboard().remove(blackboardKey + "_count");
-        context.getBlackboard().remove(blackboardKey + "_nearest");
-        
-        // Clear sounds for this entity
-        UUID entityId = context.getEntity().getUuid();
-        GLOBAL_SOUND_EVENTS.remove(entityId);
+        context.getBlackboard().remove(soundsKey);
+        context.getBlackboard().remove(countKey);
+        context.getBlackboard().remove(nearestKey);
     }
 
     /**
@@ -200,9 +160,8 @@ public class SoundSensor implements Sensor {
      * @return List of detected sounds
      */
     public List<DetectedSound> getDetectedSounds(BehaviorContext context) {
-        return context.getBlackboard()
-            .<List<DetectedSound>>get(blackboardKey)
-            .orElse(new ArrayList<>());
+        List<DetectedSound> sounds = context.getBlackboard().getOrNull(soundsKey);
+        return sounds != null ? sounds : new ArrayList<>();
     }
 
     /**
@@ -212,49 +171,60 @@ public class SoundSensor implements Sensor {
      * @return The nearest sound, or null if none detected
      */
     public DetectedSound getNearestSound(BehaviorContext context) {
-        return context.getBlackboard()
-            .<DetectedSound>get(blackboardKey + "_nearest")
-            .orElse(null);
+        return context.getBlackboard().getOrNull(nearestKey);
     }
 
     /**
-     * Registers a sound event for all listening entities.
+     * Registers a sound event heard in a world.
      * This should be called from a sound event listener in your mod.
      *
+     * @param world The world the sound was played in
      * @param sound The sound event
      * @param position The position where the sound was played
      * @param category The sound category
      * @param volume The sound volume
      * @param pitch The sound pitch
      */
+    public static void registerSoundEvent(World world, SoundEvent sound, Vec3d position,
+                                         SoundCategory category, float volume, float pitch) {
+        SoundEventBus.of(world).post(new DetectedSound(sound, position, category, volume, pitch));
+    }
+
+    /**
+     * Registers a sound event in every world.
+     *
+     * @param sound The sound event
+     * @param position The position where the sound was played
+     * @param category The sound category
+     * @param volume The sound volume
+     * @param pitch The sound pitch
+     * @deprecated Use {@link #registerSoundEvent(World, SoundEvent, Vec3d, SoundCategory, float, float)},
+     *             which only notifies listeners in the sound's world
+     */
+    @Deprecated
     public static void registerSoundEvent(SoundEvent sound, Vec3d position, SoundCategory category,
                                          float volume, float pitch) {
-        DetectedSound detectedSound = new DetectedSound(sound, position, category, volume, pitch);
-        
-        // Add to all entities (they will filter by range in their update)
-        for (UUID entityId : GLOBAL_SOUND_EVENTS.keySet()) {
-            GLOBAL_SOUND_EVENTS.get(entityId).add(detectedSound);
-        }
+        SoundEventBus.postToAll(new DetectedSound(sound, position, category, volume, pitch));
     }
 
     /**
      * Registers an entity to receive sound events.
-     * Call this when adding a SoundSensor to an entity.
      *
      * @param entityId The entity UUID
+     * @deprecated Every sound sensor now reads its world's {@link SoundEventBus}; no registration is needed
      */
+    @Deprecated
     public static void registerEntity(UUID entityId) {
-        GLOBAL_SOUND_EVENTS.putIfAbsent(entityId, Collections.synchronizedList(new ArrayList<>()));
     }
 
     /**
      * Unregisters an entity from receiving sound events.
-     * Call this when removing a SoundSensor from an entity.
      *
      * @param entityId The entity UUID
+     * @deprecated Every sound sensor now reads its world's {@link SoundEventBus}; no registration is needed
      */
+    @Deprecated
     public static void unregisterEntity(UUID entityId) {
-        GLOBAL_SOUND_EVENTS.remove(entityId);
     }
 
     /**
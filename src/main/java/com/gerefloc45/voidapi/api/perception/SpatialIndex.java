@@ -0,0 +1,501 @@
+package com.gerefloc45.voidapi.api.perception;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Per-world spatial hash of entities shared by all perception sensors.
+ * Entities are bucketed into 16-block cubic cells once per world tick, so any
+ * number of sensors query the same grid instead of each scanning chunk sections
+ * through {@code World.getEntitiesByClass}. Cells are stored as contiguous runs
+ * of reused arrays; rebuilding allocates only when the entity count grows.
+ * <p>
+ * {@link com.gerefloc45.voidapi.core.BrainTicker} creates and rebuilds the
+ * index of every server world on the server thread before brains tick, so
+ * queries are safe from sensor worker threads. Queries made outside brain
+ * ticks rebuild an out-of-date index themselves and must come from the server
+ * thread, since a rebuild iterates the world's entities.
+ * Distances are measured from entity positions captured at the rebuild.
+ * Non-server worlds fall back to regular world queries.
+ *
+ * @author VoidAPI Framework
+ * @version 0.8.0
+ */
+public final class SpatialIndex {
+    private static final Map<World, SpatialIndex> INDEXES = new ConcurrentHashMap<>();
+    private static final int CELL_SHIFT = 4; // 16-block cells
+    private static final int CELL_MASK = (1 << 21) - 1;
+
+    private final World world;
+    private volatile long builtTime = Long.MIN_VALUE;
+
+    // Entities sorted by cell, with their positions at the last rebuild
+    private Entity[] entities = new Entity[64];
+    private double[] xs = new double[64];
+    private double[] ys = new double[64];
+    private double[] zs = new double[64];
+    private int entityCount;
+    private double maxExtent;
+
+    // Open-addressed cell table: cell key -> run of entities
+    private long[] cellKeys = new long[128];
+    private int[] cellStarts = new int[128];
+    private int[] cellCounts = new int[128];
+    private int cellCount;
+
+    // Rebuild scratch
+    private Entity[] unsorted = new Entity[64];
+    private int[] cellOf = new int[64];
+
+    private SpatialIndex(World world) {
+        this.world = world;
+    }
+
+    /**
+     * Gets the index of a world, creating it on first use.
+     *
+     * @param world The world
+     * @return The world's index
+     */
+    public static SpatialIndex of(World world) {
+        return INDEXES.computeIfAbsent(world, SpatialIndex::new);
+    }
+
+    /**
+     * Creates and rebuilds the index of every world of a server. Must be
+     * called on the server thread before brains tick, so no index is first
+     * built by a sensor worker thread while the server thread runs tasks.
+     *
+     * @param server The server
+     */
+    public static void refreshAll(MinecraftServer server) {
+        for (ServerWorld world : server.getWorlds()) {
+            of(world).ensureCurrent();
+        }
+    }
+
+    /**
+     * Drops the index of an unloaded world.
+     *
+     * @param world The world
+     */
+    public static void remove(World world) {
+        INDEXES.remove(world);
+    }
+
+    /**
+     * Finds entities of a type whose position is within a radius of a point.
+     *
+     * @param center The center point
+     * @param radius The search radius
+     * @param type The entity class
+     * @param exclude Entity to skip, usually the observer (can be null)
+     * @param out List the matches are appended to
+     * @param <T> The entity type
+     * @return Number of matches appended
+     */
+    public <T extends Entity> int queryRadius(Vec3d center, double radius, Class<T> type,
+            Entity exclude, List<? super T> out) {
+        if (!(world instanceof ServerWorld)) {
+            double r2 = radius * radius;
+            List<T> found = world.getEntitiesByClass(type, new Box(
+                    center.x - radius, center.y - radius, center.z - radius,
+                    center.x + radius, center.y + radius, center.z + radius),
+                    e -> e != exclude && e.squaredDistanceTo(center) <= r2);
+            out.addAll(found);
+            return found.size();
+        }
+        ensureCurrent();
+
+        double r2 = radius * radius;
+        CellRange cells = new CellRange(center.x - radius, center.y - radius, center.z - radius,
+                center.x + radius, center.y + radius, center.z + radius);
+        if (cells.volume() >= entityCount) {
+            // Query covers more cells than there are entities: a linear scan is cheaper
+            return collectRadius(0, entityCount, center, r2, type, exclude, out);
+        }
+        int added = 0;
+        for (int cx = cells.minX; cx <= cells.maxX; cx++) {
+            for (int cy = cells.minY; cy <= cells.maxY; cy++) {
+                for (int cz = cells.minZ; cz <= cells.maxZ; cz++) {
+                    int slot = findCell(key(cx, cy, cz));
+                    if (slot >= 0) {
+                        added += collectRadius(cellStarts[slot], cellStarts[slot] + cellCounts[slot],
+                                center, r2, type, exclude, out);
+                    }
+                }
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Finds entities of a type whose bounding box intersects a box.
+     * Matches the semantics of {@code World.getEntitiesByClass}.
+     *
+     * @param box The box to search
+     * @param type The entity class
+     * @param exclude Entity to skip (can be null)
+     * @param out List the matches are appended to
+     * @param <T> The entity type
+     * @return Number of matches appended
+     */
+    public <T extends Entity> int queryBox(Box box, Class<T> type, Entity exclude, List<? super T> out) {
+        if (!(world instanceof ServerWorld)) {
+            List<T> found = world.getEntitiesByClass(type, box, e -> e != exclude);
+            out.addAll(found);
+            return found.size();
+        }
+        ensureCurrent();
+
+        // Pad by the largest entity so boxes reaching into the query from outside are found
+        double pad = maxExtent;
+        CellRange cells = new CellRange(box.minX - pad, box.minY - pad, box.minZ - pad,
+                box.maxX + pad, box.maxY + pad, box.maxZ + pad);
+        if (cells.volume() >= entityCount) {
+            return collectBox(0, entityCount, box, type, exclude, out);
+        }
+        int added = 0;
+        for (int cx = cells.minX; cx <= cells.maxX; cx++) {
+            for (int cy = cells.minY; cy <= cells.maxY; cy++) {
+                for (int cz = cells.minZ; cz <= cells.maxZ; cz++) {
+                    int slot = findCell(key(cx, cy, cz));
+                    if (slot >= 0) {
+                        added += collectBox(cellStarts[slot], cellStarts[slot] + cellCounts[slot],
+                                box, type, exclude, out);
+                    }
+                }
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Finds the k entities of a type nearest to a point, within a radius.
+     *
+     * @param center The center point
+     * @param radius The search radius
+     * @param k Maximum number of results
+     * @param type The entity class
+     * @param exclude Entity to skip, usually the observer (can be null)
+     * @param out List the matches are appended to, nearest first
+     * @param <T> The entity type
+     * @return Number of matches appended
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Entity> int queryNearest(Vec3d center, double radius, int k, Class<T> type,
+            Entity exclude, List<? super T> out) {
+        if (k <= 0) {
+            return 0;
+        }
+        int before = out.size();
+        queryRadius(center, radius, type, exclude, out);
+        int found = out.size() - before;
+        if (found <= 1) {
+            return found;
+        }
+
+        // Partial selection sort by distance: only the first k positions are ordered
+        List<Object> results = (List<Object>) out;
+        int limit = Math.min(k, found);
+        for (int i = 0; i < limit; i++) {
+            int best = before + i;
+            double bestDistance = ((Entity) results.get(best)).squaredDistanceTo(center);
+            for (int j = best + 1; j < before + found; j++) {
+                double distance = ((Entity) results.get(j)).squaredDistanceTo(center);
+                if (distance < bestDistance) {
+                    best = j;
+                    bestDistance = distance;
+                }
+            }
+            if (best != before + i) {
+                Object swap = results.get(before + i);
+                results.set(before + i, results.get(best));
+                results.set(best, swap);
+            }
+        }
+        while (out.size() > before + limit) {
+            out.remove(out.size() - 1);
+        }
+        return limit;
+    }
+
+    /**
+     * Finds the entity of a type nearest to a point, within a radius.
+     *
+     * @param center The center point
+     * @param radius The search radius
+     * @param type The entity class
+     * @param exclude Entity to skip, usually the observer (can be null)
+     * @param filter Additional filter
+     * @param <T> The entity type
+     * @return The nearest match, or null
+     */
+    public <T extends Entity> T findNearest(Vec3d center, double radius, Class<T> type,
+            Entity exclude, Predicate<? super T> filter) {
+        if (!(world instanceof ServerWorld)) {
+            T nearest = null;
+            double nearestDistance = radius * radius;
+            for (T entity : world.getEntitiesByClass(type, new Box(
+                    center.x - radius, center.y - radius, center.z - radius,
+                    center.x + radius, center.y + radius, center.z + radius), e -> e != exclude)) {
+                double distance = entity.squaredDistanceTo(center);
+                if (distance <= nearestDistance && filter.test(entity)) {
+                    nearest = entity;
+                    nearestDistance = distance;
+                }
+            }
+            return nearest;
+        }
+        ensureCurrent();
+
+        T nearest = null;
+        double nearestDistance = radius * radius;
+        CellRange cells = new CellRange(center.x - radius, center.y - radius, center.z - radius,
+                center.x + radius, center.y + radius, center.z + radius);
+        boolean linear = cells.volume() >= entityCount;
+        int cx = cells.minX;
+        int cy = cells.minY;
+        int cz = cells.minZ;
+        while (true) {
+            int start;
+            int end;
+            if (linear) {
+                start = 0;
+                end = entityCount;
+            } else {
+                int slot = findCell(key(cx, cy, cz));
+                start = slot < 0 ? 0 : cellStarts[slot];
+                end = slot < 0 ? 0 : start + cellCounts[slot];
+            }
+            for (int i = start; i < end; i++) {
+                Entity entity = entities[i];
+                if (entity == exclude || !type.isInstance(entity)) {
+                    continue;
+                }
+                double dx = xs[i] - center.x;
+                double dy = ys[i] - center.y;
+                double dz = zs[i] - center.z;
+                double distance = dx * dx + dy * dy + dz * dz;
+                if (distance <= nearestDistance && filter.test(type.cast(entity))) {
+                    nearest = type.cast(entity);
+                    nearestDistance = distance;
+                }
+            }
+            if (linear) {
+                return nearest;
+            }
+            // Advance to the next cell
+            if (++cz > cells.maxZ) {
+                cz = cells.minZ;
+                if (++cy > cells.maxY) {
+                    cy = cells.minY;
+                    if (++cx > cells.maxX) {
+                        return nearest;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of entities in the index.
+     *
+     * @return Entity count at the last rebuild
+     */
+    public int getEntityCount() {
+        return entityCount;
+    }
+
+    /**
+     * Gets the number of occupied cells.
+     *
+     * @return Cell count at the last rebuild
+     */
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    /**
+     * Rebuilds the index if the world has advanced since the last rebuild.
+     */
+    public void ensureCurrent() {
+        long time = world.getTime();
+        if (time != builtTime) {
+            synchronized (this) {
+                if (time != builtTime) {
+                    rebuild();
+                    builtTime = time;
+                }
+            }
+        }
+    }
+
+    private <T extends Entity> int collectRadius(int start, int end, Vec3d center, double r2,
+            Class<T> type, Entity exclude, List<? super T> out) {
+        int added = 0;
+        for (int i = start; i < end; i++) {
+            Entity entity = entities[i];
+            if (entity == exclude || !type.isInstance(entity)) {
+                continue;
+            }
+            double dx = xs[i] - center.x;
+            double dy = ys[i] - center.y;
+            double dz = zs[i] - center.z;
+            if (dx * dx + dy * dy + dz * dz <= r2) {
+                out.add(type.cast(entity));
+                added++;
+            }
+        }
+        return added;
+    }
+
+    private <T extends Entity> int collectBox(int start, int end, Box box, Class<T> type,
+            Entity exclude, List<? super T> out) {
+        int added = 0;
+        for (int i = start; i < end; i++) {
+            Entity entity = entities[i];
+            if (entity != exclude && type.isInstance(entity) && entity.getBoundingBox().intersects(box)) {
+                out.add(type.cast(entity));
+                added++;
+            }
+        }
+        return added;
+    }
+
+    private void rebuild() {
+        // Gather live entities
+        int count = 0;
+        double extent = 0.0;
+        for (Entity entity : ((ServerWorld) world).iterateEntities()) {
+            if (entity.isRemoved()) {
+                continue;
+            }
+            if (count == unsorted.length) {
+                unsorted = Arrays.copyOf(unsorted, count * 2);
+            }
+            unsorted[count++] = entity;
+            extent = Math.max(extent, Math.max(entity.getWidth(), entity.getHeight()));
+        }
+        if (entities.length < count) {
+            int capacity = unsorted.length;
+            entities = new Entity[capacity];
+            xs = new double[capacity];
+            ys = new double[capacity];
+            zs = new double[capacity];
+            cellOf = new int[capacity];
+        }
+
+        // Size the cell table for at most one cell per entity at half load
+        int tableSize = Integer.highestOneBit(Math.max(64, count * 2) - 1) << 1;
+        if (cellKeys.length != tableSize) {
+            cellKeys = new long[tableSize];
+            cellStarts = new int[tableSize];
+            cellCounts = new int[tableSize];
+        } else {
+            Arrays.fill(cellCounts, 0);
+        }
+
+        // Count entities per cell
+        int cells = 0;
+        for (int i = 0; i < count; i++) {
+            Entity entity = unsorted[i];
+            long key = key(MathHelper.floor(entity.getX()) >> CELL_SHIFT,
+                    MathHelper.floor(entity.getY()) >> CELL_SHIFT,
+                    MathHelper.floor(entity.getZ()) >> CELL_SHIFT);
+            int slot = probe(key);
+            if (cellCounts[slot] == 0) {
+                cellKeys[slot] = key;
+                cells++;
+            }
+            cellCounts[slot]++;
+            cellOf[i] = slot;
+        }
+
+        // Assign each cell a contiguous run
+        int offset = 0;
+        for (int slot = 0; slot < tableSize; slot++) {
+            if (cellCounts[slot] > 0) {
+                cellStarts[slot] = offset;
+                offset += cellCounts[slot];
+                cellCounts[slot] = 0; // Refilled during the scatter below
+            }
+        }
+
+        // Scatter entities into their runs
+        for (int i = 0; i < count; i++) {
+            Entity entity = unsorted[i];
+            int slot = cellOf[i];
+            int index = cellStarts[slot] + cellCounts[slot]++;
+            entities[index] = entity;
+            xs[index] = entity.getX();
+            ys[index] = entity.getY();
+            zs[index] = entity.getZ();
+            unsorted[i] = null;
+        }
+        if (count < entityCount) {
+            Arrays.fill(entities, count, entityCount, null); // Release entities that left
+        }
+
+        entityCount = count;
+        cellCount = cells;
+        maxExtent = extent;
+    }
+
+    /**
+     * Finds the slot of a cell key, or the empty slot where it would be inserted.
+     */
+    private int probe(long key) {
+        int mask = cellKeys.length - 1;
+        int slot = hash(key) & mask;
+        while (cellCounts[slot] != 0 && cellKeys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Finds the slot of an occupied cell.
+     *
+     * @return The slot, or -1 if the cell is empty
+     */
+    private int findCell(long key) {
+        int slot = probe(key);
+        return cellCounts[slot] != 0 ? slot : -1;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static long key(int cx, int cy, int cz) {
+        return ((long) (cx & CELL_MASK) << 42) | ((long) (cy & CELL_MASK) << 21) | (cz & CELL_MASK);
+    }
+
+    /**
+     * Inclusive range of cell coordinates covered by a world-space box.
+     */
+    private record CellRange(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        CellRange(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+            this(MathHelper.floor(minX) >> CELL_SHIFT, MathHelper.floor(minY) >> CELL_SHIFT,
+                    MathHelper.floor(minZ) >> CELL_SHIFT, MathHelper.floor(maxX) >> CELL_SHIFT,
+                    MathHelper.floor(maxY) >> CELL_SHIFT, MathHelper.floor(maxZ) >> CELL_SHIFT);
+        }
+
+        long volume() {
+            return (long) (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.gerefloc45.voidapi.api.perception;
 
 import com.gerefloc45.voidapi.api.BehaviorContext;
+import com.gerefloc45.voidapi.api.BlackboardKey;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.util.math.Vec3d;
@@ -17,7 +18,10 @@ import java.util.*;
  */
 public class TouchSensor implements Sensor {
     private final double detectionRadius;
-    private final String blackboardKey;
+    private final BlackboardKey<List<ContactData>> contactsKey;
+    private final BlackboardKey<Integer> contactCountKey;
+    private final BlackboardKey<Boolean> hasContactKey;
+    private final BlackboardKey<ContactData> strongestKey;
     private final int updateFrequency;
     private final boolean detectEntities;
     private final boolean detectBlocks;
@@ -49,7 +53,10 @@ public class TouchSensor implements Sensor {
     public TouchSensor(double detectionRadius, String blackboardKey,
             boolean detectEntities, boolean detectBlocks, int updateFrequency) {
         this.detectionRadius = detectionRadius;
-        this.blackboardKey = blackboardKey;
+        this.contactsKey = BlackboardKey.of(blackboardKey + "_contacts");
+        this.contactCountKey = BlackboardKey.ofInt(blackboardKey + "_contact_count");
+        this.hasContactKey = BlackboardKey.ofBoolean(blackboardKey + "_has_contact");
+        this.strongestKey = BlackboardKey.of(blackboardKey + "_strongest", ContactData.class);
         this.detectEntities = detectEntities;
         this.detectBlocks = detectBlocks;
         this.updateFrequency = updateFrequency;
@@ -90,16 +97,16 @@ public class TouchSensor implements Sensor {
         }
 
         // Store in blackboard
-        context.getBlackboard().set(blackboardKey + "_contacts", newContacts);
-        context.getBlackboard().set(blackboardKey + "_contact_count", newContacts.size());
-        context.getBlackboard().set(blackboardKey + "_has_contact", !newContacts.isEmpty());
+        context.getBlackboard().set(contactsKey, newContacts);
+        context.getBlackboard().setInt(contactCountKey, newContacts.size());
+        context.getBlackboard().setBoolean(hasContactKey, !newContacts.isEmpty());
 
         // Calculate strongest contact
         if (!newContacts.isEmpty()) {
             ContactData strongest = newContacts.stream()
                     .max(Comparator.comparingDouble(c -> c.impactForce))
                     .orElse(null);
-            context.getBlackboard().set(blackboardKey + "_strongest", strongest);
+            context.getBlackboard().set(strongestKey, strongest);
         }
 
         // Update tracking
@@ -116,9 +123,9 @@ public class TouchSensor implements Sensor {
      */
     private void detectEntityContacts(LivingEntity observer, List<ContactData> contacts,
             Vec3d velocity) {
-        List<Entity> nearbyEntities = observer.getWorld().getOtherEntities(
-                observer,
-                observer.getBoundingBox().expand(detectionRadius));
+        List<Entity> nearbyEntities = new ArrayList<>();
+        SpatialIndex.of(observer.getWorld()).queryBox(
+                observer.getBoundingBox().expand(detectionRadius), Entity.class, observer, nearbyEntities);
 
         for (Entity other : nearbyEntities) {
             // Check if bounding boxes intersect (collision)
@@ -243,10 +250,10 @@ public class TouchSensor implements Sensor {
 
     @Override
     public void reset(BehaviorContext context) {
-        context.getBlackboard().remove(blackboardKey + "_contacts");
-        context.getBlackboard().remove(blackboardKey + "_contact_count");
-        context.getBlackboard().remove(blackboardKey + "_has_contact");
-        context.getBlackboard().remove(blackboardKey + "_strongest");
+        context.getBlackboard().remove(contactsKey);
+        context.getBlackboard().remove(contactCountKey);
+        context.getBlackboard().remove(hasContactKey);
+        context.getBlackboard().remove(strongestKey);
         activeContacts.clear();
         lastPosition = null;
         lastVelocity = Vec3d.ZERO;
@@ -259,9 +266,8 @@ public class TouchSensor implements Sensor {
      * @return List of contacts
      */
     public List<ContactData> getContacts(BehaviorContext context) {
-        return context.getBlackboard()
-                .<List<ContactData>>get(blackboardKey + "_contacts")
-                .orElse(new ArrayList<>());
+        List<ContactData> contacts = context.getBlackboard().getOrNull(contactsKey);
+        return contacts != null ? contacts : new ArrayList<>();
     }
 
     /**
@@ -271,9 +277,7 @@ public class TouchSensor implements Sensor {
      * @return Strongest contact, or null if no contacts
      */
     public ContactData getStrongestContact(BehaviorContext context) {
-        return context.getBlackboard()
-                .<ContactData>get(blackboardKey + "_strongest")
-                .orElse(null);
+        return context.getBlackboard().getOrNull(strongestKey);
     }
 
     /**
@@ -283,9 +287,7 @@ public class TouchSensor implements Sensor {
      * @return True if contact detected
      */
     public boolean hasContact(BehaviorContext context) {
-        return context.getBlackboard()
-                .<Boolean>get(blackboardKey + "_has_contact")
-                .orElse(false);
+        return context.getBlackboard().getBoolean(hasContactKey, false);
     }
 
     /**
@@ -12,6 +12,9 @@ import java.util.List;
  * A selector that dynamically reorders children based on their priority scores.
  * Unlike standard SelectorNode which tries children in fixed order,
  * this node sorts children by priority before each evaluation.
+ * The order is kept on the node itself, so wrap it in a
+ * {@link com.gerefloc45.voidapi.api.nodes.PerEntityNode} when the tree is
+ * shared through a {@link com.gerefloc45.voidapi.api.BehaviorTreeTemplate}.
  * 
  * @author VoidAPI Framework
  * @version 0.2.0
@@ -3,6 +3,10 @@ package com.gerefloc45.voidapi.api.utility;
 import com.gerefloc45.voidapi.api.Behavior;
 import com.gerefloc45.voidapi.api.BehaviorContext;
 import com.gerefloc45.voidapi.api.BehaviorNode;
+import com.gerefloc45.voidapi.api.BlackboardKey;
+import com.gerefloc45.voidapi.api.BlackboardWatch;
+import com.gerefloc45.voidapi.api.NodeMemory;
+import com.gerefloc45.voidapi.api.NodeStateLayout;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -14,14 +18,22 @@ import java.util.List;
  * <p>Unlike traditional Selector nodes that try children in order,
  * UtilitySelector evaluates all children and picks the one with the highest score.
  * 
+ * <p>If the scorers only read blackboard values, declare those keys with
+ * {@link #setWatchedKeys} and periodic re-evaluation is skipped while none
+ * of them changed.
+ * 
  * @author VoidAPI Framework
  * @version 0.2.0
  */
 public class UtilitySelector extends BehaviorNode {
+    private static final int CURRENT_BEHAVIOR = 0; // Index + 1, 0 when none
+    private static final int TICKS_SINCE_EVALUATION = 1;
+    private static final int WATCH = 0;
+
     private final List<ScoredBehavior> scoredBehaviors;
-    private Behavior currentBehavior;
+    private final NodeMemory memory = new NodeMemory(2, 1);
     private double reevaluateInterval; // in ticks
-    private int ticksSinceLastEvaluation;
+    private BlackboardWatch watch;
     
     /**
      * Represents a behavior paired with its scorer.
@@ -53,7 +65,6 @@ public class UtilitySelector extends BehaviorNode {
     public UtilitySelector(double reevaluateInterval) {
         this.scoredBehaviors = new ArrayList<>();
         this.reevaluateInterval = reevaluateInterval;
-        this.ticksSinceLastEvaluation = 0;
     }
     
     /**
@@ -81,10 +92,11 @@ public class UtilitySelector extends BehaviorNode {
     
     @Override
     public void onStart(BehaviorContext context) {
-        ticksSinceLastEvaluation = 0;
-        currentBehavior = selectBestBehavior(context);
-        if (currentBehavior != null) {
-            currentBehavior.onStart(context);
+        memory.setInt(context, TICKS_SINCE_EVALUATION, 0);
+        int best = selectBestBehavior(context);
+        memory.setInt(context, CURRENT_BEHAVIOR, best + 1);
+        if (best >= 0) {
+            scoredBehaviors.get(best).behavior.onStart(context);
         }
     }
     
@@ -94,33 +106,41 @@ public class UtilitySelector extends BehaviorNode {
             return Status.FAILURE;
         }
         
+        if (context.getActivePath() != null) {
+            context.getActivePath().pin(); // Re-evaluation interval counts ticks
+        }
+
         // Re-evaluate periodically or if no current behavior
-        ticksSinceLastEvaluation++;
-        if (currentBehavior == null || ticksSinceLastEvaluation >= reevaluateInterval) {
-            Behavior newBehavior = selectBestBehavior(context);
+        int current = memory.getInt(context, CURRENT_BEHAVIOR) - 1;
+        int ticksSinceLastEvaluation = memory.getInt(context, TICKS_SINCE_EVALUATION) + 1;
+        if (current < 0 || (ticksSinceLastEvaluation >= reevaluateInterval && inputsChanged(context))) {
+            int best = selectBestBehavior(context);
             
             // If best behavior changed, switch to it
-            if (newBehavior != currentBehavior) {
-                if (currentBehavior != null) {
-                    currentBehavior.onEnd(context, Status.RUNNING);
+            if (best != current) {
+                if (current >= 0) {
+                    scoredBehaviors.get(current).behavior.onEnd(context, Status.RUNNING);
                 }
-                currentBehavior = newBehavior;
-                if (currentBehavior != null) {
-                    currentBehavior.onStart(context);
+                current = best;
+                memory.setInt(context, CURRENT_BEHAVIOR, current + 1);
+                if (current >= 0) {
+                    scoredBehaviors.get(current).behavior.onStart(context);
                 }
             }
             
             ticksSinceLastEvaluation = 0;
         }
+        memory.setInt(context, TICKS_SINCE_EVALUATION, ticksSinceLastEvaluation);
         
         // Execute current best behavior
-        if (currentBehavior != null) {
+        if (current >= 0) {
+            Behavior currentBehavior = scoredBehaviors.get(current).behavior;
             Status status = currentBehavior.execute(context);
             
             // If behavior completed, clear it
             if (status != Status.RUNNING) {
                 currentBehavior.onEnd(context, status);
-                currentBehavior = null;
+                memory.setInt(context, CURRENT_BEHAVIOR, 0);
                 return status;
             }
             
@@ -132,47 +152,82 @@ public class UtilitySelector extends BehaviorNode {
     
     @Override
     public void onEnd(BehaviorContext context, Status status) {
-        if (currentBehavior != null) {
-            currentBehavior.onEnd(context, status);
-            currentBehavior = null;
+        int current = memory.getInt(context, CURRENT_BEHAVIOR) - 1;
+        if (current >= 0) {
+            scoredBehaviors.get(current).behavior.onEnd(context, status);
+            memory.setInt(context, CURRENT_BEHAVIOR, 0);
+        }
+    }
+
+    @Override
+    public void layoutState(NodeStateLayout layout) {
+        layout.allocate(memory);
+        super.layoutState(layout);
+        for (ScoredBehavior scoredBehavior : scoredBehaviors) {
+            layout.add(scoredBehavior.behavior);
         }
     }
     
+    /**
+     * Checks whether any watched key changed since the last check.
+     * Always true when no keys are watched.
+     */
+    private boolean inputsChanged(BehaviorContext context) {
+        return watch == null || getWatch(context).poll(context.getBlackboard());
+    }
+
+    /**
+     * Gets the watch of the current tree, created on first use.
+     */
+    private BlackboardWatch getWatch(BehaviorContext context) {
+        BlackboardWatch own = memory.getObject(context, WATCH);
+        if (own == null) {
+            own = watch.copy();
+            memory.setObject(context, WATCH, own);
+        }
+        return own;
+    }
+    
     /**
      * Evaluates all behaviors and selects the one with the highest score.
      * 
      * @param context The current behavior context
-     * @return The behavior with the highest score, or null if none
+     * @return Index of the behavior with the highest score, or -1 if none
      */
-    private Behavior selectBestBehavior(BehaviorContext context) {
+    private int selectBestBehavior(BehaviorContext context) {
         if (scoredBehaviors.isEmpty()) {
-            return null;
+            return -1;
+        }
+        if (watch != null) {
+            getWatch(context).poll(context.getBlackboard()); // Scores below reflect the current versions
         }
         
-        ScoredBehavior best = null;
+        int best = -1;
         double bestScore = Double.NEGATIVE_INFINITY;
         
-        for (ScoredBehavior scoredBehavior : scoredBehaviors) {
+        for (int i = 0; i < scoredBehaviors.size(); i++) {
+            ScoredBehavior scoredBehavior = scoredBehaviors.get(i);
             double score = scoredBehavior.scorer.score(context);
             scoredBehavior.lastScore = score;
             
             if (score > bestScore) {
                 bestScore = score;
-                best = scoredBehavior;
+                best = i;
             }
         }
         
         // Store best score in blackboard for debugging
-        if (best != null) {
+        if (best >= 0) {
             context.getBlackboard().set("utility_best_score", bestScore);
         }
         
-        return best != null ? best.behavior : null;
+        return best;
     }
     
     /**
      * Gets the current scores for all behaviors.
-     * Useful for debugging and visualization.
+     * Useful for debugging and visualization. When the tree is shared, these
+     * are the scores of the most recent evaluation by any entity.
      * 
      * @return List of (behavior, score) pairs
      */
@@ -195,6 +250,18 @@ public class UtilitySelector extends BehaviorNode {
         return this;
     }
     
+    /**
+     * Declares the blackboard keys the scorers read. Periodic re-evaluation
+     * then only runs when one of them changed; the interval still limits how often.
+     * 
+     * @param keys The keys the scorers read, or none to always re-evaluate
+     * @return This selector for method chaining
+     */
+    public UtilitySelector setWatchedKeys(BlackboardKey<?>... keys) {
+        this.watch = keys.length > 0 ? new BlackboardWatch(keys) : null;
+        return this;
+    }
+    
     /**
      * Represents a behavior paired with its current score.
      */
@@ -3,13 +3,10 @@ package com.gerefloc45.voidapi.core;
 import com.gerefloc45.voidapi.api.BehaviorContext;
 import com.gerefloc45.voidapi.api.BehaviorTree;
 import com.gerefloc45.voidapi.api.Blackboard;
+import com.gerefloc45.voidapi.api.perception.SensorManager;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.server.world.ServerWorld;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
-
 /**
  * Central controller for managing AI brains attached to entities.
  * Handles registration, updates, and cleanup of behavior trees.
@@ -20,10 +17,10 @@ import java.util.UUID;
 public class BrainController {
     private static final BrainController INSTANCE = new BrainController();
     
-    private final Map<UUID, BrainInstance> brains;
+    private final BrainRegistry<BrainInstance> brains;
 
     private BrainController() {
-        this.brains = new HashMap<>();
+        this.brains = new BrainRegistry<>();
     }
 
     /**
@@ -42,9 +39,11 @@ public class BrainController {
      * @param tree The behavior tree to attach
      */
     public void attachBrain(LivingEntity entity, BehaviorTree tree) {
-        UUID uuid = entity.getUuid();
-        BrainInstance instance = new BrainInstance(tree, new Blackboard());
-        brains.put(uuid, instance);
+        BrainInstance instance = new BrainInstance(entity, tree, new Blackboard());
+        BrainInstance previous = brains.put(entity.getId(), instance);
+        if (previous != null) {
+            previous.attached = false;
+        }
     }
 
     /**
@@ -53,7 +52,9 @@ public class BrainController {
      * @param entity The entity to detach from
      */
     public void detachBrain(LivingEntity entity) {
-        brains.remove(entity.getUuid());
+        if (findBrain(entity) != null) {
+            brains.remove(entity.getId()).attached = false;
+        }
     }
 
     /**
@@ -63,7 +64,7 @@ public class BrainController {
      * @return True if the entity has a brain
      */
     public boolean hasBrain(LivingEntity entity) {
-        return brains.containsKey(entity.getUuid());
+        return findBrain(entity) != null;
     }
 
     /**
@@ -73,30 +74,98 @@ public class BrainController {
      * @return The blackboard, or null if no brain is attached
      */
     public Blackboard getBlackboard(LivingEntity entity) {
-        BrainInstance instance = brains.get(entity.getUuid());
+        BrainInstance instance = findBrain(entity);
         return instance != null ? instance.blackboard : null;
     }
 
+    /**
+     * Attaches a sensor manager to an entity's brain.
+     * Attached sensors are updated before the behavior tree on every brain tick,
+     * and on their own during sensor heartbeats of dormant brains.
+     *
+     * @param entity The entity with an attached brain
+     * @param sensors The sensor manager, or null to detach
+     */
+    public void attachSensors(LivingEntity entity, SensorManager sensors) {
+        BrainInstance instance = findBrain(entity);
+        if (instance != null) {
+            instance.sensors = sensors;
+        }
+    }
+
+    /**
+     * Gets the sensor manager attached to an entity's brain.
+     *
+     * @param entity The entity
+     * @return The sensor manager, or null if none is attached
+     */
+    public SensorManager getSensorManager(LivingEntity entity) {
+        BrainInstance instance = findBrain(entity);
+        return instance != null ? instance.sensors : null;
+    }
+
+    /**
+     * Attaches a decision to an entity's brain.
+     * The decision runs after the sensors and before the behavior tree on every brain tick.
+     *
+     * @param entity The entity with an attached brain
+     * @param decision The decision, or null to detach
+     */
+    public void attachDecision(LivingEntity entity, BrainDecision decision) {
+        BrainInstance instance = findBrain(entity);
+        if (instance != null) {
+            instance.decision = decision;
+        }
+    }
+
     /**
      * Ticks the brain for an entity.
+     * Runs the decision phase (sensors and decision), applies the recorded
+     * intents, then ticks the behavior tree.
      *
      * @param entity The entity to tick
      * @param deltaTime Time since last tick in seconds
      */
     public void tick(LivingEntity entity, float deltaTime) {
-        BrainInstance instance = brains.get(entity.getUuid());
-        if (instance == null || !(entity.getWorld() instanceof ServerWorld serverWorld)) {
-            return;
+        BrainInstance instance = findBrain(entity);
+        if (instance != null) {
+            instance.tick(deltaTime);
         }
+    }
 
-        BehaviorContext context = new BehaviorContext(entity, serverWorld, instance.blackboard, deltaTime);
-        instance.tree.tick(context);
+    /**
+     * Runs a sensor heartbeat for an entity without ticking its behavior tree.
+     * Used for dormant brains so their blackboard stays reasonably fresh.
+     *
+     * @param entity The entity to update
+     * @param deltaTime Time since last update in seconds
+     */
+    public void tickSensors(LivingEntity entity, float deltaTime) {
+        BrainInstance instance = findBrain(entity);
+        if (instance != null) {
+            instance.tickSensors(deltaTime);
+        }
+    }
+
+    /**
+     * Looks up the brain instance of an entity.
+     * The scheduler caches the result so its tick loop does not need lookups.
+     *
+     * @param entity The entity
+     * @return The brain instance, or null if none is attached
+     */
+    BrainInstance findBrain(LivingEntity entity) {
+        BrainInstance instance = brains.get(entity.getId());
+        return instance != null && instance.entity == entity ? instance : null;
     }
 
     /**
      * Clears all brains. Used for cleanup.
      */
     public void clearAll() {
+        for (int i = 0; i < brains.size(); i++) {
+            brains.valueAt(i).attached = false;
+        }
         brains.clear();
     }
 
@@ -112,13 +181,106 @@ public class BrainController {
     /**
      * Internal class to hold brain instance data.
      */
-    private static class BrainInstance {
+    static class BrainInstance {
+        final LivingEntity entity;
         final BehaviorTree tree;
         final Blackboard blackboard;
+        final BrainIntents intents;
+        SensorManager sensors;
+        BrainDecision decision;
+        boolean attached = true;
+        private BehaviorContext context;
+        private long tickCount;
 
-        BrainInstance(BehaviorTree tree, Blackboard blackboard) {
+        BrainInstance(LivingEntity entity, BehaviorTree tree, Blackboard blackboard) {
+            this.entity = entity;
             this.tree = tree;
             this.blackboard = blackboard;
+            this.intents = new BrainIntents(blackboard);
+        }
+
+        /**
+         * Updates this brain's reusable context for one tick, creating it on first use.
+         *
+         * @return The context, or null if the entity is not in a server world
+         */
+        BehaviorContext nextContext(float deltaTime) {
+            if (!(entity.getWorld() instanceof ServerWorld serverWorld)) {
+                return null;
+            }
+            return nextContext(serverWorld, deltaTime);
+        }
+
+        private BehaviorContext nextContext(ServerWorld world, float deltaTime) {
+            if (context == null) {
+                context = new BehaviorContext(entity, world, blackboard, deltaTime);
+            }
+            context.update(world, deltaTime, ++tickCount);
+            return context;
+        }
+
+        /**
+         * Full brain tick: decision phase, intents, then the behavior tree.
+         */
+        void tick(float deltaTime) {
+            if (entity.getWorld() instanceof ServerWorld serverWorld) {
+                tick(serverWorld, deltaTime);
+            }
+        }
+
+        /**
+         * Full brain tick in a given world. Does not read the entity, so tests
+         * can tick a brain without one.
+         */
+        void tick(ServerWorld world, float deltaTime) {
+            BehaviorContext context = nextContext(world, deltaTime);
+            prepare(context);
+            commit(context);
+        }
+
+        /**
+         * Sensor heartbeat without ticking the behavior tree.
+         */
+        void tickSensors(float deltaTime) {
+            if (sensors == null) {
+                return;
+            }
+            BehaviorContext context = nextContext(deltaTime);
+            if (context != null) {
+                updateSensors(context);
+            }
+        }
+
+        /**
+         * Read-only phase: updates sensors and runs the decision.
+         * May run off the server thread.
+         */
+        void prepare(BehaviorContext context) {
+            if (sensors != null) {
+                sensors.update(context);
+            }
+            if (decision != null) {
+                decision.decide(context, intents);
+            }
+        }
+
+        /**
+         * Server thread phase: applies recorded intents and ticks the behavior tree,
+         * then clears the blackboard's dirty set for the next tick.
+         */
+        void commit(BehaviorContext context) {
+            intents.apply();
+            tree.tick(context);
+            blackboard.clearDirty();
+        }
+
+        /**
+         * Sensor heartbeat only, used for dormant brains. May run off the server thread.
+         */
+        void updateSensors(BehaviorContext context) {
+            if (sensors != null) {
+                sensors.update(context);
+            }
         }
     }
 }
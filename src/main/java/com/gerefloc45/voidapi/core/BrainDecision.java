@@ -0,0 +1,24 @@
+package com.gerefloc45.voidapi.core;
+
+import com.gerefloc45.voidapi.api.BehaviorContext;
+
+/**
+ * Read-only decision work attached to a brain, such as utility scoring or planning.
+ * Decisions run before the behavior tree each brain tick. When parallel ticking
+ * is enabled they run on a worker thread, so they must only read world state and
+ * record every mutation as an intent.
+ *
+ * @author VoidAPI Framework
+ * @version 0.8.0
+ */
+@FunctionalInterface
+public interface BrainDecision {
+
+    /**
+     * Runs the decision for one brain tick.
+     *
+     * @param context The behavior context
+     * @param intents Buffer for world-mutating intents, applied on the server thread
+     */
+    void decide(BehaviorContext context, BrainIntents intents);
+}
@@ -0,0 +1,97 @@
+package com.gerefloc45.voidapi.core;
+
+import com.gerefloc45.voidapi.api.Blackboard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Buffer of world-mutating intents recorded by a brain's decision phase.
+ * Decisions may run off the server thread, so anything that changes the world
+ * (navigation, attacks, blackboard writes) is recorded here and applied in
+ * order on the server thread before the brain's behavior tree ticks.
+ *
+ * @author VoidAPI Framework
+ * @version 0.8.0
+ */
+public class BrainIntents {
+    private final Blackboard blackboard;
+    private final List<Runnable> pending;
+
+    /**
+     * Creates a new intent buffer for a brain.
+     *
+     * @param blackboard The brain's blackboard, target of blackboard intents
+     */
+    public BrainIntents(Blackboard blackboard) {
+        this.blackboard = blackboard;
+        this.pending = new ArrayList<>();
+    }
+
+    /**
+     * Records an intent to run on the server thread.
+     *
+     * @param intent The world-mutating action
+     */
+    public void submit(Runnable intent) {
+        pending.add(intent);
+    }
+
+    /**
+     * Records a blackboard write.
+     *
+     * @param key The key to store the value under
+     * @param value The value to store
+     */
+    public void set(String key, Object value) {
+        pending.add(() -> blackboard.set(key, value));
+    }
+
+    /**
+     * Records a blackboard removal.
+     *
+     * @param key The key to remove
+     */
+    public void remove(String key) {
+        pending.add(() -> blackboard.remove(key));
+    }
+
+    /**
+     * Gets the number of pending intents.
+     *
+     * @return Pending intent count
+     */
+    public int size() {
+        return pending.size();
+    }
+
+    /**
+     * Checks if there are no pending intents.
+     *
+     * @return True if empty
+     */
+    public boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    /**
+     * Applies all pending intents in submission order and clears the buffer.
+     * Must be called on the server thread.
+     */
+    void apply() {
+        try {
+            for (int i = 0; i < pending.size(); i++) {
+                pending.get(i).run();
+            }
+        } finally {
+            pending.clear();
+        }
+    }
+
+    /**
+     * Discards all pending intents.
+     */
+    void clear() {
+        pending.clear();
+    }
+}
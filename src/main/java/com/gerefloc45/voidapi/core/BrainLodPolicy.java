@@ -0,0 +1,164 @@
+package com.gerefloc45.voidapi.core;
+
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.player.PlayerEntity;
+
+/**
+ * Level-of-detail policy for brain tick rates.
+ * Classifies brains into tiers by distance to the nearest player: full rate
+ * near players, a reduced rate at mid range, and a dormant tier beyond that
+ * which only runs sensor heartbeats. Demotion uses a hysteresis margin so
+ * entities hovering around a boundary do not flip tiers every check.
+ *
+ * @author VoidAPI Framework
+ * @version 0.8.0
+ */
+public class BrainLodPolicy {
+    private final double fullRange;
+    private final double reducedRange;
+    private final double hysteresis;
+    private final int reducedInterval;
+    private final int dormantInterval;
+    private final int reclassifyInterval;
+
+    /**
+     * Level-of-detail tiers, from most to least active.
+     */
+    public enum Tier {
+        /** Full brain tick every server tick */
+        FULL,
+        /** Full brain tick at a reduced rate */
+        REDUCED,
+        /** Sensor heartbeat only, behavior tree is paused */
+        DORMANT
+    }
+
+    /**
+     * Creates a policy with default settings: full rate within 32 blocks,
+     * 1/4 rate within 96 blocks, dormant beyond with a heartbeat once per second.
+     */
+    public BrainLodPolicy() {
+        this(32.0, 96.0, 8.0, 4, 20, 10);
+    }
+
+    /**
+     * Creates a policy with full configuration.
+     *
+     * @param fullRange Distance to the nearest player within which brains tick at full rate
+     * @param reducedRange Distance within which brains tick at the reduced rate
+     * @param hysteresis Extra distance a brain must move past a boundary before it is demoted
+     * @param reducedInterval Ticks between updates in the reduced tier
+     * @param dormantInterval Ticks between sensor heartbeats in the dormant tier
+     * @param reclassifyInterval Ticks between tier re-evaluations of a brain
+     */
+    public BrainLodPolicy(double fullRange, double reducedRange, double hysteresis,
+                          int reducedInterval, int dormantInterval, int reclassifyInterval) {
+        if (fullRange < 0 || reducedRange < fullRange) {
+            throw new IllegalArgumentException("Ranges must satisfy 0 <= fullRange <= reducedRange");
+        }
+        this.fullRange = fullRange;
+        this.reducedRange = reducedRange;
+        this.hysteresis = Math.max(0.0, hysteresis);
+        this.reducedInterval = Math.max(1, reducedInterval);
+        this.dormantInterval = Math.max(1, dormantInterval);
+        this.reclassifyInterval = Math.max(1, reclassifyInterval);
+    }
+
+    /**
+     * Classifies an entity into a tier.
+     * Promotion to a more active tier is immediate; demotion requires the
+     * nearest player to be farther than the boundary plus the hysteresis margin.
+     *
+     * @param entity The entity to classify
+     * @param current The entity's current tier
+     * @return The new tier
+     */
+    public Tier classify(LivingEntity entity, Tier current) {
+        double distanceSq = nearestPlayerDistanceSq(entity);
+
+        double fullLimit = fullRange + (current == Tier.FULL ? hysteresis : 0.0);
+        double reducedLimit = reducedRange + (current != Tier.DORMANT ? hysteresis : 0.0);
+
+        if (distanceSq <= fullLimit * fullLimit) {
+            return Tier.FULL;
+        }
+        if (distanceSq <= reducedLimit * reducedLimit) {
+            return Tier.REDUCED;
+        }
+        return Tier.DORMANT;
+    }
+
+    /**
+     * Gets the squared distance from an entity to the nearest non-spectator player in its world.
+     *
+     * @param entity The entity
+     * @return Squared distance, or {@link Double#MAX_VALUE} if no player is present
+     */
+    private double nearestPlayerDistanceSq(LivingEntity entity) {
+        double nearest = Double.MAX_VALUE;
+        for (PlayerEntity player : entity.getWorld().getPlayers()) {
+            if (player.isSpectator()) {
+                continue;
+            }
+            double distanceSq = player.squaredDistanceTo(entity);
+            if (distanceSq < nearest) {
+                nearest = distanceSq;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Gets the number of server ticks between updates for a tier.
+     *
+     * @param tier The tier
+     * @return Tick interval
+     */
+    public int getTickInterval(Tier tier) {
+        switch (tier) {
+            case REDUCED:
+                return reducedInterval;
+            case DORMANT:
+                return dormantInterval;
+            case FULL:
+            default:
+                return 1;
+        }
+    }
+
+    /**
+     * Gets the number of server ticks between tier re-evaluations.
+     *
+     * @return Reclassify interval
+     */
+    public int getReclassifyInterval() {
+        return reclassifyInterval;
+    }
+
+    /**
+     * Gets the full-rate range.
+     *
+     * @return Range in blocks
+     */
+    public double getFullRange() {
+        return fullRange;
+    }
+
+    /**
+     * Gets the reduced-rate range.
+     *
+     * @return Range in blocks
+     */
+    public double getReducedRange() {
+        return reducedRange;
+    }
+
+    /**
+     * Gets the demotion hysteresis margin.
+     *
+     * @return Margin in blocks
+     */
+    public double getHysteresis() {
+        return hysteresis;
+    }
+}
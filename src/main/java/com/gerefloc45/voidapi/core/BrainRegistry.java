@@ -0,0 +1,217 @@
+package com.gerefloc45.voidapi.core;
+
+import java.util.Arrays;
+
+/**
+ * Dense registry of values keyed by entity id.
+ * Values live in a gap-free array that can be iterated by index without hashing;
+ * removal swaps the last value into the freed position. An open-addressed table
+ * of primitive ints maps entity ids to dense indices, so register, lookup and
+ * removal are all O(1) without boxing.
+ *
+ * @param <T> The value type
+ * @author VoidAPI Framework
+ * @version 0.8.0
+ */
+final class BrainRegistry<T> {
+    private static final int EMPTY = 0;
+
+    // Dense storage
+    private Object[] values;
+    private int[] ids;
+    private int size;
+
+    // Entity id -> dense index + 1 (0 marks an empty slot)
+    private int[] tableKeys;
+    private int[] tableSlots;
+    private int mask;
+
+    /**
+     * Creates an empty registry.
+     */
+    BrainRegistry() {
+        this.values = new Object[16];
+        this.ids = new int[16];
+        this.tableKeys = new int[32];
+        this.tableSlots = new int[32];
+        this.mask = 31;
+    }
+
+    /**
+     * Stores a value for an entity id, replacing any previous value.
+     *
+     * @param id The entity id
+     * @param value The value
+     * @return The previous value, or null
+     */
+    T put(int id, T value) {
+        int slot = findSlot(id);
+        if (tableSlots[slot] != EMPTY) {
+            int index = tableSlots[slot] - 1;
+            T previous = valueAt(index);
+            values[index] = value;
+            return previous;
+        }
+
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        values[size] = value;
+        ids[size] = id;
+        size++;
+
+        tableKeys[slot] = id;
+        tableSlots[slot] = size;
+        if (size * 2 > tableKeys.length) {
+            rehash(tableKeys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Gets the value for an entity id.
+     *
+     * @param id The entity id
+     * @return The value, or null if absent
+     */
+    T get(int id) {
+        int index = indexOf(id);
+        return index >= 0 ? valueAt(index) : null;
+    }
+
+    /**
+     * Gets the dense index of an entity id.
+     *
+     * @param id The entity id
+     * @return The dense index, or -1 if absent
+     */
+    int indexOf(int id) {
+        return tableSlots[findSlot(id)] - 1;
+    }
+
+    /**
+     * Checks if an entity id is present.
+     *
+     * @param id The entity id
+     * @return True if present
+     */
+    boolean contains(int id) {
+        return indexOf(id) >= 0;
+    }
+
+    /**
+     * Removes the value for an entity id.
+     *
+     * @param id The entity id
+     * @return The removed value, or null if absent
+     */
+    T remove(int id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return null;
+        }
+        T removed = valueAt(index);
+        removeAt(index);
+        return removed;
+    }
+
+    /**
+     * Removes the value at a dense index by moving the last value into its place.
+     *
+     * @param index The dense index
+     */
+    void removeAt(int index) {
+        deleteSlot(findSlot(ids[index]));
+
+        int last = size - 1;
+        if (index != last) {
+            values[index] = values[last];
+            ids[index] = ids[last];
+            tableSlots[findSlot(ids[index])] = index + 1;
+        }
+        values[last] = null;
+        size--;
+    }
+
+    /**
+     * Gets the value at a dense index.
+     *
+     * @param index The dense index, between 0 and size - 1
+     * @return The value
+     */
+    @SuppressWarnings("unchecked")
+    T valueAt(int index) {
+        return (T) values[index];
+    }
+
+    /**
+     * Gets the number of values.
+     *
+     * @return The size
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Removes all values.
+     */
+    void clear() {
+        Arrays.fill(values, 0, size, null);
+        Arrays.fill(tableSlots, EMPTY);
+        size = 0;
+    }
+
+    /**
+     * Finds the table slot holding an id, or the empty slot where it would be inserted.
+     */
+    private int findSlot(int id) {
+        int slot = hash(id) & mask;
+        while (tableSlots[slot] != EMPTY && tableKeys[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Empties a table slot, shifting later entries of the probe run back so lookups stay correct.
+     */
+    private void deleteSlot(int slot) {
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (tableSlots[next] == EMPTY) {
+                break;
+            }
+            int home = hash(tableKeys[next]) & mask;
+            // Entries whose home lies cyclically in (slot, next] are still reachable
+            boolean reachable = slot <= next
+                ? slot < home && home <= next
+                : slot < home || home <= next;
+            if (reachable) {
+                continue;
+            }
+            tableKeys[slot] = tableKeys[next];
+            tableSlots[slot] = tableSlots[next];
+            slot = next;
+        }
+        tableSlots[slot] = EMPTY;
+    }
+
+    private void rehash(int capacity) {
+        tableKeys = new int[capacity];
+        tableSlots = new int[capacity];
+        mask = capacity - 1;
+        for (int i = 0; i < size; i++) {
+            int slot = findSlot(ids[i]);
+            tableKeys[slot] = ids[i];
+            tableSlots[slot] = i + 1;
+        }
+    }
+
+    private static int hash(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
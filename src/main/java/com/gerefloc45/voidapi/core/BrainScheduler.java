@@ -0,0 +1,598 @@
+package com.gerefloc45.voidapi.core;
+
+import com.gerefloc45.voidapi.api.BehaviorContext;
+import com.gerefloc45.voidapi.util.AsyncHelper;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.server.world.ServerWorld;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Time-sliced scheduler for registered brains.
+ * Ticks brains round-robin under a per-tick nanosecond budget; brains that do not
+ * fit in the budget are deferred and resumed first on the next server tick.
+ * Each brain receives the real time elapsed since its own previous tick.
+ * An optional {@link BrainLodPolicy} lowers the tick rate of brains far from players.
+ * <p>
+ * In parallel mode each tick runs in two phases: the read-only decision phase
+ * (sensors and {@link BrainDecision}s) of all due brains runs on a ForkJoin pool,
+ * partitioned by world and chunk region, then recorded {@link BrainIntents} are
+ * applied and behavior trees ticked on the server thread under the tick budget.
+ * The server thread runs nothing else while it waits for the decision phase, so
+ * decisions only see chunks that are already loaded (see {@link #isDecisionThread}).
+ * Sensors write their brain's blackboard from the worker; subscribers of the
+ * keys they change are notified on the server thread before the commit.
+ *
+ * @author VoidAPI Framework
+ * @version 0.8.0
+ */
+public class BrainScheduler {
+    /** Nominal time between server ticks in seconds (20 TPS) */
+    public static final float TICK_RATE = 0.05f;
+    /** Upper bound for a single delta time, avoids huge jumps after server pauses */
+    public static final float MAX_DELTA_TIME = 1.0f;
+    /** Region size for parallel partitioning, as a block coordinate shift (128 blocks = 8x8 chunks) */
+    private static final int REGION_SHIFT = 7;
+    // Set on threads while they run a decision phase
+    private static final ThreadLocal<Boolean> DECIDING = new ThreadLocal<>();
+
+    private final BrainRegistry<ScheduledBrain> brains;
+    private long tickBudgetNanos;
+    private BrainLodPolicy lodPolicy;
+    private boolean parallel;
+    private int cursor;
+    private long currentTick;
+
+    // Metrics
+    private int lastTickedCount;
+    private int lastDeferredCount;
+    private long lastTickNanos;
+    private long totalDeferredCount;
+    private long totalSkippedCount;
+
+    /**
+     * Creates a new scheduler with no tick budget (all brains tick every server tick).
+     */
+    public BrainScheduler() {
+        this(0L);
+    }
+
+    /**
+     * Creates a new scheduler with the given tick budget.
+     *
+     * @param tickBudgetNanos Maximum nanoseconds spent ticking brains per server tick (0 = unlimited)
+     */
+    public BrainScheduler(long tickBudgetNanos) {
+        this.brains = new BrainRegistry<>();
+        this.tickBudgetNanos = Math.max(0L, tickBudgetNanos);
+        this.cursor = 0;
+        this.currentTick = 0;
+    }
+
+    /**
+     * Registers an entity with the scheduler.
+     *
+     * @param entity The entity to register
+     */
+    public void register(LivingEntity entity) {
+        if (indexOf(entity) < 0) {
+            brains.put(entity.getId(), new ScheduledBrain(entity));
+        }
+    }
+
+    /**
+     * Unregisters an entity from the scheduler.
+     *
+     * @param entity The entity to unregister
+     */
+    public void unregister(LivingEntity entity) {
+        int index = indexOf(entity);
+        if (index >= 0) {
+            removeAt(index);
+        }
+    }
+
+    /**
+     * Checks if an entity is registered with the scheduler.
+     *
+     * @param entity The entity to check
+     * @return True if registered
+     */
+    public boolean isRegistered(LivingEntity entity) {
+        return indexOf(entity) >= 0;
+    }
+
+    /**
+     * Runs one server tick worth of brain updates.
+     * Invalid entities are dropped, then brains are ticked starting at the
+     * round-robin cursor until every brain has run or the budget is spent.
+     * At least one brain is always ticked so the schedule keeps making progress.
+     *
+     * @param controller The brain controller used to resolve attached brains
+     */
+    public void tick(BrainController controller) {
+        long start = System.nanoTime();
+        currentTick++;
+
+        // Remove dead or invalid entities; re-resolve brains that were detached or replaced
+        for (int i = brains.size() - 1; i >= 0; i--) {
+            ScheduledBrain brain = brains.valueAt(i);
+            if (brain.instance == null || !brain.instance.attached) {
+                brain.instance = controller.findBrain(brain.entity);
+            }
+            if (brain.entity.isRemoved() || !brain.entity.isAlive() || brain.instance == null) {
+                removeAt(i);
+            }
+        }
+
+        int count = brains.size();
+        if (cursor >= count) {
+            cursor = 0;
+        }
+
+        if (parallel) {
+            tickParallel(start, count);
+        } else {
+            tickSerial(start, count);
+        }
+        lastTickNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * Ticks due brains one after another on the server thread.
+     */
+    private void tickSerial(long start, int count) {
+        int visited = 0;
+        int ticked = 0;
+        while (visited < count) {
+            if (tickBudgetNanos > 0 && ticked > 0 && System.nanoTime() - start >= tickBudgetNanos) {
+                break;
+            }
+
+            ScheduledBrain brain = brains.valueAt(cursor);
+            if (currentTick >= brain.nextDueTick) {
+                tickBrain(brain);
+                ticked++;
+            }
+            visited++;
+            cursor++;
+            if (cursor >= count) {
+                cursor = 0;
+            }
+        }
+
+        recordTick(ticked, countDue(visited, count));
+    }
+
+    /**
+     * Ticks a single brain with its real elapsed delta time.
+     * Re-evaluates the brain's LOD tier when due, then either runs the full
+     * brain or, for dormant brains, only a sensor heartbeat.
+     */
+    private void tickBrain(ScheduledBrain brain) {
+        long now = System.nanoTime();
+        reclassify(brain);
+        float deltaTime = deltaTime(brain, now);
+        complete(brain, now);
+
+        try {
+            if (brain.tier == BrainLodPolicy.Tier.DORMANT) {
+                brain.instance.tickSensors(deltaTime);
+            } else {
+                brain.instance.tick(deltaTime);
+            }
+        } catch (Exception e) {
+            // Log error but continue ticking other entities
+            System.err.println("Error ticking brain for entity " + brain.entity.getUuid() + ": " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Ticks due brains in two phases: parallel decision work, then a server thread commit.
+     * Brains the commit budget does not reach discard their intents and stay due,
+     * so they are prepared again and committed first on the next tick; their
+     * sensor writes are kept and announced like those of committed brains.
+     */
+    private void tickParallel(long start, int count) {
+        // Select due brains in round-robin order and resolve their contexts on the server thread
+        List<ScheduledBrain> due = new ArrayList<>();
+        Map<ServerWorld, Map<Long, List<ScheduledBrain>>> partitions = new IdentityHashMap<>();
+        long now = System.nanoTime();
+
+        for (int i = 0, index = cursor; i < count; i++) {
+            ScheduledBrain brain = brains.valueAt(index);
+            brain.index = index;
+            if (++index >= count) {
+                index = 0;
+            }
+            if (currentTick < brain.nextDueTick) {
+                continue;
+            }
+
+            if (!(brain.entity.getWorld() instanceof ServerWorld world)) {
+                continue;
+            }
+
+            reclassify(brain);
+            brain.context = brain.instance.nextContext(deltaTime(brain, now));
+            brain.instance.blackboard.deferNotifications();
+            due.add(brain);
+
+            long region = ((long) (brain.entity.getBlockPos().getX() >> REGION_SHIFT) << 32)
+                | ((brain.entity.getBlockPos().getZ() >> REGION_SHIFT) & 0xFFFFFFFFL);
+            partitions.computeIfAbsent(world, w -> new HashMap<>())
+                .computeIfAbsent(region, r -> new ArrayList<>())
+                .add(brain);
+        }
+
+        // Phase 1: read-only decision work, one task per world region
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (Map<Long, List<ScheduledBrain>> regions : partitions.values()) {
+            for (List<ScheduledBrain> region : regions.values()) {
+                tasks.add(AsyncHelper.getParallelPool().submit(() -> prepareRegion(region)));
+            }
+        }
+        awaitAll(tasks);
+
+        // Phase 2: apply intents and tick trees on the server thread
+        int ticked = 0;
+        int deferred = 0;
+        for (ScheduledBrain brain : due) {
+            if (tickBudgetNanos > 0 && ticked > 0 && System.nanoTime() - start >= tickBudgetNanos) {
+                if (deferred == 0) {
+                    cursor = brain.index;
+                }
+                brain.instance.intents.clear();
+                dispatchChanges(brain);
+                deferred++;
+            } else {
+                complete(brain, System.nanoTime());
+                dispatchChanges(brain);
+                commit(brain);
+                ticked++;
+            }
+            brain.context = null;
+        }
+
+        recordTick(ticked, deferred);
+    }
+
+    /**
+     * Runs the decision phase for all brains of one region on a worker thread.
+     */
+    private static void prepareRegion(List<ScheduledBrain> region) {
+        DECIDING.set(Boolean.TRUE);
+        try {
+            prepareBrains(region);
+        } finally {
+            DECIDING.remove();
+        }
+    }
+
+    private static void prepareBrains(List<ScheduledBrain> region) {
+        for (ScheduledBrain brain : region) {
+            try {
+                if (brain.tier == BrainLodPolicy.Tier.DORMANT) {
+                    brain.instance.updateSensors(brain.context);
+                } else {
+                    brain.instance.prepare(brain.context);
+                }
+            } catch (Exception e) {
+                System.err.println("Error preparing brain for entity " + brain.entity.getUuid() + ": " + e.getMessage());
+                e.printStackTrace();
+                brain.instance.intents.clear();
+            }
+        }
+    }
+
+    /**
+     * Notifies blackboard subscribers of the changes a brain's decision phase
+     * made on a worker, on the server thread.
+     */
+    private static void dispatchChanges(ScheduledBrain brain) {
+        try {
+            brain.instance.blackboard.dispatchNotifications();
+        } catch (Exception e) {
+            System.err.println("Error notifying blackboard listeners for entity " + brain.entity.getUuid() + ": " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Applies a prepared brain's intents and ticks its tree on the server thread.
+     */
+    private static void commit(ScheduledBrain brain) {
+        try {
+            if (brain.tier == BrainLodPolicy.Tier.DORMANT) {
+                brain.instance.intents.apply();
+            } else {
+                brain.instance.commit(brain.context);
+            }
+        } catch (Exception e) {
+            System.err.println("Error ticking brain for entity " + brain.entity.getUuid() + ": " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Waits for the decision tasks without running any world tasks meanwhile.
+     * Running queued chunk tasks here would load chunks, add entities and fire
+     * chunk events while workers read the world and the registry is mid-tick;
+     * instead, decision threads read loaded chunks directly.
+     */
+    private static void awaitAll(List<ForkJoinTask<?>> tasks) {
+        for (ForkJoinTask<?> task : tasks) {
+            task.quietlyJoin();
+        }
+    }
+
+    /**
+     * Checks if the current thread is running a brain decision phase. Chunk
+     * lookups on such threads are answered from the loaded chunks directly,
+     * and a lookup that would load a chunk throws instead, which skips the
+     * brain's decision for that tick.
+     *
+     * @return True while a decision phase runs on this thread
+     */
+    public static boolean isDecisionThread() {
+        return DECIDING.get() != null;
+    }
+
+    /**
+     * Computes a brain's delta time without updating its bookkeeping.
+     */
+    private static float deltaTime(ScheduledBrain brain, long now) {
+        if (brain.lastTick <= 0) {
+            return TICK_RATE;
+        }
+        return Math.min((now - brain.lastTickNanos) / 1_000_000_000.0f, MAX_DELTA_TIME);
+    }
+
+    /**
+     * Records that a brain ran this tick and schedules its next tick.
+     */
+    private void complete(ScheduledBrain brain, long now) {
+        if (brain.lastTick > 0) {
+            totalSkippedCount += Math.max(0L, currentTick - brain.nextDueTick);
+        }
+        brain.lastTickNanos = now;
+        brain.lastTick = currentTick;
+        scheduleNext(brain);
+    }
+
+    /**
+     * Counts due brains the budget did not reach; they run first next tick.
+     */
+    private int countDue(int visited, int count) {
+        int due = 0;
+        for (int i = visited, index = cursor; i < count; i++) {
+            if (currentTick >= brains.valueAt(index).nextDueTick) {
+                due++;
+            }
+            if (++index >= count) {
+                index = 0;
+            }
+        }
+        return due;
+    }
+
+    private void recordTick(int ticked, int deferred) {
+        lastTickedCount = ticked;
+        lastDeferredCount = deferred;
+        totalDeferredCount += deferred;
+    }
+
+    /**
+     * Re-evaluates a brain's tier if due.
+     */
+    private void reclassify(ScheduledBrain brain) {
+        BrainLodPolicy.Tier previous = brain.tier;
+        if (lodPolicy == null) {
+            brain.tier = BrainLodPolicy.Tier.FULL;
+        } else if (currentTick >= brain.nextLodCheckTick) {
+            brain.tier = lodPolicy.classify(brain.entity, previous);
+            brain.nextLodCheckTick = currentTick + lodPolicy.getReclassifyInterval();
+        }
+        brain.tierChanged = brain.tier != previous;
+    }
+
+    /**
+     * Schedules a brain's next tick from its tier.
+     * Brains entering a slower tier get a phase offset from their entity id so
+     * brains demoted together do not all land on the same server tick.
+     */
+    private void scheduleNext(ScheduledBrain brain) {
+        int interval = lodPolicy != null ? lodPolicy.getTickInterval(brain.tier) : 1;
+        if (brain.tierChanged && interval > 1) {
+            brain.nextDueTick = currentTick + 1 + Math.floorMod(brain.entity.getId(), interval);
+        } else {
+            brain.nextDueTick = currentTick + interval;
+        }
+    }
+
+    private int indexOf(LivingEntity entity) {
+        int index = brains.indexOf(entity.getId());
+        return index >= 0 && brains.valueAt(index).entity == entity ? index : -1;
+    }
+
+    private void removeAt(int index) {
+        int last = brains.size() - 1;
+        brains.removeAt(index);
+        // Swap-remove moved the last brain into the freed index; follow it if the cursor pointed there
+        if (cursor == last && index != last) {
+            cursor = index;
+        }
+    }
+
+    /**
+     * Clears all registered entities.
+     */
+    public void clear() {
+        brains.clear();
+        cursor = 0;
+    }
+
+    /**
+     * Gets the number of registered entities.
+     *
+     * @return Registered entity count
+     */
+    public int size() {
+        return brains.size();
+    }
+
+    /**
+     * Sets the per-tick budget.
+     *
+     * @param tickBudgetNanos Maximum nanoseconds spent ticking brains per server tick (0 = unlimited)
+     */
+    public void setTickBudgetNanos(long tickBudgetNanos) {
+        this.tickBudgetNanos = Math.max(0L, tickBudgetNanos);
+    }
+
+    /**
+     * Gets the per-tick budget.
+     *
+     * @return Budget in nanoseconds (0 = unlimited)
+     */
+    public long getTickBudgetNanos() {
+        return tickBudgetNanos;
+    }
+
+    /**
+     * Enables or disables two-phase parallel ticking.
+     * Sensors and decisions of parallel brains must only read world state,
+     * and only in chunks that are already loaded. They run on worker threads,
+     * so they must not touch state shared with other brains or with tree nodes;
+     * blackboard listeners still run on the server thread.
+     *
+     * @param parallel True to run decision phases on the parallel pool
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Checks if two-phase parallel ticking is enabled.
+     *
+     * @return True if parallel
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Sets the level-of-detail policy.
+     *
+     * @param lodPolicy The policy, or null to tick every brain at full rate
+     */
+    public void setLodPolicy(BrainLodPolicy lodPolicy) {
+        this.lodPolicy = lodPolicy;
+        for (int i = 0; i < brains.size(); i++) {
+            brains.valueAt(i).nextLodCheckTick = 0;
+        }
+    }
+
+    /**
+     * Gets the level-of-detail policy.
+     *
+     * @return The policy, or null if LOD is disabled
+     */
+    public BrainLodPolicy getLodPolicy() {
+        return lodPolicy;
+    }
+
+    /**
+     * Gets the current LOD tier of a registered entity.
+     *
+     * @param entity The entity
+     * @return The tier, or null if the entity is not registered
+     */
+    public BrainLodPolicy.Tier getTier(LivingEntity entity) {
+        int index = indexOf(entity);
+        return index >= 0 ? brains.valueAt(index).tier : null;
+    }
+
+    /**
+     * Gets the number of brains ticked during the last server tick.
+     *
+     * @return Ticked brain count
+     */
+    public int getLastTickedCount() {
+        return lastTickedCount;
+    }
+
+    /**
+     * Gets the number of brains deferred to a later server tick during the last server tick.
+     *
+     * @return Deferred brain count
+     */
+    public int getLastDeferredCount() {
+        return lastDeferredCount;
+    }
+
+    /**
+     * Gets the time spent in the last server tick, including cleanup.
+     *
+     * @return Elapsed time in nanoseconds
+     */
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    /**
+     * Gets the total number of deferrals since the metrics were last reset.
+     *
+     * @return Total deferred count
+     */
+    public long getTotalDeferredCount() {
+        return totalDeferredCount;
+    }
+
+    /**
+     * Gets the total number of brain ticks lost to the budget since the metrics were last reset.
+     * A brain that runs two server ticks after it was due counts as two skipped ticks;
+     * ticks a brain sits out because of its LOD tier are not counted.
+     *
+     * @return Total skipped tick count
+     */
+    public long getTotalSkippedCount() {
+        return totalSkippedCount;
+    }
+
+    /**
+     * Resets the cumulative deferred and skipped counters.
+     */
+    public void resetMetrics() {
+        totalDeferredCount = 0;
+        totalSkippedCount = 0;
+    }
+
+    /**
+     * Per-entity scheduling state.
+     */
+    private static class ScheduledBrain {
+        final LivingEntity entity;
+        BrainController.BrainInstance instance;
+        BrainLodPolicy.Tier tier = BrainLodPolicy.Tier.FULL;
+        boolean tierChanged;
+        long nextDueTick;
+        long nextLodCheckTick;
+        long lastTick;
+        long lastTickNanos;
+
+        // Parallel tick state, only set between selection and commit
+        int index;
+        BehaviorContext context;
+
+        ScheduledBrain(LivingEntity entity) {
+            this.entity = entity;
+        }
+    }
+}
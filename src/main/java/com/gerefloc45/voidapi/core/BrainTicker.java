@@ -1,23 +1,33 @@
 package com.gerefloc45.voidapi.core;
 
+import com.gerefloc45.voidapi.api.perception.BlockIndex;
+import com.gerefloc45.voidapi.api.perception.ChunkChangeTracker;
+import com.gerefloc45.voidapi.api.perception.LineOfSightService;
+import com.gerefloc45.voidapi.api.perception.LoadedChunks;
+import com.gerefloc45.voidapi.api.perception.OcclusionGrid;
+import com.gerefloc45.voidapi.api.perception.PerceptionGroup;
+import com.gerefloc45.voidapi.api.perception.ScentField;
+import com.gerefloc45.voidapi.api.perception.SensorManager;
+import com.gerefloc45.voidapi.api.perception.SoundEventBus;
+import com.gerefloc45.voidapi.api.perception.SpatialIndex;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.server.MinecraftServer;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Handles automatic ticking of all registered brains on server tick.
  * Integrates with Fabric's server tick event system.
+ * Scheduling is delegated to a {@link BrainScheduler}, which can be given a
+ * per-tick time budget to spread brain updates across server ticks.
  * 
  * @author VoidAPI Framework
  * @version 1.0.0
  */
 public class BrainTicker {
-    private static final float TICK_RATE = 0.05f; // 20 TPS = 0.05 seconds per tick
     private static boolean initialized = false;
-    private static final List<LivingEntity> entitiesToTick = new ArrayList<>();
+    private static final BrainScheduler scheduler = new BrainScheduler();
 
     /**
      * Initializes the brain ticker system.
@@ -29,6 +39,29 @@ public class BrainTicker {
         }
 
         ServerTickEvents.END_SERVER_TICK.register(BrainTicker::onServerTick);
+        ServerWorldEvents.UNLOAD.register((server, world) -> {
+            SpatialIndex.remove(world);
+            LineOfSightService.remove(world);
+            OcclusionGrid.remove(world);
+            BlockIndex.remove(world);
+            SoundEventBus.remove(world);
+            ScentField.remove(world);
+            ChunkChangeTracker.remove(world);
+            LoadedChunks.remove(world);
+            PerceptionGroup.removeAll(world);
+        });
+        // A reloaded chunk may differ from what cached results saw
+        ServerChunkEvents.CHUNK_LOAD.register((world, chunk) -> {
+            LoadedChunks.of(world).onLoad(chunk);
+            ChunkChangeTracker.of(world).markChanged(chunk.getPos().x, chunk.getPos().z);
+            OcclusionGrid.invalidateChunk(world, chunk.getPos().x, chunk.getPos().z);
+            BlockIndex.invalidateChunk(world, chunk.getPos().x, chunk.getPos().z);
+        });
+        ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> {
+            LoadedChunks.of(world).onUnload(chunk);
+            OcclusionGrid.invalidateChunk(world, chunk.getPos().x, chunk.getPos().z);
+            BlockIndex.invalidateChunk(world, chunk.getPos().x, chunk.getPos().z);
+        });
         initialized = true;
     }
 
@@ -38,9 +71,7 @@ public class BrainTicker {
      * @param entity The entity to register
      */
     public static void registerEntity(LivingEntity entity) {
-        if (!entitiesToTick.contains(entity)) {
-            entitiesToTick.add(entity);
-        }
+        scheduler.register(entity);
     }
 
     /**
@@ -49,7 +80,7 @@ public class BrainTicker {
      * @param entity The entity to unregister
      */
     public static void unregisterEntity(LivingEntity entity) {
-        entitiesToTick.remove(entity);
+        scheduler.unregister(entity);
     }
 
     /**
@@ -59,7 +90,7 @@ public class BrainTicker {
      * @return True if registered
      */
     public static boolean isRegistered(LivingEntity entity) {
-        return entitiesToTick.contains(entity);
+        return scheduler.isRegistered(entity);
     }
 
     /**
@@ -68,28 +99,69 @@ public class BrainTicker {
      * @param server The minecraft server
      */
     private static void onServerTick(MinecraftServer server) {
-        BrainController controller = BrainController.getInstance();
-        
-        // Remove dead or invalid entities
-        entitiesToTick.removeIf(entity -> entity.isRemoved() || !entity.isAlive() || !controller.hasBrain(entity));
+        SpatialIndex.refreshAll(server); // Build before sensors may query from worker threads
+        SensorManager.beginTick();
+        scheduler.tick(BrainController.getInstance());
+        LineOfSightService.flushAll(); // Serve this tick's line-of-sight requests in one batch
+        SoundEventBus.expireAll();
+        ScentField.sweepAll();
+    }
 
-        // Tick all registered entities
-        for (LivingEntity entity : entitiesToTick) {
-            try {
-                controller.tick(entity, TICK_RATE);
-            } catch (Exception e) {
-                // Log error but continue ticking other entities
-                System.err.println("Error ticking brain for entity " + entity.getUuid() + ": " + e.getMessage());
-                e.printStackTrace();
-            }
-        }
+    /**
+     * Sets the maximum time spent ticking brains per server tick.
+     * Brains that do not fit are deferred to the next tick in round-robin order.
+     *
+     * @param budgetNanos Budget in nanoseconds (0 = unlimited)
+     */
+    public static void setTickBudgetNanos(long budgetNanos) {
+        scheduler.setTickBudgetNanos(budgetNanos);
+    }
+
+    /**
+     * Sets the maximum time spent updating sensors per server tick, across all brains.
+     * Due sensor updates that do not fit are deferred by up to one update interval.
+     *
+     * @param budgetNanos Budget in nanoseconds (0 = unlimited)
+     */
+    public static void setSensorBudgetNanos(long budgetNanos) {
+        SensorManager.setTickBudgetNanos(budgetNanos);
+    }
+
+    /**
+     * Enables or disables two-phase parallel ticking.
+     * Sensors and attached {@link BrainDecision}s run on worker threads, partitioned by
+     * world and chunk region; intents and behavior trees are then applied on the server thread.
+     *
+     * @param parallel True to enable parallel ticking
+     */
+    public static void setParallel(boolean parallel) {
+        scheduler.setParallel(parallel);
+    }
+
+    /**
+     * Sets the level-of-detail policy used to lower tick rates of brains far from players.
+     *
+     * @param policy The LOD policy, or null to tick every brain at full rate
+     */
+    public static void setLodPolicy(BrainLodPolicy policy) {
+        scheduler.setLodPolicy(policy);
+    }
+
+    /**
+     * Gets the scheduler used to tick registered brains.
+     * Exposes deferred and skipped tick metrics.
+     *
+     * @return The brain scheduler
+     */
+    public static BrainScheduler getScheduler() {
+        return scheduler;
     }
 
     /**
      * Clears all registered entities.
      */
     public static void clearAll() {
-        entitiesToTick.clear();
+        scheduler.clear();
     }
 
     /**
@@ -98,6 +170,6 @@ public class BrainTicker {
      * @return The number of registered entities
      */
     public static int getRegisteredCount() {
-        return entitiesToTick.size();
+        return scheduler.size();
     }
 }
@@ -0,0 +1,45 @@
+package com.gerefloc45.voidapi.mixin;
+
+import com.gerefloc45.voidapi.api.perception.LoadedChunks;
+import com.gerefloc45.voidapi.core.BrainScheduler;
+import net.minecraft.server.world.ServerChunkManager;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.ChunkStatus;
+import net.minecraft.world.chunk.WorldChunk;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Serves chunk lookups from brain decision workers out of {@link LoadedChunks}.
+ * Vanilla hands off-thread lookups to the server thread, which is waiting for
+ * the workers during the decision phase, so they would never complete. Loaded
+ * chunks are returned directly; a lookup that would load a chunk fails fast.
+ *
+ * @author VoidAPI Framework
+ * @version 0.8.0
+ */
+@Mixin(ServerChunkManager.class)
+public abstract class ServerChunkManagerMixin {
+    @Shadow
+    @Final
+    ServerWorld world;
+
+    @Inject(method = "getChunk(IILnet/minecraft/world/chunk/ChunkStatus;Z)Lnet/minecraft/world/chunk/Chunk;",
+            at = @At("HEAD"), cancellable = true)
+    private void voidapi$getChunkFromDecision(int x, int z, ChunkStatus leastStatus, boolean create,
+                                              CallbackInfoReturnable<Chunk> cir) {
+        if (!BrainScheduler.isDecisionThread()) {
+            return;
+        }
+        WorldChunk chunk = LoadedChunks.of(world).get(x, z);
+        if (chunk == null && create) {
+            throw new IllegalStateException("Chunk [" + x + ", " + z + "] is not loaded; brain decisions can only read loaded chunks");
+        }
+        cir.setReturnValue(chunk);
+    }
+}
@@ -0,0 +1,32 @@
+package com.gerefloc45.voidapi.mixin;
+
+import com.gerefloc45.voidapi.api.perception.BlockIndex;
+import com.gerefloc45.voidapi.api.perception.ChunkChangeTracker;
+import com.gerefloc45.voidapi.api.perception.OcclusionGrid;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Reports block changes in server worlds to the {@link ChunkChangeTracker},
+ * which perception caches use for invalidation, and to the block bitsets of
+ * {@link OcclusionGrid} and {@link BlockIndex}.
+ *
+ * @author VoidAPI Framework
+ * @version 0.8.0
+ */
+@Mixin(ServerWorld.class)
+public abstract class ServerWorldMixin {
+
+    @Inject(method = "onBlockChanged", at = @At("HEAD"))
+    private void voidapi$onBlockChanged(BlockPos pos, BlockState oldBlock, BlockState newBlock, CallbackInfo ci) {
+        ServerWorld world = (ServerWorld) (Object) this;
+        ChunkChangeTracker.of(world).markChanged(pos);
+        OcclusionGrid.onBlockChanged(world, pos, newBlock);
+        BlockIndex.onBlockChanged(world, pos, newBlock);
+    }
+}
@@ -3,6 +3,8 @@ package com.gerefloc45.voidapi.util;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.function.Supplier;
 
 /**
@@ -22,6 +24,18 @@ public class AsyncHelper {
         }
     );
 
+    private static final ForkJoinPool PARALLEL_POOL = new ForkJoinPool(
+        Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+        pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("VoidAPI-Parallel-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        },
+        null,
+        false
+    );
+
     /**
      * Runs a task asynchronously and returns a CompletableFuture.
      *
@@ -73,6 +87,7 @@ public class AsyncHelper {
      */
     public static void shutdown() {
         EXECUTOR.shutdown();
+        PARALLEL_POOL.shutdown();
     }
 
     /**
@@ -83,4 +98,14 @@ public class AsyncHelper {
     public static ExecutorService getExecutor() {
         return EXECUTOR;
     }
+
+    /**
+     * Gets the ForkJoin pool used for parallel brain ticking.
+     * Sized to leave one core for the server thread.
+     *
+     * @return The parallel pool
+     */
+    public static ForkJoinPool getParallelPool() {
+        return PARALLEL_POOL;
+    }
 }
@@ -1,11 +1,13 @@
 package com.gerefloc45.voidapi.util;
 
+import com.gerefloc45.voidapi.api.perception.SpatialIndex;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Box;
 import net.minecraft.world.World;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,6 +34,7 @@ public class EntityUtil {
 
     /**
      * Finds all living entities within a range of a position.
+     * Served from the world's shared {@link SpatialIndex}.
      *
      * @param world The world to search in
      * @param pos The center position
@@ -43,7 +46,9 @@ public class EntityUtil {
     public static <T extends LivingEntity> List<T> findEntitiesInRange(
             World world, BlockPos pos, double range, Class<T> entityClass) {
         Box box = new Box(pos).expand(range);
-        return world.getEntitiesByClass(entityClass, box, entity -> true);
+        List<T> entities = new ArrayList<>();
+        SpatialIndex.of(world).queryBox(box, entityClass, null, entities);
+        return entities;
     }
 
     /**
@@ -0,0 +1,38 @@
+package com.gerefloc45.voidapi.api;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that only writes and key creation intern names through the string API.
+ */
+class BlackboardKeyTest {
+    @Test
+    void readsOfUnknownNamesDoNotIntern() {
+        Blackboard blackboard = new Blackboard();
+        String name = "never_written_" + System.nanoTime();
+
+        assertFalse(blackboard.get(name).isPresent());
+        assertFalse(blackboard.has(name));
+        assertEquals(0L, blackboard.getVersion(name));
+        blackboard.remove(name);
+
+        assertEquals(-1, BlackboardKey.findId(name));
+    }
+
+    @Test
+    void writesInternAndShareStorageWithKeys() {
+        Blackboard blackboard = new Blackboard();
+        String name = "written_" + System.nanoTime();
+
+        blackboard.set(name, 3);
+
+        assertTrue(BlackboardKey.findId(name) >= 0);
+        assertEquals(Integer.valueOf(3), blackboard.getOrNull(BlackboardKey.of(name, Integer.class)));
+        blackboard.remove(name);
+        assertFalse(blackboard.has(name));
+    }
+}
@@ -0,0 +1,92 @@
+package com.gerefloc45.voidapi.api.perception;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.hit.HitResult;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.RaycastContext;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks {@link OcclusionGrid}'s voxel traversal against vanilla collider
+ * raycasts on generated terrain. The terrain only uses blocks both agree on,
+ * so any difference is a traversal or shape test bug, such as a block skipped
+ * or added where a ray passes near an edge or corner.
+ */
+class OcclusionGridTest {
+    private static final int RAYS = 20_000;
+
+    @BeforeAll
+    static void bootstrap() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+    }
+
+    @Test
+    void matchesVanillaRaycasts() {
+        Random random = new Random(13);
+        TestTerrain terrain = new TestTerrain(random);
+
+        int blocked = 0;
+        for (int i = 0; i < RAYS; i++) {
+            Vec3d from = terrain.openPoint(random);
+            Vec3d to = terrain.openPoint(random);
+            // Also cover axis-aligned rays, where the traversal never steps along some axes
+            switch (i % 4) {
+                case 1 -> to = new Vec3d(to.x, from.y, to.z);
+                case 2 -> to = new Vec3d(from.x, to.y, from.z);
+                default -> {
+                }
+            }
+
+            boolean vanilla = terrain.raycast(new RaycastContext(
+                    from,
+                    to,
+                    RaycastContext.ShapeType.COLLIDER,
+                    RaycastContext.FluidHandling.NONE,
+                    (Entity) null)).getType() == HitResult.Type.MISS;
+            boolean grid = OcclusionGrid.isClear(from, to, 0, TestTerrain.SIZE, terrain);
+
+            Vec3d start = from;
+            Vec3d end = to;
+            assertEquals(vanilla, grid, () -> "Ray " + start + " -> " + end);
+            if (!vanilla) {
+                blocked++;
+            }
+        }
+
+        // Both outcomes must be common, or the comparison proves little
+        int blockedRays = blocked;
+        assertTrue(blocked > RAYS / 10 && blocked < RAYS * 9 / 10,
+                () -> blockedRays + " of " + RAYS + " rays blocked");
+    }
+
+    @Test
+    void unloadedSectionsBlock() {
+        // Empty sections everywhere except west of x = 0, which is "unloaded"
+        long[] empty = new long[4096 / 64];
+        OcclusionGrid.SectionSource sections = new OcclusionGrid.SectionSource() {
+            @Override
+            public long[] get(int sectionX, int sectionY, int sectionZ) {
+                return sectionX >= 0 ? empty : null;
+            }
+
+            @Override
+            public boolean hitsShape(int x, int y, int z, Vec3d from, Vec3d to) {
+                throw new AssertionError("No partial occluders here");
+            }
+        };
+        Vec3d from = new Vec3d(8.5, 40.5, 8.5);
+
+        assertTrue(OcclusionGrid.isClear(from, new Vec3d(0.5, 40.5, 8.5), 0, TestTerrain.SIZE, sections));
+        assertFalse(OcclusionGrid.isClear(from, new Vec3d(-0.5, 40.5, 8.5), 0, TestTerrain.SIZE, sections));
+    }
+}
@@ -0,0 +1,152 @@
+package com.gerefloc45.voidapi.api.perception;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.BlockView;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A generated 48-block cube of terrain (3x3x3 sections) with the occlusion
+ * bits of every section, built the way {@link OcclusionGrid} builds them.
+ *
+ * <p>Only blocks on which the grid and vanilla collider raycasts agree are
+ * used: stone and dirt block both, air and short grass block neither, and
+ * slabs, stairs and walls block both where a ray hits their shape. The
+ * terrain is hilly ground riddled with caves, with grass, slabs, stairs and
+ * walls on top and a few floating blocks above.
+ *
+ * <p>Minecraft must be bootstrapped before use.
+ */
+final class TestTerrain implements BlockView, OcclusionGrid.SectionSource {
+    static final int SIZE = 48;
+    private static final int WORDS = 4096 / 64;
+
+    private final BlockState[] blocks = new BlockState[SIZE * SIZE * SIZE];
+    private final Map<Long, long[]> sections = new HashMap<>();
+
+    TestTerrain(Random random) {
+        BlockState air = Blocks.AIR.getDefaultState();
+        BlockState stone = Blocks.STONE.getDefaultState();
+        BlockState dirt = Blocks.DIRT.getDefaultState();
+        BlockState grass = Blocks.SHORT_GRASS.getDefaultState();
+        BlockState[] partial = {
+                Blocks.STONE_SLAB.getDefaultState(),
+                Blocks.STONE_STAIRS.getDefaultState(),
+                Blocks.COBBLESTONE_WALL.getDefaultState()
+        };
+
+        for (int x = 0; x < SIZE; x++) {
+            for (int z = 0; z < SIZE; z++) {
+                int height = 20 + (int) (6 * Math.sin(x / 7.0) + 6 * Math.cos(z / 9.0)) + random.nextInt(3);
+                for (int y = 0; y < SIZE; y++) {
+                    BlockState state;
+                    if (y < height) {
+                        state = random.nextInt(10) < 3 ? air : y >= height - 3 ? dirt : stone;
+                    } else if (y == height) {
+                        int roll = random.nextInt(8);
+                        state = roll < 2 ? grass : roll < 5 ? partial[roll - 2] : air;
+                    } else {
+                        state = random.nextInt(40) == 0 ? stone : air;
+                    }
+                    blocks[index(x, y, z)] = state;
+                }
+            }
+        }
+
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        for (int sx = 0; sx < SIZE / 16; sx++) {
+            for (int sy = 0; sy < SIZE / 16; sy++) {
+                for (int sz = 0; sz < SIZE / 16; sz++) {
+                    long[] bits = new long[WORDS];
+                    for (int i = 0; i < 4096; i++) {
+                        pos.set(sx * 16 + (i & 15), sy * 16 + (i >> 8), sz * 16 + ((i >> 4) & 15));
+                        BlockState state = getBlockState(pos);
+                        if (OcclusionGrid.occludes(state, this, pos)) {
+                            bits[i >>> 6] |= 1L << i;
+                        } else if (OcclusionGrid.occludesPartially(state, this, pos)) {
+                            if (bits.length == WORDS) {
+                                bits = Arrays.copyOf(bits, WORDS * 2);
+                            }
+                            bits[WORDS + (i >>> 6)] |= 1L << i;
+                        }
+                    }
+                    sections.put(ChunkSectionPos.asLong(sx, sy, sz), bits);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the occlusion bits of a section, for {@link OcclusionGrid#isClear(Vec3d, Vec3d, int, int, OcclusionGrid.SectionSource)}.
+     *
+     * @return The bits, or null outside the terrain, like an unloaded section
+     */
+    @Override
+    public long[] get(int sectionX, int sectionY, int sectionZ) {
+        return sections.get(ChunkSectionPos.asLong(sectionX, sectionY, sectionZ));
+    }
+
+    @Override
+    public boolean hitsShape(int x, int y, int z, Vec3d from, Vec3d to) {
+        BlockPos pos = new BlockPos(x, y, z);
+        return getBlockState(pos).getCollisionShape(this, pos).raycast(from, to, pos) != null;
+    }
+
+    /**
+     * Picks a random point inside the terrain in a block that doesn't block sight.
+     */
+    Vec3d openPoint(Random random) {
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        while (true) {
+            Vec3d point = new Vec3d(random.nextDouble() * SIZE, random.nextDouble() * SIZE, random.nextDouble() * SIZE);
+            pos.set(point.x, point.y, point.z);
+            if (!OcclusionGrid.occludes(getBlockState(pos), this, pos)) {
+                return point;
+            }
+        }
+    }
+
+    @Override
+    public BlockEntity getBlockEntity(BlockPos pos) {
+        return null;
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        int x = pos.getX();
+        int y = pos.getY();
+        int z = pos.getZ();
+        if (x < 0 || y < 0 || z < 0 || x >= SIZE || y >= SIZE || z >= SIZE) {
+            return Blocks.AIR.getDefaultState();
+        }
+        return blocks[index(x, y, z)];
+    }
+
+    @Override
+    public FluidState getFluidState(BlockPos pos) {
+        return getBlockState(pos).getFluidState();
+    }
+
+    @Override
+    public int getHeight() {
+        return SIZE;
+    }
+
+    @Override
+    public int getBottomY() {
+        return 0;
+    }
+
+    private static int index(int x, int y, int z) {
+        return (y * SIZE + z) * SIZE + x;
+    }
+}
@@ -0,0 +1,128 @@
+package com.gerefloc45.voidapi.core;
+
+import com.gerefloc45.voidapi.api.Behavior;
+import com.gerefloc45.voidapi.api.BehaviorTree;
+import com.gerefloc45.voidapi.api.Blackboard;
+import com.gerefloc45.voidapi.api.BlackboardKey;
+import com.gerefloc45.voidapi.api.NodeState;
+import com.gerefloc45.voidapi.api.nodes.ActionNode;
+import com.gerefloc45.voidapi.api.nodes.SelectorNode;
+import com.gerefloc45.voidapi.api.nodes.SequenceNode;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that a steady-state brain tick of a Selector/Sequence/Action tree
+ * allocates nothing: the context is reused and updated in place, and node
+ * state lives in the tree's preallocated {@link NodeState}.
+ *
+ * <p>The brain is ticked through {@code BrainInstance}'s own tick, without an
+ * entity and with a null world, which the tree never reads.
+ */
+class SteadyStateAllocationTest {
+    private static final BlackboardKey<Boolean> ALERT = BlackboardKey.ofBoolean("test_alert");
+    private static final BlackboardKey<Integer> PROGRESS = BlackboardKey.ofInt("test_progress");
+    private static final BlackboardKey<Integer> COMPLETED = BlackboardKey.ofInt("test_completed");
+
+    private static final int TICKS_PER_ROUND = 20_000;
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int MAX_ROUNDS = 20;
+    private static final int REQUIRED_ZERO_ROUNDS = 3;
+
+    @Test
+    void steadyStateTickDoesNotAllocate() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "Allocation counters are not available");
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "Allocation counters are not supported");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        Blackboard blackboard = new Blackboard();
+        BrainController.BrainInstance brain = new BrainController.BrainInstance(
+                null, new BehaviorTree(referenceTree()), blackboard);
+        long threadId = Thread.currentThread().getId();
+
+        // Warm up through the same method that is measured, so it runs compiled
+        long tick = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            tick = run(brain, blackboard, tick);
+        }
+
+        // Reading the counter may allocate itself; measure that once
+        long overhead = threads.getThreadAllocatedBytes(threadId);
+        overhead = threads.getThreadAllocatedBytes(threadId) - overhead;
+
+        // A JIT recompilation landing mid-round can show up as a one-off blip,
+        // so require several consecutive clean rounds rather than every round.
+        // Any per-tick allocation makes every round allocate.
+        long[] allocated = new long[MAX_ROUNDS];
+        int zeroRounds = 0;
+        for (int round = 0; round < MAX_ROUNDS && zeroRounds < REQUIRED_ZERO_ROUNDS; round++) {
+            int completedBefore = blackboard.getInt(COMPLETED, 0);
+            long before = threads.getThreadAllocatedBytes(threadId);
+            tick = run(brain, blackboard, tick);
+            allocated[round] = threads.getThreadAllocatedBytes(threadId) - before - overhead;
+
+            zeroRounds = allocated[round] == 0 ? zeroRounds + 1 : 0;
+            // The tree must actually cycle through its branches, not sit in one running leaf
+            assertTrue(blackboard.getInt(COMPLETED, 0) > completedBefore, "Tree made no progress");
+        }
+
+        assertEquals(REQUIRED_ZERO_ROUNDS, zeroRounds,
+                () -> "Bytes allocated per round of " + TICKS_PER_ROUND + " ticks: " + Arrays.toString(allocated));
+    }
+
+    /**
+     * Runs one round of ticks.
+     *
+     * @return The last tick number
+     */
+    private static long run(BrainController.BrainInstance brain, Blackboard blackboard, long tick) {
+        for (int i = 0; i < TICKS_PER_ROUND; i++) {
+            tick++;
+            // Toggle the high-priority branch now and then, so both branches run
+            blackboard.setBoolean(ALERT, tick % 50 < 5);
+            brain.tick(null, 0.05f);
+        }
+        return tick;
+    }
+
+    /**
+     * Selector of a guarded "flee" sequence and a "wander, then idle"
+     * sequence whose first action runs for a few ticks.
+     */
+    private static Behavior referenceTree() {
+        SequenceNode flee = new SequenceNode();
+        flee.addChild(ActionNode.of(context ->
+                context.getBlackboard().getBoolean(ALERT, false) ? Behavior.Status.SUCCESS : Behavior.Status.FAILURE));
+        flee.addChild(ActionNode.of(context -> Behavior.Status.SUCCESS));
+
+        SequenceNode wander = new SequenceNode();
+        wander.addChild(ActionNode.of(context -> {
+            Blackboard blackboard = context.getBlackboard();
+            int progress = blackboard.getInt(PROGRESS, 0) + 1;
+            if (progress < 3) {
+                blackboard.setInt(PROGRESS, progress);
+                return Behavior.Status.RUNNING;
+            }
+            blackboard.setInt(PROGRESS, 0);
+            return Behavior.Status.SUCCESS;
+        }));
+        wander.addChild(ActionNode.of(context -> {
+            Blackboard blackboard = context.getBlackboard();
+            blackboard.setInt(COMPLETED, blackboard.getInt(COMPLETED, 0) + 1);
+            return Behavior.Status.SUCCESS;
+        }));
+
+        SelectorNode root = new SelectorNode();
+        root.addChild(flee);
+        root.addChild(wander);
+        return root;
+    }
+}